@@ -0,0 +1,11 @@
+#!/bin/sh
+# Habilita la replicación física para el servicio postgres-replica (perfil "replica").
+# Solo corre al inicializar el volumen del primario; con un volumen existente, borrarlo o
+# ejecutar estos pasos a mano.
+set -e
+
+psql -v ON_ERROR_STOP=1 --username "$POSTGRES_USER" --dbname "$POSTGRES_DB" <<-SQL
+    CREATE ROLE replicator WITH REPLICATION LOGIN PASSWORD 'replicator';
+SQL
+
+echo "host replication replicator all scram-sha-256" >> "$PGDATA/pg_hba.conf"
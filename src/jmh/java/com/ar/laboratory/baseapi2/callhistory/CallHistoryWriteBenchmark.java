@@ -0,0 +1,140 @@
+package com.ar.laboratory.baseapi2.callhistory;
+
+import com.ar.laboratory.baseapi2.BaseApi2Application;
+import com.ar.laboratory.baseapi2.callhistory.application.outbound.port.CallHistoryRepositoryPort;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryRecord;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.adapter.CallHistoryCopyPersistenceAdapter;
+import com.ar.laboratory.baseapi2.shared.infrastructure.config.CallHistoryProperties;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * Compara el throughput de inserción de historial (filas/segundo) entre el path JPA (INSERT por
+ * lotes) y COPY en formato binario y CSV, contra un PostgreSQL 15 real levantado con
+ * Testcontainers.
+ *
+ * <p>Las filas imitan una llamada auditada típica: cuerpos de request/response de ~2 KB y
+ * stacktrace en una de cada diez. Con {@code storage=DEDUPLICATED} los cuerpos repetidos del lote
+ * se guardan una sola vez en app.call_history_payload.
+ *
+ * <p>El adaptador se toma del contexto como {@link CallHistoryRepositoryPort}, con el modo elegido
+ * por {@code app.call-history.writer.mode}: mismo proxy transaccional, pool y JdbcTemplate de
+ * historial que en producción.
+ *
+ * <p>Ejecutar con {@code ./gradlew jmh} (requiere Docker).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CallHistoryWriteBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    @Param({"JPA", "COPY_BINARY", "COPY_CSV"})
+    public String mode;
+
+    @Param({"INLINE", "DEDUPLICATED"})
+    public String storage;
+
+    private PostgreSQLContainer<?> postgres;
+    private ConfigurableApplicationContext context;
+    private CallHistoryRepositoryPort repository;
+    private List<CallHistoryRecord> batch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+        postgres.start();
+        context =
+                new SpringApplicationBuilder(BaseApi2Application.class)
+                        .web(WebApplicationType.NONE)
+                        .properties(
+                                "spring.datasource.url=" + postgres.getJdbcUrl(),
+                                "spring.datasource.username=" + postgres.getUsername(),
+                                "spring.datasource.password=" + postgres.getPassword(),
+                                "spring.cache.type=none",
+                                "app.cache.enabled=false",
+                                "app.call-history.spool.enabled=false",
+                                "app.call-history.payloads.storage=" + storage,
+                                "app.call-history.writer.mode=" + writeMode(),
+                                "app.call-history.writer.copy-format=" + copyFormat(),
+                                "logging.level.root=WARN")
+                        .run();
+
+        repository = context.getBean(CallHistoryRepositoryPort.class);
+        boolean copy = repository instanceof CallHistoryCopyPersistenceAdapter;
+        if (copy != (writeMode() == CallHistoryProperties.WriteMode.COPY)) {
+            throw new IllegalStateException(
+                    "Adapter " + repository.getClass() + " does not match mode " + mode);
+        }
+        batch = sampleBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void saveAll() {
+        repository.saveAll(batch);
+    }
+
+    private CallHistoryProperties.WriteMode writeMode() {
+        return mode.startsWith("COPY")
+                ? CallHistoryProperties.WriteMode.COPY
+                : CallHistoryProperties.WriteMode.JPA;
+    }
+
+    private CallHistoryProperties.CopyFormat copyFormat() {
+        return "COPY_CSV".equals(mode)
+                ? CallHistoryProperties.CopyFormat.CSV
+                : CallHistoryProperties.CopyFormat.BINARY;
+    }
+
+    private static List<CallHistoryRecord> sampleBatch() {
+        String body = "{\"nombre\":\"" + "x".repeat(2_000) + "\"}";
+        List<CallHistoryRecord> records = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            boolean failed = i % 10 == 0;
+            records.add(
+                    CallHistoryRecord.builder()
+                            .createdAt(LocalDateTime.now())
+                            .correlationId("corr-" + i)
+                            .traceId("trace-" + i)
+                            .httpMethod("POST")
+                            .path("/api/v1/examples")
+                            .handler("ExampleController#create")
+                            .httpStatus(failed ? 500 : 201)
+                            .success(!failed)
+                            .durationMs(12L)
+                            .clientIp("10.0.0.1")
+                            .userAgent("benchmark")
+                            .requestBody(body)
+                            .responseBody(body)
+                            .errorType(failed ? "IllegalStateException" : null)
+                            .errorStacktrace(failed ? "at x.y.Z(Z.java:1)\n".repeat(40) : null)
+                            .build());
+        }
+        return records;
+    }
+}
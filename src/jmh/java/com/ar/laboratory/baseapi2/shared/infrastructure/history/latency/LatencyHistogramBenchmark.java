@@ -0,0 +1,43 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.history.latency;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Costo de registrar una llamada en {@link LatencyHistogram} con varios hilos sobre el mismo
+ * handler, con una sola copia de los contadores o con una por hilo.
+ *
+ * <p>Ejecutar con {@code ./gradlew jmh -Pjmh.includes=LatencyHistogramBenchmark} y {@code -prof gc}
+ * para confirmar que no reserva memoria.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(8)
+public class LatencyHistogramBenchmark {
+
+    @Param({"1", "8"})
+    private int stripes;
+
+    private LatencyHistogram histogram;
+
+    @Setup
+    public void setUp() {
+        histogram = new LatencyHistogram(stripes, System.nanoTime());
+    }
+
+    @Benchmark
+    public void record() {
+        long start = System.nanoTime();
+        long end = System.nanoTime();
+        histogram.record(end - start + 250_000, end);
+    }
+}
@@ -0,0 +1,102 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.history.payload;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compara la serialización de payloads de historial: la implementación anterior del aspecto ({@code
+ * writeValueAsString} + regex por campo + {@code substring}) contra {@link PayloadSerializer} (una
+ * sola pasada con masking en el generator y corte en {@code maxSize}).
+ *
+ * <p>Ejecutar con {@code ./gradlew jmh -Pjmh.includes=PayloadSerializerBenchmark} y {@code -prof
+ * gc} para ver la memoria reservada por operación.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PayloadSerializerBenchmark {
+
+    private static final String[] MASK_FIELDS = {"password", "token", "cvv"};
+    private static final int MAX_SIZE = 4_000;
+
+    /** Cantidad de items del payload: ~200 B con 1, ~60 KB con 500 */
+    @Param({"1", "500"})
+    public int items;
+
+    private ObjectMapper objectMapper;
+    private PayloadSerializer serializer;
+    private MaskPlan maskPlan;
+    private Object payload;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        serializer = new PayloadSerializer(objectMapper);
+        maskPlan = MaskPlan.of(MASK_FIELDS);
+        payload = samplePayload(items);
+    }
+
+    @Benchmark
+    public String legacy() {
+        return legacySerialize(payload, MASK_FIELDS, MAX_SIZE);
+    }
+
+    @Benchmark
+    public String streaming() {
+        return serializer.serialize(payload, maskPlan, MAX_SIZE);
+    }
+
+    /** Copia de la implementación previa de CallHistoryAspect, como línea base */
+    private String legacySerialize(Object value, String[] maskFields, int maxSize) {
+        try {
+            String json = objectMapper.writeValueAsString(value);
+            for (String field : maskFields) {
+                json =
+                        json.replaceAll(
+                                "\"" + field + "\"\\s*:\\s*\"[^\"]*\"",
+                                "\"" + field + "\":\"***MASKED***\"");
+                json =
+                        json.replaceAll(
+                                "\"" + field + "\"\\s*:\\s*[^,}\\]]+",
+                                "\"" + field + "\":\"***MASKED***\"");
+            }
+            if (json.length() > maxSize) {
+                json = json.substring(0, maxSize) + "... [TRUNCATED]";
+            }
+            return json;
+        } catch (Exception e) {
+            return "[Error serializing: " + e.getMessage() + "]";
+        }
+    }
+
+    private static Object samplePayload(int items) {
+        List<Map<String, Object>> lines = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            Map<String, Object> line = new LinkedHashMap<>();
+            line.put("sku", "SKU-" + i);
+            line.put("descripcion", "Producto de ejemplo número " + i);
+            line.put("cantidad", i % 7 + 1);
+            line.put("precio", 1999.99);
+            lines.add(line);
+        }
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("usuario", "juan.perez");
+        request.put("password", "s3cr3t0");
+        request.put("token", "eyJhbGciOiJIUzI1NiJ9.payload.signature");
+        request.put("tarjeta", Map.of("numero", "4111111111111111", "cvv", 123));
+        request.put("items", lines);
+        return new Object[] {request};
+    }
+}
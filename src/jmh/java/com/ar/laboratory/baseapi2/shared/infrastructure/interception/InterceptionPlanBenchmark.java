@@ -0,0 +1,79 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.interception;
+
+import com.ar.laboratory.baseapi2.shared.infrastructure.annotation.CallHistory;
+import com.ar.laboratory.baseapi2.shared.infrastructure.config.CallHistoryProperties;
+import com.ar.laboratory.baseapi2.shared.infrastructure.history.latency.LatencyHistograms;
+import com.ar.laboratory.baseapi2.shared.infrastructure.history.payload.MaskPlan;
+import com.ar.laboratory.baseapi2.shared.infrastructure.history.policy.CallHistoryPolicyEngine;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+/**
+ * Mide el overhead por llamada de los aspects al obtener su configuración: la forma anterior (leer
+ * anotaciones por reflexión, armar el handler, pasar la acción a mayúsculas, copiar los campos de
+ * masking y resolver la política) contra una búsqueda en el {@link InterceptionRegistry}.
+ *
+ * <p>Ejecutar con {@code ./gradlew jmh -Pjmh.includes=InterceptionPlanBenchmark} y {@code -prof gc}
+ * para ver la memoria reservada por operación.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InterceptionPlanBenchmark {
+
+    private Method method;
+    private SampleController target;
+    private CallHistoryPolicyEngine policyEngine;
+    private InterceptionRegistry registry;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        method = SampleController.class.getMethod("findByDni", String.class);
+        target = new SampleController();
+        policyEngine = new CallHistoryPolicyEngine(new CallHistoryProperties());
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("policyEngine", policyEngine);
+        beanFactory.addBean("latencyHistograms", new LatencyHistograms());
+        registry =
+                new InterceptionRegistry(
+                        beanFactory.getBeanProvider(CallHistoryPolicyEngine.class),
+                        beanFactory.getBeanProvider(LatencyHistograms.class));
+        registry.postProcessAfterInitialization(target, "sampleController");
+    }
+
+    @Benchmark
+    public void reflective(Blackhole blackhole) {
+        CallHistory callHistory = method.getAnnotation(CallHistory.class);
+        String className = method.getDeclaringClass().getSimpleName();
+        String methodName = method.getName();
+        String action =
+                callHistory.action().isEmpty() ? methodName.toUpperCase() : callHistory.action();
+        blackhole.consume(className + "#" + methodName + " [" + action + "]");
+        blackhole.consume(MaskPlan.of(callHistory.maskFields()));
+        blackhole.consume(policyEngine.resolve(method));
+    }
+
+    @Benchmark
+    public void registry(Blackhole blackhole) {
+        InterceptionPlan plan = registry.planFor(method, target);
+        blackhole.consume(plan.getHandler());
+        blackhole.consume(plan.getMaskPlan());
+        blackhole.consume(plan.currentPolicy());
+    }
+
+    public static class SampleController {
+        @CallHistory
+        public String findByDni(String dni) {
+            return dni;
+        }
+    }
+}
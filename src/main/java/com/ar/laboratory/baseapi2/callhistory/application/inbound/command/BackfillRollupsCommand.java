@@ -0,0 +1,18 @@
+package com.ar.laboratory.baseapi2.callhistory.application.inbound.command;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/** Comando para reconstruir los rollups por minuto a partir del historial crudo */
+public interface BackfillRollupsCommand {
+
+    /**
+     * Reconstruye los rollups de {@code [from, to)} de a tramos de {@code chunk}; cada tramo se
+     * reemplaza completo, así que se puede repetir sin duplicar
+     *
+     * @param from Se trunca al minuto
+     * @param to Se trunca al minuto
+     * @return Cantidad de registros crudos procesados
+     */
+    long execute(LocalDateTime from, LocalDateTime to, Duration chunk);
+}
@@ -0,0 +1,15 @@
+package com.ar.laboratory.baseapi2.callhistory.application.inbound.command;
+
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistorySummary;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/** Comando para exportar el historial de un rango de fechas completo, sin paginar */
+public interface ExportCallHistoryCommand {
+
+    /**
+     * @param sink Recibe cada resumen en orden ascendente de fecha, a medida que se lee
+     * @return Cantidad de registros exportados
+     */
+    long execute(LocalDateTime from, LocalDateTime to, Consumer<CallHistorySummary> sink);
+}
@@ -1,11 +1,16 @@
 package com.ar.laboratory.baseapi2.callhistory.application.inbound.command;
 
-import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryRecord;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryCursor;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryPage;
 import java.time.LocalDateTime;
-import java.util.List;
 
-/** Comando para buscar historial por rango de fechas */
+/** Comando para buscar historial por rango de fechas, paginado por cursor */
 public interface FindByDateRangeCommand {
 
-    List<CallHistoryRecord> execute(LocalDateTime from, LocalDateTime to);
+    /**
+     * @param after Cursor devuelto por la página anterior; null para la primera página
+     * @param limit Tamaño de página (se acota a {@link CallHistoryPage#MAX_LIMIT})
+     */
+    CallHistoryPage execute(
+            LocalDateTime from, LocalDateTime to, CallHistoryCursor after, int limit);
 }
@@ -1,10 +1,14 @@
 package com.ar.laboratory.baseapi2.callhistory.application.inbound.command;
 
-import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryRecord;
-import java.util.List;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryCursor;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryPage;
 
-/** Comando para buscar historial por path */
+/** Comando para buscar historial por path, paginado por cursor */
 public interface FindByPathCommand {
 
-    List<CallHistoryRecord> execute(String path);
+    /**
+     * @param after Cursor devuelto por la página anterior; null para la primera página
+     * @param limit Tamaño de página (se acota a {@link CallHistoryPage#MAX_LIMIT})
+     */
+    CallHistoryPage execute(String path, CallHistoryCursor after, int limit);
 }
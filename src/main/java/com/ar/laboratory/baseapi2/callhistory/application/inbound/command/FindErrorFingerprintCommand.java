@@ -0,0 +1,9 @@
+package com.ar.laboratory.baseapi2.callhistory.application.inbound.command;
+
+import com.ar.laboratory.baseapi2.callhistory.domain.model.ErrorFingerprint;
+
+/** Comando para buscar un fingerprint de error */
+public interface FindErrorFingerprintCommand {
+
+    ErrorFingerprint execute(String fingerprint);
+}
@@ -0,0 +1,11 @@
+package com.ar.laboratory.baseapi2.callhistory.application.inbound.command;
+
+import com.ar.laboratory.baseapi2.callhistory.domain.model.LatencyAnalyticsQuery;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.LatencyStats;
+import java.util.List;
+
+/** Comando para obtener percentiles de latencia, throughput y tasa de error por intervalo */
+public interface GetLatencyAnalyticsCommand {
+
+    List<LatencyStats> execute(LatencyAnalyticsQuery query);
+}
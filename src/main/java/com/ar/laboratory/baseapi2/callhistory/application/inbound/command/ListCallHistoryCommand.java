@@ -1,10 +1,10 @@
 package com.ar.laboratory.baseapi2.callhistory.application.inbound.command;
 
-import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryRecord;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistorySummary;
 import java.util.List;
 
-/** Comando para listar historial de llamadas */
+/** Comando para listar resúmenes del historial de llamadas */
 public interface ListCallHistoryCommand {
 
-    List<CallHistoryRecord> execute(int limit, int offset);
+    List<CallHistorySummary> execute(int limit, int offset);
 }
@@ -0,0 +1,14 @@
+package com.ar.laboratory.baseapi2.callhistory.application.inbound.command;
+
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryCursor;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryPage;
+
+/** Comando para recorrer el historial de llamadas paginando por cursor */
+public interface ListCallHistoryPageCommand {
+
+    /**
+     * @param after Cursor devuelto por la página anterior; null para la primera página
+     * @param limit Cantidad de registros de la página
+     */
+    CallHistoryPage execute(CallHistoryCursor after, int limit);
+}
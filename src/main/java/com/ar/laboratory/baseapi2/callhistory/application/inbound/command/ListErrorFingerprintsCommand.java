@@ -0,0 +1,10 @@
+package com.ar.laboratory.baseapi2.callhistory.application.inbound.command;
+
+import com.ar.laboratory.baseapi2.callhistory.domain.model.ErrorFingerprint;
+import java.util.List;
+
+/** Comando para listar los fingerprints de error más recientes */
+public interface ListErrorFingerprintsCommand {
+
+    List<ErrorFingerprint> execute(int limit);
+}
@@ -0,0 +1,11 @@
+package com.ar.laboratory.baseapi2.callhistory.application.inbound.command;
+
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryCriteria;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryCursor;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryPage;
+
+/** Comando para consultar el historial combinando varios filtros */
+public interface QueryCallHistoryCommand {
+
+    CallHistoryPage execute(CallHistoryCriteria criteria, CallHistoryCursor after, int limit);
+}
@@ -0,0 +1,10 @@
+package com.ar.laboratory.baseapi2.callhistory.application.inbound.command;
+
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistorySearchPage;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistorySearchQuery;
+
+/** Comando para buscar texto en los errores y, opcionalmente, en los cuerpos del historial */
+public interface SearchCallHistoryCommand {
+
+    CallHistorySearchPage execute(CallHistorySearchQuery query, int limit);
+}
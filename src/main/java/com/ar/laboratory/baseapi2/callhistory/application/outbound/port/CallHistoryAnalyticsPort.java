@@ -0,0 +1,15 @@
+package com.ar.laboratory.baseapi2.callhistory.application.outbound.port;
+
+import com.ar.laboratory.baseapi2.callhistory.domain.model.LatencyAnalyticsQuery;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.LatencyStats;
+import java.util.List;
+
+/**
+ * Puerto de salida para métricas agregadas del historial. Las agregaciones se calculan en la base;
+ * solo viaja una fila por intervalo y grupo.
+ */
+public interface CallHistoryAnalyticsPort {
+
+    /** Métricas por intervalo y grupo, ordenadas por intervalo y clave */
+    List<LatencyStats> latency(LatencyAnalyticsQuery query);
+}
@@ -1,24 +1,55 @@
 package com.ar.laboratory.baseapi2.callhistory.application.outbound.port;
 
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryCriteria;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryCursor;
 import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryRecord;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistorySummary;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-
-/** Puerto de salida para persistencia de historial de llamadas */
+import java.util.function.Consumer;
+
+/**
+ * Puerto de salida para persistencia de historial de llamadas
+ *
+ * <p>Los listados devuelven resúmenes ({@link CallHistorySummary}); el registro completo solo se
+ * lee por ID. Las búsquedas devuelven como máximo {@code limit} registros ordenados por {@code
+ * (createdAt, id)} descendente, estrictamente anteriores a {@code after} (null para empezar por el
+ * más reciente).
+ */
 public interface CallHistoryRepositoryPort {
 
-    CallHistoryRecord save(CallHistoryRecord record);
+    /**
+     * Guarda un lote con sus payloads y rollups en una transacción. Es la única vía de escritura:
+     * un registro suelto es un lote de uno
+     */
+    void saveAll(List<CallHistoryRecord> records);
+
+    List<CallHistorySummary> findAll(int limit, int offset);
 
-    List<CallHistoryRecord> findAll(int limit, int offset);
+    List<CallHistorySummary> findPage(CallHistoryCursor after, int limit);
 
-    List<CallHistoryRecord> findByDateRange(LocalDateTime from, LocalDateTime to);
+    List<CallHistorySummary> findByDateRange(
+            LocalDateTime from, LocalDateTime to, CallHistoryCursor after, int limit);
 
-    List<CallHistoryRecord> findByCorrelationId(String correlationId);
+    List<CallHistorySummary> findByCorrelationId(
+            String correlationId, CallHistoryCursor after, int limit);
 
-    List<CallHistoryRecord> findByPath(String path);
+    List<CallHistorySummary> findByPath(String path, CallHistoryCursor after, int limit);
 
-    List<CallHistoryRecord> findBySuccess(boolean success);
+    List<CallHistorySummary> findBySuccess(boolean success, CallHistoryCursor after, int limit);
+
+    /** Resúmenes que cumplen todos los filtros de {@code criteria}, del más nuevo al más viejo */
+    List<CallHistorySummary> findByCriteria(
+            CallHistoryCriteria criteria, CallHistoryCursor after, int limit);
 
     Optional<CallHistoryRecord> findById(Long id);
+
+    /**
+     * Recorre todos los resúmenes con {@code from <= createdAt < to} en orden ascendente sin
+     * cargarlos en memoria: cada registro se entrega a {@code sink} a medida que llega de la base
+     *
+     * @return Cantidad de registros entregados
+     */
+    long exportByDateRange(LocalDateTime from, LocalDateTime to, Consumer<CallHistorySummary> sink);
 }
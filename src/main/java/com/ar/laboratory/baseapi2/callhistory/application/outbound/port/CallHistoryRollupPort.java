@@ -0,0 +1,20 @@
+package com.ar.laboratory.baseapi2.callhistory.application.outbound.port;
+
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryRollup;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/** Puerto de salida para los rollups por minuto del historial */
+public interface CallHistoryRollupPort {
+
+    /** Suma los rollups a los ya guardados para la misma clave */
+    void upsert(Collection<CallHistoryRollup> rollups);
+
+    /**
+     * Recalcula, de forma atómica y a partir del historial crudo, todos los rollups con {@code from
+     * <= minute < to}. Ninguna escritura de {@link #upsert} puede intercalarse con el recálculo.
+     *
+     * @return Cantidad de registros crudos agregados
+     */
+    long rebuild(LocalDateTime from, LocalDateTime to);
+}
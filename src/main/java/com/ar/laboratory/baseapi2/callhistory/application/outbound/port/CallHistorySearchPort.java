@@ -0,0 +1,12 @@
+package com.ar.laboratory.baseapi2.callhistory.application.outbound.port;
+
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistorySearchHit;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistorySearchQuery;
+import java.util.List;
+
+/** Puerto de salida para la búsqueda de texto completo en el historial */
+public interface CallHistorySearchPort {
+
+    /** Hasta {@code limit} resultados a partir del cursor de la consulta, en el orden pedido */
+    List<CallHistorySearchHit> search(CallHistorySearchQuery query, int limit);
+}
@@ -0,0 +1,20 @@
+package com.ar.laboratory.baseapi2.callhistory.application.outbound.port;
+
+import com.ar.laboratory.baseapi2.callhistory.domain.model.ErrorFingerprint;
+import java.util.List;
+import java.util.Optional;
+
+/** Puerto de salida para persistencia de fingerprints de error */
+public interface ErrorFingerprintRepositoryPort {
+
+    /**
+     * Guarda los fingerprints que todavía no existen; de los existentes solo se anota que se usaron
+     */
+    void saveAllIfAbsent(List<ErrorFingerprint> fingerprints);
+
+    /** Busca un fingerprint con sus ocurrencias y última aparición en el historial */
+    Optional<ErrorFingerprint> findByFingerprint(String fingerprint);
+
+    /** Fingerprints más recientes, sin ocurrencias */
+    List<ErrorFingerprint> findRecent(int limit);
+}
@@ -0,0 +1,40 @@
+package com.ar.laboratory.baseapi2.callhistory.application.usecase;
+
+import com.ar.laboratory.baseapi2.callhistory.application.inbound.command.BackfillRollupsCommand;
+import com.ar.laboratory.baseapi2.callhistory.application.outbound.port.CallHistoryRollupPort;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Caso de uso para reconstruir rollups desde el historial crudo - POJO puro sin framework
+ *
+ * <p>Cada tramo se recalcula completo en la base, en una sola transacción: las filas crudas no
+ * viajan a la aplicación ni se leen de una réplica.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class BackfillRollupsUseCase implements BackfillRollupsCommand {
+
+    private final CallHistoryRollupPort rollupRepository;
+
+    @Override
+    public long execute(LocalDateTime from, LocalDateTime to, Duration chunk) {
+        LocalDateTime start = from.truncatedTo(ChronoUnit.MINUTES);
+        LocalDateTime end = to.truncatedTo(ChronoUnit.MINUTES);
+        long total = 0;
+        while (start.isBefore(end)) {
+            LocalDateTime chunkEnd = min(start.plus(chunk), end);
+            total += rollupRepository.rebuild(start, chunkEnd);
+            start = chunkEnd;
+        }
+        log.info("Rollup backfill finished for [{}, {}): {} rows", from, to, total);
+        return total;
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+}
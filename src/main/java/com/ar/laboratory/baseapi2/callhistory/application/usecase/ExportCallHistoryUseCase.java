@@ -0,0 +1,29 @@
+package com.ar.laboratory.baseapi2.callhistory.application.usecase;
+
+import com.ar.laboratory.baseapi2.callhistory.application.inbound.command.ExportCallHistoryCommand;
+import com.ar.laboratory.baseapi2.callhistory.application.outbound.port.CallHistoryRepositoryPort;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistorySummary;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Caso de uso para exportar el historial por rango de fechas - POJO puro sin framework
+ *
+ * <p>Los registros pasan de la base al {@code sink} uno por uno; no se acumulan en memoria.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ExportCallHistoryUseCase implements ExportCallHistoryCommand {
+
+    private final CallHistoryRepositoryPort callHistoryRepository;
+
+    @Override
+    public long execute(LocalDateTime from, LocalDateTime to, Consumer<CallHistorySummary> sink) {
+        log.debug("Exporting call history: from={}, to={}", from, to);
+        long exported = callHistoryRepository.exportByDateRange(from, to, sink);
+        log.info("Call history export finished: from={}, to={}, rows={}", from, to, exported);
+        return exported;
+    }
+}
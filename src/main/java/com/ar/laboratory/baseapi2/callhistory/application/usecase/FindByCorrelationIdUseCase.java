@@ -2,8 +2,8 @@ package com.ar.laboratory.baseapi2.callhistory.application.usecase;
 
 import com.ar.laboratory.baseapi2.callhistory.application.inbound.command.FindByCorrelationIdCommand;
 import com.ar.laboratory.baseapi2.callhistory.application.outbound.port.CallHistoryRepositoryPort;
-import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryRecord;
-import java.util.List;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryCursor;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryPage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -15,8 +15,15 @@ public class FindByCorrelationIdUseCase implements FindByCorrelationIdCommand {
     private final CallHistoryRepositoryPort callHistoryRepository;
 
     @Override
-    public List<CallHistoryRecord> execute(String correlationId) {
-        log.debug("Finding call history by correlationId: {}", correlationId);
-        return callHistoryRepository.findByCorrelationId(correlationId);
+    public CallHistoryPage execute(String correlationId, CallHistoryCursor after, int limit) {
+        int pageSize = CallHistoryPage.pageSize(limit);
+        log.debug(
+                "Finding call history by correlationId: {}, after={}, limit={}",
+                correlationId,
+                after,
+                pageSize);
+        return CallHistoryPage.of(
+                callHistoryRepository.findByCorrelationId(correlationId, after, pageSize + 1),
+                pageSize);
     }
 }
@@ -2,9 +2,9 @@ package com.ar.laboratory.baseapi2.callhistory.application.usecase;
 
 import com.ar.laboratory.baseapi2.callhistory.application.inbound.command.FindByDateRangeCommand;
 import com.ar.laboratory.baseapi2.callhistory.application.outbound.port.CallHistoryRepositoryPort;
-import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryRecord;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryCursor;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryPage;
 import java.time.LocalDateTime;
-import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -16,8 +16,16 @@ public class FindByDateRangeUseCase implements FindByDateRangeCommand {
     private final CallHistoryRepositoryPort callHistoryRepository;
 
     @Override
-    public List<CallHistoryRecord> execute(LocalDateTime from, LocalDateTime to) {
-        log.debug("Finding call history by date range: from={}, to={}", from, to);
-        return callHistoryRepository.findByDateRange(from, to);
+    public CallHistoryPage execute(
+            LocalDateTime from, LocalDateTime to, CallHistoryCursor after, int limit) {
+        int pageSize = CallHistoryPage.pageSize(limit);
+        log.debug(
+                "Finding call history by date range: from={}, to={}, after={}, limit={}",
+                from,
+                to,
+                after,
+                pageSize);
+        return CallHistoryPage.of(
+                callHistoryRepository.findByDateRange(from, to, after, pageSize + 1), pageSize);
     }
 }
@@ -2,8 +2,8 @@ package com.ar.laboratory.baseapi2.callhistory.application.usecase;
 
 import com.ar.laboratory.baseapi2.callhistory.application.inbound.command.FindByPathCommand;
 import com.ar.laboratory.baseapi2.callhistory.application.outbound.port.CallHistoryRepositoryPort;
-import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryRecord;
-import java.util.List;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryCursor;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryPage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -15,8 +15,10 @@ public class FindByPathUseCase implements FindByPathCommand {
     private final CallHistoryRepositoryPort callHistoryRepository;
 
     @Override
-    public List<CallHistoryRecord> execute(String path) {
-        log.debug("Finding call history by path: {}", path);
-        return callHistoryRepository.findByPath(path);
+    public CallHistoryPage execute(String path, CallHistoryCursor after, int limit) {
+        int pageSize = CallHistoryPage.pageSize(limit);
+        log.debug("Finding call history by path: {}, after={}, limit={}", path, after, pageSize);
+        return CallHistoryPage.of(
+                callHistoryRepository.findByPath(path, after, pageSize + 1), pageSize);
     }
 }
@@ -2,8 +2,8 @@ package com.ar.laboratory.baseapi2.callhistory.application.usecase;
 
 import com.ar.laboratory.baseapi2.callhistory.application.inbound.command.FindBySuccessCommand;
 import com.ar.laboratory.baseapi2.callhistory.application.outbound.port.CallHistoryRepositoryPort;
-import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryRecord;
-import java.util.List;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryCursor;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryPage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -15,8 +15,14 @@ public class FindBySuccessUseCase implements FindBySuccessCommand {
     private final CallHistoryRepositoryPort callHistoryRepository;
 
     @Override
-    public List<CallHistoryRecord> execute(boolean success) {
-        log.debug("Finding call history by success: {}", success);
-        return callHistoryRepository.findBySuccess(success);
+    public CallHistoryPage execute(boolean success, CallHistoryCursor after, int limit) {
+        int pageSize = CallHistoryPage.pageSize(limit);
+        log.debug(
+                "Finding call history by success: {}, after={}, limit={}",
+                success,
+                after,
+                pageSize);
+        return CallHistoryPage.of(
+                callHistoryRepository.findBySuccess(success, after, pageSize + 1), pageSize);
     }
 }
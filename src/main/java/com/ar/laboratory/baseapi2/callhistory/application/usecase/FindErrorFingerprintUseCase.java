@@ -0,0 +1,24 @@
+package com.ar.laboratory.baseapi2.callhistory.application.usecase;
+
+import com.ar.laboratory.baseapi2.callhistory.application.inbound.command.FindErrorFingerprintCommand;
+import com.ar.laboratory.baseapi2.callhistory.application.outbound.port.ErrorFingerprintRepositoryPort;
+import com.ar.laboratory.baseapi2.callhistory.domain.exception.ErrorFingerprintNotFoundException;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.ErrorFingerprint;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/** Caso de uso para buscar un fingerprint de error - POJO puro sin framework */
+@Slf4j
+@RequiredArgsConstructor
+public class FindErrorFingerprintUseCase implements FindErrorFingerprintCommand {
+
+    private final ErrorFingerprintRepositoryPort errorFingerprintRepository;
+
+    @Override
+    public ErrorFingerprint execute(String fingerprint) {
+        log.debug("Finding error fingerprint: {}", fingerprint);
+        return errorFingerprintRepository
+                .findByFingerprint(fingerprint)
+                .orElseThrow(() -> new ErrorFingerprintNotFoundException(fingerprint));
+    }
+}
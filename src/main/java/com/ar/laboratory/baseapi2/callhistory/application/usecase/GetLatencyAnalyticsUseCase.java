@@ -0,0 +1,23 @@
+package com.ar.laboratory.baseapi2.callhistory.application.usecase;
+
+import com.ar.laboratory.baseapi2.callhistory.application.inbound.command.GetLatencyAnalyticsCommand;
+import com.ar.laboratory.baseapi2.callhistory.application.outbound.port.CallHistoryAnalyticsPort;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.LatencyAnalyticsQuery;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.LatencyStats;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/** Caso de uso para métricas de latencia del historial - POJO puro sin framework */
+@Slf4j
+@RequiredArgsConstructor
+public class GetLatencyAnalyticsUseCase implements GetLatencyAnalyticsCommand {
+
+    private final CallHistoryAnalyticsPort analyticsPort;
+
+    @Override
+    public List<LatencyStats> execute(LatencyAnalyticsQuery query) {
+        log.debug("Computing latency analytics: {}", query);
+        return analyticsPort.latency(query);
+    }
+}
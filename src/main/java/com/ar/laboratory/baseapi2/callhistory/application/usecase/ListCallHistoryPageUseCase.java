@@ -0,0 +1,28 @@
+package com.ar.laboratory.baseapi2.callhistory.application.usecase;
+
+import com.ar.laboratory.baseapi2.callhistory.application.inbound.command.ListCallHistoryPageCommand;
+import com.ar.laboratory.baseapi2.callhistory.application.outbound.port.CallHistoryRepositoryPort;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryCursor;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryPage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Caso de uso para paginar el historial por cursor - POJO puro sin framework
+ *
+ * <p>Pide un registro más que el tamaño de página para saber si hay página siguiente sin una
+ * consulta extra.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ListCallHistoryPageUseCase implements ListCallHistoryPageCommand {
+
+    private final CallHistoryRepositoryPort callHistoryRepository;
+
+    @Override
+    public CallHistoryPage execute(CallHistoryCursor after, int limit) {
+        int pageSize = CallHistoryPage.pageSize(limit);
+        log.debug("Listing call history page: after={}, limit={}", after, pageSize);
+        return CallHistoryPage.of(callHistoryRepository.findPage(after, pageSize + 1), pageSize);
+    }
+}
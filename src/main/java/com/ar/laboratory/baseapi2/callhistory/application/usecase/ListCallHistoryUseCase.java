@@ -2,7 +2,8 @@ package com.ar.laboratory.baseapi2.callhistory.application.usecase;
 
 import com.ar.laboratory.baseapi2.callhistory.application.inbound.command.ListCallHistoryCommand;
 import com.ar.laboratory.baseapi2.callhistory.application.outbound.port.CallHistoryRepositoryPort;
-import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryRecord;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryPage;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistorySummary;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -15,8 +16,9 @@ public class ListCallHistoryUseCase implements ListCallHistoryCommand {
     private final CallHistoryRepositoryPort callHistoryRepository;
 
     @Override
-    public List<CallHistoryRecord> execute(int limit, int offset) {
-        log.debug("Listing call history: limit={}, offset={}", limit, offset);
-        return callHistoryRepository.findAll(limit, offset);
+    public List<CallHistorySummary> execute(int limit, int offset) {
+        int pageSize = CallHistoryPage.pageSize(limit);
+        log.debug("Listing call history: limit={}, offset={}", pageSize, offset);
+        return callHistoryRepository.findAll(pageSize, offset);
     }
 }
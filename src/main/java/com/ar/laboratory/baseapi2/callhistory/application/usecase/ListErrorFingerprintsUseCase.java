@@ -0,0 +1,22 @@
+package com.ar.laboratory.baseapi2.callhistory.application.usecase;
+
+import com.ar.laboratory.baseapi2.callhistory.application.inbound.command.ListErrorFingerprintsCommand;
+import com.ar.laboratory.baseapi2.callhistory.application.outbound.port.ErrorFingerprintRepositoryPort;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.ErrorFingerprint;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/** Caso de uso para listar fingerprints de error - POJO puro sin framework */
+@Slf4j
+@RequiredArgsConstructor
+public class ListErrorFingerprintsUseCase implements ListErrorFingerprintsCommand {
+
+    private final ErrorFingerprintRepositoryPort errorFingerprintRepository;
+
+    @Override
+    public List<ErrorFingerprint> execute(int limit) {
+        log.debug("Listing error fingerprints: limit={}", limit);
+        return errorFingerprintRepository.findRecent(limit);
+    }
+}
@@ -0,0 +1,35 @@
+package com.ar.laboratory.baseapi2.callhistory.application.usecase;
+
+import com.ar.laboratory.baseapi2.callhistory.application.inbound.command.QueryCallHistoryCommand;
+import com.ar.laboratory.baseapi2.callhistory.application.outbound.port.CallHistoryRepositoryPort;
+import com.ar.laboratory.baseapi2.callhistory.domain.exception.UnanchoredCallHistoryQueryException;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryCriteria;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryCursor;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryPage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Caso de uso para consultar el historial con filtros combinados - POJO puro sin framework
+ *
+ * <p>Rechaza las consultas sin ancla ({@link CallHistoryCriteria#isAnchored()}): recorrerían la
+ * tabla entera.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class QueryCallHistoryUseCase implements QueryCallHistoryCommand {
+
+    private final CallHistoryRepositoryPort callHistoryRepository;
+
+    @Override
+    public CallHistoryPage execute(
+            CallHistoryCriteria criteria, CallHistoryCursor after, int limit) {
+        if (!criteria.isAnchored()) {
+            throw new UnanchoredCallHistoryQueryException();
+        }
+        int pageSize = CallHistoryPage.pageSize(limit);
+        log.debug("Querying call history: {}, after={}, limit={}", criteria, after, pageSize);
+        return CallHistoryPage.of(
+                callHistoryRepository.findByCriteria(criteria, after, pageSize + 1), pageSize);
+    }
+}
@@ -0,0 +1,24 @@
+package com.ar.laboratory.baseapi2.callhistory.application.usecase;
+
+import com.ar.laboratory.baseapi2.callhistory.application.inbound.command.SearchCallHistoryCommand;
+import com.ar.laboratory.baseapi2.callhistory.application.outbound.port.CallHistorySearchPort;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryPage;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistorySearchPage;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistorySearchQuery;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/** Caso de uso para la búsqueda de texto en el historial - POJO puro sin framework */
+@Slf4j
+@RequiredArgsConstructor
+public class SearchCallHistoryUseCase implements SearchCallHistoryCommand {
+
+    private final CallHistorySearchPort searchPort;
+
+    @Override
+    public CallHistorySearchPage execute(CallHistorySearchQuery query, int limit) {
+        int pageSize = CallHistoryPage.pageSize(limit);
+        log.debug("Searching call history: {}, limit={}", query, pageSize);
+        return CallHistorySearchPage.of(searchPort.search(query, pageSize + 1), pageSize);
+    }
+}
@@ -0,0 +1,9 @@
+package com.ar.laboratory.baseapi2.callhistory.domain.exception;
+
+/** Excepción de dominio cuando no se encuentra un fingerprint de error */
+public class ErrorFingerprintNotFoundException extends RuntimeException {
+
+    public ErrorFingerprintNotFoundException(String fingerprint) {
+        super("Error fingerprint not found: " + fingerprint);
+    }
+}
@@ -0,0 +1,15 @@
+package com.ar.laboratory.baseapi2.callhistory.domain.exception;
+
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryCriteria;
+
+/** Excepción de dominio cuando una consulta del historial no está anclada a un índice */
+public class UnanchoredCallHistoryQueryException extends RuntimeException {
+
+    public UnanchoredCallHistoryQueryException() {
+        super(
+                "La consulta recorrería toda la tabla: filtrar por path, clientIp, success=false o"
+                        + " una ventana from/to de hasta "
+                        + CallHistoryCriteria.MAX_UNANCHORED_WINDOW.toHours()
+                        + " h");
+    }
+}
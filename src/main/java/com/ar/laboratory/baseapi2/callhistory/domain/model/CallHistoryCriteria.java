@@ -0,0 +1,61 @@
+package com.ar.laboratory.baseapi2.callhistory.domain.model;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Filtros combinables sobre el historial. Los campos en null no filtran; el resto se combina con
+ * AND.
+ *
+ * <p>Una consulta tiene que estar anclada (ver {@link #isAnchored()}) para que la base la resuelva
+ * desde un índice y no recorriendo la tabla entera.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CallHistoryCriteria {
+
+    /** Ventana máxima de una consulta sin otro filtro selectivo */
+    public static final Duration MAX_UNANCHORED_WINDOW = Duration.ofHours(24);
+
+    private String path;
+    private String httpMethod;
+
+    /** Status mínimo, inclusivo */
+    private Integer statusFrom;
+
+    /** Status máximo, inclusivo */
+    private Integer statusTo;
+
+    private Boolean success;
+
+    /** Solo llamadas que tardaron al menos esto */
+    private Long minDurationMs;
+
+    private String clientIp;
+
+    /** Fecha desde, inclusiva */
+    private LocalDateTime from;
+
+    /** Fecha hasta, exclusiva */
+    private LocalDateTime to;
+
+    /**
+     * Indica si algún filtro acota la consulta lo suficiente: un path, una IP, solo las fallidas o
+     * una ventana de tiempo de hasta {@link #MAX_UNANCHORED_WINDOW}. Método, status y duración no
+     * son selectivos por sí solos.
+     */
+    public boolean isAnchored() {
+        return path != null
+                || clientIp != null
+                || Boolean.FALSE.equals(success)
+                || (from != null
+                        && to != null
+                        && Duration.between(from, to).compareTo(MAX_UNANCHORED_WINDOW) <= 0);
+    }
+}
@@ -0,0 +1,14 @@
+package com.ar.laboratory.baseapi2.callhistory.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Posición en el historial ordenado por {@code (createdAt, id)} descendente. La página siguiente
+ * empieza en el primer registro estrictamente anterior a esta posición.
+ */
+public record CallHistoryCursor(LocalDateTime createdAt, Long id) {
+
+    public static CallHistoryCursor of(CallHistorySummary summary) {
+        return new CallHistoryCursor(summary.getCreatedAt(), summary.getId());
+    }
+}
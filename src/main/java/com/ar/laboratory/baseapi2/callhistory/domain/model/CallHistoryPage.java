@@ -0,0 +1,35 @@
+package com.ar.laboratory.baseapi2.callhistory.domain.model;
+
+import java.util.List;
+
+/**
+ * Página de resúmenes de historial paginada por cursor
+ *
+ * @param next Cursor de la página siguiente; null si no hay más registros
+ */
+public record CallHistoryPage(List<CallHistorySummary> items, CallHistoryCursor next) {
+
+    /** Tamaño máximo de página, sin importar lo que pida el cliente */
+    public static final int MAX_LIMIT = 500;
+
+    /** Tamaño de página efectivo para el límite pedido: entre 1 y {@link #MAX_LIMIT} */
+    public static int pageSize(int limit) {
+        return Math.clamp(limit, 1, MAX_LIMIT);
+    }
+
+    /**
+     * Arma la página a partir de una consulta de hasta {@code pageSize + 1} registros: si vino el
+     * registro extra hay página siguiente, sin necesidad de contar.
+     */
+    public static CallHistoryPage of(List<CallHistorySummary> fetched, int pageSize) {
+        if (fetched.size() <= pageSize) {
+            return new CallHistoryPage(fetched, null);
+        }
+        List<CallHistorySummary> items = fetched.subList(0, pageSize);
+        return new CallHistoryPage(items, CallHistoryCursor.of(items.get(pageSize - 1)));
+    }
+
+    public boolean hasNext() {
+        return next != null;
+    }
+}
@@ -1,12 +1,23 @@
 package com.ar.laboratory.baseapi2.callhistory.domain.model;
 
 import java.time.LocalDateTime;
+import java.util.function.Supplier;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
-/** Modelo de dominio para el registro de historial de llamadas */
+/**
+ * Modelo de dominio para el registro de historial de llamadas
+ *
+ * <p>Query params y cuerpos pueden venir con un loader en lugar del valor (almacenamiento
+ * deduplicado): se resuelven recién la primera vez que se leen.
+ */
 @Data
 @Builder
 @NoArgsConstructor
@@ -31,4 +42,47 @@ public class CallHistoryRecord {
     private String errorType;
     private String errorMessage;
     private String errorStacktrace;
+    private String errorFingerprint;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Supplier<String> queryParamsLoader;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Supplier<String> requestBodyLoader;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Supplier<String> responseBodyLoader;
+
+    public String getQueryParams() {
+        if (queryParams == null && queryParamsLoader != null) {
+            queryParams = queryParamsLoader.get();
+            queryParamsLoader = null;
+        }
+        return queryParams;
+    }
+
+    public String getRequestBody() {
+        if (requestBody == null && requestBodyLoader != null) {
+            requestBody = requestBodyLoader.get();
+            requestBodyLoader = null;
+        }
+        return requestBody;
+    }
+
+    public String getResponseBody() {
+        if (responseBody == null && responseBodyLoader != null) {
+            responseBody = responseBodyLoader.get();
+            responseBodyLoader = null;
+        }
+        return responseBody;
+    }
 }
@@ -0,0 +1,80 @@
+package com.ar.laboratory.baseapi2.callhistory.domain.model;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import lombok.Getter;
+
+/**
+ * Agregado de un minuto de historial para un path, método HTTP y clase de status (2 = 2xx, 0 = sin
+ * status). Los path y métodos ausentes se agrupan como string vacío.
+ */
+@Getter
+public final class CallHistoryRollup {
+
+    private final LocalDateTime minute;
+    private final String path;
+    private final String httpMethod;
+    private final int statusClass;
+
+    private long requests;
+    private long errors;
+    private long durationSum;
+    private Long durationMin;
+    private Long durationMax;
+    private final LatencySketch latency = new LatencySketch();
+
+    public CallHistoryRollup(
+            LocalDateTime minute, String path, String httpMethod, int statusClass) {
+        this.minute = minute;
+        this.path = path;
+        this.httpMethod = httpMethod;
+        this.statusClass = statusClass;
+    }
+
+    /** Clave de agrupación de una llamada */
+    public static Key keyOf(
+            LocalDateTime createdAt, String path, String httpMethod, Integer httpStatus) {
+        return new Key(
+                createdAt.truncatedTo(ChronoUnit.MINUTES),
+                path != null ? path : "",
+                httpMethod != null ? httpMethod : "",
+                httpStatus != null ? httpStatus / 100 : 0);
+    }
+
+    /** Suma una llamada; las llamadas sin duración solo cuentan como request */
+    public void add(boolean success, Long durationMs) {
+        requests++;
+        if (!success) {
+            errors++;
+        }
+        if (durationMs != null) {
+            durationSum += durationMs;
+            durationMin = durationMin == null ? durationMs : Math.min(durationMin, durationMs);
+            durationMax = durationMax == null ? durationMs : Math.max(durationMax, durationMs);
+            latency.add(durationMs);
+        }
+    }
+
+    public record Key(LocalDateTime minute, String path, String httpMethod, int statusClass)
+            implements Comparable<Key> {
+
+        public CallHistoryRollup newRollup() {
+            return new CallHistoryRollup(minute, path, httpMethod, statusClass);
+        }
+
+        /**
+         * Orden fijo para que las actualizaciones concurrentes tomen los locks en el mismo orden
+         */
+        @Override
+        public int compareTo(Key other) {
+            int result = minute.compareTo(other.minute);
+            if (result == 0) {
+                result = path.compareTo(other.path);
+            }
+            if (result == 0) {
+                result = httpMethod.compareTo(other.httpMethod);
+            }
+            return result != 0 ? result : Integer.compare(statusClass, other.statusClass);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.ar.laboratory.baseapi2.callhistory.domain.model;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/** Acumula llamadas en rollups por minuto, path, método y clase de status */
+public final class CallHistoryRollups {
+
+    private final Map<CallHistoryRollup.Key, CallHistoryRollup> rollups = new TreeMap<>();
+
+    public static Collection<CallHistoryRollup> of(List<CallHistoryRecord> records) {
+        CallHistoryRollups rollups = new CallHistoryRollups();
+        for (CallHistoryRecord record : records) {
+            rollups.add(
+                    record.getCreatedAt(),
+                    record.getPath(),
+                    record.getHttpMethod(),
+                    record.getHttpStatus(),
+                    record.getSuccess() == null || record.getSuccess(),
+                    record.getDurationMs());
+        }
+        return rollups.values();
+    }
+
+    /** Rollups acumulados, ordenados por clave */
+    public Collection<CallHistoryRollup> values() {
+        return rollups.values();
+    }
+
+    private void add(
+            LocalDateTime createdAt,
+            String path,
+            String httpMethod,
+            Integer httpStatus,
+            boolean success,
+            Long durationMs) {
+        // Mismo default que el insert cuando el registro no trae fecha
+        LocalDateTime at = createdAt != null ? createdAt : LocalDateTime.now();
+        rollups.computeIfAbsent(
+                        CallHistoryRollup.keyOf(at, path, httpMethod, httpStatus),
+                        CallHistoryRollup.Key::newRollup)
+                .add(success, durationMs);
+    }
+}
@@ -0,0 +1,16 @@
+package com.ar.laboratory.baseapi2.callhistory.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Posición en los resultados de una búsqueda. Con {@link CallHistorySearchSort#RELEVANCE} la página
+ * siguiente empieza en el primer resultado estrictamente posterior a {@code (rank, id)}; con {@link
+ * CallHistorySearchSort#RECENT}, en el primero anterior a {@code (createdAt, id)}.
+ */
+public record CallHistorySearchCursor(float rank, LocalDateTime createdAt, Long id) {
+
+    public static CallHistorySearchCursor of(CallHistorySearchHit hit) {
+        return new CallHistorySearchCursor(
+                hit.rank(), hit.summary().getCreatedAt(), hit.summary().getId());
+    }
+}
@@ -0,0 +1,8 @@
+package com.ar.laboratory.baseapi2.callhistory.domain.model;
+
+/**
+ * Resultado de una búsqueda de texto
+ *
+ * @param rank Relevancia según {@code ts_rank}; solo comparable dentro de una misma búsqueda
+ */
+public record CallHistorySearchHit(CallHistorySummary summary, float rank) {}
@@ -0,0 +1,27 @@
+package com.ar.laboratory.baseapi2.callhistory.domain.model;
+
+import java.util.List;
+
+/**
+ * Página de resultados de una búsqueda de texto
+ *
+ * @param next Cursor de la página siguiente; null si no hay más resultados
+ */
+public record CallHistorySearchPage(List<CallHistorySearchHit> hits, CallHistorySearchCursor next) {
+
+    /**
+     * Arma la página a partir de hasta {@code pageSize + 1} resultados, como {@link
+     * CallHistoryPage}
+     */
+    public static CallHistorySearchPage of(List<CallHistorySearchHit> fetched, int pageSize) {
+        if (fetched.size() <= pageSize) {
+            return new CallHistorySearchPage(fetched, null);
+        }
+        List<CallHistorySearchHit> hits = fetched.subList(0, pageSize);
+        return new CallHistorySearchPage(hits, CallHistorySearchCursor.of(hits.get(pageSize - 1)));
+    }
+
+    public boolean hasNext() {
+        return next != null;
+    }
+}
@@ -0,0 +1,22 @@
+package com.ar.laboratory.baseapi2.callhistory.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Búsqueda de texto en el historial
+ *
+ * @param text Consulta en sintaxis web: palabras, "frases", OR y -exclusiones
+ * @param from Fecha desde, inclusiva; null para no acotar
+ * @param to Fecha hasta, exclusiva; null para no acotar
+ * @param success Solo llamadas exitosas o fallidas; null para ambas
+ * @param includeBodies Buscar también en query params y cuerpos, además de los errores
+ * @param after Cursor de la página anterior; null para la primera
+ */
+public record CallHistorySearchQuery(
+        String text,
+        LocalDateTime from,
+        LocalDateTime to,
+        Boolean success,
+        boolean includeBodies,
+        CallHistorySearchSort sort,
+        CallHistorySearchCursor after) {}
@@ -0,0 +1,9 @@
+package com.ar.laboratory.baseapi2.callhistory.domain.model;
+
+/** Orden de los resultados de una búsqueda de texto */
+public enum CallHistorySearchSort {
+    /** Más relevantes primero ({@code ts_rank}); a igual relevancia, el de mayor id */
+    RELEVANCE,
+    /** Más nuevos primero, por {@code (createdAt, id)} */
+    RECENT
+}
@@ -0,0 +1,26 @@
+package com.ar.laboratory.baseapi2.callhistory.domain.model;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resumen de un registro de historial para los listados: solo metadatos, sin query params, cuerpos
+ * ni stacktrace. El detalle completo se obtiene por ID.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CallHistorySummary {
+    private Long id;
+    private LocalDateTime createdAt;
+    private String httpMethod;
+    private String path;
+    private Integer httpStatus;
+    private Boolean success;
+    private Long durationMs;
+    private String correlationId;
+}
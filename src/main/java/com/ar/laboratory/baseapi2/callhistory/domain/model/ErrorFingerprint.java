@@ -0,0 +1,32 @@
+package com.ar.laboratory.baseapi2.callhistory.domain.model;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Error deduplicado del historial de llamadas. Se guarda una vez por fingerprint (tipo de excepción
+ * + frames del tope) y los registros de historial solo lo referencian.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ErrorFingerprint {
+    private String fingerprint;
+    private String errorType;
+
+    /** Mensaje de la primera ocurrencia; cada registro conserva el suyo */
+    private String errorMessage;
+
+    private String stacktrace;
+    private LocalDateTime firstSeen;
+
+    /** Ocurrencias en el historial; solo se calcula al consultar un fingerprint puntual */
+    private Long occurrences;
+
+    /** Última ocurrencia en el historial; solo se calcula al consultar un fingerprint puntual */
+    private LocalDateTime lastSeen;
+}
@@ -0,0 +1,18 @@
+package com.ar.laboratory.baseapi2.callhistory.domain.model;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Consulta de métricas de latencia: llamadas con {@code from <= createdAt < to}, agrupadas en
+ * intervalos de {@code bucket} alineados a 2000-01-01 UTC
+ */
+public record LatencyAnalyticsQuery(
+        LocalDateTime from, LocalDateTime to, Duration bucket, LatencyGroupBy groupBy) {
+
+    /** Cantidad de intervalos que cubre el rango */
+    public long bucketCount() {
+        long seconds = Duration.between(from, to).toSeconds();
+        return Math.ceilDiv(seconds, bucket.toSeconds());
+    }
+}
@@ -0,0 +1,9 @@
+package com.ar.laboratory.baseapi2.callhistory.domain.model;
+
+/** Dimensión por la que se agrupan las métricas de latencia */
+public enum LatencyGroupBy {
+    /** Path de la request */
+    PATH,
+    /** Handler que atendió la llamada (Clase#metodo) */
+    HANDLER
+}
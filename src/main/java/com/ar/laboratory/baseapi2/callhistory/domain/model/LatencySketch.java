@@ -0,0 +1,110 @@
+package com.ar.laboratory.baseapi2.callhistory.domain.model;
+
+import java.util.Arrays;
+
+/**
+ * Resumen mergeable de una distribución de {@code durationMs}: contadores por bucket log-lineal,
+ * con {@value #SUB_BUCKETS} buckets por potencia de dos de milisegundos (error relativo menor a
+ * 12,5%) hasta ~4,6 h. Dos sketches se combinan sumando sus contadores posición a posición, así que
+ * los de cada minuto se pueden sumar en cualquier agrupación sin volver a los datos crudos.
+ *
+ * <p>{@link #toArray()} recorta los ceros del final; es el formato que se persiste.
+ */
+public final class LatencySketch {
+
+    static final int SUB_BUCKET_BITS = 3;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /** Valores a partir de 2^24 ms caen en el último bucket */
+    static final int MAX_EXPONENT = 24;
+
+    static final int BUCKETS = SUB_BUCKETS + (MAX_EXPONENT - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private static final long MAX_VALUE = (1L << MAX_EXPONENT) - 1;
+
+    private final long[] counts;
+
+    public LatencySketch() {
+        this.counts = new long[BUCKETS];
+    }
+
+    private LatencySketch(long[] counts) {
+        this.counts = counts;
+    }
+
+    /** Sketch a partir de su forma persistida; null o vacío es un sketch vacío */
+    public static LatencySketch fromArray(long[] persisted) {
+        long[] counts = new long[BUCKETS];
+        if (persisted != null) {
+            System.arraycopy(persisted, 0, counts, 0, Math.min(persisted.length, BUCKETS));
+        }
+        return new LatencySketch(counts);
+    }
+
+    public void add(long durationMs) {
+        counts[bucketIndex(Math.min(Math.max(durationMs, 0), MAX_VALUE))]++;
+    }
+
+    public void merge(LatencySketch other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+    }
+
+    public long count() {
+        long count = 0;
+        for (long c : counts) {
+            count += c;
+        }
+        return count;
+    }
+
+    /**
+     * Percentil aproximado: el mayor valor del bucket que lo contiene
+     *
+     * @return null si el sketch está vacío
+     */
+    public Double quantile(double quantile) {
+        long count = count();
+        if (count == 0) {
+            return null;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return (double) highestValue(bucket);
+            }
+        }
+        return (double) highestValue(BUCKETS - 1);
+    }
+
+    /** Contadores sin los ceros del final */
+    public long[] toArray() {
+        int length = BUCKETS;
+        while (length > 0 && counts[length - 1] == 0) {
+            length--;
+        }
+        return Arrays.copyOf(counts, length);
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return SUB_BUCKETS + shift * SUB_BUCKETS + subBucket;
+    }
+
+    static long highestValue(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket - SUB_BUCKETS) / SUB_BUCKETS;
+        long subBucket = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+        return ((SUB_BUCKETS + subBucket + 1) << shift) - 1;
+    }
+}
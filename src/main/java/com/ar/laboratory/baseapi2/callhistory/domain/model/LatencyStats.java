@@ -0,0 +1,29 @@
+package com.ar.laboratory.baseapi2.callhistory.domain.model;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Métricas de un intervalo para un path o handler. Los percentiles son de {@code durationMs}
+ * interpolados ({@code percentile_cont}); null si ninguna llamada del grupo tiene duración.
+ */
+public record LatencyStats(
+        LocalDateTime bucketStart,
+        String key,
+        long requests,
+        long errors,
+        Double p50,
+        Double p95,
+        Double p99,
+        Long maxMs) {
+
+    /** Fracción de llamadas fallidas (0.0 a 1.0) */
+    public double errorRate() {
+        return requests == 0 ? 0.0 : (double) errors / requests;
+    }
+
+    /** Llamadas por segundo promedio en el intervalo */
+    public double throughput(Duration bucket) {
+        return (double) requests / bucket.toSeconds();
+    }
+}
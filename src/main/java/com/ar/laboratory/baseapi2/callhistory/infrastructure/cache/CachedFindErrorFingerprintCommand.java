@@ -0,0 +1,26 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.cache;
+
+import com.ar.laboratory.baseapi2.callhistory.application.inbound.command.FindErrorFingerprintCommand;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.ErrorFingerprint;
+import com.ar.laboratory.baseapi2.shared.infrastructure.cache.CacheAside;
+import com.ar.laboratory.baseapi2.shared.infrastructure.config.CacheConfig;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Decorador de caché para el detalle de un fingerprint. Clave: {@code fingerprint:<hash>}. Las
+ * ocurrencias y la última aparición quedan tan viejas como el TTL del caché.
+ */
+@RequiredArgsConstructor
+public class CachedFindErrorFingerprintCommand implements FindErrorFingerprintCommand {
+
+    private final FindErrorFingerprintCommand delegate;
+    private final CacheAside cacheAside;
+
+    @Override
+    public ErrorFingerprint execute(String fingerprint) {
+        return cacheAside.get(
+                CacheConfig.ERROR_FINGERPRINTS_CACHE,
+                "fingerprint:" + fingerprint,
+                () -> delegate.execute(fingerprint));
+    }
+}
@@ -0,0 +1,27 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.cache;
+
+import com.ar.laboratory.baseapi2.callhistory.application.inbound.command.ListCallHistoryCommand;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistorySummary;
+import com.ar.laboratory.baseapi2.shared.infrastructure.cache.CacheAside;
+import com.ar.laboratory.baseapi2.shared.infrastructure.config.CacheConfig;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Decorador de caché para el listado por offset. Clave: {@code listAll:<limit>:<offset>}. No hay
+ * invalidación: el historial solo crece y el TTL acota cuánto tarda en verse lo nuevo.
+ */
+@RequiredArgsConstructor
+public class CachedListCallHistoryCommand implements ListCallHistoryCommand {
+
+    private final ListCallHistoryCommand delegate;
+    private final CacheAside cacheAside;
+
+    @Override
+    public List<CallHistorySummary> execute(int limit, int offset) {
+        return cacheAside.get(
+                CacheConfig.CALL_HISTORY_CACHE,
+                "listAll:" + limit + ":" + offset,
+                () -> delegate.execute(limit, offset));
+    }
+}
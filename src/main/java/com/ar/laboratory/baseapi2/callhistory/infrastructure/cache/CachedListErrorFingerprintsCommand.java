@@ -0,0 +1,24 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.cache;
+
+import com.ar.laboratory.baseapi2.callhistory.application.inbound.command.ListErrorFingerprintsCommand;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.ErrorFingerprint;
+import com.ar.laboratory.baseapi2.shared.infrastructure.cache.CacheAside;
+import com.ar.laboratory.baseapi2.shared.infrastructure.config.CacheConfig;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+
+/** Decorador de caché para el listado de fingerprints. Clave: {@code recent:<limit>} */
+@RequiredArgsConstructor
+public class CachedListErrorFingerprintsCommand implements ListErrorFingerprintsCommand {
+
+    private final ListErrorFingerprintsCommand delegate;
+    private final CacheAside cacheAside;
+
+    @Override
+    public List<ErrorFingerprint> execute(int limit) {
+        return cacheAside.get(
+                CacheConfig.ERROR_FINGERPRINTS_CACHE,
+                "recent:" + limit,
+                () -> delegate.execute(limit));
+    }
+}
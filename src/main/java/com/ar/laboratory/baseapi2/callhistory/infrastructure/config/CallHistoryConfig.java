@@ -1,9 +1,16 @@
 package com.ar.laboratory.baseapi2.callhistory.infrastructure.config;
 
 import com.ar.laboratory.baseapi2.callhistory.application.inbound.command.*;
+import com.ar.laboratory.baseapi2.callhistory.application.outbound.port.CallHistoryAnalyticsPort;
 import com.ar.laboratory.baseapi2.callhistory.application.outbound.port.CallHistoryRepositoryPort;
+import com.ar.laboratory.baseapi2.callhistory.application.outbound.port.CallHistoryRollupPort;
+import com.ar.laboratory.baseapi2.callhistory.application.outbound.port.CallHistorySearchPort;
+import com.ar.laboratory.baseapi2.callhistory.application.outbound.port.ErrorFingerprintRepositoryPort;
 import com.ar.laboratory.baseapi2.callhistory.application.usecase.*;
-import org.springframework.cache.annotation.Cacheable;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.cache.CachedFindErrorFingerprintCommand;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.cache.CachedListCallHistoryCommand;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.cache.CachedListErrorFingerprintsCommand;
+import com.ar.laboratory.baseapi2.shared.infrastructure.cache.CacheAside;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -12,6 +19,10 @@ import org.springframework.context.annotation.Configuration;
  *
  * <p>Aquí se realiza el wiring de: - Commands (puertos de entrada) - UseCases (implementaciones
  * puras) - Decoración de caché (preocupaciones de infraestructura)
+ *
+ * <p>El caché se aplica con decoradores sobre los commands de listado y de fingerprints. Las
+ * búsquedas por cursor no se cachean: cada página depende del cursor y el historial cambia todo el
+ * tiempo. El detalle por ID tampoco, porque el registro carga sus payloads a demanda.
  */
 @Configuration
 public class CallHistoryConfig {
@@ -22,9 +33,17 @@ public class CallHistoryConfig {
      * <p>Aplica caché de lectura en infraestructura
      */
     @Bean
-    @Cacheable(value = "callHistoryCache", key = "'listAll:' + #limit + ':' + #offset")
-    public ListCallHistoryCommand listCallHistoryCommand(CallHistoryRepositoryPort repositoryPort) {
-        return new ListCallHistoryUseCase(repositoryPort);
+    public ListCallHistoryCommand listCallHistoryCommand(
+            CallHistoryRepositoryPort repositoryPort, CacheAside cacheAside) {
+        return new CachedListCallHistoryCommand(
+                new ListCallHistoryUseCase(repositoryPort), cacheAside);
+    }
+
+    /** Bean para paginar el historial por cursor */
+    @Bean
+    public ListCallHistoryPageCommand listCallHistoryPageCommand(
+            CallHistoryRepositoryPort repositoryPort) {
+        return new ListCallHistoryPageUseCase(repositoryPort);
     }
 
     /** Bean para buscar historial por ID */
@@ -57,4 +76,53 @@ public class CallHistoryConfig {
     public FindBySuccessCommand findBySuccessCommand(CallHistoryRepositoryPort repositoryPort) {
         return new FindBySuccessUseCase(repositoryPort);
     }
+
+    /** Bean para consultar el historial con filtros combinados */
+    @Bean
+    public QueryCallHistoryCommand queryCallHistoryCommand(
+            CallHistoryRepositoryPort repositoryPort) {
+        return new QueryCallHistoryUseCase(repositoryPort);
+    }
+
+    /** Bean para la búsqueda de texto completo */
+    @Bean
+    public SearchCallHistoryCommand searchCallHistoryCommand(CallHistorySearchPort searchPort) {
+        return new SearchCallHistoryUseCase(searchPort);
+    }
+
+    /** Bean para exportar el historial de un rango de fechas */
+    @Bean
+    public ExportCallHistoryCommand exportCallHistoryCommand(
+            CallHistoryRepositoryPort repositoryPort) {
+        return new ExportCallHistoryUseCase(repositoryPort);
+    }
+
+    /** Bean para métricas de latencia calculadas en la base */
+    @Bean
+    public GetLatencyAnalyticsCommand getLatencyAnalyticsCommand(
+            CallHistoryAnalyticsPort analyticsPort) {
+        return new GetLatencyAnalyticsUseCase(analyticsPort);
+    }
+
+    /** Bean para reconstruir los rollups por minuto desde el historial */
+    @Bean
+    public BackfillRollupsCommand backfillRollupsCommand(CallHistoryRollupPort rollupPort) {
+        return new BackfillRollupsUseCase(rollupPort);
+    }
+
+    /** Bean para buscar un fingerprint de error, con caché por fingerprint */
+    @Bean
+    public FindErrorFingerprintCommand findErrorFingerprintCommand(
+            ErrorFingerprintRepositoryPort errorFingerprintRepository, CacheAside cacheAside) {
+        return new CachedFindErrorFingerprintCommand(
+                new FindErrorFingerprintUseCase(errorFingerprintRepository), cacheAside);
+    }
+
+    /** Bean para listar fingerprints de error, con caché por límite */
+    @Bean
+    public ListErrorFingerprintsCommand listErrorFingerprintsCommand(
+            ErrorFingerprintRepositoryPort errorFingerprintRepository, CacheAside cacheAside) {
+        return new CachedListErrorFingerprintsCommand(
+                new ListErrorFingerprintsUseCase(errorFingerprintRepository), cacheAside);
+    }
 }
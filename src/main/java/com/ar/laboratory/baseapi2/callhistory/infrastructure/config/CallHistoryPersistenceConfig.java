@@ -0,0 +1,119 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.config;
+
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.entity.CallHistoryEntity;
+import com.ar.laboratory.baseapi2.shared.infrastructure.config.CallHistoryProperties;
+import com.ar.laboratory.baseapi2.shared.infrastructure.config.ReadReplicaProperties;
+import com.ar.laboratory.baseapi2.shared.infrastructure.datasource.ReadReplicas;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.HashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.flyway.autoconfigure.FlywayConfigurationCustomizer;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.boot.jpa.EntityManagerFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+
+/**
+ * Unidad de persistencia aislada para el historial de llamadas
+ *
+ * <p>El writer, los lectores y los jobs del historial usan un pool Hikari propio, dimensionado con
+ * {@code app.call-history.datasource.hikari.*}: si la auditoría se atrasa agota sus conexiones,
+ * nunca las del tráfico de negocio. Apunta a la misma base y con las mismas credenciales que {@code
+ * spring.datasource} salvo que se indique otra URL en el pool.
+ *
+ * <p>Los repositorios JPA del historial, el {@code JdbcTemplate} {@value #JDBC_TEMPLATE} y las
+ * transacciones de {@value #TRANSACTION_MANAGER} quedan atados a ese pool. Hikari publica sus
+ * métricas por separado ({@code hikaricp.connections.*} con {@code pool=call-history}).
+ *
+ * <p>Las consultas del historial ({@code readOnly}) van a las réplicas con pools propios de {@code
+ * app.read-replicas.call-history-pool-size} conexiones. El writer, la partición y la retención
+ * escriben siempre en el primario. No hay ventana de read-your-writes: el writer confirma lotes
+ * todo el tiempo y la dejaría siempre abierta, y el historial ya es eventualmente consistente.
+ */
+@Slf4j
+@Configuration
+@EnableJpaRepositories(
+        basePackages = "com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence",
+        entityManagerFactoryRef = CallHistoryPersistenceConfig.ENTITY_MANAGER_FACTORY,
+        transactionManagerRef = CallHistoryPersistenceConfig.TRANSACTION_MANAGER)
+public class CallHistoryPersistenceConfig {
+
+    public static final String DATA_SOURCE = "callHistoryDataSource";
+    public static final String ENTITY_MANAGER_FACTORY = "callHistoryEntityManagerFactory";
+    public static final String TRANSACTION_MANAGER = "callHistoryTransactionManager";
+    public static final String JDBC_TEMPLATE = "callHistoryJdbcTemplate";
+
+    /** Placeholder de Flyway con el que R__call_history_body_search crea o elimina los índices */
+    static final String INDEX_BODIES_PLACEHOLDER = "callHistoryIndexBodies";
+
+    /** Pool del historial: misma base que spring.datasource, tamaño propio */
+    @Bean
+    @ConfigurationProperties("app.call-history.datasource.hikari")
+    public HikariDataSource callHistoryPool(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties
+                .initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    @Bean(DATA_SOURCE)
+    public DataSource callHistoryDataSource(
+            @Qualifier("callHistoryPool") HikariDataSource callHistoryPool,
+            ReadReplicas readReplicas,
+            ReadReplicaProperties readReplicaProperties) {
+        return readReplicas.route(
+                "call-history", callHistoryPool, readReplicaProperties.getCallHistoryPoolSize());
+    }
+
+    @Bean(ENTITY_MANAGER_FACTORY)
+    public LocalContainerEntityManagerFactoryBean callHistoryEntityManagerFactory(
+            EntityManagerFactoryBuilder builder, @Qualifier(DATA_SOURCE) DataSource dataSource) {
+        return builder.dataSource(dataSource)
+                .packages(CallHistoryEntity.class)
+                .persistenceUnit("callHistory")
+                .build();
+    }
+
+    @Bean(TRANSACTION_MANAGER)
+    public JpaTransactionManager callHistoryTransactionManager(
+            @Qualifier(ENTITY_MANAGER_FACTORY) EntityManagerFactory entityManagerFactory) {
+        return new JpaTransactionManager(entityManagerFactory);
+    }
+
+    @Bean(JDBC_TEMPLATE)
+    public JdbcTemplate callHistoryJdbcTemplate(@Qualifier(DATA_SOURCE) DataSource dataSource) {
+        return new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Pasa {@code app.call-history.search.index-bodies} a la migración repetible que indexa query
+     * params y cuerpos: al cambiar la propiedad cambia su checksum y Flyway la vuelve a aplicar,
+     * así que deshabilitarla también elimina la columna y el índice
+     */
+    @Bean
+    public FlywayConfigurationCustomizer callHistoryBodySearchMigrations(
+            CallHistoryProperties callHistoryProperties) {
+        return configuration -> {
+            boolean indexBodies = callHistoryProperties.getSearch().isIndexBodies();
+            if (indexBodies
+                    && callHistoryProperties.getPayloads().getStorage()
+                            == CallHistoryProperties.PayloadStorage.DEDUPLICATED) {
+                log.warn(
+                        "Call history body search is enabled but payloads are DEDUPLICATED:"
+                                + " externalized bodies are not indexed");
+            }
+            Map<String, String> placeholders = new HashMap<>(configuration.getPlaceholders());
+            placeholders.put(INDEX_BODIES_PLACEHOLDER, String.valueOf(indexBodies));
+            configuration.placeholders(placeholders);
+        };
+    }
+}
@@ -0,0 +1,73 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.inbound.job;
+
+import com.ar.laboratory.baseapi2.callhistory.application.inbound.command.BackfillRollupsCommand;
+import com.ar.laboratory.baseapi2.shared.infrastructure.config.CallHistoryProperties;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ejecuta el backfill de rollups en segundo plano, de a uno por instancia
+ *
+ * <p>El final del rango se recorta a {@code now - backfill-safety-margin}. No hace falta para no
+ * perder lotes (el recálculo y los upserts del writer se excluyen con un advisory lock), pero evita
+ * frenar al writer recalculando los minutos que todavía está escribiendo.
+ */
+@Slf4j
+@Component
+public class CallHistoryRollupBackfillJob {
+
+    private final BackfillRollupsCommand backfillRollupsCommand;
+    private final Executor taskExecutor;
+    private final CallHistoryProperties.Rollups properties;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public CallHistoryRollupBackfillJob(
+            BackfillRollupsCommand backfillRollupsCommand,
+            @Qualifier("taskExecutor") Executor taskExecutor,
+            CallHistoryProperties callHistoryProperties) {
+        this.backfillRollupsCommand = backfillRollupsCommand;
+        this.taskExecutor = taskExecutor;
+        this.properties = callHistoryProperties.getRollups();
+    }
+
+    /** Último instante que el backfill puede reconstruir */
+    public LocalDateTime latestEnd() {
+        return LocalDateTime.now().minus(properties.getBackfillSafetyMargin());
+    }
+
+    /**
+     * Lanza el backfill de [from, to)
+     *
+     * @return false si ya hay un backfill en curso
+     */
+    public boolean start(LocalDateTime from, LocalDateTime to) {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            taskExecutor.execute(() -> run(from, to));
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+        return true;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    private void run(LocalDateTime from, LocalDateTime to) {
+        try {
+            backfillRollupsCommand.execute(from, to, properties.getBackfillChunk());
+        } catch (Exception e) {
+            log.error("Rollup backfill for [{}, {}) failed", from, to, e);
+        } finally {
+            running.set(false);
+        }
+    }
+}
@@ -1,8 +1,14 @@
 package com.ar.laboratory.baseapi2.callhistory.infrastructure.inbound.web.api;
 
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.inbound.web.dto.CallHistoryPageResponse;
 import com.ar.laboratory.baseapi2.callhistory.infrastructure.inbound.web.dto.CallHistoryResponse;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.inbound.web.dto.CallHistorySearchHitResponse;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.inbound.web.dto.CallHistorySummaryResponse;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.inbound.web.dto.ErrorFingerprintResponse;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.inbound.web.dto.LatencyStatsResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -12,15 +18,33 @@ import java.time.LocalDateTime;
 import java.util.List;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * Contrato API para consultar el historial de llamadas a endpoints. Esta interfaz define todos los
  * endpoints relacionados con Call History y contiene la documentación OpenAPI completa.
+ *
+ * <p>Los listados devuelven resúmenes sin cuerpos ni stacktrace; el detalle completo se obtiene con
+ * {@code GET /{id}}.
  */
 @Tag(name = "Call History", description = "API para consultar el historial de llamadas a endpoints")
 public interface CallHistoryApi {
 
+    /** Header con el cursor de la página siguiente en los listados paginados */
+    String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    /** Campos que admite el parámetro fields de los listados */
+    String SUMMARY_FIELDS_LIST =
+            "id, createdAt, httpMethod, path, httpStatus, success, durationMs, correlationId";
+
+    String PAGINATION_NOTE =
+            " Resultados ordenados por fecha descendente y paginados: la página siguiente se pide"
+                    + " enviando el valor del header "
+                    + NEXT_CURSOR_HEADER
+                    + " como parámetro cursor";
+
     @Operation(
             summary = "Listar historial de llamadas",
             description =
@@ -37,15 +61,62 @@ public interface CallHistoryApi {
                                         schema =
                                                 @Schema(
                                                         implementation =
-                                                                CallHistoryResponse.class)))
+                                                                CallHistorySummaryResponse.class))),
+                @ApiResponse(
+                        responseCode = "400",
+                        description = "offset negativo o fields inválido")
             })
-    ResponseEntity<List<CallHistoryResponse>> listAll(
+    ResponseEntity<List<CallHistorySummaryResponse>> listAll(
             @Parameter(description = "Cantidad de registros a retornar", example = "50")
                     @RequestParam(defaultValue = "50")
                     int limit,
-            @Parameter(description = "Offset para paginación", example = "0")
+            @Parameter(description = "Offset para paginación (no negativo)", example = "0")
                     @RequestParam(defaultValue = "0")
-                    int offset);
+                    int offset,
+            @Parameter(
+                            description =
+                                    "Campos a incluir, separados por coma (por defecto todos): "
+                                            + SUMMARY_FIELDS_LIST,
+                            example = "id,createdAt,path,httpStatus")
+                    @RequestParam(required = false)
+                    String fields);
+
+    @Operation(
+            summary = "Recorrer historial por cursor",
+            description =
+                    "Obtiene una página del historial ordenado por fecha e ID descendente. Para la"
+                            + " página siguiente se envía el nextCursor de la respuesta anterior;"
+                            + " el costo por página no crece con la profundidad")
+    @ApiResponses(
+            value = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Página obtenida exitosamente",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema =
+                                                @Schema(
+                                                        implementation =
+                                                                CallHistoryPageResponse.class))),
+                @ApiResponse(responseCode = "400", description = "Cursor o fields inválido")
+            })
+    ResponseEntity<CallHistoryPageResponse> listPage(
+            @Parameter(
+                            description = "Cantidad de registros a retornar (máximo 500)",
+                            example = "50")
+                    @RequestParam(defaultValue = "50")
+                    int limit,
+            @Parameter(description = "nextCursor de la página anterior; omitir en la primera")
+                    @RequestParam(required = false)
+                    String cursor,
+            @Parameter(
+                            description =
+                                    "Campos a incluir, separados por coma (por defecto todos): "
+                                            + SUMMARY_FIELDS_LIST,
+                            example = "id,createdAt,path,httpStatus")
+                    @RequestParam(required = false)
+                    String fields);
 
     @Operation(
             summary = "Buscar por ID",
@@ -69,103 +140,491 @@ public interface CallHistoryApi {
 
     @Operation(
             summary = "Buscar por rango de fechas",
-            description = "Obtiene registros del historial dentro de un rango de fechas específico")
+            description =
+                    "Obtiene registros del historial dentro de un rango de fechas específico."
+                            + PAGINATION_NOTE)
     @ApiResponses(
             value = {
                 @ApiResponse(
                         responseCode = "200",
                         description = "Lista obtenida exitosamente",
+                        headers =
+                                @Header(
+                                        name = NEXT_CURSOR_HEADER,
+                                        description =
+                                                "Cursor de la página siguiente; ausente en la"
+                                                        + " última página"),
                         content =
                                 @Content(
                                         mediaType = "application/json",
                                         schema =
                                                 @Schema(
                                                         implementation =
-                                                                CallHistoryResponse.class)))
+                                                                CallHistorySummaryResponse.class))),
+                @ApiResponse(responseCode = "400", description = "Cursor o fields inválido")
             })
-    ResponseEntity<List<CallHistoryResponse>> findByDateRange(
+    ResponseEntity<List<CallHistorySummaryResponse>> findByDateRange(
             @Parameter(description = "Fecha desde (ISO format)", example = "2026-02-03T00:00:00")
                     @RequestParam
                     LocalDateTime from,
             @Parameter(description = "Fecha hasta (ISO format)", example = "2026-02-03T23:59:59")
                     @RequestParam
-                    LocalDateTime to);
+                    LocalDateTime to,
+            @Parameter(
+                            description = "Cantidad de registros a retornar (máximo 500)",
+                            example = "50")
+                    @RequestParam(defaultValue = "50")
+                    int limit,
+            @Parameter(description = "Valor de X-Next-Cursor de la página anterior")
+                    @RequestParam(required = false)
+                    String cursor,
+            @Parameter(
+                            description =
+                                    "Campos a incluir, separados por coma (por defecto todos): "
+                                            + SUMMARY_FIELDS_LIST,
+                            example = "id,createdAt,path,httpStatus")
+                    @RequestParam(required = false)
+                    String fields);
 
     @Operation(
             summary = "Buscar por Correlation ID",
             description =
-                    "Obtiene todos los registros asociados a un Correlation ID específico. Útil"
-                            + " para rastrear transacciones distribuidas")
+                    "Obtiene los registros asociados a un Correlation ID específico. Útil para"
+                            + " rastrear transacciones distribuidas."
+                            + PAGINATION_NOTE)
     @ApiResponses(
             value = {
                 @ApiResponse(
                         responseCode = "200",
                         description = "Lista obtenida exitosamente",
+                        headers =
+                                @Header(
+                                        name = NEXT_CURSOR_HEADER,
+                                        description =
+                                                "Cursor de la página siguiente; ausente en la"
+                                                        + " última página"),
                         content =
                                 @Content(
                                         mediaType = "application/json",
                                         schema =
                                                 @Schema(
                                                         implementation =
-                                                                CallHistoryResponse.class)))
+                                                                CallHistorySummaryResponse.class))),
+                @ApiResponse(responseCode = "400", description = "Cursor o fields inválido")
             })
-    ResponseEntity<List<CallHistoryResponse>> findByCorrelationId(
+    ResponseEntity<List<CallHistorySummaryResponse>> findByCorrelationId(
             @Parameter(
                             description = "Correlation ID para rastrear llamadas relacionadas",
                             example = "abc-123-xyz")
                     @PathVariable
-                    String correlationId);
+                    String correlationId,
+            @Parameter(
+                            description = "Cantidad de registros a retornar (máximo 500)",
+                            example = "50")
+                    @RequestParam(defaultValue = "50")
+                    int limit,
+            @Parameter(description = "Valor de X-Next-Cursor de la página anterior")
+                    @RequestParam(required = false)
+                    String cursor,
+            @Parameter(
+                            description =
+                                    "Campos a incluir, separados por coma (por defecto todos): "
+                                            + SUMMARY_FIELDS_LIST,
+                            example = "id,createdAt,path,httpStatus")
+                    @RequestParam(required = false)
+                    String fields);
 
     @Operation(
             summary = "Buscar por path",
-            description = "Obtiene todos los registros para un endpoint específico")
+            description = "Obtiene los registros para un endpoint específico." + PAGINATION_NOTE)
     @ApiResponses(
             value = {
                 @ApiResponse(
                         responseCode = "200",
                         description = "Lista obtenida exitosamente",
+                        headers =
+                                @Header(
+                                        name = NEXT_CURSOR_HEADER,
+                                        description =
+                                                "Cursor de la página siguiente; ausente en la"
+                                                        + " última página"),
                         content =
                                 @Content(
                                         mediaType = "application/json",
                                         schema =
                                                 @Schema(
                                                         implementation =
-                                                                CallHistoryResponse.class)))
+                                                                CallHistorySummaryResponse.class))),
+                @ApiResponse(responseCode = "400", description = "Cursor o fields inválido")
             })
-    ResponseEntity<List<CallHistoryResponse>> findByPath(
+    ResponseEntity<List<CallHistorySummaryResponse>> findByPath(
             @Parameter(description = "Path del endpoint", example = "/api/v1/examples")
                     @RequestParam
-                    String path);
+                    String path,
+            @Parameter(
+                            description = "Cantidad de registros a retornar (máximo 500)",
+                            example = "50")
+                    @RequestParam(defaultValue = "50")
+                    int limit,
+            @Parameter(description = "Valor de X-Next-Cursor de la página anterior")
+                    @RequestParam(required = false)
+                    String cursor,
+            @Parameter(
+                            description =
+                                    "Campos a incluir, separados por coma (por defecto todos): "
+                                            + SUMMARY_FIELDS_LIST,
+                            example = "id,createdAt,path,httpStatus")
+                    @RequestParam(required = false)
+                    String fields);
 
     @Operation(
             summary = "Buscar llamadas exitosas o fallidas",
             description =
                     "Filtra el historial por el estado de éxito de las llamadas. Útil para"
-                            + " debugging y análisis de errores")
+                            + " debugging y análisis de errores."
+                            + PAGINATION_NOTE)
     @ApiResponses(
             value = {
                 @ApiResponse(
                         responseCode = "200",
                         description = "Lista obtenida exitosamente",
+                        headers =
+                                @Header(
+                                        name = NEXT_CURSOR_HEADER,
+                                        description =
+                                                "Cursor de la página siguiente; ausente en la"
+                                                        + " última página"),
                         content =
                                 @Content(
                                         mediaType = "application/json",
                                         schema =
                                                 @Schema(
                                                         implementation =
-                                                                CallHistoryResponse.class)))
+                                                                CallHistorySummaryResponse.class))),
+                @ApiResponse(responseCode = "400", description = "Cursor o fields inválido")
             })
-    ResponseEntity<List<CallHistoryResponse>> findBySuccess(
+    ResponseEntity<List<CallHistorySummaryResponse>> findBySuccess(
             @Parameter(
                             description =
                                     "Estado de éxito: true para exitosas, false para fallidas",
                             example = "false")
                     @RequestParam
-                    boolean success);
+                    boolean success,
+            @Parameter(
+                            description = "Cantidad de registros a retornar (máximo 500)",
+                            example = "50")
+                    @RequestParam(defaultValue = "50")
+                    int limit,
+            @Parameter(description = "Valor de X-Next-Cursor de la página anterior")
+                    @RequestParam(required = false)
+                    String cursor,
+            @Parameter(
+                            description =
+                                    "Campos a incluir, separados por coma (por defecto todos): "
+                                            + SUMMARY_FIELDS_LIST,
+                            example = "id,createdAt,path,httpStatus")
+                    @RequestParam(required = false)
+                    String fields);
 
     @Operation(
             summary = "Buscar llamadas fallidas (atajo)",
-            description = "Obtiene todas las llamadas que fallaron. Equivalente a success=false")
+            description =
+                    "Obtiene las llamadas que fallaron. Equivalente a success=false."
+                            + PAGINATION_NOTE)
+    @ApiResponses(
+            value = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Lista obtenida exitosamente",
+                        headers =
+                                @Header(
+                                        name = NEXT_CURSOR_HEADER,
+                                        description =
+                                                "Cursor de la página siguiente; ausente en la"
+                                                        + " última página"),
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema =
+                                                @Schema(
+                                                        implementation =
+                                                                CallHistorySummaryResponse.class))),
+                @ApiResponse(responseCode = "400", description = "Cursor o fields inválido")
+            })
+    ResponseEntity<List<CallHistorySummaryResponse>> findFailures(
+            @Parameter(
+                            description = "Cantidad de registros a retornar (máximo 500)",
+                            example = "50")
+                    @RequestParam(defaultValue = "50")
+                    int limit,
+            @Parameter(description = "Valor de X-Next-Cursor de la página anterior")
+                    @RequestParam(required = false)
+                    String cursor,
+            @Parameter(
+                            description =
+                                    "Campos a incluir, separados por coma (por defecto todos): "
+                                            + SUMMARY_FIELDS_LIST,
+                            example = "id,createdAt,path,httpStatus")
+                    @RequestParam(required = false)
+                    String fields);
+
+    @Operation(
+            summary = "Consultar con filtros combinados",
+            description =
+                    "Combina path, método, rango de status, éxito, duración mínima, IP de cliente"
+                            + " y ventana de tiempo en una sola consulta. Debe incluir al menos un"
+                            + " filtro selectivo (path, clientIp, success=false o una ventana"
+                            + " from/to de hasta 24 h); si no, se rechaza para no recorrer toda la"
+                            + " tabla."
+                            + PAGINATION_NOTE)
+    @ApiResponses(
+            value = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Lista obtenida exitosamente",
+                        headers =
+                                @Header(
+                                        name = NEXT_CURSOR_HEADER,
+                                        description =
+                                                "Cursor de la página siguiente; ausente en la"
+                                                        + " última página"),
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema =
+                                                @Schema(
+                                                        implementation =
+                                                                CallHistorySummaryResponse.class))),
+                @ApiResponse(
+                        responseCode = "400",
+                        description =
+                                "Filtros inválidos o sin filtro selectivo, cursor o fields"
+                                        + " inválido")
+            })
+    ResponseEntity<List<CallHistorySummaryResponse>> query(
+            @Parameter(description = "Path exacto del endpoint", example = "/api/v1/examples")
+                    @RequestParam(required = false)
+                    String path,
+            @Parameter(description = "Método HTTP", example = "POST")
+                    @RequestParam(required = false)
+                    String method,
+            @Parameter(description = "Status HTTP mínimo, inclusivo", example = "500")
+                    @RequestParam(required = false)
+                    Integer statusFrom,
+            @Parameter(description = "Status HTTP máximo, inclusivo", example = "599")
+                    @RequestParam(required = false)
+                    Integer statusTo,
+            @Parameter(description = "Solo exitosas (true) o fallidas (false)")
+                    @RequestParam(required = false)
+                    Boolean success,
+            @Parameter(description = "Duración mínima en milisegundos", example = "500")
+                    @RequestParam(required = false)
+                    Long minDurationMs,
+            @Parameter(description = "IP del cliente", example = "10.0.0.12")
+                    @RequestParam(required = false)
+                    String clientIp,
+            @Parameter(description = "Fecha desde (ISO format)", example = "2026-03-01T10:00:00")
+                    @RequestParam(required = false)
+                    LocalDateTime from,
+            @Parameter(
+                            description = "Fecha hasta, exclusiva (ISO format)",
+                            example = "2026-03-01T11:00:00")
+                    @RequestParam(required = false)
+                    LocalDateTime to,
+            @Parameter(
+                            description = "Cantidad de registros a retornar (máximo 500)",
+                            example = "50")
+                    @RequestParam(defaultValue = "50")
+                    int limit,
+            @Parameter(description = "Valor de X-Next-Cursor de la página anterior")
+                    @RequestParam(required = false)
+                    String cursor,
+            @Parameter(
+                            description =
+                                    "Campos a incluir, separados por coma (por defecto todos): "
+                                            + SUMMARY_FIELDS_LIST,
+                            example = "id,createdAt,path,httpStatus")
+                    @RequestParam(required = false)
+                    String fields);
+
+    @Operation(
+            summary = "Buscar texto en errores y cuerpos",
+            description =
+                    "Búsqueda de texto completo sobre el tipo y mensaje de error y, con"
+                            + " includeBodies, sobre query params y cuerpos guardados en la fila"
+                            + " (requiere app.call-history.search.index-bodies)."
+                            + " Admite sintaxis web: palabras, \"frases\", OR y -exclusiones."
+                            + " Ordena por relevancia o por fecha; la página siguiente se pide"
+                            + " enviando el valor del header "
+                            + NEXT_CURSOR_HEADER
+                            + " como parámetro cursor")
+    @ApiResponses(
+            value = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Resultados de la búsqueda",
+                        headers =
+                                @Header(
+                                        name = NEXT_CURSOR_HEADER,
+                                        description =
+                                                "Cursor de la página siguiente; ausente en la"
+                                                        + " última página"),
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema =
+                                                @Schema(
+                                                        implementation =
+                                                                CallHistorySearchHitResponse
+                                                                        .class))),
+                @ApiResponse(
+                        responseCode = "400",
+                        description = "Consulta, rango, sort, cursor o fields inválido")
+            })
+    ResponseEntity<List<CallHistorySearchHitResponse>> search(
+            @Parameter(description = "Texto a buscar", example = "timeout -connection")
+                    @RequestParam
+                    String q,
+            @Parameter(description = "Fecha desde (ISO format)", example = "2026-02-01T00:00:00")
+                    @RequestParam(required = false)
+                    LocalDateTime from,
+            @Parameter(
+                            description = "Fecha hasta, exclusiva (ISO format)",
+                            example = "2026-03-01T00:00:00")
+                    @RequestParam(required = false)
+                    LocalDateTime to,
+            @Parameter(description = "Solo exitosas (true) o fallidas (false)")
+                    @RequestParam(required = false)
+                    Boolean success,
+            @Parameter(
+                            description =
+                                    "Buscar también en query params y cuerpos; 400 si la"
+                                            + " indexación de cuerpos está deshabilitada")
+                    @RequestParam(defaultValue = "false")
+                    boolean includeBodies,
+            @Parameter(description = "Orden: relevance o recent", example = "relevance")
+                    @RequestParam(defaultValue = "relevance")
+                    String sort,
+            @Parameter(
+                            description = "Cantidad de resultados a retornar (máximo 500)",
+                            example = "50")
+                    @RequestParam(defaultValue = "50")
+                    int limit,
+            @Parameter(description = "Valor de X-Next-Cursor de la página anterior")
+                    @RequestParam(required = false)
+                    String cursor,
+            @Parameter(
+                            description =
+                                    "Campos de la llamada a incluir, separados por coma (por"
+                                            + " defecto todos): "
+                                            + SUMMARY_FIELDS_LIST,
+                            example = "id,createdAt,path,httpStatus")
+                    @RequestParam(required = false)
+                    String fields);
+
+    @Operation(
+            summary = "Exportar historial por rango de fechas",
+            description =
+                    "Descarga todos los registros del rango, en orden ascendente, como NDJSON o"
+                            + " CSV. La respuesta se escribe a medida que se lee de la base (sin"
+                            + " paginar ni cargar el rango en memoria) y se comprime con gzip si el"
+                            + " cliente lo acepta.")
+    @ApiResponses(
+            value = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Exportación en curso",
+                        content = {
+                            @Content(mediaType = "application/x-ndjson"),
+                            @Content(mediaType = "text/csv")
+                        }),
+                @ApiResponse(responseCode = "400", description = "Rango, formato o fields inválido")
+            })
+    ResponseEntity<StreamingResponseBody> export(
+            @Parameter(description = "Fecha desde (ISO format)", example = "2026-02-01T00:00:00")
+                    @RequestParam
+                    LocalDateTime from,
+            @Parameter(
+                            description = "Fecha hasta, exclusiva (ISO format)",
+                            example = "2026-03-01T00:00:00")
+                    @RequestParam
+                    LocalDateTime to,
+            @Parameter(description = "Formato: ndjson o csv", example = "ndjson")
+                    @RequestParam(defaultValue = "ndjson")
+                    String format,
+            @Parameter(
+                            description =
+                                    "Campos a incluir, separados por coma (por defecto todos): "
+                                            + SUMMARY_FIELDS_LIST,
+                            example = "createdAt,path,httpStatus,durationMs")
+                    @RequestParam(required = false)
+                    String fields,
+            @Parameter(hidden = true) @RequestHeader(value = "Accept-Encoding", required = false)
+                    String acceptEncoding);
+
+    @Operation(
+            summary = "Métricas de latencia por intervalo",
+            description =
+                    "Percentiles p50/p95/p99 de duración, throughput y tasa de error por path o"
+                            + " handler, en intervalos de tamaño configurable. Se calcula en la"
+                            + " base sobre el rango pedido (máximo 2000 intervalos).")
+    @ApiResponses(
+            value = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Métricas calculadas",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema =
+                                                @Schema(
+                                                        implementation =
+                                                                LatencyStatsResponse.class))),
+                @ApiResponse(responseCode = "400", description = "Rango, bucket o groupBy inválido")
+            })
+    ResponseEntity<List<LatencyStatsResponse>> latencyAnalytics(
+            @Parameter(description = "Fecha desde (ISO format)", example = "2026-02-03T00:00:00")
+                    @RequestParam
+                    LocalDateTime from,
+            @Parameter(
+                            description = "Fecha hasta, exclusiva (ISO format)",
+                            example = "2026-02-04T00:00:00")
+                    @RequestParam
+                    LocalDateTime to,
+            @Parameter(description = "Tamaño del intervalo (30s, 5m, 1h, 1d)", example = "5m")
+                    @RequestParam(defaultValue = "5m")
+                    String bucket,
+            @Parameter(description = "Agrupar por path o handler", example = "path")
+                    @RequestParam(defaultValue = "path")
+                    String groupBy);
+
+    @Operation(
+            summary = "Reconstruir rollups por minuto",
+            description =
+                    "Recalcula en segundo plano los rollups del rango desde el historial crudo,"
+                            + " reemplazando los existentes. El final se recorta para no tocar los"
+                            + " minutos que el writer sigue escribiendo.")
+    @ApiResponses(
+            value = {
+                @ApiResponse(responseCode = "202", description = "Backfill iniciado"),
+                @ApiResponse(responseCode = "400", description = "Rango inválido"),
+                @ApiResponse(responseCode = "409", description = "Ya hay un backfill en curso")
+            })
+    ResponseEntity<Void> backfillRollups(
+            @Parameter(description = "Fecha desde (ISO format)", example = "2026-02-01T00:00:00")
+                    @RequestParam
+                    LocalDateTime from,
+            @Parameter(
+                            description = "Fecha hasta, exclusiva (ISO format)",
+                            example = "2026-03-01T00:00:00")
+                    @RequestParam
+                    LocalDateTime to);
+
+    @Operation(
+            summary = "Listar errores deduplicados",
+            description =
+                    "Obtiene los fingerprints de error más recientes (tipo de excepción + frames"
+                            + " del tope). Cada fingerprint guarda el stacktrace una sola vez")
     @ApiResponses(
             value = {
                 @ApiResponse(
@@ -177,7 +636,34 @@ public interface CallHistoryApi {
                                         schema =
                                                 @Schema(
                                                         implementation =
-                                                                CallHistoryResponse.class)))
+                                                                ErrorFingerprintResponse.class)))
+            })
+    ResponseEntity<List<ErrorFingerprintResponse>> listErrors(
+            @Parameter(description = "Cantidad de fingerprints a retornar", example = "50")
+                    @RequestParam(defaultValue = "50")
+                    int limit);
+
+    @Operation(
+            summary = "Buscar error por fingerprint",
+            description =
+                    "Obtiene el stacktrace de un fingerprint junto con su cantidad de ocurrencias"
+                            + " y la última aparición en el historial")
+    @ApiResponses(
+            value = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Fingerprint encontrado",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema =
+                                                @Schema(
+                                                        implementation =
+                                                                ErrorFingerprintResponse.class))),
+                @ApiResponse(responseCode = "404", description = "Fingerprint no encontrado")
             })
-    ResponseEntity<List<CallHistoryResponse>> findFailures();
+    ResponseEntity<ErrorFingerprintResponse> findError(
+            @Parameter(description = "Fingerprint del error", example = "9f2c4e1a7b3d5c60")
+                    @PathVariable
+                    String fingerprint);
 }
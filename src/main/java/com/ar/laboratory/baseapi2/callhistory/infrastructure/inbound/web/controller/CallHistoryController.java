@@ -1,18 +1,51 @@
 package com.ar.laboratory.baseapi2.callhistory.infrastructure.inbound.web.controller;
 
 import com.ar.laboratory.baseapi2.callhistory.application.inbound.command.*;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryCriteria;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryCursor;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryPage;
 import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryRecord;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistorySearchPage;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistorySearchQuery;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistorySearchSort;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistorySummary;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.ErrorFingerprint;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.LatencyAnalyticsQuery;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.LatencyGroupBy;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.LatencyStats;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.inbound.job.CallHistoryRollupBackfillJob;
 import com.ar.laboratory.baseapi2.callhistory.infrastructure.inbound.web.api.CallHistoryApi;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.inbound.web.dto.CallHistoryPageResponse;
 import com.ar.laboratory.baseapi2.callhistory.infrastructure.inbound.web.dto.CallHistoryResponse;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.inbound.web.dto.CallHistorySearchHitResponse;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.inbound.web.dto.CallHistorySummaryResponse;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.inbound.web.dto.ErrorFingerprintResponse;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.inbound.web.dto.LatencyStatsResponse;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.inbound.web.export.CallHistoryExportFormat;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.inbound.web.export.CallHistoryExportWriter;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.inbound.web.export.ExportContentCoding;
 import com.ar.laboratory.baseapi2.callhistory.infrastructure.inbound.web.mapper.CallHistoryDtoMapper;
+import com.ar.laboratory.baseapi2.shared.infrastructure.config.CallHistoryProperties;
+import com.ar.laboratory.baseapi2.shared.infrastructure.exception.BadRequestException;
+import java.io.OutputStream;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.convert.DurationStyle;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * Controller REST para consultar el historial de llamadas. Implementa CallHistoryApi para
@@ -24,29 +57,67 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class CallHistoryController implements CallHistoryApi {
 
+    private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+
+    /** Largo máximo de la consulta de búsqueda */
+    private static final int MAX_SEARCH_TEXT_LENGTH = 256;
+
+    /** Tope de intervalos por consulta de analytics (filas = intervalos x grupos) */
+    private static final long MAX_ANALYTICS_BUCKETS = 2_000;
+
     private final ListCallHistoryCommand listCallHistoryCommand;
+    private final ListCallHistoryPageCommand listCallHistoryPageCommand;
     private final FindByIdCommand findByIdCommand;
     private final FindByDateRangeCommand findByDateRangeCommand;
     private final FindByCorrelationIdCommand findByCorrelationIdCommand;
     private final FindByPathCommand findByPathCommand;
     private final FindBySuccessCommand findBySuccessCommand;
+    private final QueryCallHistoryCommand queryCallHistoryCommand;
+    private final SearchCallHistoryCommand searchCallHistoryCommand;
+    private final ExportCallHistoryCommand exportCallHistoryCommand;
+    private final GetLatencyAnalyticsCommand getLatencyAnalyticsCommand;
+    private final ListErrorFingerprintsCommand listErrorFingerprintsCommand;
+    private final FindErrorFingerprintCommand findErrorFingerprintCommand;
+    private final CallHistoryRollupBackfillJob rollupBackfillJob;
     private final CallHistoryDtoMapper dtoMapper;
+    private final CallHistoryProperties callHistoryProperties;
 
     @GetMapping
     @Override
-    public ResponseEntity<List<CallHistoryResponse>> listAll(
+    public ResponseEntity<List<CallHistorySummaryResponse>> listAll(
             @RequestParam(defaultValue = "50") int limit,
-            @RequestParam(defaultValue = "0") int offset) {
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(required = false) String fields) {
         log.info("Request GET /call-history?limit={}&offset={}", limit, offset);
+        if (offset < 0) {
+            throw new BadRequestException("offset no puede ser negativo: " + offset);
+        }
+        Set<String> selected = dtoMapper.parseFields(fields);
 
         // Ejecutar caso de uso
-        List<CallHistoryRecord> records = listCallHistoryCommand.execute(limit, offset);
+        List<CallHistorySummary> summaries = listCallHistoryCommand.execute(limit, offset);
 
         // Domain → DTO
-        List<CallHistoryResponse> response =
-                records.stream().map(dtoMapper::toResponse).collect(Collectors.toList());
+        return ResponseEntity.ok(dtoMapper.toResponse(summaries, selected));
+    }
 
-        return ResponseEntity.ok(response);
+    @GetMapping("/page")
+    @Override
+    public ResponseEntity<CallHistoryPageResponse> listPage(
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String fields) {
+        log.info("Request GET /call-history/page?limit={}&cursor={}", limit, cursor);
+        Set<String> selected = dtoMapper.parseFields(fields);
+
+        // Token → cursor de dominio
+        CallHistoryCursor after = dtoMapper.fromCursorToken(cursor);
+
+        // Ejecutar caso de uso
+        CallHistoryPage page = listCallHistoryPageCommand.execute(after, limit);
+
+        // Domain → DTO
+        return ResponseEntity.ok(dtoMapper.toResponse(page, selected));
     }
 
     @GetMapping("/{id}")
@@ -65,79 +136,364 @@ public class CallHistoryController implements CallHistoryApi {
 
     @GetMapping("/date-range")
     @Override
-    public ResponseEntity<List<CallHistoryResponse>> findByDateRange(
+    public ResponseEntity<List<CallHistorySummaryResponse>> findByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
-        log.info("Request GET /call-history/date-range?from={}&to={}", from, to);
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String fields) {
+        log.info("Request GET /call-history/date-range?from={}&to={}&limit={}", from, to, limit);
 
         // Ejecutar caso de uso
-        List<CallHistoryRecord> records = findByDateRangeCommand.execute(from, to);
+        CallHistoryPage page =
+                findByDateRangeCommand.execute(from, to, dtoMapper.fromCursorToken(cursor), limit);
 
         // Domain → DTO
-        List<CallHistoryResponse> response =
-                records.stream().map(dtoMapper::toResponse).collect(Collectors.toList());
-
-        return ResponseEntity.ok(response);
+        return toPagedResponse(page, fields);
     }
 
     @GetMapping("/correlation/{correlationId}")
     @Override
-    public ResponseEntity<List<CallHistoryResponse>> findByCorrelationId(
-            @PathVariable String correlationId) {
-        log.info("Request GET /call-history/correlation/{}", correlationId);
+    public ResponseEntity<List<CallHistorySummaryResponse>> findByCorrelationId(
+            @PathVariable String correlationId,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String fields) {
+        log.info("Request GET /call-history/correlation/{}?limit={}", correlationId, limit);
 
         // Ejecutar caso de uso
-        List<CallHistoryRecord> records = findByCorrelationIdCommand.execute(correlationId);
+        CallHistoryPage page =
+                findByCorrelationIdCommand.execute(
+                        correlationId, dtoMapper.fromCursorToken(cursor), limit);
 
         // Domain → DTO
-        List<CallHistoryResponse> response =
-                records.stream().map(dtoMapper::toResponse).collect(Collectors.toList());
-
-        return ResponseEntity.ok(response);
+        return toPagedResponse(page, fields);
     }
 
     @GetMapping("/path")
     @Override
-    public ResponseEntity<List<CallHistoryResponse>> findByPath(@RequestParam String path) {
-        log.info("Request GET /call-history/path?path={}", path);
+    public ResponseEntity<List<CallHistorySummaryResponse>> findByPath(
+            @RequestParam String path,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String fields) {
+        log.info("Request GET /call-history/path?path={}&limit={}", path, limit);
 
         // Ejecutar caso de uso
-        List<CallHistoryRecord> records = findByPathCommand.execute(path);
+        CallHistoryPage page =
+                findByPathCommand.execute(path, dtoMapper.fromCursorToken(cursor), limit);
 
         // Domain → DTO
-        List<CallHistoryResponse> response =
-                records.stream().map(dtoMapper::toResponse).collect(Collectors.toList());
-
-        return ResponseEntity.ok(response);
+        return toPagedResponse(page, fields);
     }
 
     @GetMapping("/success")
     @Override
-    public ResponseEntity<List<CallHistoryResponse>> findBySuccess(@RequestParam boolean success) {
-        log.info("Request GET /call-history/success?success={}", success);
+    public ResponseEntity<List<CallHistorySummaryResponse>> findBySuccess(
+            @RequestParam boolean success,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String fields) {
+        log.info("Request GET /call-history/success?success={}&limit={}", success, limit);
 
         // Ejecutar caso de uso
-        List<CallHistoryRecord> records = findBySuccessCommand.execute(success);
+        CallHistoryPage page =
+                findBySuccessCommand.execute(success, dtoMapper.fromCursorToken(cursor), limit);
+
+        // Domain → DTO
+        return toPagedResponse(page, fields);
+    }
+
+    @GetMapping("/failures")
+    @Override
+    public ResponseEntity<List<CallHistorySummaryResponse>> findFailures(
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String fields) {
+        log.info("Request GET /call-history/failures?limit={}", limit);
+
+        // Ejecutar caso de uso
+        CallHistoryPage page =
+                findBySuccessCommand.execute(false, dtoMapper.fromCursorToken(cursor), limit);
+
+        // Domain → DTO
+        return toPagedResponse(page, fields);
+    }
+
+    @GetMapping("/query")
+    @Override
+    public ResponseEntity<List<CallHistorySummaryResponse>> query(
+            @RequestParam(required = false) String path,
+            @RequestParam(required = false) String method,
+            @RequestParam(required = false) Integer statusFrom,
+            @RequestParam(required = false) Integer statusTo,
+            @RequestParam(required = false) Boolean success,
+            @RequestParam(required = false) Long minDurationMs,
+            @RequestParam(required = false) String clientIp,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                    LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                    LocalDateTime to,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String fields) {
+        // Request → criterios de dominio
+        CallHistoryCriteria criteria =
+                CallHistoryCriteria.builder()
+                        .path(path)
+                        .httpMethod(method != null ? method.toUpperCase(Locale.ROOT) : null)
+                        .statusFrom(statusFrom)
+                        .statusTo(statusTo)
+                        .success(success)
+                        .minDurationMs(minDurationMs)
+                        .clientIp(clientIp)
+                        .from(from)
+                        .to(to)
+                        .build();
+        log.info("Request GET /call-history/query {} limit={}", criteria, limit);
+        if (statusFrom != null && statusTo != null && statusFrom > statusTo) {
+            throw new BadRequestException("statusFrom no puede ser mayor que statusTo");
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new BadRequestException("from debe ser anterior a to");
+        }
+
+        // Ejecutar caso de uso (rechaza las consultas que no están ancladas a un índice)
+        CallHistoryPage page =
+                queryCallHistoryCommand.execute(criteria, dtoMapper.fromCursorToken(cursor), limit);
 
         // Domain → DTO
-        List<CallHistoryResponse> response =
-                records.stream().map(dtoMapper::toResponse).collect(Collectors.toList());
+        return toPagedResponse(page, fields);
+    }
+
+    @GetMapping("/search")
+    @Override
+    public ResponseEntity<List<CallHistorySearchHitResponse>> search(
+            @RequestParam String q,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                    LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                    LocalDateTime to,
+            @RequestParam(required = false) Boolean success,
+            @RequestParam(defaultValue = "false") boolean includeBodies,
+            @RequestParam(defaultValue = "relevance") String sort,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String fields) {
+        log.info(
+                "Request GET /call-history/search?from={}&to={}&includeBodies={}&sort={}&limit={}",
+                from,
+                to,
+                includeBodies,
+                sort,
+                limit);
+        if (q.isBlank() || q.length() > MAX_SEARCH_TEXT_LENGTH) {
+            throw new BadRequestException(
+                    "q debe tener entre 1 y " + MAX_SEARCH_TEXT_LENGTH + " caracteres");
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new BadRequestException("from debe ser anterior a to");
+        }
+        if (includeBodies && !callHistoryProperties.getSearch().isIndexBodies()) {
+            throw new BadRequestException(
+                    "La búsqueda en cuerpos no está habilitada"
+                            + " (app.call-history.search.index-bodies)");
+        }
+        Set<String> selected = dtoMapper.parseFields(fields);
+
+        // Request → consulta de dominio
+        CallHistorySearchQuery query =
+                new CallHistorySearchQuery(
+                        q,
+                        from,
+                        to,
+                        success,
+                        includeBodies,
+                        parseSearchSort(sort),
+                        dtoMapper.fromSearchCursorToken(cursor));
+
+        // Ejecutar caso de uso
+        CallHistorySearchPage page = searchCallHistoryCommand.execute(query, limit);
+
+        // Domain → DTO
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (page.hasNext()) {
+            builder.header(NEXT_CURSOR_HEADER, dtoMapper.toSearchCursorToken(page.next()));
+        }
+        return builder.body(
+                page.hits().stream().map(h -> dtoMapper.toResponse(h, selected)).toList());
+    }
+
+    @GetMapping("/export")
+    @Override
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+                    String acceptEncoding) {
+        log.info("Request GET /call-history/export?from={}&to={}&format={}", from, to, format);
+
+        // Validar antes de empezar a escribir: después ya no se puede responder 400
+        if (!from.isBefore(to)) {
+            throw new BadRequestException("from debe ser anterior a to");
+        }
+        CallHistoryExportFormat exportFormat = CallHistoryExportFormat.from(format);
+        List<String> selected = List.copyOf(dtoMapper.parseFields(fields));
+        boolean gzip = ExportContentCoding.acceptsGzip(acceptEncoding);
+
+        // Se ejecuta en un hilo de MVC async; la transacción de lectura vive dentro del body
+        StreamingResponseBody body =
+                out -> {
+                    OutputStream target =
+                            gzip ? new GZIPOutputStream(out, EXPORT_BUFFER_SIZE) : out;
+                    try (CallHistoryExportWriter writer = exportFormat.writer(target, selected)) {
+                        exportCallHistoryCommand.execute(from, to, writer::writeUnchecked);
+                    }
+                };
+
+        ResponseEntity.BodyBuilder builder =
+                ResponseEntity.ok()
+                        .contentType(MediaType.parseMediaType(exportFormat.contentType()))
+                        .header(
+                                HttpHeaders.CONTENT_DISPOSITION,
+                                ContentDisposition.attachment()
+                                        .filename("call-history." + exportFormat.extension())
+                                        .build()
+                                        .toString())
+                        .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return builder.body(body);
+    }
+
+    @GetMapping("/analytics/latency")
+    @Override
+    public ResponseEntity<List<LatencyStatsResponse>> latencyAnalytics(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "5m") String bucket,
+            @RequestParam(defaultValue = "path") String groupBy) {
+        log.info(
+                "Request GET /call-history/analytics/latency?from={}&to={}&bucket={}&groupBy={}",
+                from,
+                to,
+                bucket,
+                groupBy);
+
+        // Request → consulta de dominio
+        LatencyAnalyticsQuery query =
+                new LatencyAnalyticsQuery(from, to, parseBucket(bucket), parseGroupBy(groupBy));
+        if (!from.isBefore(to)) {
+            throw new BadRequestException("from debe ser anterior a to");
+        }
+        if (query.bucketCount() > MAX_ANALYTICS_BUCKETS) {
+            throw new BadRequestException(
+                    "El rango abarca "
+                            + query.bucketCount()
+                            + " intervalos (máximo "
+                            + MAX_ANALYTICS_BUCKETS
+                            + "); usar un bucket mayor");
+        }
+
+        // Ejecutar caso de uso
+        List<LatencyStats> stats = getLatencyAnalyticsCommand.execute(query);
+
+        // Domain → DTO
+        return ResponseEntity.ok(
+                stats.stream().map(s -> dtoMapper.toResponse(s, query.bucket())).toList());
+    }
+
+    @PostMapping("/rollups/backfill")
+    @Override
+    public ResponseEntity<Void> backfillRollups(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Request POST /call-history/rollups/backfill?from={}&to={}", from, to);
+
+        LocalDateTime latestEnd = rollupBackfillJob.latestEnd();
+        LocalDateTime end = to.isAfter(latestEnd) ? latestEnd : to;
+        if (!from.isBefore(end)) {
+            throw new BadRequestException(
+                    "from debe ser anterior a to y a los minutos que el writer sigue escribiendo");
+        }
+
+        if (!rollupBackfillJob.start(from, end)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.accepted().build();
+    }
+
+    @GetMapping("/errors")
+    @Override
+    public ResponseEntity<List<ErrorFingerprintResponse>> listErrors(
+            @RequestParam(defaultValue = "50") int limit) {
+        log.info("Request GET /call-history/errors?limit={}", limit);
+
+        // Ejecutar caso de uso
+        List<ErrorFingerprint> fingerprints = listErrorFingerprintsCommand.execute(limit);
+
+        // Domain → DTO
+        List<ErrorFingerprintResponse> response =
+                fingerprints.stream().map(dtoMapper::toResponse).collect(Collectors.toList());
 
         return ResponseEntity.ok(response);
     }
 
-    @GetMapping("/failures")
+    @GetMapping("/errors/{fingerprint}")
     @Override
-    public ResponseEntity<List<CallHistoryResponse>> findFailures() {
-        log.info("Request GET /call-history/failures");
+    public ResponseEntity<ErrorFingerprintResponse> findError(@PathVariable String fingerprint) {
+        log.info("Request GET /call-history/errors/{}", fingerprint);
 
         // Ejecutar caso de uso
-        List<CallHistoryRecord> records = findBySuccessCommand.execute(false);
+        ErrorFingerprint found = findErrorFingerprintCommand.execute(fingerprint);
 
         // Domain → DTO
-        List<CallHistoryResponse> response =
-                records.stream().map(dtoMapper::toResponse).collect(Collectors.toList());
+        ErrorFingerprintResponse response = dtoMapper.toResponse(found);
 
         return ResponseEntity.ok(response);
     }
+
+    private static Duration parseBucket(String bucket) {
+        Duration duration;
+        try {
+            duration = DurationStyle.detectAndParse(bucket);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("bucket inválido: " + bucket, e);
+        }
+        if (duration.toSeconds() < 1) {
+            throw new BadRequestException("bucket debe ser de al menos 1s");
+        }
+        return duration;
+    }
+
+    private static CallHistorySearchSort parseSearchSort(String sort) {
+        try {
+            return CallHistorySearchSort.valueOf(sort.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("sort debe ser relevance o recent: " + sort);
+        }
+    }
+
+    private static LatencyGroupBy parseGroupBy(String groupBy) {
+        try {
+            return LatencyGroupBy.valueOf(groupBy.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("groupBy debe ser path o handler: " + groupBy);
+        }
+    }
+
+    /** Lista de la página, con el cursor de la siguiente en {@value #NEXT_CURSOR_HEADER} */
+    private ResponseEntity<List<CallHistorySummaryResponse>> toPagedResponse(
+            CallHistoryPage page, String fields) {
+        List<CallHistorySummaryResponse> response =
+                dtoMapper.toResponse(page.items(), dtoMapper.parseFields(fields));
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (page.hasNext()) {
+            builder.header(NEXT_CURSOR_HEADER, dtoMapper.toCursorToken(page.next()));
+        }
+        return builder.body(response);
+    }
 }
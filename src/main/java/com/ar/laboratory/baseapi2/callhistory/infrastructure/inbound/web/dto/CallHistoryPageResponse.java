@@ -0,0 +1,19 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.inbound.web.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** DTO de respuesta para una página de resúmenes de historial paginada por cursor */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CallHistoryPageResponse {
+    private List<CallHistorySummaryResponse> items;
+
+    /** Token opaco para pedir la página siguiente; null si no hay más registros */
+    private String nextCursor;
+}
@@ -31,4 +31,5 @@ public class CallHistoryResponse {
     private String errorType;
     private String errorMessage;
     private String errorStacktrace;
+    private String errorFingerprint;
 }
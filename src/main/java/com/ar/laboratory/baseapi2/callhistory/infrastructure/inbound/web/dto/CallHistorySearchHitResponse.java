@@ -0,0 +1,18 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.inbound.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** DTO de respuesta de la búsqueda de texto: el resumen de la llamada y su relevancia */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CallHistorySearchHitResponse {
+    private CallHistorySummaryResponse call;
+
+    /** Relevancia según ts_rank; solo comparable dentro de una misma búsqueda */
+    private float rank;
+}
@@ -0,0 +1,28 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.inbound.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO de respuesta para los listados de historial. Con {@code fields} se completan solo los campos
+ * pedidos; los demás quedan en null y no se serializan.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CallHistorySummaryResponse {
+    private Long id;
+    private LocalDateTime createdAt;
+    private String httpMethod;
+    private String path;
+    private Integer httpStatus;
+    private Boolean success;
+    private Long durationMs;
+    private String correlationId;
+}
@@ -0,0 +1,24 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.inbound.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** DTO de respuesta para un fingerprint de error */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ErrorFingerprintResponse {
+    private String fingerprint;
+    private String errorType;
+    private String errorMessage;
+    private String stacktrace;
+    private LocalDateTime firstSeen;
+    private Long occurrences;
+    private LocalDateTime lastSeen;
+}
@@ -0,0 +1,30 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.inbound.web.dto;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** DTO de respuesta con las métricas de latencia de un intervalo para un path o handler */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LatencyStatsResponse {
+    private LocalDateTime bucketStart;
+    private String key;
+    private long requests;
+    private long errors;
+
+    /** Fracción de llamadas fallidas (0.0 a 1.0) */
+    private double errorRate;
+
+    /** Llamadas por segundo promedio en el intervalo */
+    private double throughput;
+
+    private Double p50Ms;
+    private Double p95Ms;
+    private Double p99Ms;
+    private Long maxMs;
+}
@@ -0,0 +1,53 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.inbound.web.export;
+
+import com.ar.laboratory.baseapi2.shared.infrastructure.exception.BadRequestException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/** Formatos de exportación del historial */
+public enum CallHistoryExportFormat {
+    /** Un objeto JSON por línea */
+    NDJSON("application/x-ndjson", "ndjson"),
+    /** CSV con cabecera (RFC 4180) */
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    CallHistoryExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public CallHistoryExportWriter writer(OutputStream out, List<String> fields) {
+        return switch (this) {
+            case NDJSON -> new NdjsonCallHistoryExportWriter(out, fields);
+            case CSV -> new CsvCallHistoryExportWriter(out, fields);
+        };
+    }
+
+    /**
+     * @throws BadRequestException si el formato no existe
+     */
+    public static CallHistoryExportFormat from(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(
+                    "Formato de exportación desconocido: '"
+                            + value
+                            + "'. Valores posibles: "
+                            + Arrays.toString(values()).toLowerCase(Locale.ROOT));
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.inbound.web.export;
+
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistorySummary;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Escribe los resúmenes de una exportación de a uno, sin acumularlos. Cerrar el writer vacía sus
+ * buffers y cierra el stream de salida.
+ */
+public abstract class CallHistoryExportWriter implements Closeable {
+
+    protected final List<String> fields;
+
+    protected CallHistoryExportWriter(List<String> fields) {
+        this.fields = fields;
+    }
+
+    public abstract void write(CallHistorySummary summary) throws IOException;
+
+    /** {@link #write} para usar como {@code Consumer}; el error de E/S corta la exportación */
+    public void writeUnchecked(CallHistorySummary summary) {
+        try {
+            write(summary);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Valor de un campo de {@code CallHistoryDtoMapper#SUMMARY_FIELDS} */
+    protected static Object valueOf(CallHistorySummary summary, String field) {
+        return switch (field) {
+            case "id" -> summary.getId();
+            case "createdAt" -> summary.getCreatedAt();
+            case "httpMethod" -> summary.getHttpMethod();
+            case "path" -> summary.getPath();
+            case "httpStatus" -> summary.getHttpStatus();
+            case "success" -> summary.getSuccess();
+            case "durationMs" -> summary.getDurationMs();
+            case "correlationId" -> summary.getCorrelationId();
+            default -> throw new IllegalArgumentException("Campo desconocido: " + field);
+        };
+    }
+}
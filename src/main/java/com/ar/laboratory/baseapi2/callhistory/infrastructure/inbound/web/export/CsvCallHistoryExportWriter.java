@@ -0,0 +1,70 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.inbound.web.export;
+
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistorySummary;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * CSV (RFC 4180) con una fila de cabecera con los nombres de campo. Los textos van entre comillas
+ * (comillas internas duplicadas) y los nulos quedan como campo vacío.
+ */
+class CsvCallHistoryExportWriter extends CallHistoryExportWriter {
+
+    private final Writer writer;
+    private boolean headerWritten;
+
+    CsvCallHistoryExportWriter(OutputStream out, List<String> fields) {
+        super(fields);
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void write(CallHistorySummary summary) throws IOException {
+        writeHeader();
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = valueOf(summary, fields.get(i));
+            if (value instanceof String text) {
+                writeQuoted(text);
+            } else if (value != null) {
+                writer.write(value.toString());
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void close() throws IOException {
+        // Una exportación vacía igual lleva la cabecera
+        writeHeader();
+        writer.close();
+    }
+
+    private void writeHeader() throws IOException {
+        if (headerWritten) {
+            return;
+        }
+        writer.write(String.join(",", fields));
+        writer.write("\r\n");
+        headerWritten = true;
+    }
+
+    private void writeQuoted(String text) throws IOException {
+        writer.write('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+}
@@ -0,0 +1,51 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.inbound.web.export;
+
+import java.util.Locale;
+
+/**
+ * Negociación de la compresión de la exportación a partir de {@code Accept-Encoding} (RFC 9110
+ * §12.5.3). Un coding con {@code q=0} está rechazado: {@code gzip;q=0} no habilita gzip, y {@code
+ * *} solo lo habilita si gzip no aparece listado aparte.
+ */
+public final class ExportContentCoding {
+
+    private ExportContentCoding() {}
+
+    /** True si el cliente acepta gzip con q mayor a 0 */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return false;
+        }
+        Double gzip = null;
+        Double wildcard = null;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = Math.max(gzip == null ? 0 : gzip, quality(parts));
+            } else if (coding.equals("*")) {
+                wildcard = quality(parts);
+            }
+        }
+        if (gzip != null) {
+            return gzip > 0;
+        }
+        return wildcard != null && wildcard > 0;
+    }
+
+    /** Valor de q del elemento; 1 si no tiene y 0 si es inválido */
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                try {
+                    double q = Double.parseDouble(parameter.substring(2).trim());
+                    return q >= 0 && q <= 1 ? q : 0;
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
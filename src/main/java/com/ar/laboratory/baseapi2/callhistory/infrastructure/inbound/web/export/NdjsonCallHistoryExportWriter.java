@@ -0,0 +1,56 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.inbound.web.export;
+
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistorySummary;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * NDJSON: un objeto por línea, escrito campo a campo con un único {@link JsonGenerator}. Los
+ * valores nulos se omiten, igual que en los listados.
+ */
+class NdjsonCallHistoryExportWriter extends CallHistoryExportWriter {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final JsonGenerator generator;
+
+    NdjsonCallHistoryExportWriter(OutputStream out, List<String> fields) {
+        super(fields);
+        try {
+            this.generator = JSON_FACTORY.createGenerator(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        // Sin separador entre valores raíz: cada línea termina con su propio '\n'
+        generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void write(CallHistorySummary summary) throws IOException {
+        generator.writeStartObject();
+        for (String field : fields) {
+            Object value = valueOf(summary, field);
+            if (value == null) {
+                continue;
+            }
+            generator.writeFieldName(field);
+            switch (value) {
+                case Long number -> generator.writeNumber(number);
+                case Integer number -> generator.writeNumber(number);
+                case Boolean bool -> generator.writeBoolean(bool);
+                default -> generator.writeString(value.toString());
+            }
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
@@ -1,13 +1,51 @@
 package com.ar.laboratory.baseapi2.callhistory.infrastructure.inbound.web.mapper;
 
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryCursor;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryPage;
 import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryRecord;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistorySearchCursor;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistorySearchHit;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistorySummary;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.ErrorFingerprint;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.LatencyStats;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.inbound.web.dto.CallHistoryPageResponse;
 import com.ar.laboratory.baseapi2.callhistory.infrastructure.inbound.web.dto.CallHistoryResponse;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.inbound.web.dto.CallHistorySearchHitResponse;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.inbound.web.dto.CallHistorySummaryResponse;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.inbound.web.dto.ErrorFingerprintResponse;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.inbound.web.dto.LatencyStatsResponse;
+import com.ar.laboratory.baseapi2.shared.infrastructure.exception.BadRequestException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 import org.springframework.stereotype.Component;
 
 /** Mapper entre modelo de dominio y DTO de respuesta */
 @Component
 public class CallHistoryDtoMapper {
 
+    private static final char CURSOR_SEPARATOR = '|';
+
+    /** Campos que admite {@code fields} en los listados */
+    public static final List<String> SUMMARY_FIELDS =
+            List.of(
+                    "id",
+                    "createdAt",
+                    "httpMethod",
+                    "path",
+                    "httpStatus",
+                    "success",
+                    "durationMs",
+                    "correlationId");
+
+    private static final Set<String> ALL_SUMMARY_FIELDS =
+            Collections.unmodifiableSet(new LinkedHashSet<>(SUMMARY_FIELDS));
+
     public CallHistoryResponse toResponse(CallHistoryRecord record) {
         if (record == null) {
             return null;
@@ -33,6 +71,195 @@ public class CallHistoryDtoMapper {
                 .errorType(record.getErrorType())
                 .errorMessage(record.getErrorMessage())
                 .errorStacktrace(record.getErrorStacktrace())
+                .errorFingerprint(record.getErrorFingerprint())
+                .build();
+    }
+
+    /**
+     * Resumen con solo los campos pedidos
+     *
+     * @param fields Resultado de {@link #parseFields}
+     */
+    public CallHistorySummaryResponse toResponse(CallHistorySummary summary, Set<String> fields) {
+        if (summary == null) {
+            return null;
+        }
+
+        CallHistorySummaryResponse.CallHistorySummaryResponseBuilder builder =
+                CallHistorySummaryResponse.builder();
+        if (fields.contains("id")) {
+            builder.id(summary.getId());
+        }
+        if (fields.contains("createdAt")) {
+            builder.createdAt(summary.getCreatedAt());
+        }
+        if (fields.contains("httpMethod")) {
+            builder.httpMethod(summary.getHttpMethod());
+        }
+        if (fields.contains("path")) {
+            builder.path(summary.getPath());
+        }
+        if (fields.contains("httpStatus")) {
+            builder.httpStatus(summary.getHttpStatus());
+        }
+        if (fields.contains("success")) {
+            builder.success(summary.getSuccess());
+        }
+        if (fields.contains("durationMs")) {
+            builder.durationMs(summary.getDurationMs());
+        }
+        if (fields.contains("correlationId")) {
+            builder.correlationId(summary.getCorrelationId());
+        }
+        return builder.build();
+    }
+
+    public List<CallHistorySummaryResponse> toResponse(
+            List<CallHistorySummary> summaries, Set<String> fields) {
+        return summaries.stream().map(summary -> toResponse(summary, fields)).toList();
+    }
+
+    public CallHistoryPageResponse toResponse(CallHistoryPage page, Set<String> fields) {
+        return CallHistoryPageResponse.builder()
+                .items(toResponse(page.items(), fields))
+                .nextCursor(toCursorToken(page.next()))
+                .build();
+    }
+
+    /**
+     * Interpreta el parámetro {@code fields} (lista separada por comas de {@link #SUMMARY_FIELDS})
+     *
+     * @return los campos en el orden pedido; todos, en el orden de {@link #SUMMARY_FIELDS}, si no
+     *     se envió el parámetro
+     * @throws BadRequestException si se pide un campo que no existe
+     */
+    public Set<String> parseFields(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL_SUMMARY_FIELDS;
+        }
+        Set<String> requested = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (!ALL_SUMMARY_FIELDS.contains(name)) {
+                throw new BadRequestException(
+                        "Campo desconocido en fields: '"
+                                + name
+                                + "'. Valores posibles: "
+                                + String.join(",", SUMMARY_FIELDS));
+            }
+            requested.add(name);
+        }
+        return requested;
+    }
+
+    /** Token opaco (Base64 URL) con la posición {@code createdAt|id} del cursor */
+    public String toCursorToken(CallHistoryCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        String position = cursor.createdAt().toString() + CURSOR_SEPARATOR + cursor.id();
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un token de {@link #toCursorToken}
+     *
+     * @return null si no se envió token (primera página)
+     * @throws BadRequestException si el token no es válido
+     */
+    public CallHistoryCursor fromCursorToken(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String position =
+                    new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = position.lastIndexOf(CURSOR_SEPARATOR);
+            return new CallHistoryCursor(
+                    LocalDateTime.parse(position.substring(0, separator)),
+                    Long.parseLong(position.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Cursor inválido: " + token, e);
+        }
+    }
+
+    public CallHistorySearchHitResponse toResponse(CallHistorySearchHit hit, Set<String> fields) {
+        return CallHistorySearchHitResponse.builder()
+                .call(toResponse(hit.summary(), fields))
+                .rank(hit.rank())
+                .build();
+    }
+
+    /** Token opaco para el cursor de una búsqueda; null si no hay página siguiente */
+    public String toSearchCursorToken(CallHistorySearchCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        String position =
+                Float.toString(cursor.rank())
+                        + CURSOR_SEPARATOR
+                        + cursor.createdAt()
+                        + CURSOR_SEPARATOR
+                        + cursor.id();
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un token de {@link #toSearchCursorToken}
+     *
+     * @return null si no se envió token (primera página)
+     * @throws BadRequestException si el token no es válido
+     */
+    public CallHistorySearchCursor fromSearchCursorToken(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String position =
+                    new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int first = position.indexOf(CURSOR_SEPARATOR);
+            int last = position.lastIndexOf(CURSOR_SEPARATOR);
+            return new CallHistorySearchCursor(
+                    Float.parseFloat(position.substring(0, first)),
+                    LocalDateTime.parse(position.substring(first + 1, last)),
+                    Long.parseLong(position.substring(last + 1)));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Cursor inválido: " + token, e);
+        }
+    }
+
+    public LatencyStatsResponse toResponse(LatencyStats stats, Duration bucket) {
+        return LatencyStatsResponse.builder()
+                .bucketStart(stats.bucketStart())
+                .key(stats.key())
+                .requests(stats.requests())
+                .errors(stats.errors())
+                .errorRate(stats.errorRate())
+                .throughput(stats.throughput(bucket))
+                .p50Ms(stats.p50())
+                .p95Ms(stats.p95())
+                .p99Ms(stats.p99())
+                .maxMs(stats.maxMs())
+                .build();
+    }
+
+    public ErrorFingerprintResponse toResponse(ErrorFingerprint fingerprint) {
+        if (fingerprint == null) {
+            return null;
+        }
+
+        return ErrorFingerprintResponse.builder()
+                .fingerprint(fingerprint.getFingerprint())
+                .errorType(fingerprint.getErrorType())
+                .errorMessage(fingerprint.getErrorMessage())
+                .stacktrace(fingerprint.getStacktrace())
+                .firstSeen(fingerprint.getFirstSeen())
+                .occurrences(fingerprint.getOccurrences())
+                .lastSeen(fingerprint.getLastSeen())
                 .build();
     }
 }
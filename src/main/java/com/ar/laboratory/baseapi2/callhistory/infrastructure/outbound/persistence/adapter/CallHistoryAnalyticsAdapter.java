@@ -0,0 +1,170 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.adapter;
+
+import com.ar.laboratory.baseapi2.callhistory.application.outbound.port.CallHistoryAnalyticsPort;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.LatencyAnalyticsQuery;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.LatencyGroupBy;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.LatencySketch;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.LatencyStats;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.config.CallHistoryPersistenceConfig;
+import com.ar.laboratory.baseapi2.shared.infrastructure.config.CallHistoryProperties;
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Métricas de latencia calculadas en PostgreSQL sobre app.call_history
+ *
+ * <p>{@code date_bin} asigna cada fila a su intervalo y {@code percentile_cont} con un array de
+ * fracciones calcula los tres percentiles con un solo ordenamiento por grupo. El filtro por {@code
+ * created_at} usa el índice BRIN y descarta las particiones fuera del rango.
+ *
+ * <p>Agrupando por path con intervalos de minutos enteros se leen los rollups por minuto (V11) en
+ * lugar de las filas crudas: los sketches se suman en la base y los percentiles salen del sketch
+ * combinado, con el error relativo de sus buckets.
+ */
+@Component
+public class CallHistoryAnalyticsAdapter implements CallHistoryAnalyticsPort {
+
+    private static final String LATENCY_SQL =
+            """
+            SELECT date_bin(make_interval(secs => ?), created_at, TIMESTAMPTZ '2000-01-01 00:00:00+00')
+                       AS bucket,
+                   %s AS group_key,
+                   count(*) AS requests,
+                   count(*) FILTER (WHERE NOT success) AS errors,
+                   percentile_cont(ARRAY[0.5, 0.95, 0.99]) WITHIN GROUP (ORDER BY duration_ms)
+                       AS percentiles,
+                   max(duration_ms) AS max_ms
+              FROM app.call_history
+             WHERE created_at >= ? AND created_at < ?
+             GROUP BY 1, 2
+             ORDER BY 1, 2
+            """;
+
+    private static final String ROLLUP_LATENCY_SQL =
+            """
+            SELECT date_bin(make_interval(secs => ?), minute, TIMESTAMPTZ '2000-01-01 00:00:00+00')
+                       AS bucket,
+                   nullif(path, '') AS group_key,
+                   sum(requests) AS requests,
+                   sum(errors) AS errors,
+                   app.call_history_sketch_sum(latency_sketch) AS sketch,
+                   max(duration_max) AS max_ms
+              FROM app.call_history_rollup_minute
+             WHERE minute >= ? AND minute < ?
+             GROUP BY 1, 2
+             ORDER BY 1, 2
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean rollupsEnabled;
+
+    public CallHistoryAnalyticsAdapter(
+            @Qualifier(CallHistoryPersistenceConfig.JDBC_TEMPLATE) JdbcTemplate jdbcTemplate,
+            CallHistoryProperties callHistoryProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.rollupsEnabled = callHistoryProperties.getRollups().isEnabled();
+    }
+
+    @Override
+    @Transactional(
+            transactionManager = CallHistoryPersistenceConfig.TRANSACTION_MANAGER,
+            readOnly = true)
+    public List<LatencyStats> latency(LatencyAnalyticsQuery query) {
+        if (readsRollups(query)) {
+            return jdbcTemplate.query(
+                    ROLLUP_LATENCY_SQL,
+                    (rs, rowNum) -> toStatsFromSketch(rs),
+                    query.bucket().toSeconds(),
+                    Timestamp.valueOf(query.from()),
+                    Timestamp.valueOf(query.to()));
+        }
+        // La columna sale de un enum cerrado, nunca de la request
+        String column =
+                switch (query.groupBy()) {
+                    case PATH -> "path";
+                    case HANDLER -> "handler";
+                };
+        return jdbcTemplate.query(
+                LATENCY_SQL.formatted(column),
+                (rs, rowNum) -> toStats(rs),
+                query.bucket().toSeconds(),
+                Timestamp.valueOf(query.from()),
+                Timestamp.valueOf(query.to()));
+    }
+
+    /**
+     * Los rollups solo responden agrupaciones por path en intervalos de minutos enteros y rangos
+     * alineados al minuto
+     */
+    private boolean readsRollups(LatencyAnalyticsQuery query) {
+        return rollupsEnabled
+                && query.groupBy() == LatencyGroupBy.PATH
+                && query.bucket().toSeconds() % 60 == 0
+                && isWholeMinute(query.from())
+                && isWholeMinute(query.to());
+    }
+
+    private static boolean isWholeMinute(LocalDateTime value) {
+        return value.getSecond() == 0 && value.getNano() == 0;
+    }
+
+    private static LatencyStats toStatsFromSketch(ResultSet rs) throws SQLException {
+        LatencySketch sketch = LatencySketch.fromArray(sketch(rs.getArray("sketch")));
+        long maxMs = rs.getLong("max_ms");
+        Long max = rs.wasNull() ? null : maxMs;
+        return new LatencyStats(
+                rs.getTimestamp("bucket").toLocalDateTime(),
+                rs.getString("group_key"),
+                rs.getLong("requests"),
+                rs.getLong("errors"),
+                sketch.quantile(0.5),
+                sketch.quantile(0.95),
+                sketch.quantile(0.99),
+                max);
+    }
+
+    private static long[] sketch(Array array) throws SQLException {
+        if (array == null) {
+            return null;
+        }
+        Long[] values = (Long[]) array.getArray();
+        array.free();
+        long[] counts = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            counts[i] = values[i] != null ? values[i] : 0;
+        }
+        return counts;
+    }
+
+    private static LatencyStats toStats(ResultSet rs) throws SQLException {
+        Double[] percentiles = percentiles(rs.getArray("percentiles"));
+        long maxMs = rs.getLong("max_ms");
+        Long max = rs.wasNull() ? null : maxMs;
+        return new LatencyStats(
+                rs.getTimestamp("bucket").toLocalDateTime(),
+                rs.getString("group_key"),
+                rs.getLong("requests"),
+                rs.getLong("errors"),
+                percentiles[0],
+                percentiles[1],
+                percentiles[2],
+                max);
+    }
+
+    private static Double[] percentiles(Array array) throws SQLException {
+        if (array == null) {
+            return new Double[3];
+        }
+        Double[] values = (Double[]) array.getArray();
+        array.free();
+        return values;
+    }
+}
@@ -0,0 +1,116 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.adapter;
+
+import com.ar.laboratory.baseapi2.callhistory.application.outbound.port.CallHistoryRollupPort;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryRecord;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryRollups;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.config.CallHistoryPersistenceConfig;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.copy.CallHistoryCopyEncoder;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.copy.CallHistoryIdAllocator;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.mapper.CallHistoryEntityMapper;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.payload.CallHistoryPayloadStore;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.payload.PayloadReferences;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.repository.CallHistoryJpaRepository;
+import com.ar.laboratory.baseapi2.shared.infrastructure.config.CallHistoryProperties;
+import com.ar.laboratory.baseapi2.shared.infrastructure.exception.InfrastructureException;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Adaptador de persistencia que inserta los lotes de historial con {@code COPY ... FROM STDIN}
+ * (CopyManager de PostgreSQL) en lugar de INSERT por lotes. Las lecturas siguen usando JPA.
+ *
+ * <p>Se activa con {@code app.call-history.writer.mode=copy}; el formato (binary o csv) se elige
+ * con {@code app.call-history.writer.copy-format}. Cada lote es un único COPY, atómico por sí
+ * mismo: si falla no queda ninguna fila insertada y el writer puede volcar el lote al spool. El
+ * COPY y el upsert de rollups comparten la transacción.
+ */
+@Slf4j
+@Primary
+@Component
+@ConditionalOnProperty(prefix = "app.call-history.writer", name = "mode", havingValue = "copy")
+public class CallHistoryCopyPersistenceAdapter extends CallHistoryPersistenceAdapter {
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CallHistoryCopyEncoder encoder;
+    private final CallHistoryIdAllocator idAllocator;
+
+    public CallHistoryCopyPersistenceAdapter(
+            CallHistoryJpaRepository jpaRepository,
+            CallHistoryEntityMapper entityMapper,
+            CallHistoryPayloadStore payloadStore,
+            CallHistoryRollupPort rollupRepository,
+            @Qualifier(CallHistoryPersistenceConfig.JDBC_TEMPLATE) JdbcTemplate jdbcTemplate,
+            CallHistoryProperties callHistoryProperties) {
+        super(jpaRepository, entityMapper, payloadStore, rollupRepository);
+        this.jdbcTemplate = jdbcTemplate;
+        this.encoder =
+                CallHistoryCopyEncoder.forFormat(callHistoryProperties.getWriter().getCopyFormat());
+        this.idAllocator = new CallHistoryIdAllocator(jdbcTemplate);
+        log.info(
+                "Call history writes use COPY ({} format)",
+                callHistoryProperties.getWriter().getCopyFormat());
+    }
+
+    @Override
+    @Transactional(CallHistoryPersistenceConfig.TRANSACTION_MANAGER)
+    public void saveAll(List<CallHistoryRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        PayloadReferences references = payloadStore.externalize(records);
+        long[] ids = idAllocator.allocate(records.size());
+        Long rows =
+                jdbcTemplate.execute(
+                        (ConnectionCallback<Long>)
+                                connection -> {
+                                    PGConnection pgConnection =
+                                            connection.unwrap(PGConnection.class);
+                                    CopyIn copyIn =
+                                            pgConnection
+                                                    .getCopyAPI()
+                                                    .copyIn(encoder.copyStatement());
+                                    return copy(copyIn, records, ids, references);
+                                });
+        rollupRepository.upsert(CallHistoryRollups.of(records));
+        log.debug("Call history batch copied: {} rows", rows);
+    }
+
+    private long copy(
+            CopyIn copyIn,
+            List<CallHistoryRecord> records,
+            long[] ids,
+            PayloadReferences references) {
+        try {
+            PGCopyOutputStream out = new PGCopyOutputStream(copyIn, COPY_BUFFER_SIZE);
+            encoder.encode(records, ids, references, out);
+            return out.endCopy();
+        } catch (IOException | SQLException | RuntimeException e) {
+            cancelQuietly(copyIn);
+            throw new InfrastructureException("Falló el COPY de historial de llamadas", e);
+        }
+    }
+
+    private static void cancelQuietly(CopyIn copyIn) {
+        try {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        } catch (Exception e) {
+            log.warn("Could not cancel call history COPY: {}", e.getMessage());
+        }
+    }
+}
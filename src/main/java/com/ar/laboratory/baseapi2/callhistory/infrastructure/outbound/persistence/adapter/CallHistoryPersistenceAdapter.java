@@ -1,72 +1,217 @@
 package com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.adapter;
 
 import com.ar.laboratory.baseapi2.callhistory.application.outbound.port.CallHistoryRepositoryPort;
+import com.ar.laboratory.baseapi2.callhistory.application.outbound.port.CallHistoryRollupPort;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryCriteria;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryCursor;
 import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryRecord;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryRollups;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistorySummary;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.config.CallHistoryPersistenceConfig;
 import com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.entity.CallHistoryEntity;
 import com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.mapper.CallHistoryEntityMapper;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.payload.CallHistoryPayloadStore;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.payload.PayloadReferences;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.payload.StoredPayload;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.projection.CallHistorySummaryView;
 import com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.repository.CallHistoryJpaRepository;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.specification.CallHistorySpecifications;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
-/** Adaptador de persistencia para el historial de llamadas */
+/**
+ * Adaptador de persistencia para el historial de llamadas
+ *
+ * <p>Con almacenamiento deduplicado, los payloads grandes se guardan en el {@link
+ * CallHistoryPayloadStore} antes que las filas, y la lectura por ID los carga en una sola consulta.
+ * Los listados leen solo la proyección de resumen, sin tocar cuerpos ni payloads. Cada lote
+ * actualiza los rollups por minuto en la misma transacción que sus filas. Las lecturas corren en
+ * transacciones {@code readOnly}, que se sirven desde las réplicas si hay alguna configurada.
+ */
 @Component
 @RequiredArgsConstructor
 public class CallHistoryPersistenceAdapter implements CallHistoryRepositoryPort {
 
+    /** Posición de arranque de la primera página: misma consulta que las siguientes */
+    private static final CallHistoryCursor FIRST_PAGE =
+            new CallHistoryCursor(LocalDateTime.of(9999, 12, 31, 0, 0), Long.MAX_VALUE);
+
     private final CallHistoryJpaRepository jpaRepository;
     private final CallHistoryEntityMapper entityMapper;
+    protected final CallHistoryPayloadStore payloadStore;
+    protected final CallHistoryRollupPort rollupRepository;
 
+    /**
+     * Una única transacción para las filas y sus rollups: Hibernate agrupa los INSERT en batches
+     */
     @Override
-    public CallHistoryRecord save(CallHistoryRecord record) {
-        CallHistoryEntity entity = entityMapper.toEntity(record);
-        CallHistoryEntity saved = jpaRepository.save(entity);
-        return entityMapper.toDomain(saved);
+    @Transactional(CallHistoryPersistenceConfig.TRANSACTION_MANAGER)
+    public void saveAll(List<CallHistoryRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        PayloadReferences references = payloadStore.externalize(records);
+        jpaRepository.saveAll(
+                IntStream.range(0, records.size())
+                        .mapToObj(i -> entityMapper.toEntity(records.get(i), references, i))
+                        .toList());
+        rollupRepository.upsert(CallHistoryRollups.of(records));
     }
 
     @Override
+    @Transactional(
+            transactionManager = CallHistoryPersistenceConfig.TRANSACTION_MANAGER,
+            readOnly = true)
     public Optional<CallHistoryRecord> findById(Long id) {
-        return jpaRepository.findById(id).map(entityMapper::toDomain);
+        return jpaRepository.findById(id).map(entity -> toDomain(List.of(entity)).get(0));
+    }
+
+    @Override
+    @Transactional(
+            transactionManager = CallHistoryPersistenceConfig.TRANSACTION_MANAGER,
+            readOnly = true)
+    public List<CallHistorySummary> findAll(int limit, int offset) {
+        return toSummaries(jpaRepository.findSummaries(offset, limit));
+    }
+
+    @Override
+    @Transactional(
+            transactionManager = CallHistoryPersistenceConfig.TRANSACTION_MANAGER,
+            readOnly = true)
+    public List<CallHistorySummary> findPage(CallHistoryCursor after, int limit) {
+        CallHistoryCursor cursor = startingAt(after);
+        return toSummaries(
+                jpaRepository.findPageBefore(cursor.createdAt(), cursor.id(), Limit.of(limit)));
+    }
+
+    @Override
+    @Transactional(
+            transactionManager = CallHistoryPersistenceConfig.TRANSACTION_MANAGER,
+            readOnly = true)
+    public List<CallHistorySummary> findByDateRange(
+            LocalDateTime from, LocalDateTime to, CallHistoryCursor after, int limit) {
+        CallHistoryCursor cursor = startingAt(after);
+        return toSummaries(
+                jpaRepository.findByDateRangeBefore(
+                        from, to, cursor.createdAt(), cursor.id(), Limit.of(limit)));
     }
 
     @Override
-    public List<CallHistoryRecord> findAll(int limit, int offset) {
-        return jpaRepository
-                .findAllByOrderByCreatedAtDesc(PageRequest.of(offset / limit, limit))
-                .stream()
-                .map(entityMapper::toDomain)
-                .collect(Collectors.toList());
+    @Transactional(
+            transactionManager = CallHistoryPersistenceConfig.TRANSACTION_MANAGER,
+            readOnly = true)
+    public List<CallHistorySummary> findByCorrelationId(
+            String correlationId, CallHistoryCursor after, int limit) {
+        CallHistoryCursor cursor = startingAt(after);
+        return toSummaries(
+                jpaRepository.findByCorrelationIdBefore(
+                        correlationId, cursor.createdAt(), cursor.id(), Limit.of(limit)));
     }
 
     @Override
-    public List<CallHistoryRecord> findByDateRange(LocalDateTime from, LocalDateTime to) {
-        return jpaRepository.findByCreatedAtBetweenOrderByCreatedAtDesc(from, to).stream()
-                .map(entityMapper::toDomain)
-                .collect(Collectors.toList());
+    @Transactional(
+            transactionManager = CallHistoryPersistenceConfig.TRANSACTION_MANAGER,
+            readOnly = true)
+    public List<CallHistorySummary> findByPath(String path, CallHistoryCursor after, int limit) {
+        CallHistoryCursor cursor = startingAt(after);
+        return toSummaries(
+                jpaRepository.findByPathBefore(
+                        path, cursor.createdAt(), cursor.id(), Limit.of(limit)));
     }
 
     @Override
-    public List<CallHistoryRecord> findByCorrelationId(String correlationId) {
-        return jpaRepository.findByCorrelationIdOrderByCreatedAtDesc(correlationId).stream()
-                .map(entityMapper::toDomain)
-                .collect(Collectors.toList());
+    @Transactional(
+            transactionManager = CallHistoryPersistenceConfig.TRANSACTION_MANAGER,
+            readOnly = true)
+    public List<CallHistorySummary> findBySuccess(
+            boolean success, CallHistoryCursor after, int limit) {
+        CallHistoryCursor cursor = startingAt(after);
+        if (!success) {
+            return toSummaries(
+                    jpaRepository.findFailuresBefore(
+                            cursor.createdAt(), cursor.id(), Limit.of(limit)));
+        }
+        return toSummaries(
+                jpaRepository.findBySuccessBefore(
+                        true, cursor.createdAt(), cursor.id(), Limit.of(limit)));
     }
 
     @Override
-    public List<CallHistoryRecord> findByPath(String path) {
-        return jpaRepository.findByPathOrderByCreatedAtDesc(path).stream()
-                .map(entityMapper::toDomain)
-                .collect(Collectors.toList());
+    @Transactional(
+            transactionManager = CallHistoryPersistenceConfig.TRANSACTION_MANAGER,
+            readOnly = true)
+    public List<CallHistorySummary> findByCriteria(
+            CallHistoryCriteria criteria, CallHistoryCursor after, int limit) {
+        Specification<CallHistoryEntity> spec =
+                CallHistorySpecifications.matching(criteria)
+                        .and(CallHistorySpecifications.before(startingAt(after)));
+        return toSummaries(jpaRepository.findSummariesMatching(spec, Limit.of(limit)));
     }
 
+    /**
+     * Transacción de solo lectura propia: mantiene abierto el cursor del Stream mientras se escribe
+     * la exportación. Las proyecciones no entran al contexto de persistencia, así que la memoria no
+     * crece con la cantidad de filas.
+     */
     @Override
-    public List<CallHistoryRecord> findBySuccess(boolean success) {
-        return jpaRepository.findBySuccessOrderByCreatedAtDesc(success).stream()
-                .map(entityMapper::toDomain)
-                .collect(Collectors.toList());
+    @Transactional(
+            transactionManager = CallHistoryPersistenceConfig.TRANSACTION_MANAGER,
+            readOnly = true)
+    public long exportByDateRange(
+            LocalDateTime from, LocalDateTime to, Consumer<CallHistorySummary> sink) {
+        long count = 0;
+        try (Stream<CallHistorySummaryView> views = jpaRepository.streamByDateRange(from, to)) {
+            Iterator<CallHistorySummaryView> iterator = views.iterator();
+            while (iterator.hasNext()) {
+                sink.accept(entityMapper.toSummary(iterator.next()));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private List<CallHistorySummary> toSummaries(List<CallHistorySummaryView> views) {
+        return views.stream().map(entityMapper::toSummary).toList();
+    }
+
+    /** Convierte entidades completas cargando sus payloads externalizados de una vez */
+    protected List<CallHistoryRecord> toDomain(List<CallHistoryEntity> entities) {
+        Set<String> hashes = new HashSet<>();
+        for (CallHistoryEntity entity : entities) {
+            addIfPresent(hashes, entity.getQueryParamsHash());
+            addIfPresent(hashes, entity.getRequestBodyHash());
+            addIfPresent(hashes, entity.getResponseBodyHash());
+        }
+        Map<String, StoredPayload> payloads = payloadStore.load(hashes);
+        List<CallHistoryRecord> records = new ArrayList<>(entities.size());
+        for (CallHistoryEntity entity : entities) {
+            records.add(entityMapper.toDomain(entity, payloads));
+        }
+        return records;
+    }
+
+    /** Sin cursor se arranca desde una posición posterior a cualquier registro */
+    private static CallHistoryCursor startingAt(CallHistoryCursor after) {
+        return after != null ? after : FIRST_PAGE;
+    }
+
+    private static void addIfPresent(Set<String> hashes, String hash) {
+        if (hash != null) {
+            hashes.add(hash);
+        }
     }
 }
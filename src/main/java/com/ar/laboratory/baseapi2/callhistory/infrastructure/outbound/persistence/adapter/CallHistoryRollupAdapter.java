@@ -0,0 +1,147 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.adapter;
+
+import com.ar.laboratory.baseapi2.callhistory.application.outbound.port.CallHistoryRollupPort;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryRollup;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.config.CallHistoryPersistenceConfig;
+import com.ar.laboratory.baseapi2.shared.infrastructure.config.CallHistoryProperties;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Rollups por minuto en app.call_history_rollup_minute (V11)
+ *
+ * <p>Los upserts van en un único batch JDBC ordenado por clave; en conflicto se suman contadores y
+ * sketches ({@code app.call_history_sketch_merge}). Con {@code app.call-history.rollups.enabled} en
+ * false, {@link #upsert} no hace nada.
+ *
+ * <p>{@link #rebuild} recalcula un rango en la base, con un DELETE y un INSERT ... SELECT sobre
+ * app.call_history en la misma transacción del primario. Para que ningún upsert caiga entre el
+ * SELECT y el commit (filas confirmadas después del snapshot, reintentos del spool con minutos
+ * viejos), los upserts toman en modo compartido un advisory lock de transacción que el recálculo
+ * toma exclusivo: los writers no se bloquean entre sí, pero el recálculo espera a los lotes en
+ * vuelo y los siguientes esperan a que confirme.
+ */
+@Slf4j
+@Component
+public class CallHistoryRollupAdapter implements CallHistoryRollupPort {
+
+    private static final String UPSERT =
+            "INSERT INTO app.call_history_rollup_minute AS r"
+                    + " (minute, path, http_method, status_class, requests, errors,"
+                    + " duration_sum, duration_min, duration_max, latency_sketch)"
+                    + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)"
+                    + " ON CONFLICT (minute, path, http_method, status_class) DO UPDATE SET"
+                    + " requests = r.requests + EXCLUDED.requests,"
+                    + " errors = r.errors + EXCLUDED.errors,"
+                    + " duration_sum = r.duration_sum + EXCLUDED.duration_sum,"
+                    + " duration_min = LEAST(r.duration_min, EXCLUDED.duration_min),"
+                    + " duration_max = GREATEST(r.duration_max, EXCLUDED.duration_max),"
+                    + " latency_sketch ="
+                    + " app.call_history_sketch_merge(r.latency_sketch, EXCLUDED.latency_sketch)";
+
+    private static final String DELETE_RANGE =
+            "DELETE FROM app.call_history_rollup_minute WHERE minute >= ? AND minute < ?";
+
+    /** Misma agregación que {@code CallHistoryRollups}; devuelve las filas crudas agregadas */
+    private static final String REBUILD_RANGE =
+            """
+            WITH rebuilt AS (
+                INSERT INTO app.call_history_rollup_minute
+                    (minute, path, http_method, status_class, requests, errors,
+                     duration_sum, duration_min, duration_max, latency_sketch)
+                SELECT date_trunc('minute', created_at),
+                       coalesce(path, ''),
+                       coalesce(http_method, ''),
+                       coalesce(http_status / 100, 0),
+                       count(*),
+                       count(*) FILTER (WHERE success = false),
+                       coalesce(sum(duration_ms), 0),
+                       min(duration_ms),
+                       max(duration_ms),
+                       app.call_history_sketch_of(duration_ms)
+                FROM app.call_history
+                WHERE created_at >= ? AND created_at < ?
+                GROUP BY 1, 2, 3, 4
+                RETURNING requests
+            )
+            SELECT coalesce(sum(requests), 0) FROM rebuilt
+            """;
+
+    /** Clave del advisory lock entre upserts y recálculo ("callroll" en ASCII) */
+    static final long ADVISORY_LOCK_KEY = 0x63616c6c726f6c6cL;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+
+    public CallHistoryRollupAdapter(
+            @Qualifier(CallHistoryPersistenceConfig.JDBC_TEMPLATE) JdbcTemplate jdbcTemplate,
+            CallHistoryProperties callHistoryProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = callHistoryProperties.getRollups().isEnabled();
+    }
+
+    @Override
+    public void upsert(Collection<CallHistoryRollup> rollups) {
+        if (!enabled || rollups.isEmpty()) {
+            return;
+        }
+        // Se libera con el commit del lote que insertó las filas de estos rollups
+        advisoryLock("pg_advisory_xact_lock_shared");
+        List<CallHistoryRollup> batch = List.copyOf(rollups);
+        jdbcTemplate.batchUpdate(
+                UPSERT,
+                batch,
+                batch.size(),
+                (PreparedStatement ps, CallHistoryRollup rollup) -> bind(ps, rollup));
+    }
+
+    @Override
+    @Transactional(CallHistoryPersistenceConfig.TRANSACTION_MANAGER)
+    public long rebuild(LocalDateTime from, LocalDateTime to) {
+        advisoryLock("pg_advisory_xact_lock");
+        Timestamp fromTimestamp = Timestamp.valueOf(from);
+        Timestamp toTimestamp = Timestamp.valueOf(to);
+        int deleted = jdbcTemplate.update(DELETE_RANGE, fromTimestamp, toTimestamp);
+        Long rows =
+                jdbcTemplate.queryForObject(REBUILD_RANGE, Long.class, fromTimestamp, toTimestamp);
+        log.debug("Rollups rebuilt for [{}, {}): {} deleted, {} rows", from, to, deleted, rows);
+        return rows != null ? rows : 0;
+    }
+
+    private void advisoryLock(String function) {
+        jdbcTemplate.queryForList("SELECT " + function + "(?)", ADVISORY_LOCK_KEY);
+    }
+
+    private static void bind(PreparedStatement ps, CallHistoryRollup rollup) throws SQLException {
+        ps.setTimestamp(1, Timestamp.valueOf(rollup.getMinute()));
+        ps.setString(2, rollup.getPath());
+        ps.setString(3, rollup.getHttpMethod());
+        ps.setShort(4, (short) rollup.getStatusClass());
+        ps.setLong(5, rollup.getRequests());
+        ps.setLong(6, rollup.getErrors());
+        ps.setLong(7, rollup.getDurationSum());
+        setLong(ps, 8, rollup.getDurationMin());
+        setLong(ps, 9, rollup.getDurationMax());
+        Long[] sketch = Arrays.stream(rollup.getLatency().toArray()).boxed().toArray(Long[]::new);
+        ps.setArray(10, ps.getConnection().createArrayOf("int8", sketch));
+    }
+
+    private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.BIGINT);
+        } else {
+            ps.setLong(index, value);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.adapter;
+
+import com.ar.laboratory.baseapi2.callhistory.application.outbound.port.CallHistorySearchPort;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistorySearchCursor;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistorySearchHit;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistorySearchQuery;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistorySearchSort;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistorySummary;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.config.CallHistoryPersistenceConfig;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Búsqueda de texto completo sobre app.call_history (V12)
+ *
+ * <p>La consulta se interpreta con {@code websearch_to_tsquery} y se resuelve con los índices GIN
+ * de {@code search_errors} y, si se incluyen cuerpos, {@code search_payloads}. Esta última columna
+ * solo existe con {@code app.call-history.search.index-bodies}; el controller rechaza antes las
+ * búsquedas en cuerpos si no está habilitada. Solo se leen las columnas del resumen; el filtro por
+ * {@code created_at} descarta las particiones fuera del rango. La relevancia se calcula únicamente
+ * sobre las filas que coinciden.
+ */
+@Component
+public class CallHistorySearchAdapter implements CallHistorySearchPort {
+
+    private static final String SEARCH_SQL =
+            """
+            SELECT *
+              FROM (SELECT e.id, e.created_at, e.http_method, e.path, e.http_status, e.success,
+                           e.duration_ms, e.correlation_id, ts_rank(%s, q.query) AS rank
+                      FROM app.call_history e,
+                           websearch_to_tsquery('simple', ?) AS q(query)
+                     WHERE %s) hits
+             %s
+             ORDER BY %s
+             LIMIT ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CallHistorySearchAdapter(
+            @Qualifier(CallHistoryPersistenceConfig.JDBC_TEMPLATE) JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional(
+            transactionManager = CallHistoryPersistenceConfig.TRANSACTION_MANAGER,
+            readOnly = true)
+    public List<CallHistorySearchHit> search(CallHistorySearchQuery query, int limit) {
+        List<Object> args = new ArrayList<>();
+        args.add(query.text());
+
+        // Filtros sobre la tabla: coincidencia de texto, rango, éxito y cursor por fecha
+        List<String> where = new ArrayList<>();
+        where.add(
+                query.includeBodies()
+                        ? "(e.search_errors @@ q.query OR e.search_payloads @@ q.query)"
+                        : "e.search_errors @@ q.query");
+        if (query.from() != null) {
+            where.add("e.created_at >= ?");
+            args.add(Timestamp.valueOf(query.from()));
+        }
+        if (query.to() != null) {
+            where.add("e.created_at < ?");
+            args.add(Timestamp.valueOf(query.to()));
+        }
+        if (query.success() != null) {
+            where.add("e.success = ?");
+            args.add(query.success());
+        }
+        CallHistorySearchCursor after = query.after();
+        boolean byRelevance = query.sort() == CallHistorySearchSort.RELEVANCE;
+        if (after != null && !byRelevance) {
+            where.add("(e.created_at, e.id) < (?, ?)");
+            args.add(Timestamp.valueOf(after.createdAt()));
+            args.add(after.id());
+        }
+
+        // El cursor por relevancia compara contra el rank calculado, fuera de la subconsulta
+        String afterRank = "";
+        if (after != null && byRelevance) {
+            afterRank = "WHERE (rank, id) < (CAST(? AS real), ?)";
+            args.add(after.rank());
+            args.add(after.id());
+        }
+        args.add(limit);
+
+        String sql =
+                SEARCH_SQL.formatted(
+                        query.includeBodies()
+                                ? "e.search_errors || e.search_payloads"
+                                : "e.search_errors",
+                        String.join(" AND ", where),
+                        afterRank,
+                        byRelevance ? "rank DESC, id DESC" : "created_at DESC, id DESC");
+        return jdbcTemplate.query(sql, (rs, rowNum) -> toHit(rs), args.toArray());
+    }
+
+    private static CallHistorySearchHit toHit(ResultSet rs) throws SQLException {
+        CallHistorySummary summary =
+                CallHistorySummary.builder()
+                        .id(rs.getLong("id"))
+                        .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+                        .httpMethod(rs.getString("http_method"))
+                        .path(rs.getString("path"))
+                        .httpStatus(rs.getObject("http_status", Integer.class))
+                        .success(rs.getBoolean("success"))
+                        .durationMs(rs.getObject("duration_ms", Long.class))
+                        .correlationId(rs.getString("correlation_id"))
+                        .build();
+        return new CallHistorySearchHit(summary, rs.getFloat("rank"));
+    }
+}
@@ -0,0 +1,99 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.adapter;
+
+import com.ar.laboratory.baseapi2.callhistory.application.outbound.port.ErrorFingerprintRepositoryPort;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.ErrorFingerprint;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.config.CallHistoryPersistenceConfig;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.mapper.ErrorFingerprintEntityMapper;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.repository.ErrorFingerprintJpaRepository;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Adaptador de persistencia para los fingerprints de error. Varias instancias pueden ver el mismo
+ * error nuevo y solo queda la primera versión: ante un conflicto la inserción únicamente actualiza
+ * {@code last_referenced_at}, que es lo que mira la purga de huérfanos. Esa actualización bloquea
+ * la fila hasta el commit, así que un DELETE concurrente de la purga la vuelve a evaluar y la
+ * conserva.
+ */
+@Component
+public class ErrorFingerprintPersistenceAdapter implements ErrorFingerprintRepositoryPort {
+
+    private static final String INSERT_IF_ABSENT =
+            "INSERT INTO app.call_history_error_fingerprint"
+                    + " (fingerprint, error_type, error_message, stacktrace, first_seen)"
+                    + " VALUES (?, ?, ?, ?, ?) ON CONFLICT (fingerprint)"
+                    + " DO UPDATE SET last_referenced_at = now()";
+
+    private final ErrorFingerprintJpaRepository jpaRepository;
+    private final ErrorFingerprintEntityMapper entityMapper;
+    private final JdbcTemplate jdbcTemplate;
+
+    public ErrorFingerprintPersistenceAdapter(
+            ErrorFingerprintJpaRepository jpaRepository,
+            ErrorFingerprintEntityMapper entityMapper,
+            @Qualifier(CallHistoryPersistenceConfig.JDBC_TEMPLATE) JdbcTemplate jdbcTemplate) {
+        this.jpaRepository = jpaRepository;
+        this.entityMapper = entityMapper;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void saveAllIfAbsent(List<ErrorFingerprint> fingerprints) {
+        if (fingerprints.isEmpty()) {
+            return;
+        }
+        // Un mismo fingerprint dos veces en el INSERT reescrito haría fallar el DO UPDATE
+        Map<String, ErrorFingerprint> unique = new LinkedHashMap<>();
+        fingerprints.forEach(
+                fingerprint -> unique.putIfAbsent(fingerprint.getFingerprint(), fingerprint));
+        List<ErrorFingerprint> batch = new ArrayList<>(unique.values());
+        jdbcTemplate.batchUpdate(
+                INSERT_IF_ABSENT,
+                batch,
+                batch.size(),
+                (statement, fingerprint) -> {
+                    statement.setString(1, fingerprint.getFingerprint());
+                    statement.setString(2, fingerprint.getErrorType());
+                    statement.setString(3, fingerprint.getErrorMessage());
+                    statement.setString(4, fingerprint.getStacktrace());
+                    statement.setTimestamp(5, Timestamp.valueOf(fingerprint.getFirstSeen()));
+                });
+    }
+
+    @Override
+    @Transactional(
+            transactionManager = CallHistoryPersistenceConfig.TRANSACTION_MANAGER,
+            readOnly = true)
+    public Optional<ErrorFingerprint> findByFingerprint(String fingerprint) {
+        return jpaRepository
+                .findById(fingerprint)
+                .map(entityMapper::toDomain)
+                .map(
+                        found -> {
+                            ErrorFingerprintJpaRepository.Occurrences occurrences =
+                                    jpaRepository.countOccurrences(fingerprint);
+                            found.setOccurrences(occurrences.getOccurrences());
+                            found.setLastSeen(occurrences.getLastSeen());
+                            return found;
+                        });
+    }
+
+    @Override
+    @Transactional(
+            transactionManager = CallHistoryPersistenceConfig.TRANSACTION_MANAGER,
+            readOnly = true)
+    public List<ErrorFingerprint> findRecent(int limit) {
+        return jpaRepository.findAllByOrderByFirstSeenDesc(PageRequest.of(0, limit)).stream()
+                .map(entityMapper::toDomain)
+                .toList();
+    }
+}
@@ -0,0 +1,122 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.copy;
+
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryRecord;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.payload.PayloadReferences;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Formato binario de COPY: cada campo viaja con su largo y en la representación interna de
+ * PostgreSQL, por lo que el servidor no parsea texto ni escapa caracteres.
+ *
+ * <p>{@code created_at} (timestamptz) se envía como microsegundos desde 2000-01-01 UTC. El {@link
+ * LocalDateTime} del dominio se interpreta en la zona de la JVM, igual que hace el driver JDBC al
+ * insertar con JPA.
+ */
+public class BinaryCallHistoryCopyEncoder implements CallHistoryCopyEncoder {
+
+    private static final byte[] SIGNATURE = {
+        'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0
+    };
+    private static final Instant POSTGRES_EPOCH = Instant.parse("2000-01-01T00:00:00Z");
+    private static final short FIELD_COUNT = 23;
+
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    @Override
+    public String copyStatement() {
+        return "COPY app.call_history (" + COLUMNS + ") FROM STDIN WITH (FORMAT binary)";
+    }
+
+    @Override
+    public void encode(
+            List<CallHistoryRecord> records,
+            long[] ids,
+            PayloadReferences references,
+            OutputStream out)
+            throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.write(SIGNATURE);
+        data.writeInt(0); // flags
+        data.writeInt(0); // largo de la extensión de cabecera
+
+        for (int i = 0; i < records.size(); i++) {
+            CallHistoryRecord record = records.get(i);
+            data.writeShort(FIELD_COUNT);
+            writeLong(data, ids[i]);
+            writeTimestamp(data, record.getCreatedAt());
+            writeText(data, record.getCorrelationId());
+            writeText(data, record.getTraceId());
+            writeText(data, record.getHttpMethod());
+            writeText(data, record.getPath());
+            writeText(data, record.getHandler());
+            writeInt(data, record.getHttpStatus());
+            // Mismo default que la columna (NOT NULL DEFAULT TRUE)
+            writeBoolean(data, record.getSuccess() == null || record.getSuccess());
+            writeLong(data, record.getDurationMs());
+            writeText(data, record.getClientIp());
+            writeText(data, record.getUserAgent());
+            writeText(data, record.getUserId());
+            writeText(data, references.inlineQueryParams(record, i));
+            writeText(data, references.inlineRequestBody(record, i));
+            writeText(data, references.inlineResponseBody(record, i));
+            writeText(data, record.getErrorType());
+            writeText(data, record.getErrorMessage());
+            writeText(data, record.getErrorStacktrace());
+            writeText(data, record.getErrorFingerprint());
+            writeText(data, references.queryParamsHash(i));
+            writeText(data, references.requestBodyHash(i));
+            writeText(data, references.responseBodyHash(i));
+        }
+
+        data.writeShort(-1); // trailer
+        data.flush();
+    }
+
+    private void writeTimestamp(DataOutputStream data, LocalDateTime value) throws IOException {
+        LocalDateTime createdAt = value != null ? value : LocalDateTime.now();
+        Instant instant = createdAt.atZone(zone).toInstant();
+        data.writeInt(8);
+        data.writeLong(ChronoUnit.MICROS.between(POSTGRES_EPOCH, instant));
+    }
+
+    private static void writeText(DataOutputStream data, String value) throws IOException {
+        if (value == null) {
+            data.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        data.writeInt(bytes.length);
+        data.write(bytes);
+    }
+
+    private static void writeInt(DataOutputStream data, Integer value) throws IOException {
+        if (value == null) {
+            data.writeInt(-1);
+            return;
+        }
+        data.writeInt(4);
+        data.writeInt(value);
+    }
+
+    private static void writeLong(DataOutputStream data, Long value) throws IOException {
+        if (value == null) {
+            data.writeInt(-1);
+            return;
+        }
+        data.writeInt(8);
+        data.writeLong(value);
+    }
+
+    private static void writeBoolean(DataOutputStream data, boolean value) throws IOException {
+        data.writeInt(1);
+        data.writeByte(value ? 1 : 0);
+    }
+}
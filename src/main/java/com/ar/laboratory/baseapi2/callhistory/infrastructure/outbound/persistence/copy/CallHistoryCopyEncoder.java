@@ -0,0 +1,42 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.copy;
+
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryRecord;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.payload.PayloadReferences;
+import com.ar.laboratory.baseapi2.shared.infrastructure.config.CallHistoryProperties.CopyFormat;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/** Codifica lotes de historial en el formato de entrada de {@code COPY ... FROM STDIN} */
+public interface CallHistoryCopyEncoder {
+
+    /** Columnas de app.call_history en el orden en que se escriben */
+    String COLUMNS =
+            "id, created_at, correlation_id, trace_id, http_method, path, handler, http_status,"
+                + " success, duration_ms, client_ip, user_agent, user_id, query_params,"
+                + " request_body, response_body, error_type, error_message, error_stacktrace,"
+                + " error_fingerprint, query_params_hash, request_body_hash, response_body_hash";
+
+    /** Sentencia COPY a ejecutar con este formato */
+    String copyStatement();
+
+    /**
+     * Escribe el lote completo (cabecera, filas y cierre si el formato los requiere).
+     *
+     * @param ids IDs ya reservados, uno por registro y en el mismo orden
+     * @param references Hashes de los payloads externalizados del lote
+     */
+    void encode(
+            List<CallHistoryRecord> records,
+            long[] ids,
+            PayloadReferences references,
+            OutputStream out)
+            throws IOException;
+
+    static CallHistoryCopyEncoder forFormat(CopyFormat format) {
+        return switch (format) {
+            case BINARY -> new BinaryCallHistoryCopyEncoder();
+            case CSV -> new CsvCallHistoryCopyEncoder();
+        };
+    }
+}
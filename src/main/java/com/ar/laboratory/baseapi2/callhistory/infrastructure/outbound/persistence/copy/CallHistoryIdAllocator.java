@@ -0,0 +1,62 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.copy;
+
+import java.util.ArrayDeque;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Reserva IDs de {@code app.call_history_id_seq} en bloques, con la misma semántica que el
+ * optimizador pooled de Hibernate: cada valor {@code v} devuelto por la secuencia habilita el rango
+ * {@code [v - 49, v]}. Así las filas insertadas con COPY y con JPA nunca comparten ID.
+ *
+ * <p>Los bloques que faltan para un lote se piden en un único round trip.
+ */
+public class CallHistoryIdAllocator {
+
+    /** Igual al allocationSize de CallHistoryEntity y al INCREMENT BY de V5 */
+    static final int ALLOCATION_SIZE = 50;
+
+    private static final String NEXT_VALUES_SQL =
+            "SELECT nextval('app.call_history_id_seq') FROM generate_series(1, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** Límites superiores de bloques reservados y aún no usados */
+    private final ArrayDeque<Long> reservedBlocks = new ArrayDeque<>();
+
+    private long next = 1;
+    private long hi = 0;
+
+    public CallHistoryIdAllocator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Devuelve {@code count} IDs únicos */
+    public synchronized long[] allocate(int count) {
+        long[] ids = new long[count];
+        int filled = 0;
+        while (filled < count) {
+            if (next > hi) {
+                if (reservedBlocks.isEmpty()) {
+                    reserve(count - filled);
+                }
+                hi = reservedBlocks.poll();
+                next = hi - ALLOCATION_SIZE + 1;
+            }
+            ids[filled++] = next++;
+        }
+        return ids;
+    }
+
+    private void reserve(int missing) {
+        int blocks = (missing + ALLOCATION_SIZE - 1) / ALLOCATION_SIZE;
+        while (reservedBlocks.isEmpty()) {
+            for (Long value : jdbcTemplate.queryForList(NEXT_VALUES_SQL, Long.class, blocks)) {
+                // Hibernate trata los valores iniciales (< allocationSize) como límite inferior
+                // de su propio bloque: se descartan para no solaparse
+                if (value >= ALLOCATION_SIZE) {
+                    reservedBlocks.add(value);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.copy;
+
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryRecord;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.payload.PayloadReferences;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Formato CSV de COPY. Los strings van siempre entre comillas para distinguir el string vacío de
+ * NULL (campo vacío sin comillas). {@code created_at} se envía sin zona: PostgreSQL lo interpreta
+ * en la zona de la sesión, que el driver JDBC fija a la de la JVM.
+ */
+public class CsvCallHistoryCopyEncoder implements CallHistoryCopyEncoder {
+
+    @Override
+    public String copyStatement() {
+        return "COPY app.call_history (" + COLUMNS + ") FROM STDIN WITH (FORMAT csv)";
+    }
+
+    @Override
+    public void encode(
+            List<CallHistoryRecord> records,
+            long[] ids,
+            PayloadReferences references,
+            OutputStream out)
+            throws IOException {
+        Writer writer =
+                new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16_384);
+
+        for (int i = 0; i < records.size(); i++) {
+            CallHistoryRecord record = records.get(i);
+            LocalDateTime createdAt =
+                    record.getCreatedAt() != null ? record.getCreatedAt() : LocalDateTime.now();
+            writer.write(Long.toString(ids[i]));
+            writer.write(',');
+            writer.write(createdAt.toString());
+            writeText(writer, record.getCorrelationId());
+            writeText(writer, record.getTraceId());
+            writeText(writer, record.getHttpMethod());
+            writeText(writer, record.getPath());
+            writeText(writer, record.getHandler());
+            writeValue(writer, record.getHttpStatus());
+            // Mismo default que la columna (NOT NULL DEFAULT TRUE)
+            writeValue(writer, record.getSuccess() == null || record.getSuccess());
+            writeValue(writer, record.getDurationMs());
+            writeText(writer, record.getClientIp());
+            writeText(writer, record.getUserAgent());
+            writeText(writer, record.getUserId());
+            writeText(writer, references.inlineQueryParams(record, i));
+            writeText(writer, references.inlineRequestBody(record, i));
+            writeText(writer, references.inlineResponseBody(record, i));
+            writeText(writer, record.getErrorType());
+            writeText(writer, record.getErrorMessage());
+            writeText(writer, record.getErrorStacktrace());
+            writeText(writer, record.getErrorFingerprint());
+            writeText(writer, references.queryParamsHash(i));
+            writeText(writer, references.requestBodyHash(i));
+            writeText(writer, references.responseBodyHash(i));
+            writer.write('\n');
+        }
+
+        writer.flush();
+    }
+
+    private static void writeValue(Writer writer, Object value) throws IOException {
+        writer.write(',');
+        if (value != null) {
+            writer.write(value.toString());
+        }
+    }
+
+    private static void writeText(Writer writer, String value) throws IOException {
+        writer.write(',');
+        if (value == null) {
+            return;
+        }
+        writer.write('"');
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == '"') {
+                writer.write(value, start, i - start + 1);
+                writer.write('"');
+                start = i + 1;
+            }
+        }
+        writer.write(value, start, value.length() - start);
+        writer.write('"');
+    }
+}
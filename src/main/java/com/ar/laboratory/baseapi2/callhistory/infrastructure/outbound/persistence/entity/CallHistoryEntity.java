@@ -6,19 +6,30 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.hibernate.annotations.CreationTimestamp;
 
-/** Entidad JPA para la tabla call_history */
+/** Entidad JPA para la tabla call_history (particionada por rango de created_at, ver V8) */
 @Entity
 @Table(
         name = "call_history",
         schema = "app",
         indexes = {
             @Index(name = "idx_call_history_created_at", columnList = "created_at"),
-            @Index(name = "idx_call_history_path", columnList = "path"),
-            @Index(name = "idx_call_history_success", columnList = "success"),
+            @Index(
+                    name = "idx_call_history_created_at_id",
+                    columnList = "created_at DESC, id DESC"),
+            @Index(
+                    name = "idx_call_history_path_created_at",
+                    columnList = "path, created_at DESC, id DESC"),
             @Index(name = "idx_call_history_http_status", columnList = "http_status"),
-            @Index(name = "idx_call_history_correlation_id", columnList = "correlation_id")
+            @Index(
+                    name = "idx_call_history_correlation_created_at",
+                    columnList = "correlation_id, created_at DESC, id DESC"),
+            @Index(
+                    name = "idx_call_history_client_ip_created_at",
+                    columnList = "client_ip, created_at DESC, id DESC"),
+            @Index(
+                    name = "idx_call_history_error_fingerprint",
+                    columnList = "error_fingerprint, created_at")
         })
 @Data
 @Builder
@@ -26,11 +37,20 @@ import org.hibernate.annotations.CreationTimestamp;
 @AllArgsConstructor
 public class CallHistoryEntity {
 
+    /**
+     * Secuencia con allocationSize igual al INCREMENT BY de la base (V5). A diferencia de IDENTITY,
+     * permite a Hibernate asignar IDs en memoria y agrupar los INSERT en batches JDBC.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "call_history_id_seq")
+    @SequenceGenerator(
+            name = "call_history_id_seq",
+            schema = "app",
+            sequenceName = "call_history_id_seq",
+            allocationSize = 50)
     private Long id;
 
-    @CreationTimestamp
+    /** Lo asigna el aspect; se conserva al reenviar registros desde el spool */
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -82,6 +102,27 @@ public class CallHistoryEntity {
     @Column(name = "error_message", columnDefinition = "TEXT")
     private String errorMessage;
 
+    /** Solo registros anteriores a los fingerprints (V6); los nuevos guardan errorFingerprint */
     @Column(name = "error_stacktrace", columnDefinition = "TEXT")
     private String errorStacktrace;
+
+    @Column(name = "error_fingerprint", length = 16)
+    private String errorFingerprint;
+
+    /** Hashes en app.call_history_payload (V7); si hay hash, la columna de texto queda en NULL */
+    @Column(name = "query_params_hash", length = 64)
+    private String queryParamsHash;
+
+    @Column(name = "request_body_hash", length = 64)
+    private String requestBodyHash;
+
+    @Column(name = "response_body_hash", length = 64)
+    private String responseBodyHash;
+
+    @PrePersist
+    void defaultCreatedAt() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
 }
@@ -0,0 +1,39 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Entidad JPA para la tabla call_history_payload (solo lectura desde JPA) */
+@Entity
+@Table(name = "call_history_payload", schema = "app")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CallHistoryPayloadEntity {
+
+    /** SHA-256 (hex) del texto original */
+    @Id
+    @Column(name = "hash", length = 64)
+    private String hash;
+
+    /** deflate o identity */
+    @Column(name = "encoding", length = 16, nullable = false)
+    private String encoding;
+
+    @Column(name = "content", nullable = false)
+    private byte[] content;
+
+    @Column(name = "original_size", nullable = false)
+    private Integer originalSize;
+
+    @Column(name = "created_at", nullable = false, insertable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
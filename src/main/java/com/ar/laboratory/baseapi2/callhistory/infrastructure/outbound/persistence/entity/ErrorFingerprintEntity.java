@@ -0,0 +1,37 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Entidad JPA para la tabla call_history_error_fingerprint (solo lectura desde JPA) */
+@Entity
+@Table(name = "call_history_error_fingerprint", schema = "app")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ErrorFingerprintEntity {
+
+    @Id
+    @Column(name = "fingerprint", length = 16)
+    private String fingerprint;
+
+    @Column(name = "error_type", length = 256, nullable = false)
+    private String errorType;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @Column(name = "stacktrace", columnDefinition = "TEXT", nullable = false)
+    private String stacktrace;
+
+    @Column(name = "first_seen", nullable = false, updatable = false)
+    private LocalDateTime firstSeen;
+}
@@ -1,7 +1,13 @@
 package com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.mapper;
 
 import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryRecord;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistorySummary;
 import com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.entity.CallHistoryEntity;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.payload.PayloadReferences;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.payload.StoredPayload;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.projection.CallHistorySummaryView;
+import java.util.Map;
+import java.util.function.Supplier;
 import org.springframework.stereotype.Component;
 
 /** Mapper entre modelo de dominio y entidad JPA */
@@ -9,6 +15,17 @@ import org.springframework.stereotype.Component;
 public class CallHistoryEntityMapper {
 
     public CallHistoryEntity toEntity(CallHistoryRecord record) {
+        return toEntity(record, PayloadReferences.NONE, 0);
+    }
+
+    /**
+     * Convierte un registro de un lote cuyos payloads grandes ya se externalizaron
+     *
+     * @param references Hashes del lote
+     * @param index Posición del registro en el lote
+     */
+    public CallHistoryEntity toEntity(
+            CallHistoryRecord record, PayloadReferences references, int index) {
         if (record == null) {
             return null;
         }
@@ -27,16 +44,29 @@ public class CallHistoryEntityMapper {
                 .clientIp(record.getClientIp())
                 .userAgent(record.getUserAgent())
                 .userId(record.getUserId())
-                .queryParams(record.getQueryParams())
-                .requestBody(record.getRequestBody())
-                .responseBody(record.getResponseBody())
+                .queryParams(references.inlineQueryParams(record, index))
+                .requestBody(references.inlineRequestBody(record, index))
+                .responseBody(references.inlineResponseBody(record, index))
                 .errorType(record.getErrorType())
                 .errorMessage(record.getErrorMessage())
                 .errorStacktrace(record.getErrorStacktrace())
+                .errorFingerprint(record.getErrorFingerprint())
+                .queryParamsHash(references.queryParamsHash(index))
+                .requestBodyHash(references.requestBodyHash(index))
+                .responseBodyHash(references.responseBodyHash(index))
                 .build();
     }
 
     public CallHistoryRecord toDomain(CallHistoryEntity entity) {
+        return toDomain(entity, Map.of());
+    }
+
+    /**
+     * Convierte una entidad resolviendo los valores externalizados contra {@code payloads}. La
+     * descompresión se difiere hasta que se lee el valor.
+     */
+    public CallHistoryRecord toDomain(
+            CallHistoryEntity entity, Map<String, StoredPayload> payloads) {
         if (entity == null) {
             return null;
         }
@@ -58,9 +88,38 @@ public class CallHistoryEntityMapper {
                 .queryParams(entity.getQueryParams())
                 .requestBody(entity.getRequestBody())
                 .responseBody(entity.getResponseBody())
+                .queryParamsLoader(loader(entity.getQueryParamsHash(), payloads))
+                .requestBodyLoader(loader(entity.getRequestBodyHash(), payloads))
+                .responseBodyLoader(loader(entity.getResponseBodyHash(), payloads))
                 .errorType(entity.getErrorType())
                 .errorMessage(entity.getErrorMessage())
                 .errorStacktrace(entity.getErrorStacktrace())
+                .errorFingerprint(entity.getErrorFingerprint())
+                .build();
+    }
+
+    public CallHistorySummary toSummary(CallHistorySummaryView view) {
+        if (view == null) {
+            return null;
+        }
+
+        return CallHistorySummary.builder()
+                .id(view.getId())
+                .createdAt(view.getCreatedAt())
+                .httpMethod(view.getHttpMethod())
+                .path(view.getPath())
+                .httpStatus(view.getHttpStatus())
+                .success(view.getSuccess())
+                .durationMs(view.getDurationMs())
+                .correlationId(view.getCorrelationId())
                 .build();
     }
+
+    private static Supplier<String> loader(String hash, Map<String, StoredPayload> payloads) {
+        if (hash == null) {
+            return null;
+        }
+        StoredPayload payload = payloads.get(hash);
+        return payload != null ? payload::decode : null;
+    }
 }
@@ -0,0 +1,24 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.mapper;
+
+import com.ar.laboratory.baseapi2.callhistory.domain.model.ErrorFingerprint;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.entity.ErrorFingerprintEntity;
+import org.springframework.stereotype.Component;
+
+/** Mapper entre el fingerprint de error de dominio y su entidad JPA */
+@Component
+public class ErrorFingerprintEntityMapper {
+
+    public ErrorFingerprint toDomain(ErrorFingerprintEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+
+        return ErrorFingerprint.builder()
+                .fingerprint(entity.getFingerprint())
+                .errorType(entity.getErrorType())
+                .errorMessage(entity.getErrorMessage())
+                .stacktrace(entity.getStacktrace())
+                .firstSeen(entity.getFirstSeen())
+                .build();
+    }
+}
@@ -0,0 +1,15 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.partition;
+
+import java.time.Instant;
+
+/**
+ * Partición de app.call_history con su rango {@code [from, to)}
+ *
+ * @param name Nombre de la tabla (sin esquema)
+ */
+public record CallHistoryPartition(String name, Instant from, Instant to) {
+
+    boolean overlaps(Instant otherFrom, Instant otherTo) {
+        return from.isBefore(otherTo) && otherFrom.isBefore(to);
+    }
+}
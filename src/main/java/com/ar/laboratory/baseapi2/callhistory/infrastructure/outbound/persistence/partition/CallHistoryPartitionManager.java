@@ -0,0 +1,215 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.partition;
+
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.config.CallHistoryPersistenceConfig;
+import com.ar.laboratory.baseapi2.shared.infrastructure.config.CallHistoryProperties;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mantiene las particiones de app.call_history: crea por adelantado las de los próximos períodos y
+ * elimina (o desvincula) las que le indica la purga programada.
+ *
+ * <p>La expiración es un {@code DROP TABLE} por partición, sin DELETE masivos ni bloat; la decide
+ * {@code CallHistoryRetentionService}, que la corre sobre la conexión que tiene su advisory lock.
+ * Si un registro cae fuera de las particiones creadas va a {@code call_history_default}; la
+ * partición que cubra ese rango no se podrá crear hasta mover esas filas, y se avisa en el log.
+ *
+ * <p>Crear, eliminar o desvincular una partición toma un ACCESS EXCLUSIVE sobre app.call_history:
+ * si ese lock quedara en la cola detrás de una consulta larga, todos los INSERT del writer se
+ * encolarían detrás de él. Por eso cada DDL corre en su propia transacción con {@code SET LOCAL
+ * lock_timeout} ({@code app.call-history.partitions.lock-timeout}); si no consigue el lock a tiempo
+ * se abandona y se reintenta en la próxima ronda. {@code DETACH PARTITION ... CONCURRENTLY} no es
+ * una opción: PostgreSQL no lo permite mientras exista la partición DEFAULT.
+ *
+ * <p>Corre al arrancar y cada {@code app.call-history.partitions.check-interval}. Es idempotente:
+ * si dos instancias coinciden, la que pierde solo registra el error y reintenta en la próxima
+ * ronda.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(
+        prefix = "app.call-history.partitions",
+        name = "enabled",
+        havingValue = "true",
+        matchIfMissing = true)
+public class CallHistoryPartitionManager {
+
+    /** SQLSTATE lock_not_available: se agotó el lock_timeout */
+    private static final String LOCK_NOT_AVAILABLE = "55P03";
+
+    /** Particiones con rango (la DEFAULT queda afuera) y sus límites como timestamptz */
+    private static final String LIST_PARTITIONS_SQL =
+            """
+            SELECT c.relname AS name, bounds[1]::timestamptz AS range_from,
+                   bounds[2]::timestamptz AS range_to
+            FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            CROSS JOIN LATERAL regexp_match(pg_get_expr(c.relpartbound, c.oid),
+                   'FROM \\(''([^'']+)''\\) TO \\(''([^'']+)''\\)') AS bounds
+            WHERE i.inhparent = 'app.call_history'::regclass AND bounds IS NOT NULL
+            ORDER BY range_from
+            """;
+
+    private final CallHistoryProperties.Partitions properties;
+    private final CallHistoryPartitionPlanner planner;
+    private final JdbcTemplate jdbcTemplate;
+
+    public CallHistoryPartitionManager(
+            CallHistoryProperties callHistoryProperties,
+            @Qualifier(CallHistoryPersistenceConfig.JDBC_TEMPLATE) JdbcTemplate jdbcTemplate) {
+        this.properties = callHistoryProperties.getPartitions();
+        this.planner = new CallHistoryPartitionPlanner(properties);
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Scheduled(
+            initialDelay = 0,
+            fixedDelayString = "${app.call-history.partitions.check-interval:1h}")
+    public void maintain() {
+        try {
+            planner.missing(listPartitions(), Instant.now()).forEach(this::create);
+        } catch (DataAccessException e) {
+            log.warn("Call history partition maintenance failed: {}", e.getMessage());
+        }
+    }
+
+    /** Particiones con rango de app.call_history, ordenadas por su límite inferior */
+    public List<CallHistoryPartition> listPartitions() {
+        return listPartitions(jdbcTemplate);
+    }
+
+    private static List<CallHistoryPartition> listPartitions(JdbcTemplate session) {
+        return session.query(
+                LIST_PARTITIONS_SQL,
+                (rs, rowNum) ->
+                        new CallHistoryPartition(
+                                rs.getString("name"),
+                                rs.getTimestamp("range_from").toInstant(),
+                                rs.getTimestamp("range_to").toInstant()));
+    }
+
+    /**
+     * Particiones cuyo rango completo es anterior a {@code cutoff}
+     *
+     * @param session Conexión del llamador (la purga pasa la que tiene su advisory lock)
+     */
+    public List<CallHistoryPartition> expiredBefore(Instant cutoff, JdbcTemplate session) {
+        return planner.expired(listPartitions(session), cutoff);
+    }
+
+    private void create(CallHistoryPartition partition) {
+        try {
+            boolean created =
+                    executeDdl(
+                            jdbcTemplate,
+                            "CREATE TABLE IF NOT EXISTS "
+                                    + table(partition)
+                                    + " PARTITION OF app.call_history FOR VALUES FROM ('"
+                                    + partition.from()
+                                    + "') TO ('"
+                                    + partition.to()
+                                    + "')");
+            if (!created) {
+                log.warn(
+                        "Call history partition {} not created, lock not available; retrying next"
+                                + " run",
+                        partition.name());
+                return;
+            }
+            log.info(
+                    "Call history partition created: {} [{}, {})",
+                    partition.name(),
+                    partition.from(),
+                    partition.to());
+        } catch (DataAccessException e) {
+            // Típicamente filas de ese rango en call_history_default
+            log.warn(
+                    "Could not create call history partition {}: {}",
+                    partition.name(),
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * Elimina o desvincula la partición según {@code app.call-history.partitions.expired-action}
+     *
+     * @param session Conexión sobre la que corre el DDL (la purga pasa la que tiene su advisory
+     *     lock); no debe estar dentro de una transacción
+     * @return false si no obtuvo el lock dentro de {@code lock-timeout}; la partición sigue
+     *     vinculada y se reintenta en la próxima corrida
+     */
+    public boolean expire(CallHistoryPartition partition, JdbcTemplate session) {
+        boolean expired =
+                switch (properties.getExpiredAction()) {
+                    case DROP -> executeDdl(session, "DROP TABLE IF EXISTS " + table(partition));
+                    case DETACH ->
+                            executeDdl(
+                                    session,
+                                    "ALTER TABLE app.call_history DETACH PARTITION "
+                                            + table(partition));
+                };
+        if (!expired) {
+            log.warn(
+                    "Call history partition {} not expired, lock not available; retrying next"
+                            + " run",
+                    partition.name());
+            return false;
+        }
+        log.info(
+                "Call history partition expired ({}): {} [{}, {})",
+                properties.getExpiredAction(),
+                partition.name(),
+                partition.from(),
+                partition.to());
+        return true;
+    }
+
+    /**
+     * Corre el DDL en su propia transacción, sin esperar el lock más de {@code lock-timeout}
+     *
+     * @return false si se agotó la espera; la transacción se deshace
+     */
+    private boolean executeDdl(JdbcTemplate session, String ddl) {
+        return Boolean.TRUE.equals(
+                session.execute(
+                        (ConnectionCallback<Boolean>) connection -> executeDdl(connection, ddl)));
+    }
+
+    private boolean executeDdl(Connection connection, String ddl) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET LOCAL lock_timeout = " + properties.getLockTimeout().toMillis());
+            statement.execute(ddl);
+            connection.commit();
+            return true;
+        } catch (SQLException e) {
+            connection.rollback();
+            if (LOCK_NOT_AVAILABLE.equals(e.getSQLState())) {
+                return false;
+            }
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private static String table(CallHistoryPartition partition) {
+        return "app." + quote(partition.name());
+    }
+
+    private static String quote(String identifier) {
+        return '"' + identifier.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,77 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.partition;
+
+import com.ar.laboratory.baseapi2.shared.infrastructure.config.CallHistoryProperties;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decide qué particiones crear y cuáles expiraron, a partir de las existentes y la hora actual o el
+ * corte de retención. No accede a la base.
+ *
+ * <p>Los rangos se alinean al día o al mes en UTC y cada partición se llama {@code
+ * call_history_pAAAAMMDD} por su límite inferior, igual que las que crea la migración V8.
+ */
+public class CallHistoryPartitionPlanner {
+
+    private static final DateTimeFormatter NAME_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final CallHistoryProperties.Partitions properties;
+
+    public CallHistoryPartitionPlanner(CallHistoryProperties.Partitions properties) {
+        if (properties.getPremake() < 0) {
+            throw new IllegalArgumentException("app.call-history.partitions.premake debe ser >= 0");
+        }
+        this.properties = properties;
+    }
+
+    /**
+     * Particiones que faltan para cubrir el período actual y los {@code premake} siguientes. Se
+     * omiten los rangos que ya cubre (aunque sea en parte) alguna partición existente.
+     */
+    public List<CallHistoryPartition> missing(List<CallHistoryPartition> existing, Instant now) {
+        List<CallHistoryPartition> missing = new ArrayList<>();
+        LocalDate start = periodStart(now);
+        for (int i = 0; i <= properties.getPremake(); i++) {
+            LocalDate end = next(start);
+            Instant from = toInstant(start);
+            Instant to = toInstant(end);
+            if (existing.stream().noneMatch(partition -> partition.overlaps(from, to))) {
+                missing.add(new CallHistoryPartition(name(start), from, to));
+            }
+            start = end;
+        }
+        return missing;
+    }
+
+    /** Particiones cuyo rango completo es anterior a {@code cutoff} */
+    public List<CallHistoryPartition> expired(List<CallHistoryPartition> existing, Instant cutoff) {
+        return existing.stream().filter(partition -> !partition.to().isAfter(cutoff)).toList();
+    }
+
+    private LocalDate periodStart(Instant now) {
+        LocalDate today = LocalDate.ofInstant(now, ZoneOffset.UTC);
+        return switch (properties.getPeriod()) {
+            case DAILY -> today;
+            case MONTHLY -> today.withDayOfMonth(1);
+        };
+    }
+
+    private LocalDate next(LocalDate start) {
+        return switch (properties.getPeriod()) {
+            case DAILY -> start.plusDays(1);
+            case MONTHLY -> start.plusMonths(1);
+        };
+    }
+
+    private static Instant toInstant(LocalDate date) {
+        return date.atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    private static String name(LocalDate start) {
+        return "call_history_p" + NAME_FORMAT.format(start);
+    }
+}
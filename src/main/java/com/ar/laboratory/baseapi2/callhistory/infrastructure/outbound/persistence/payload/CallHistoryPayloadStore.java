@@ -0,0 +1,187 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.payload;
+
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryRecord;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.config.CallHistoryPersistenceConfig;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.entity.CallHistoryPayloadEntity;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.repository.CallHistoryPayloadJpaRepository;
+import com.ar.laboratory.baseapi2.shared.infrastructure.config.CallHistoryProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Almacenamiento direccionado por contenido de query params y cuerpos.
+ *
+ * <p>Con {@code app.call-history.payloads.storage=deduplicated}, cada valor de al menos {@code
+ * min-size} caracteres se identifica por su SHA-256, se comprime con deflate y se inserta una sola
+ * vez en app.call_history_payload; la fila de historial guarda solo el hash. Los hashes ya
+ * insertados se recuerdan en memoria para que respuestas repetidas no generen escrituras, pero
+ * recién cuando la transacción del lote confirma: si hace rollback el INSERT se pierde y el próximo
+ * lote con el mismo contenido tiene que volver a insertarlo.
+ *
+ * <p>Cada INSERT que choca con un payload existente actualiza su {@code last_referenced_at}, y un
+ * hash se recuerda como mucho {@code known-ttl} desde ese momento. Así ninguna fila nueva
+ * referencia un payload que lleve más de {@code known-ttl} sin tocarse, que es la garantía con la
+ * que la purga de huérfanos ({@code retention.orphan-grace}) decide qué puede borrar sin recorrer
+ * el historial.
+ *
+ * <p>Con {@code inline} (por defecto) no hace nada y los valores quedan en sus columnas.
+ */
+@Slf4j
+@Component
+public class CallHistoryPayloadStore {
+
+    private static final String INSERT_IF_ABSENT =
+            "INSERT INTO app.call_history_payload (hash, encoding, content, original_size)"
+                    + " VALUES (?, ?, ?, ?) ON CONFLICT (hash)"
+                    + " DO UPDATE SET last_referenced_at = now()";
+    private static final HexFormat HEX = HexFormat.of();
+
+    private static final ThreadLocal<MessageDigest> SHA_256 =
+            ThreadLocal.withInitial(CallHistoryPayloadStore::sha256);
+
+    private final CallHistoryProperties.Payloads properties;
+    private final CallHistoryPayloadJpaRepository jpaRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache<String, Boolean> known;
+
+    public CallHistoryPayloadStore(
+            CallHistoryProperties callHistoryProperties,
+            CallHistoryPayloadJpaRepository jpaRepository,
+            @Qualifier(CallHistoryPersistenceConfig.JDBC_TEMPLATE) JdbcTemplate jdbcTemplate) {
+        this.properties = callHistoryProperties.getPayloads();
+        this.jpaRepository = jpaRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.known =
+                Caffeine.newBuilder()
+                        .maximumSize(properties.getKnownCapacity())
+                        .expireAfterWrite(properties.getKnownTtl())
+                        .build();
+    }
+
+    public boolean isEnabled() {
+        return properties.getStorage() == CallHistoryProperties.PayloadStorage.DEDUPLICATED;
+    }
+
+    /**
+     * Guarda los valores grandes del lote en la tabla de payloads (los que no estén ya) y devuelve
+     * sus hashes. Se llama antes de insertar las filas que los referencian.
+     */
+    public PayloadReferences externalize(List<CallHistoryRecord> records) {
+        if (!isEnabled()) {
+            return PayloadReferences.NONE;
+        }
+        String[] hashes = new String[records.size() * PayloadReferences.FIELDS];
+        Map<String, StoredPayload> pending = new LinkedHashMap<>();
+        for (int i = 0; i < records.size(); i++) {
+            CallHistoryRecord record = records.get(i);
+            int base = i * PayloadReferences.FIELDS;
+            hashes[base + PayloadReferences.QUERY_PARAMS] =
+                    externalize(record.getQueryParams(), pending);
+            hashes[base + PayloadReferences.REQUEST_BODY] =
+                    externalize(record.getRequestBody(), pending);
+            hashes[base + PayloadReferences.RESPONSE_BODY] =
+                    externalize(record.getResponseBody(), pending);
+        }
+        if (!pending.isEmpty()) {
+            insert(pending.values());
+            rememberAfterCommit(pending.keySet());
+        }
+        return new PayloadReferences(hashes);
+    }
+
+    /** Payloads guardados por hash, en una sola consulta */
+    public Map<String, StoredPayload> load(Collection<String> hashes) {
+        if (hashes.isEmpty()) {
+            return Map.of();
+        }
+        return jpaRepository.findAllById(hashes).stream()
+                .map(CallHistoryPayloadStore::toStored)
+                .collect(Collectors.toMap(StoredPayload::hash, Function.identity()));
+    }
+
+    private String externalize(String value, Map<String, StoredPayload> pending) {
+        if (value == null || value.length() < properties.getMinSize()) {
+            return null;
+        }
+        String hash = hash(value);
+        if (known.getIfPresent(hash) == null && !pending.containsKey(hash)) {
+            pending.put(hash, StoredPayload.encode(hash, value, properties.getCompressionLevel()));
+        }
+        return hash;
+    }
+
+    /** Sin transacción activa el INSERT ya se confirmó (autocommit) y se recuerda en el acto */
+    private void rememberAfterCommit(Set<String> inserted) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            remember(inserted);
+            return;
+        }
+        Set<String> hashes = Set.copyOf(inserted);
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        remember(hashes);
+                    }
+                });
+    }
+
+    private void remember(Set<String> hashes) {
+        hashes.forEach(hash -> known.put(hash, Boolean.TRUE));
+    }
+
+    private void insert(Collection<StoredPayload> payloads) {
+        List<StoredPayload> batch = new ArrayList<>(payloads);
+        jdbcTemplate.batchUpdate(
+                INSERT_IF_ABSENT,
+                batch,
+                batch.size(),
+                (statement, payload) -> {
+                    statement.setString(1, payload.hash());
+                    statement.setString(2, payload.encoding());
+                    statement.setBytes(3, payload.content());
+                    statement.setInt(4, payload.originalSize());
+                });
+        log.debug("Call history payloads stored: {}", batch.size());
+    }
+
+    static String hash(String value) {
+        MessageDigest digest = SHA_256.get();
+        digest.reset();
+        return HEX.formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static StoredPayload toStored(CallHistoryPayloadEntity entity) {
+        return new StoredPayload(
+                entity.getHash(),
+                entity.getEncoding(),
+                entity.getContent(),
+                entity.getOriginalSize());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.payload;
+
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryRecord;
+
+/**
+ * Hashes de los valores de un lote que se guardaron en app.call_history_payload, por índice de
+ * registro. Un hash null significa que el valor queda en su columna de texto.
+ */
+public final class PayloadReferences {
+
+    /** Sin valores externalizados (almacenamiento INLINE) */
+    public static final PayloadReferences NONE = new PayloadReferences(new String[0]);
+
+    static final int QUERY_PARAMS = 0;
+    static final int REQUEST_BODY = 1;
+    static final int RESPONSE_BODY = 2;
+    static final int FIELDS = 3;
+
+    private final String[] hashes;
+
+    PayloadReferences(String[] hashes) {
+        this.hashes = hashes;
+    }
+
+    public String queryParamsHash(int index) {
+        return hash(index, QUERY_PARAMS);
+    }
+
+    public String requestBodyHash(int index) {
+        return hash(index, REQUEST_BODY);
+    }
+
+    public String responseBodyHash(int index) {
+        return hash(index, RESPONSE_BODY);
+    }
+
+    /** Query params a guardar en la fila: null si se externalizaron */
+    public String inlineQueryParams(CallHistoryRecord record, int index) {
+        return queryParamsHash(index) == null ? record.getQueryParams() : null;
+    }
+
+    /** Request body a guardar en la fila: null si se externalizó */
+    public String inlineRequestBody(CallHistoryRecord record, int index) {
+        return requestBodyHash(index) == null ? record.getRequestBody() : null;
+    }
+
+    /** Response body a guardar en la fila: null si se externalizó */
+    public String inlineResponseBody(CallHistoryRecord record, int index) {
+        return responseBodyHash(index) == null ? record.getResponseBody() : null;
+    }
+
+    private String hash(int index, int field) {
+        int position = index * FIELDS + field;
+        return position < hashes.length ? hashes[position] : null;
+    }
+}
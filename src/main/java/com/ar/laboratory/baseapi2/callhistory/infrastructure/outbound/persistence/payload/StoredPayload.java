@@ -0,0 +1,70 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.payload;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Cuerpo guardado en app.call_history_payload, tal como está en la base.
+ *
+ * @param hash SHA-256 (hex) del texto original
+ * @param encoding {@value #DEFLATE} o {@value #IDENTITY}
+ * @param content Bytes guardados (comprimidos o UTF-8 sin comprimir)
+ * @param originalSize Largo en bytes UTF-8 del texto original
+ */
+public record StoredPayload(String hash, String encoding, byte[] content, int originalSize) {
+
+    public static final String DEFLATE = "deflate";
+    public static final String IDENTITY = "identity";
+
+    /**
+     * Comprime el texto con deflate; si no achica (textos cortos o ya comprimidos) lo guarda tal
+     * cual
+     */
+    static StoredPayload encode(String hash, String text, int compressionLevel) {
+        byte[] raw = text.getBytes(StandardCharsets.UTF_8);
+        Deflater deflater = new Deflater(compressionLevel, true);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(raw.length / 2 + 16);
+            byte[] chunk = new byte[Math.min(raw.length + 16, 8192)];
+            while (!deflater.finished()) {
+                compressed.write(chunk, 0, deflater.deflate(chunk));
+                if (compressed.size() >= raw.length) {
+                    return new StoredPayload(hash, IDENTITY, raw, raw.length);
+                }
+            }
+            return new StoredPayload(hash, DEFLATE, compressed.toByteArray(), raw.length);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /** Texto original; descomprime si hace falta */
+    public String decode() {
+        if (IDENTITY.equals(encoding)) {
+            return new String(content, StandardCharsets.UTF_8);
+        }
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(content);
+            byte[] raw = new byte[originalSize];
+            int length = 0;
+            while (length < originalSize && !inflater.finished()) {
+                int read = inflater.inflate(raw, length, originalSize - length);
+                if (read == 0 && inflater.needsInput()) {
+                    break;
+                }
+                length += read;
+            }
+            return new String(raw, 0, length, StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Payload " + hash + " corrupto", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
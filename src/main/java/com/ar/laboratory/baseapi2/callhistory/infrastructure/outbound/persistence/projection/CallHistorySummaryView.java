@@ -0,0 +1,26 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Proyección de las columnas de resumen de app.call_history. Las consultas que la devuelven no leen
+ * query params, cuerpos ni stacktraces (ni sus valores TOAST).
+ */
+public interface CallHistorySummaryView {
+
+    Long getId();
+
+    LocalDateTime getCreatedAt();
+
+    String getHttpMethod();
+
+    String getPath();
+
+    Integer getHttpStatus();
+
+    Boolean getSuccess();
+
+    Long getDurationMs();
+
+    String getCorrelationId();
+}
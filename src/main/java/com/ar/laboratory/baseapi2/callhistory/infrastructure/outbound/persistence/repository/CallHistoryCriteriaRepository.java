@@ -0,0 +1,18 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.repository;
+
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.entity.CallHistoryEntity;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.projection.CallHistorySummaryView;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+
+/** Fragmento de CallHistoryJpaRepository para consultas por Specification con proyección */
+public interface CallHistoryCriteriaRepository {
+
+    /**
+     * Resúmenes que cumplen {@code spec}, del más nuevo al más viejo por {@code (createdAt, id)}.
+     * Solo se seleccionan las columnas de {@link CallHistorySummaryView}.
+     */
+    List<CallHistorySummaryView> findSummariesMatching(
+            Specification<CallHistoryEntity> spec, Limit limit);
+}
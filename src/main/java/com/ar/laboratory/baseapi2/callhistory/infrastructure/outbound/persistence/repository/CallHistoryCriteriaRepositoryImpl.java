@@ -0,0 +1,78 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.repository;
+
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.config.CallHistoryPersistenceConfig;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.entity.CallHistoryEntity;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.projection.CallHistorySummaryView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Implementación del fragmento con Criteria API: un único SELECT de las columnas de resumen, con el
+ * WHERE que arma la Specification. {@code JpaSpecificationExecutor} cargaría la entidad completa
+ * (cuerpos y stacktraces incluidos).
+ */
+class CallHistoryCriteriaRepositoryImpl implements CallHistoryCriteriaRepository {
+
+    private final EntityManager entityManager;
+
+    CallHistoryCriteriaRepositoryImpl(
+            @Qualifier(CallHistoryPersistenceConfig.ENTITY_MANAGER_FACTORY)
+                    EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<CallHistorySummaryView> findSummariesMatching(
+            Specification<CallHistoryEntity> spec, Limit limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<CallHistoryEntity> root = query.from(CallHistoryEntity.class);
+        query.select(
+                cb.tuple(
+                        root.get("id").alias("id"),
+                        root.get("createdAt").alias("createdAt"),
+                        root.get("httpMethod").alias("httpMethod"),
+                        root.get("path").alias("path"),
+                        root.get("httpStatus").alias("httpStatus"),
+                        root.get("success").alias("success"),
+                        root.get("durationMs").alias("durationMs"),
+                        root.get("correlationId").alias("correlationId")));
+        query.where(spec.toPredicate(root, query, cb));
+        query.orderBy(cb.desc(root.get("createdAt")), cb.desc(root.get("id")));
+
+        return entityManager.createQuery(query).setMaxResults(limit.max()).getResultList().stream()
+                .map(CallHistoryCriteriaRepositoryImpl::toView)
+                .toList();
+    }
+
+    private static CallHistorySummaryView toView(Tuple tuple) {
+        return new SummaryRow(
+                tuple.get("id", Long.class),
+                tuple.get("createdAt", LocalDateTime.class),
+                tuple.get("httpMethod", String.class),
+                tuple.get("path", String.class),
+                tuple.get("httpStatus", Integer.class),
+                tuple.get("success", Boolean.class),
+                tuple.get("durationMs", Long.class),
+                tuple.get("correlationId", String.class));
+    }
+
+    private record SummaryRow(
+            Long getId,
+            LocalDateTime getCreatedAt,
+            String getHttpMethod,
+            String getPath,
+            Integer getHttpStatus,
+            Boolean getSuccess,
+            Long getDurationMs,
+            String getCorrelationId)
+            implements CallHistorySummaryView {}
+}
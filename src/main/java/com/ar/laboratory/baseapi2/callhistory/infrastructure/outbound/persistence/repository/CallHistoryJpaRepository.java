@@ -1,24 +1,117 @@
 package com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.repository;
 
 import com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.entity.CallHistoryEntity;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.projection.CallHistorySummaryView;
+import jakarta.persistence.QueryHint;
 import java.time.LocalDateTime;
 import java.util.List;
-import org.springframework.data.domain.Pageable;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-/** Repositorio JPA para CallHistoryEntity */
+/**
+ * Repositorio JPA para CallHistoryEntity
+ *
+ * <p>Los listados devuelven la proyección {@link CallHistorySummaryView} y paginan por cursor:
+ * hasta {@code limit} filas estrictamente anteriores a {@code (createdAt, id)} en orden
+ * descendente. La condición {@code createdAt <= :createdAt} le da al índice la posición de
+ * arranque; la disyunción solo descarta los empates ya devueltos. Cada búsqueda tiene su índice (V9
+ * y V10). La consulta multi-criterio está en {@link CallHistoryCriteriaRepository}.
+ */
 @Repository
-public interface CallHistoryJpaRepository extends JpaRepository<CallHistoryEntity, Long> {
+public interface CallHistoryJpaRepository
+        extends JpaRepository<CallHistoryEntity, Long>, CallHistoryCriteriaRepository {
 
-    List<CallHistoryEntity> findByCreatedAtBetweenOrderByCreatedAtDesc(
-            LocalDateTime from, LocalDateTime to);
+    String SUMMARY =
+            "SELECT e.id AS id, e.createdAt AS createdAt, e.httpMethod AS httpMethod,"
+                    + " e.path AS path, e.httpStatus AS httpStatus, e.success AS success,"
+                    + " e.durationMs AS durationMs, e.correlationId AS correlationId"
+                    + " FROM CallHistoryEntity e";
 
-    List<CallHistoryEntity> findByCorrelationIdOrderByCreatedAtDesc(String correlationId);
+    String BEFORE_CURSOR =
+            " e.createdAt <= :createdAt AND (e.createdAt < :createdAt OR e.id < :id)";
 
-    List<CallHistoryEntity> findByPathOrderByCreatedAtDesc(String path);
+    int EXPORT_FETCH_SIZE = 1000;
 
-    List<CallHistoryEntity> findBySuccessOrderByCreatedAtDesc(boolean success);
+    String NEWEST_FIRST = " ORDER BY e.createdAt DESC, e.id DESC";
 
-    List<CallHistoryEntity> findAllByOrderByCreatedAtDesc(Pageable pageable);
+    /**
+     * Paginación por offset exacto (no por número de página): {@code offset} no tiene que ser
+     * múltiplo de {@code limit}. Recorre y descarta {@code offset} filas; para páginas profundas
+     * usar {@link #findPageBefore}
+     */
+    @Query(SUMMARY + NEWEST_FIRST + " LIMIT :limit OFFSET :offset")
+    List<CallHistorySummaryView> findSummaries(
+            @Param("offset") int offset, @Param("limit") int limit);
+
+    /** idx_call_history_created_at_id */
+    @Query(SUMMARY + " WHERE" + BEFORE_CURSOR + NEWEST_FIRST)
+    List<CallHistorySummaryView> findPageBefore(
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") long id, Limit limit);
+
+    /** idx_call_history_created_at_id, solo las particiones del rango */
+    @Query(SUMMARY + " WHERE e.createdAt BETWEEN :from AND :to AND" + BEFORE_CURSOR + NEWEST_FIRST)
+    List<CallHistorySummaryView> findByDateRangeBefore(
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") long id,
+            Limit limit);
+
+    /**
+     * Cursor del servidor para exportar: el driver trae {@value #EXPORT_FETCH_SIZE} filas por
+     * viaje. Requiere una transacción abierta (sin autocommit) mientras se consume el Stream.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query(
+            SUMMARY
+                    + " WHERE e.createdAt >= :from AND e.createdAt < :to"
+                    + " ORDER BY e.createdAt, e.id")
+    Stream<CallHistorySummaryView> streamByDateRange(
+            @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /** idx_call_history_correlation_created_at */
+    @Query(SUMMARY + " WHERE e.correlationId = :correlationId AND" + BEFORE_CURSOR + NEWEST_FIRST)
+    List<CallHistorySummaryView> findByCorrelationIdBefore(
+            @Param("correlationId") String correlationId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") long id,
+            Limit limit);
+
+    /** idx_call_history_path_created_at */
+    @Query(SUMMARY + " WHERE e.path = :path AND" + BEFORE_CURSOR + NEWEST_FIRST)
+    List<CallHistorySummaryView> findByPathBefore(
+            @Param("path") String path,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") long id,
+            Limit limit);
+
+    /**
+     * idx_call_history_created_at_id: las exitosas son la mayoría. Para las fallidas usar {@link
+     * #findFailuresBefore}
+     */
+    @Query(SUMMARY + " WHERE e.success = :success AND" + BEFORE_CURSOR + NEWEST_FIRST)
+    List<CallHistorySummaryView> findBySuccessBefore(
+            @Param("success") boolean success,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") long id,
+            Limit limit);
+
+    /**
+     * idx_call_history_failures (parcial). {@code success = false} va literal: con un parámetro, el
+     * plan genérico de la sentencia preparada no puede probar el predicado del índice parcial y
+     * recorre idx_call_history_created_at_id filtrando
+     */
+    @Query(SUMMARY + " WHERE e.success = false AND" + BEFORE_CURSOR + NEWEST_FIRST)
+    List<CallHistorySummaryView> findFailuresBefore(
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") long id, Limit limit);
 }
@@ -0,0 +1,10 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.repository;
+
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.entity.CallHistoryPayloadEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/** Repositorio JPA para CallHistoryPayloadEntity */
+@Repository
+public interface CallHistoryPayloadJpaRepository
+        extends JpaRepository<CallHistoryPayloadEntity, String> {}
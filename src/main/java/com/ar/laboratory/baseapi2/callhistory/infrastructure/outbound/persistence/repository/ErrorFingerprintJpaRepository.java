@@ -0,0 +1,31 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.repository;
+
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.entity.ErrorFingerprintEntity;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/** Repositorio JPA para ErrorFingerprintEntity */
+@Repository
+public interface ErrorFingerprintJpaRepository
+        extends JpaRepository<ErrorFingerprintEntity, String> {
+
+    List<ErrorFingerprintEntity> findAllByOrderByFirstSeenDesc(Pageable pageable);
+
+    /** Ocurrencias de un fingerprint en el historial (usa idx_call_history_error_fingerprint) */
+    @Query(
+            "SELECT COUNT(c) AS occurrences, MAX(c.createdAt) AS lastSeen"
+                    + " FROM CallHistoryEntity c WHERE c.errorFingerprint = :fingerprint")
+    Occurrences countOccurrences(@Param("fingerprint") String fingerprint);
+
+    /** Proyección de las ocurrencias de un fingerprint */
+    interface Occurrences {
+        long getOccurrences();
+
+        LocalDateTime getLastSeen();
+    }
+}
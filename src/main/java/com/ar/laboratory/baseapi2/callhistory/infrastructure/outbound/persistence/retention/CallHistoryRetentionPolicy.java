@@ -0,0 +1,71 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.retention;
+
+import com.ar.laboratory.baseapi2.shared.infrastructure.config.CallHistoryProperties;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Calcula hasta dónde purgar el historial y los rollups a partir de la hora actual. No accede a la
+ * base.
+ */
+public class CallHistoryRetentionPolicy {
+
+    private final Duration maxAge;
+    private final Duration rollupMaxAge;
+    private final Duration orphanGrace;
+
+    /**
+     * @param knownTtl El mayor {@code known-ttl} de las cachés de payloads y fingerprints
+     */
+    public CallHistoryRetentionPolicy(
+            CallHistoryProperties.Retention properties, Duration knownTtl) {
+        if (properties.getMaxAge().isNegative()) {
+            throw new IllegalArgumentException(
+                    "app.call-history.retention.max-age no puede ser negativa");
+        }
+        if (properties.getRollupMaxAge().isNegative()) {
+            throw new IllegalArgumentException(
+                    "app.call-history.retention.rollup-max-age no puede ser negativa");
+        }
+        if (properties.getBatchSize() <= 0) {
+            throw new IllegalArgumentException(
+                    "app.call-history.retention.batch-size debe ser > 0");
+        }
+        if (properties.getOrphanGrace().compareTo(knownTtl) <= 0) {
+            throw new IllegalArgumentException(
+                    "app.call-history.retention.orphan-grace debe superar el known-ttl de payloads"
+                            + " y errores");
+        }
+        this.maxAge = properties.getMaxAge();
+        this.rollupMaxAge = properties.getRollupMaxAge();
+        this.orphanGrace = properties.getOrphanGrace();
+    }
+
+    /** Registros con created_at anterior a este instante se purgan; vacío si no hay retención */
+    public Optional<Instant> historyCutoff(Instant now) {
+        return cutoff(maxAge, now);
+    }
+
+    /**
+     * Payloads y fingerprints sin referencias desde antes de este instante se purgan. Cualquier
+     * fila que todavía los referencie es anterior a {@code historyCutoff}, así que solo vale una
+     * vez que esas filas ya se borraron.
+     */
+    public Instant orphanCutoff(Instant historyCutoff) {
+        return historyCutoff.minus(orphanGrace);
+    }
+
+    /** Rollups con minute anterior a este instante se purgan; vacío si se conservan todos */
+    public Optional<Instant> rollupCutoff(Instant now) {
+        return cutoff(rollupMaxAge, now);
+    }
+
+    public boolean isEnabled() {
+        return !maxAge.isZero() || !rollupMaxAge.isZero();
+    }
+
+    private static Optional<Instant> cutoff(Duration maxAge, Instant now) {
+        return maxAge.isZero() ? Optional.empty() : Optional.of(now.minus(maxAge));
+    }
+}
@@ -0,0 +1,447 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.retention;
+
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.config.CallHistoryPersistenceConfig;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.partition.CallHistoryPartition;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.partition.CallHistoryPartitionManager;
+import com.ar.laboratory.baseapi2.shared.infrastructure.config.CallHistoryProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Purga programada de app.call_history y de sus rollups por minuto.
+ *
+ * <p>Primero se eliminan (o desvinculan) las particiones cuyo rango completo quedó fuera de {@code
+ * max-age}, que es un DROP sin bloat; si alguna no obtiene su lock a tiempo, la corrida termina ahí
+ * y se reintenta en la próxima en lugar de vaciarla con DELETE. Lo que queda antes del corte (el
+ * inicio de la partición en curso y {@code call_history_default}) se borra en lotes de {@code
+ * batch-size} filas ordenados por {@code (created_at, id)}: cada lote es su propia transacción,
+ * arranca donde terminó el anterior (sin volver a recorrer las tuplas muertas del índice) y entre
+ * lotes hay una pausa para que autovacuum y las réplicas acompañen. Si la corrida supera {@code
+ * max-run-time} se corta y lo pendiente queda para la próxima.
+ *
+ * <p>Cuando las filas vencidas terminaron de borrarse, se recolectan en lotes los payloads y
+ * fingerprints huérfanos: los que no se volvieron a referenciar desde {@code orphan-grace} antes
+ * del corte. Como el writer los recuerda en memoria como mucho {@code known-ttl} (menor que ese
+ * margen) desde la última vez que los tocó en la base, las únicas filas que podrían referenciarlos
+ * son anteriores al corte y ya no existen; los payloads se borran sin recorrer el historial y los
+ * fingerprints, que tienen índice, además se verifican contra él. Con {@code expired-action:
+ * DETACH} las particiones archivadas siguen referenciándolos y esta recolección no corre.
+ *
+ * <p>Un advisory lock de sesión de PostgreSQL garantiza que un solo nodo purgue a la vez: el nodo
+ * que no lo obtiene saltea la ronda. Todo el trabajo, incluido el DDL de las particiones, corre
+ * sobre la conexión que tiene el lock, así que si esa conexión se cae el lock se libera y la purga
+ * se detiene con ella.
+ *
+ * <p>Corre en el {@code taskExecutor} para no ocupar el hilo del scheduler, que es compartido.
+ */
+@Slf4j
+@Component
+public class CallHistoryRetentionService {
+
+    /** Clave del advisory lock de la purga ("callhist" en ASCII) */
+    static final long ADVISORY_LOCK_KEY = 0x63616c6c68697374L;
+
+    private static final String BATCH_SQL =
+            """
+            WITH batch AS (
+                SELECT id, created_at
+                FROM app.call_history
+                WHERE created_at < ? %s
+                ORDER BY created_at, id
+                LIMIT ?
+            ), deleted AS (
+                DELETE FROM app.call_history h
+                USING batch b
+                WHERE h.created_at = b.created_at AND h.id = b.id
+                RETURNING 1
+            )
+            SELECT (SELECT count(*) FROM deleted) AS purged,
+                   (SELECT count(*) FROM batch) AS batched,
+                   created_at, id
+            FROM batch
+            ORDER BY created_at DESC, id DESC
+            LIMIT 1
+            """;
+
+    private static final String FIRST_BATCH_SQL = BATCH_SQL.formatted("");
+
+    private static final String NEXT_BATCH_SQL =
+            BATCH_SQL.formatted("AND (created_at, id) > (?, ?)");
+
+    private static final String DELETE_ROLLUPS_SQL =
+            """
+            DELETE FROM app.call_history_rollup_minute
+            WHERE ctid = ANY (ARRAY(
+                SELECT ctid FROM app.call_history_rollup_minute WHERE minute < ? LIMIT ?))
+            """;
+
+    /**
+     * Un INSERT concurrente que vuelve a referenciar el payload actualiza la fila y crea otra
+     * versión con otro ctid, así que el DELETE la reevalúa y la deja
+     */
+    private static final String DELETE_ORPHAN_PAYLOADS_SQL =
+            """
+            DELETE FROM app.call_history_payload
+            WHERE ctid = ANY (ARRAY(
+                SELECT ctid FROM app.call_history_payload WHERE last_referenced_at < ? LIMIT ?))
+            """;
+
+    private static final String DELETE_ORPHAN_FINGERPRINTS_SQL =
+            """
+            DELETE FROM app.call_history_error_fingerprint
+            WHERE ctid = ANY (ARRAY(
+                SELECT f.ctid FROM app.call_history_error_fingerprint f
+                WHERE f.last_referenced_at < ?
+                  AND NOT EXISTS (
+                      SELECT 1 FROM app.call_history h WHERE h.error_fingerprint = f.fingerprint)
+                LIMIT ?))
+            """;
+
+    private final CallHistoryProperties.Retention properties;
+    private final CallHistoryProperties.Partitions partitions;
+    private final CallHistoryRetentionPolicy policy;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectProvider<CallHistoryPartitionManager> partitionManager;
+    private final Executor taskExecutor;
+    private final MeterRegistry meterRegistry;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /** Segundos de historial anteriores al corte que quedaron sin purgar en la última corrida */
+    private final AtomicLong remainingSeconds = new AtomicLong();
+
+    private final Counter purgedRows;
+    private final Counter purgedRollups;
+    private final Counter purgedPartitions;
+    private final Counter purgedPayloads;
+    private final Counter purgedFingerprints;
+
+    public CallHistoryRetentionService(
+            CallHistoryProperties callHistoryProperties,
+            @Qualifier(CallHistoryPersistenceConfig.JDBC_TEMPLATE) JdbcTemplate jdbcTemplate,
+            ObjectProvider<CallHistoryPartitionManager> partitionManager,
+            @Qualifier("taskExecutor") Executor taskExecutor,
+            MeterRegistry meterRegistry) {
+        this.properties = callHistoryProperties.getRetention();
+        this.partitions = callHistoryProperties.getPartitions();
+        this.policy = new CallHistoryRetentionPolicy(properties, knownTtl(callHistoryProperties));
+        this.jdbcTemplate = jdbcTemplate;
+        this.partitionManager = partitionManager;
+        this.taskExecutor = taskExecutor;
+        this.meterRegistry = meterRegistry;
+
+        this.purgedRows = purgedCounter(meterRegistry, "rows");
+        this.purgedRollups = purgedCounter(meterRegistry, "rollups");
+        this.purgedPartitions = purgedCounter(meterRegistry, "partitions");
+        this.purgedPayloads = purgedCounter(meterRegistry, "payloads");
+        this.purgedFingerprints = purgedCounter(meterRegistry, "fingerprints");
+        Gauge.builder("call.history.retention.running", running, flag -> flag.get() ? 1 : 0)
+                .description("1 mientras este nodo está purgando historial")
+                .register(meterRegistry);
+        Gauge.builder("call.history.retention.remaining", remainingSeconds, AtomicLong::get)
+                .description(
+                        "Segundos de historial anteriores al corte que la última corrida dejó sin"
+                                + " purgar")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /** Dispara una corrida; la primera espera un minuto para no competir con el arranque */
+    @Scheduled(
+            initialDelay = 60_000,
+            fixedDelayString = "${app.call-history.retention.check-interval:1h}")
+    public void schedule() {
+        if (policy.isEnabled()) {
+            start();
+        }
+    }
+
+    /**
+     * Lanza una corrida en segundo plano
+     *
+     * @return false si ya hay una en curso en esta instancia
+     */
+    public boolean start() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            taskExecutor.execute(this::run);
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+        return true;
+    }
+
+    private void run() {
+        long start = System.nanoTime();
+        RunOutcome outcome = RunOutcome.FAILED;
+        try {
+            outcome = jdbcTemplate.execute((ConnectionCallback<RunOutcome>) this::runLocked);
+        } catch (DataAccessException e) {
+            log.warn("Call history retention run failed: {}", e.getMessage());
+        } finally {
+            Timer.builder("call.history.retention.run")
+                    .description("Duración de cada corrida de la purga de historial")
+                    .tag("outcome", outcome.name().toLowerCase())
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            running.set(false);
+        }
+    }
+
+    private RunOutcome runLocked(Connection connection) throws SQLException {
+        if (!advisoryLock(connection, "pg_try_advisory_lock")) {
+            log.debug("Call history retention skipped: another node holds the lock");
+            return RunOutcome.SKIPPED;
+        }
+        boolean autoCommit = connection.getAutoCommit();
+        try {
+            // Cada lote se confirma solo: nada de transacciones largas que frenen a vacuum
+            connection.setAutoCommit(true);
+            JdbcTemplate session =
+                    new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+            return purge(session) ? RunOutcome.COMPLETED : RunOutcome.PARTIAL;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+            advisoryLock(connection, "pg_advisory_unlock");
+        }
+    }
+
+    /**
+     * @return false si la corrida se cortó antes de purgar todo lo vencido
+     */
+    private boolean purge(JdbcTemplate session) {
+        Instant now = Instant.now();
+        long deadline = System.nanoTime() + properties.getMaxRunTime().toNanos();
+        boolean complete = true;
+
+        Optional<Instant> historyCutoff = policy.historyCutoff(now);
+        if (historyCutoff.isPresent()) {
+            // Una partición que no se pudo expirar no se vacía a fuerza de DELETE: se reintenta
+            complete =
+                    expirePartitions(session, historyCutoff.get())
+                            && purgeRows(session, historyCutoff.get(), deadline);
+            if (complete && !archivesPartitions()) {
+                complete =
+                        purgeOrphans(session, policy.orphanCutoff(historyCutoff.get()), deadline);
+            }
+        }
+        Optional<Instant> rollupCutoff = policy.rollupCutoff(now);
+        if (rollupCutoff.isPresent()) {
+            complete = purgeRollups(session, rollupCutoff.get(), deadline) && complete;
+        }
+        return complete;
+    }
+
+    /** Las particiones desvinculadas conservan sus filas, y con ellas sus referencias */
+    private boolean archivesPartitions() {
+        return partitions.isEnabled()
+                && partitions.getExpiredAction()
+                        == CallHistoryProperties.ExpiredPartitionAction.DETACH;
+    }
+
+    /**
+     * @return false si alguna partición vencida sigue vinculada (no obtuvo el lock a tiempo)
+     */
+    private boolean expirePartitions(JdbcTemplate session, Instant cutoff) {
+        CallHistoryPartitionManager manager = partitionManager.getIfAvailable();
+        if (manager == null) {
+            return true;
+        }
+        List<CallHistoryPartition> expired = manager.expiredBefore(cutoff, session);
+        for (CallHistoryPartition partition : expired) {
+            if (!manager.expire(partition, session)) {
+                return false;
+            }
+            purgedPartitions.increment();
+        }
+        return true;
+    }
+
+    private boolean purgeRows(JdbcTemplate session, Instant cutoff, long deadline) {
+        Timestamp cutoffTimestamp = Timestamp.from(cutoff);
+        Batch last = null;
+        long purged = 0;
+        while (true) {
+            Optional<Batch> batch =
+                    last == null
+                            ? queryBatch(session, FIRST_BATCH_SQL, cutoffTimestamp)
+                            : queryBatch(
+                                    session,
+                                    NEXT_BATCH_SQL,
+                                    cutoffTimestamp,
+                                    last.createdAt(),
+                                    last.id());
+            if (batch.isEmpty()) {
+                break;
+            }
+            last = batch.get();
+            purged += last.purged();
+            purgedRows.increment(last.purged());
+            if (last.batched() < properties.getBatchSize()) {
+                break;
+            }
+            if (System.nanoTime() > deadline || !pause()) {
+                remainingSeconds.set(
+                        Duration.between(last.createdAt().toInstant(), cutoff).toSeconds());
+                log.info(
+                        "Call history retention stopped after {} rows; next run resumes from {}",
+                        purged,
+                        last.createdAt());
+                return false;
+            }
+        }
+        remainingSeconds.set(0);
+        if (purged > 0) {
+            log.info("Call history retention purged {} rows older than {}", purged, cutoff);
+        }
+        return true;
+    }
+
+    private boolean purgeRollups(JdbcTemplate session, Instant cutoff, long deadline) {
+        return deleteInBatches(
+                session, DELETE_ROLLUPS_SQL, cutoff, deadline, purgedRollups, "rollup rows");
+    }
+
+    private boolean purgeOrphans(JdbcTemplate session, Instant cutoff, long deadline) {
+        return deleteInBatches(
+                        session,
+                        DELETE_ORPHAN_PAYLOADS_SQL,
+                        cutoff,
+                        deadline,
+                        purgedPayloads,
+                        "orphan payloads")
+                && deleteInBatches(
+                        session,
+                        DELETE_ORPHAN_FINGERPRINTS_SQL,
+                        cutoff,
+                        deadline,
+                        purgedFingerprints,
+                        "orphan error fingerprints");
+    }
+
+    /**
+     * Repite {@code sql} (corte, tamaño de lote) hasta que borre menos de un lote
+     *
+     * @return false si se cortó por tiempo o interrupción
+     */
+    private boolean deleteInBatches(
+            JdbcTemplate session,
+            String sql,
+            Instant cutoff,
+            long deadline,
+            Counter counter,
+            String what) {
+        Timestamp cutoffTimestamp = Timestamp.from(cutoff);
+        long purged = 0;
+        boolean complete;
+        while (true) {
+            int deleted = session.update(sql, cutoffTimestamp, properties.getBatchSize());
+            purged += deleted;
+            counter.increment(deleted);
+            complete = deleted < properties.getBatchSize();
+            if (complete || System.nanoTime() > deadline || !pause()) {
+                break;
+            }
+        }
+        if (purged > 0) {
+            log.info("Call history retention purged {} {} older than {}", purged, what, cutoff);
+        }
+        return complete;
+    }
+
+    private Optional<Batch> queryBatch(JdbcTemplate session, String sql, Object... params) {
+        Object[] args = new Object[params.length + 1];
+        System.arraycopy(params, 0, args, 0, params.length);
+        args[params.length] = properties.getBatchSize();
+        return session
+                .query(
+                        sql,
+                        (rs, rowNum) ->
+                                new Batch(
+                                        rs.getLong("purged"),
+                                        rs.getInt("batched"),
+                                        rs.getTimestamp("created_at"),
+                                        rs.getLong("id")),
+                        args)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Espera {@code batch-pause} antes del próximo lote
+     *
+     * @return false si el hilo fue interrumpido y hay que cortar la corrida
+     */
+    private boolean pause() {
+        if (properties.getBatchPause().isZero()) {
+            return true;
+        }
+        try {
+            Thread.sleep(properties.getBatchPause());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static boolean advisoryLock(Connection connection, String function)
+            throws SQLException {
+        try (PreparedStatement statement =
+                connection.prepareStatement("SELECT " + function + "(?)")) {
+            statement.setLong(1, ADVISORY_LOCK_KEY);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private static Duration knownTtl(CallHistoryProperties callHistoryProperties) {
+        Duration payloads = callHistoryProperties.getPayloads().getKnownTtl();
+        Duration errors = callHistoryProperties.getErrors().getKnownTtl();
+        return payloads.compareTo(errors) >= 0 ? payloads : errors;
+    }
+
+    private static Counter purgedCounter(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("call.history.retention.purged")
+                .description("Elementos eliminados por la purga de historial")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    /** Resultado de un lote: filas borradas y la última clave (created_at, id) recorrida */
+    private record Batch(long purged, int batched, Timestamp createdAt, long id) {}
+
+    private enum RunOutcome {
+        COMPLETED,
+        PARTIAL,
+        SKIPPED,
+        FAILED
+    }
+}
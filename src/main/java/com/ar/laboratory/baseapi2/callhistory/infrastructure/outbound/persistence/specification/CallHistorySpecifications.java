@@ -0,0 +1,97 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.specification;
+
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryCriteria;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryCursor;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.entity.CallHistoryEntity;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Specifications de CallHistoryEntity para la consulta multi-criterio
+ *
+ * <p>Todas las combinaciones se recorren en orden {@code (createdAt, id)} descendente, así que el
+ * índice que sirve a cada ancla es {@code (columna, created_at DESC, id DESC)}:
+ *
+ * <ul>
+ *   <li>path: idx_call_history_path_created_at (V10)
+ *   <li>clientIp: idx_call_history_client_ip_created_at (V13)
+ *   <li>success = false: idx_call_history_failures, parcial (V10)
+ *   <li>solo ventana de tiempo: idx_call_history_created_at_id (V9), solo las particiones del rango
+ * </ul>
+ *
+ * <p>Método, status y duración se evalúan sobre las filas que devuelve el ancla.
+ */
+public final class CallHistorySpecifications {
+
+    private CallHistorySpecifications() {}
+
+    /** AND de todos los filtros presentes en {@code criteria} */
+    public static Specification<CallHistoryEntity> matching(CallHistoryCriteria criteria) {
+        List<Specification<CallHistoryEntity>> specs = new ArrayList<>();
+        if (criteria.getPath() != null) {
+            specs.add(equalTo("path", criteria.getPath()));
+        }
+        if (criteria.getHttpMethod() != null) {
+            specs.add(equalTo("httpMethod", criteria.getHttpMethod()));
+        }
+        if (criteria.getStatusFrom() != null) {
+            specs.add(
+                    (root, query, cb) ->
+                            cb.greaterThanOrEqualTo(
+                                    root.get("httpStatus"), criteria.getStatusFrom()));
+        }
+        if (criteria.getStatusTo() != null) {
+            specs.add(
+                    (root, query, cb) ->
+                            cb.lessThanOrEqualTo(root.get("httpStatus"), criteria.getStatusTo()));
+        }
+        if (criteria.getSuccess() != null) {
+            specs.add(success(criteria.getSuccess()));
+        }
+        if (criteria.getMinDurationMs() != null) {
+            specs.add(
+                    (root, query, cb) ->
+                            cb.greaterThanOrEqualTo(
+                                    root.get("durationMs"), criteria.getMinDurationMs()));
+        }
+        if (criteria.getClientIp() != null) {
+            specs.add(equalTo("clientIp", criteria.getClientIp()));
+        }
+        if (criteria.getFrom() != null) {
+            specs.add(
+                    (root, query, cb) ->
+                            cb.greaterThanOrEqualTo(root.get("createdAt"), criteria.getFrom()));
+        }
+        if (criteria.getTo() != null) {
+            specs.add((root, query, cb) -> cb.lessThan(root.get("createdAt"), criteria.getTo()));
+        }
+        return Specification.allOf(specs);
+    }
+
+    /**
+     * Registros estrictamente anteriores al cursor. Igual que en CallHistoryJpaRepository, {@code
+     * createdAt <= :createdAt} le da al índice la posición de arranque.
+     */
+    public static Specification<CallHistoryEntity> before(CallHistoryCursor cursor) {
+        return (root, query, cb) ->
+                cb.and(
+                        cb.lessThanOrEqualTo(root.get("createdAt"), cursor.createdAt()),
+                        cb.or(
+                                cb.lessThan(root.get("createdAt"), cursor.createdAt()),
+                                cb.lessThan(root.get("id"), cursor.id())));
+    }
+
+    /**
+     * Literal y no parámetro: con un parámetro, el plan genérico que PostgreSQL cachea para el
+     * statement preparado no puede probar {@code success = FALSE} y deja de usar el índice parcial
+     */
+    private static Specification<CallHistoryEntity> success(boolean success) {
+        return (root, query, cb) ->
+                success ? cb.isTrue(root.get("success")) : cb.isFalse(root.get("success"));
+    }
+
+    private static Specification<CallHistoryEntity> equalTo(String attribute, Object value) {
+        return (root, query, cb) -> cb.equal(root.get(attribute), value);
+    }
+}
@@ -0,0 +1,28 @@
+package com.ar.laboratory.baseapi2.example.infrastructure.cache;
+
+import com.ar.laboratory.baseapi2.example.application.inbound.command.CreateExampleCommand;
+import com.ar.laboratory.baseapi2.example.domain.model.Example;
+import com.ar.laboratory.baseapi2.shared.infrastructure.cache.CacheAside;
+import com.ar.laboratory.baseapi2.shared.infrastructure.config.CacheConfig;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Invalidación de caché al crear un Example: la entrada de su DNI y el listado completo
+ *
+ * <p>Envuelve al command transaccional, así que invalida recién después del commit; si el alta
+ * falla no toca el caché.
+ */
+@RequiredArgsConstructor
+public class CacheEvictingCreateExampleCommand implements CreateExampleCommand {
+
+    private final CreateExampleCommand delegate;
+    private final CacheAside cacheAside;
+
+    @Override
+    public Example execute(Example example) {
+        Example created = delegate.execute(example);
+        cacheAside.evict(CacheConfig.EXAMPLES_BY_DNI, created.getDni());
+        cacheAside.evict(CacheConfig.EXAMPLES_CACHE, CachedListExamplesCommand.KEY);
+        return created;
+    }
+}
@@ -0,0 +1,23 @@
+package com.ar.laboratory.baseapi2.example.infrastructure.cache;
+
+import com.ar.laboratory.baseapi2.example.application.inbound.command.FindExampleByDniCommand;
+import com.ar.laboratory.baseapi2.example.domain.model.Example;
+import com.ar.laboratory.baseapi2.shared.infrastructure.cache.CacheAside;
+import com.ar.laboratory.baseapi2.shared.infrastructure.config.CacheConfig;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Decorador de caché para la búsqueda por DNI. Clave: el DNI. Un DNI inexistente no se cachea (el
+ * caso de uso lanza excepción), así que un alta posterior se ve de inmediato.
+ */
+@RequiredArgsConstructor
+public class CachedFindExampleByDniCommand implements FindExampleByDniCommand {
+
+    private final FindExampleByDniCommand delegate;
+    private final CacheAside cacheAside;
+
+    @Override
+    public Example execute(String dni) {
+        return cacheAside.get(CacheConfig.EXAMPLES_BY_DNI, dni, () -> delegate.execute(dni));
+    }
+}
@@ -0,0 +1,23 @@
+package com.ar.laboratory.baseapi2.example.infrastructure.cache;
+
+import com.ar.laboratory.baseapi2.example.application.inbound.command.ListExamplesCommand;
+import com.ar.laboratory.baseapi2.example.domain.model.Example;
+import com.ar.laboratory.baseapi2.shared.infrastructure.cache.CacheAside;
+import com.ar.laboratory.baseapi2.shared.infrastructure.config.CacheConfig;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+
+/** Decorador de caché para el listado de Examples: una única entrada, {@value #KEY} */
+@RequiredArgsConstructor
+public class CachedListExamplesCommand implements ListExamplesCommand {
+
+    static final String KEY = "all";
+
+    private final ListExamplesCommand delegate;
+    private final CacheAside cacheAside;
+
+    @Override
+    public List<Example> execute() {
+        return cacheAside.get(CacheConfig.EXAMPLES_CACHE, KEY, delegate::execute);
+    }
+}
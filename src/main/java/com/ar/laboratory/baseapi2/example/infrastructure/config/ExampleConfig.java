@@ -7,17 +7,24 @@ import com.ar.laboratory.baseapi2.example.application.outbound.port.ExampleRepos
 import com.ar.laboratory.baseapi2.example.application.usecase.CreateExampleUseCase;
 import com.ar.laboratory.baseapi2.example.application.usecase.FindExampleByDniUseCase;
 import com.ar.laboratory.baseapi2.example.application.usecase.ListExamplesUseCase;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import com.ar.laboratory.baseapi2.example.infrastructure.cache.CacheEvictingCreateExampleCommand;
+import com.ar.laboratory.baseapi2.example.infrastructure.cache.CachedFindExampleByDniCommand;
+import com.ar.laboratory.baseapi2.example.infrastructure.cache.CachedListExamplesCommand;
+import com.ar.laboratory.baseapi2.shared.infrastructure.cache.CacheAside;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Configuración de beans para el feature Example
  *
  * <p>Aquí se realiza el wiring de: - Commands (puertos de entrada) - UseCases (implementaciones
- * puras) - Adaptadores transaccionales y de caché (preocupaciones de infraestructura)
+ * puras) - Decoradores transaccionales y de caché (preocupaciones de infraestructura)
+ *
+ * <p>Los casos de uso no conocen Spring, así que las anotaciones no los alcanzan: cada command se
+ * envuelve explícitamente. La transacción queda adentro y el caché afuera, de modo que un hit no
+ * abre transacción y la invalidación corre después del commit.
  */
 @Configuration
 public class ExampleConfig {
@@ -25,36 +32,54 @@ public class ExampleConfig {
     /**
      * Bean para crear Examples
      *
-     * <p>Aplica transaccionalidad y eviction de caché en infraestructura
+     * <p>Transacción de escritura e invalidación del DNI creado y del listado
      */
     @Bean
-    @Transactional
-    @CacheEvict(value = "examplesByDni", key = "#example.dni")
-    public CreateExampleCommand createExampleCommand(ExampleRepositoryPort repositoryPort) {
-        return new CreateExampleUseCase(repositoryPort);
+    public CreateExampleCommand createExampleCommand(
+            ExampleRepositoryPort repositoryPort,
+            PlatformTransactionManager transactionManager,
+            CacheAside cacheAside) {
+        CreateExampleUseCase useCase = new CreateExampleUseCase(repositoryPort);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        return new CacheEvictingCreateExampleCommand(
+                example -> transaction.execute(status -> useCase.execute(example)), cacheAside);
     }
 
     /**
      * Bean para buscar Example por DNI
      *
-     * <p>Aplica caché de lectura en infraestructura
+     * <p>Caché por DNI sobre una transacción de solo lectura
      */
     @Bean
-    @Cacheable(value = "examplesByDni", key = "#dni")
-    @Transactional(readOnly = true)
-    public FindExampleByDniCommand findExampleByDniCommand(ExampleRepositoryPort repositoryPort) {
-        return new FindExampleByDniUseCase(repositoryPort);
+    public FindExampleByDniCommand findExampleByDniCommand(
+            ExampleRepositoryPort repositoryPort,
+            PlatformTransactionManager transactionManager,
+            CacheAside cacheAside) {
+        FindExampleByDniUseCase useCase = new FindExampleByDniUseCase(repositoryPort);
+        TransactionTemplate transaction = readOnly(transactionManager);
+        return new CachedFindExampleByDniCommand(
+                dni -> transaction.execute(status -> useCase.execute(dni)), cacheAside);
     }
 
     /**
      * Bean para listar todos los Examples
      *
-     * <p>Aplica caché de lectura en infraestructura
+     * <p>Caché del listado sobre una transacción de solo lectura
      */
     @Bean
-    @Cacheable(value = "examplesCache", key = "'all'")
-    @Transactional(readOnly = true)
-    public ListExamplesCommand listExamplesCommand(ExampleRepositoryPort repositoryPort) {
-        return new ListExamplesUseCase(repositoryPort);
+    public ListExamplesCommand listExamplesCommand(
+            ExampleRepositoryPort repositoryPort,
+            PlatformTransactionManager transactionManager,
+            CacheAside cacheAside) {
+        ListExamplesUseCase useCase = new ListExamplesUseCase(repositoryPort);
+        TransactionTemplate transaction = readOnly(transactionManager);
+        return new CachedListExamplesCommand(
+                () -> transaction.execute(status -> useCase.execute()), cacheAside);
+    }
+
+    private static TransactionTemplate readOnly(PlatformTransactionManager transactionManager) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        return transaction;
     }
 }
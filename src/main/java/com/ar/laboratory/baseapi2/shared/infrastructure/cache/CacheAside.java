@@ -0,0 +1,126 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.cache;
+
+import com.ar.laboratory.baseapi2.shared.infrastructure.datasource.ReadReplicas;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache-aside explícito para los decoradores de los commands
+ *
+ * <p>Los casos de uso son POJOs sin framework, así que el caché no se aplica con anotaciones sino
+ * envolviendo cada command con un decorador que deriva su clave y llama a {@link #get}. Con la
+ * caché deshabilitada ({@code app.cache.enabled=false}) no hay {@link CacheManager} y todas las
+ * lecturas van al caso de uso.
+ *
+ * <p>La carga de un miss lee del primario ({@link ReadReplicas#onPrimary}) aunque el command abra
+ * una transacción de solo lectura: leída de una réplica atrasada, una entrada recién invalidada
+ * volvería a cachearse con el valor anterior a la escritura y quedaría así hasta su TTL.
+ *
+ * <p>Un fallo del caché (Redis caído, valor ilegible) se loguea y se trata como miss: la operación
+ * nunca falla por el caché. Los valores nulos no se guardan. Métricas: {@code
+ * cache.aside.gets{cache,result=hit|miss}}.
+ */
+@Slf4j
+@Component
+public class CacheAside {
+
+    private final CacheManager cacheManager;
+    private final MeterRegistry meterRegistry;
+
+    public CacheAside(ObjectProvider<CacheManager> cacheManager, MeterRegistry meterRegistry) {
+        this.cacheManager = cacheManager.getIfAvailable(NoOpCacheManager::new);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Devuelve el valor cacheado bajo {@code key} o lo carga con {@code loader} y lo guarda
+     *
+     * @param cacheName Caché del command (define el TTL)
+     * @param key Clave derivada de los argumentos del command
+     * @param loader Ejecución real del command, contra el primario; sus excepciones se propagan sin
+     *     cachear nada
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V get(String cacheName, Object key, Supplier<V> loader) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            // Sin caché no hay nada que poblar: la lectura puede ir a una réplica
+            return loader.get();
+        }
+        try {
+            Cache.ValueWrapper cached = cache.get(key);
+            if (cached != null) {
+                counter(cacheName, "hit").increment();
+                log.debug("CACHE_HIT - cache: {}, key: {}", cacheName, key);
+                return (V) cached.get();
+            }
+        } catch (RuntimeException e) {
+            log.error(
+                    "Cache GET error - cache: {}, key: {}, error: {}",
+                    cacheName,
+                    key,
+                    e.getMessage());
+        }
+        counter(cacheName, "miss").increment();
+        log.debug("CACHE_MISS - cache: {}, key: {}", cacheName, key);
+
+        V value = ReadReplicas.onPrimary(loader);
+        if (value != null) {
+            try {
+                cache.put(key, storable(value));
+            } catch (RuntimeException e) {
+                log.error(
+                        "Cache PUT error - cache: {}, key: {}, error: {}",
+                        cacheName,
+                        key,
+                        e.getMessage());
+            }
+        }
+        return value;
+    }
+
+    /** Invalida una entrada; se llama después de que la escritura se confirmó */
+    public void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        try {
+            cache.evict(key);
+        } catch (RuntimeException e) {
+            log.error(
+                    "Cache EVICT error - cache: {}, key: {}, error: {}",
+                    cacheName,
+                    key,
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * Las listas inmutables del JDK ({@code Stream.toList()}, {@code List.of}) se serializan con un
+     * type id que Jackson no puede reconstruir; se guardan como {@link ArrayList}
+     */
+    private static Object storable(Object value) {
+        if (value instanceof List<?> list && !(value instanceof ArrayList<?>)) {
+            return new ArrayList<>(list);
+        }
+        return value;
+    }
+
+    private Counter counter(String cacheName, String result) {
+        return Counter.builder("cache.aside.gets")
+                .description("Lecturas de los decoradores de caché por resultado")
+                .tag("cache", cacheName)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,74 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Difusión de invalidaciones de caché entre nodos por Redis pub/sub
+ *
+ * <p>Cada nodo publica sus invalidaciones en el canal y escucha las de los demás para descartar las
+ * copias de su caché en memoria (L1). El mensaje es {@code nodo\ncaché\nclave}; sin clave invalida
+ * el caché completo. Los mensajes propios se ignoran: el nodo que invalida ya limpió su L1.
+ *
+ * <p>Pub/sub no guarda mensajes: un nodo desconectado de Redis se pierde las invalidaciones de ese
+ * período y sus copias quedan viejas hasta que vence el TTL de L1.
+ */
+@Slf4j
+public class CacheInvalidationChannel implements MessageListener {
+
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private volatile BiConsumer<String, String> handler = (cacheName, key) -> {};
+
+    public CacheInvalidationChannel(StringRedisTemplate redisTemplate, String channel) {
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+    }
+
+    public String channel() {
+        return channel;
+    }
+
+    /**
+     * Registra quién recibe las invalidaciones de otros nodos
+     *
+     * @param handler Recibe el caché y la clave; la clave es null si se invalidó todo el caché
+     */
+    public void subscribe(BiConsumer<String, String> handler) {
+        this.handler = handler;
+    }
+
+    /**
+     * Publica una invalidación; si Redis no responde solo se loguea
+     *
+     * @param key Clave invalidada; null para todo el caché
+     */
+    public void publish(String cacheName, String key) {
+        String message = nodeId + "\n" + cacheName + (key != null ? "\n" + key : "");
+        try {
+            redisTemplate.convertAndSend(channel, message);
+        } catch (RuntimeException e) {
+            log.warn(
+                    "Cache invalidation not broadcast - cache: {}, key: {}, error: {}",
+                    cacheName,
+                    key,
+                    e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\n", 3);
+        if (parts.length < 2 || nodeId.equals(parts[0])) {
+            return;
+        }
+        handler.accept(parts[1], parts.length == 3 ? parts[2] : null);
+    }
+}
@@ -0,0 +1,50 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Mantiene la suscripción al canal de invalidaciones sin atar el arranque a Redis
+ *
+ * <p>El contenedor de listeners no arranca con el contexto: si Redis no responde, {@code start()}
+ * falla y la aplicación no levantaría. Acá se arranca en segundo plano y se reintenta hasta que la
+ * suscripción queda activa; desde ahí el contenedor se reconecta solo. Mientras no hay suscripción
+ * el L1 de este nodo depende de su TTL.
+ */
+@Slf4j
+public class CacheInvalidationSubscriber {
+
+    private final RedisMessageListenerContainer container;
+    private final boolean enabled;
+
+    private boolean warned;
+
+    /**
+     * @param enabled False si ningún caché tiene L1: no hay nada que invalidar
+     */
+    public CacheInvalidationSubscriber(RedisMessageListenerContainer container, boolean enabled) {
+        this.container = container;
+        this.enabled = enabled;
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.cache.near.subscribe-retry:5s}")
+    public void ensureSubscribed() {
+        if (!enabled || container.isRunning()) {
+            return;
+        }
+        try {
+            container.start();
+            log.info("Subscribed to cache invalidations");
+            warned = false;
+        } catch (RuntimeException e) {
+            if (!warned) {
+                log.warn(
+                        "Cache invalidation subscription failed, near caches rely on their TTL"
+                                + " until Redis is reachable: {}",
+                        e.getMessage());
+                warned = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.cache;
+
+import java.util.concurrent.Callable;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+/**
+ * Caché de dos niveles: L1 en memoria delante de L2 en Redis
+ *
+ * <p>Las lecturas prueban L1 y, si no está, leen L2 y copian el valor a L1. Las escrituras van a
+ * ambos niveles. Las invalidaciones borran ambos y se difunden a los demás nodos, que descartan su
+ * L1; L1 se borra aunque falle L2. Las claves de L1 se normalizan a String, igual que las de Redis.
+ *
+ * <p>L1 devuelve la misma instancia a todos los lectores: los valores cacheados no se modifican.
+ */
+class TwoLevelCache implements Cache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private final Cache remote;
+    private final CacheInvalidationChannel invalidations;
+
+    TwoLevelCache(
+            String name,
+            com.github.benmanes.caffeine.cache.Cache<String, Object> local,
+            Cache remote,
+            CacheInvalidationChannel invalidations) {
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.invalidations = invalidations;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = localKey(key);
+        Object value = local.getIfPresent(localKey);
+        if (value != null) {
+            return new SimpleValueWrapper(value);
+        }
+        ValueWrapper remoteValue = remote.get(key);
+        if (remoteValue != null && remoteValue.get() != null) {
+            local.put(localKey, remoteValue.get());
+        }
+        return remoteValue;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper value = get(key);
+        Object raw = value != null ? value.get() : null;
+        if (raw != null && type != null && !type.isInstance(raw)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + raw);
+        }
+        return (T) raw;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        Object value = local.getIfPresent(localKey);
+        if (value != null) {
+            return (T) value;
+        }
+        T loaded = remote.get(key, valueLoader);
+        if (loaded != null) {
+            local.put(localKey, loaded);
+        }
+        return loaded;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        if (value != null) {
+            local.put(localKey(key), value);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        String localKey = localKey(key);
+        try {
+            remote.evict(key);
+        } finally {
+            local.invalidate(localKey);
+        }
+        invalidations.publish(name, localKey);
+    }
+
+    @Override
+    public void clear() {
+        try {
+            remote.clear();
+        } finally {
+            local.invalidateAll();
+        }
+        invalidations.publish(name, null);
+    }
+
+    /** Invalidación recibida de otro nodo: solo L1, L2 ya lo limpió quien la publicó */
+    void evictLocal(String key) {
+        if (key == null) {
+            local.invalidateAll();
+        } else {
+            local.invalidate(key);
+        }
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
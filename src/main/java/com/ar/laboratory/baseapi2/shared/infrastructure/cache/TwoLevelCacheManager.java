@@ -0,0 +1,100 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * CacheManager con caché cercano: los cachés de {@code nearCaches} suman un L1 en memoria
+ * (Caffeine) delante del L2; el resto se delega al L2 sin cambios
+ *
+ * <p>L1 está acotado en cantidad de entradas y usa la admisión W-TinyLFU de Caffeine: ante un
+ * tráfico concentrado en pocas claves, esas claves se quedan en memoria y las de una sola lectura
+ * no las desplazan. Un hit de L1 evita el round trip a Redis y la deserialización JSON.
+ *
+ * <p>El TTL de L1 es corto y acota cualquier inconsistencia: una invalidación perdida (Redis
+ * desconectado) o una lectura de L2 que termina justo después de una invalidación dejan una copia
+ * vieja como máximo ese tiempo. Métricas de L1: {@code cache.gets{cache,level=l1}} y afines.
+ */
+@Slf4j
+public class TwoLevelCacheManager implements CacheManager {
+
+    private final CacheManager remote;
+    private final Set<String> nearCaches;
+    private final long maximumSize;
+    private final Duration localTtl;
+    private final CacheInvalidationChannel invalidations;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(
+            CacheManager remote,
+            Set<String> nearCaches,
+            long maximumSize,
+            Duration localTtl,
+            CacheInvalidationChannel invalidations,
+            MeterRegistry meterRegistry) {
+        this.remote = remote;
+        this.nearCaches = Set.copyOf(nearCaches);
+        this.maximumSize = maximumSize;
+        this.localTtl = localTtl;
+        this.invalidations = invalidations;
+        this.meterRegistry = meterRegistry;
+        invalidations.subscribe(this::evictLocal);
+        log.info(
+                "Near cache enabled for {} (maximumSize={}, ttl={}, channel={})",
+                this.nearCaches,
+                maximumSize,
+                localTtl,
+                invalidations.channel());
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        if (!nearCaches.contains(name)) {
+            return remote.getCache(name);
+        }
+        TwoLevelCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache remoteCache = remote.getCache(name);
+        if (remoteCache == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, key -> create(key, remoteCache));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return remote.getCacheNames();
+    }
+
+    /** Invalidación publicada por otro nodo */
+    private void evictLocal(String cacheName, String key) {
+        TwoLevelCache cache = caches.get(cacheName);
+        if (cache != null) {
+            cache.evictLocal(key);
+        }
+    }
+
+    private TwoLevelCache create(String name, Cache remoteCache) {
+        com.github.benmanes.caffeine.cache.Cache<String, Object> local =
+                Caffeine.newBuilder()
+                        .maximumSize(maximumSize)
+                        .expireAfterWrite(localTtl)
+                        .recordStats()
+                        .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, local, name, Tags.of("level", "l1"));
+        return new TwoLevelCache(name, local, remoteCache, invalidations);
+    }
+}
@@ -0,0 +1,49 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Propiedades del caché de commands
+ *
+ * <p>Se leen desde el prefijo {@code app.cache} del application.yml. Cada decorador usa su propio
+ * caché, así que el TTL se define por command a través del nombre del caché.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.cache")
+public class AppCacheProperties {
+
+    /** Habilita Redis como caché; deshabilitado, los decoradores van siempre al caso de uso */
+    private boolean enabled;
+
+    /** TTL de los cachés sin entrada en {@link #ttl} */
+    private Duration defaultTtl = Duration.ofMinutes(10);
+
+    /** TTL por nombre de caché; reemplaza a los valores por defecto de {@link CacheConfig} */
+    private Map<String, Duration> ttl = new LinkedHashMap<>();
+
+    /** Caché en memoria (L1) delante de Redis para los cachés más leídos */
+    private Near near = new Near();
+
+    /** Caché cercano de cada nodo, invalidado entre nodos por Redis pub/sub */
+    @Data
+    public static class Near {
+
+        /** Cachés con L1; vacío deshabilita el caché cercano */
+        private Set<String> caches = new LinkedHashSet<>();
+
+        /** Entradas por caché en L1; al llenarse Caffeine descarta las menos frecuentes */
+        private long maximumSize = 10_000;
+
+        /** TTL de L1: cota de una copia vieja si se pierde una invalidación */
+        private Duration ttl = Duration.ofSeconds(10);
+
+        /** Canal de Redis por el que se difunden las invalidaciones */
+        private String channel = "base-api2:cache-invalidations";
+    }
+}
@@ -5,24 +5,28 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import java.util.concurrent.Executor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 /**
- * Configuración para habilitar ejecución asíncrona y AOP. Necesario para el funcionamiento del
- * sistema de historial de llamadas.
+ * Configuración para habilitar ejecución asíncrona, tareas programadas y AOP. Necesario para el
+ * funcionamiento del sistema de historial de llamadas.
  */
 @Configuration
 @EnableAsync
+@EnableScheduling
 @EnableAspectJAutoProxy
+@EnableConfigurationProperties(CallHistoryProperties.class)
 public class AsyncConfig {
 
     /**
-     * Executor para tareas asíncronas. Configurado específicamente para el historial de llamadas
-     * con límites razonables.
+     * Executor para tareas @Async. El historial de llamadas ya no lo usa: tiene su propio handoff
+     * acotado y un hilo writer dedicado (ver CallHistoryAsyncWriter).
      */
     @Bean(name = "taskExecutor")
     public Executor taskExecutor() {
@@ -30,7 +34,7 @@ public class AsyncConfig {
         executor.setCorePoolSize(2);
         executor.setMaxPoolSize(5);
         executor.setQueueCapacity(100);
-        executor.setThreadNamePrefix("call-history-async-");
+        executor.setThreadNamePrefix("async-");
         executor.setWaitForTasksToCompleteOnShutdown(true);
         executor.setAwaitTerminationSeconds(60);
         executor.initialize();
@@ -1,15 +1,21 @@
 package com.ar.laboratory.baseapi2.shared.infrastructure.config;
 
+import com.ar.laboratory.baseapi2.shared.infrastructure.cache.CacheInvalidationChannel;
+import com.ar.laboratory.baseapi2.shared.infrastructure.cache.CacheInvalidationSubscriber;
+import com.ar.laboratory.baseapi2.shared.infrastructure.cache.TwoLevelCacheManager;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.lang.reflect.Method;
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CachingConfigurer;
 import org.springframework.cache.annotation.EnableCaching;
@@ -22,20 +28,30 @@ import org.springframework.context.annotation.Profile;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 /**
  * Configuración de caché con Redis
  *
  * <p>Características: - TTL configurable por cacheName - Serialización JSON con Jackson -
- * KeyGenerator determinístico - Logging de cache hits/misses - Habilitado por configuración:
- * app.cache.enabled
+ * KeyGenerator determinístico - Métricas de hits/misses en CacheAside - Habilitado por
+ * configuración: app.cache.enabled
+ *
+ * <p>Los commands se cachean con decoradores ({@code CacheAside}), uno por caché: el TTL de cada
+ * command sale de {@code app.cache.ttl.<cacheName>}. Los cachés de {@code app.cache.near.caches}
+ * suman un L1 en memoria delante de Redis ({@link TwoLevelCacheManager}), invalidado en todos los
+ * nodos por pub/sub.
  */
 @Slf4j
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties(AppCacheProperties.class)
 @ConditionalOnProperty(name = "app.cache.enabled", havingValue = "true", matchIfMissing = false)
 @Profile("!test")
 public class CacheConfig implements CachingConfigurer {
@@ -44,6 +60,7 @@ public class CacheConfig implements CachingConfigurer {
     public static final String CACHE_30_SECONDS = "cache30s";
     public static final String EXAMPLES_CACHE = "examplesCache";
     public static final String CALL_HISTORY_CACHE = "callHistoryCache";
+    public static final String ERROR_FINGERPRINTS_CACHE = "errorFingerprints";
 
     // Nombres de caché legacy (mantener compatibilidad)
     public static final String EXAMPLES_BY_DNI = "examplesByDni";
@@ -52,32 +69,102 @@ public class CacheConfig implements CachingConfigurer {
      * Configuración del CacheManager con Redis y TTL específicos por cacheName
      *
      * @param connectionFactory factory de conexión Redis
+     * @param properties TTL por defecto y por cacheName, y cachés con L1
+     * @param invalidationChannel difusión de invalidaciones de L1 entre nodos
+     * @param meterRegistry métricas de L1
      * @return CacheManager configurado
      */
     @Bean
     @Primary
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public CacheManager cacheManager(
+            RedisConnectionFactory connectionFactory,
+            AppCacheProperties properties,
+            CacheInvalidationChannel invalidationChannel,
+            MeterRegistry meterRegistry) {
         log.info("Configurando RedisCacheManager con TTL específicos por cacheName");
 
-        // Configuración por defecto (10 minutos)
-        RedisCacheConfiguration defaultConfig = createCacheConfiguration(Duration.ofMinutes(10));
+        // TTL por cacheName: valores por defecto, reemplazables con app.cache.ttl
+        Map<String, Duration> ttls = new LinkedHashMap<>();
+        ttls.put(CACHE_30_SECONDS, Duration.ofSeconds(30));
+        ttls.put(EXAMPLES_CACHE, Duration.ofSeconds(30));
+        ttls.put(EXAMPLES_BY_DNI, Duration.ofSeconds(30));
+        ttls.put(CALL_HISTORY_CACHE, Duration.ofSeconds(30));
+        ttls.put(ERROR_FINGERPRINTS_CACHE, Duration.ofSeconds(30));
+        ttls.putAll(properties.getTtl());
 
-        // Configuraciones específicas por cacheName
         Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
+        ttls.forEach((name, ttl) -> cacheConfigurations.put(name, createCacheConfiguration(ttl)));
 
-        // Cachés con TTL de 30 segundos
-        RedisCacheConfiguration config30s = createCacheConfiguration(Duration.ofSeconds(30));
-        cacheConfigurations.put(CACHE_30_SECONDS, config30s);
-        cacheConfigurations.put(EXAMPLES_CACHE, config30s);
-        cacheConfigurations.put(CALL_HISTORY_CACHE, config30s);
-        cacheConfigurations.put(EXAMPLES_BY_DNI, config30s);
+        log.info("Cachés configurados con TTL: {}", ttls);
 
-        log.info("Cachés configurados con TTL=30s: {}", cacheConfigurations.keySet());
+        RedisCacheManager redisCacheManager =
+                RedisCacheManager.builder(connectionFactory)
+                        .cacheDefaults(createCacheConfiguration(properties.getDefaultTtl()))
+                        .withInitialCacheConfigurations(cacheConfigurations)
+                        .build();
 
-        return RedisCacheManager.builder(connectionFactory)
-                .cacheDefaults(defaultConfig)
-                .withInitialCacheConfigurations(cacheConfigurations)
-                .build();
+        AppCacheProperties.Near near = properties.getNear();
+        if (near.getCaches().isEmpty()) {
+            return redisCacheManager;
+        }
+        // No es un bean: se inicializa acá para que cree los cachés configurados
+        redisCacheManager.afterPropertiesSet();
+        return new TwoLevelCacheManager(
+                redisCacheManager,
+                near.getCaches(),
+                near.getMaximumSize(),
+                near.getTtl(),
+                invalidationChannel,
+                meterRegistry);
+    }
+
+    /**
+     * Canal de invalidaciones del caché cercano
+     *
+     * @param connectionFactory factory de conexión Redis
+     * @param properties canal configurado
+     * @return canal para publicar y recibir invalidaciones
+     */
+    @Bean
+    public CacheInvalidationChannel cacheInvalidationChannel(
+            RedisConnectionFactory connectionFactory, AppCacheProperties properties) {
+        return new CacheInvalidationChannel(
+                new StringRedisTemplate(connectionFactory), properties.getNear().getChannel());
+    }
+
+    /**
+     * Contenedor de la suscripción al canal de invalidaciones; lo arranca {@link
+     * CacheInvalidationSubscriber} para que el arranque no dependa de Redis
+     *
+     * @param connectionFactory factory de conexión Redis
+     * @param invalidationChannel listener de invalidaciones
+     * @return contenedor de listeners de Redis
+     */
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            CacheInvalidationChannel invalidationChannel) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.setAutoStartup(false);
+        container.addMessageListener(
+                invalidationChannel, new ChannelTopic(invalidationChannel.channel()));
+        return container;
+    }
+
+    /**
+     * Suscripción en segundo plano; sin cachés con L1 no se suscribe
+     *
+     * @param cacheInvalidationListenerContainer contenedor a arrancar
+     * @param properties cachés con L1
+     * @return suscriptor con reintentos
+     */
+    @Bean
+    public CacheInvalidationSubscriber cacheInvalidationSubscriber(
+            RedisMessageListenerContainer cacheInvalidationListenerContainer,
+            AppCacheProperties properties) {
+        return new CacheInvalidationSubscriber(
+                cacheInvalidationListenerContainer, !properties.getNear().getCaches().isEmpty());
     }
 
     /**
@@ -87,13 +174,6 @@ public class CacheConfig implements CachingConfigurer {
      * @return configuración de caché
      */
     private RedisCacheConfiguration createCacheConfiguration(Duration ttl) {
-        // Configurar ObjectMapper para serialización JSON con type info
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.activateDefaultTyping(
-                LaissezFaireSubTypeValidator.instance,
-                ObjectMapper.DefaultTyping.NON_FINAL,
-                JsonTypeInfo.As.PROPERTY);
-
         return RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(ttl)
                 .serializeKeysWith(
@@ -101,10 +181,26 @@ public class CacheConfig implements CachingConfigurer {
                                 new StringRedisSerializer()))
                 .serializeValuesWith(
                         RedisSerializationContext.SerializationPair.fromSerializer(
-                                new GenericJackson2JsonRedisSerializer(objectMapper)))
+                                valueSerializer()))
                 .disableCachingNullValues();
     }
 
+    /**
+     * Serializador JSON de los valores, con type info para recuperar el tipo al leer y soporte de
+     * java.time para las fechas de los modelos
+     *
+     * @return serializador de valores
+     */
+    static RedisSerializer<Object> valueSerializer() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.findAndRegisterModules();
+        objectMapper.activateDefaultTyping(
+                LaissezFaireSubTypeValidator.instance,
+                ObjectMapper.DefaultTyping.NON_FINAL,
+                JsonTypeInfo.As.PROPERTY);
+        return new GenericJackson2JsonRedisSerializer(objectMapper);
+    }
+
     /**
      * KeyGenerator determinístico que genera claves de caché consistentes
      *
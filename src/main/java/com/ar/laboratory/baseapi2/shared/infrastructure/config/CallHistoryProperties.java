@@ -0,0 +1,320 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.config;
+
+import com.ar.laboratory.baseapi2.shared.infrastructure.history.OverflowPolicy;
+import com.ar.laboratory.baseapi2.shared.infrastructure.history.policy.CapturePolicy;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Propiedades de configuración del sistema de historial de llamadas
+ *
+ * <p>Se leen desde el prefijo {@code app.call-history} del application.yml.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.call-history")
+public class CallHistoryProperties {
+
+    /** Configuración del writer por lotes */
+    private Writer writer = new Writer();
+
+    /** Configuración del spool local para cuando la base no está disponible */
+    private Spool spool = new Spool();
+
+    /** Políticas de captura (muestreo y nivel de detalle) */
+    private Capture capture = new Capture();
+
+    /** Fingerprinting y almacenamiento deduplicado de stacktraces */
+    private Errors errors = new Errors();
+
+    /** Almacenamiento de los cuerpos de request/response */
+    private Payloads payloads = new Payloads();
+
+    /** Particionado por rango de created_at */
+    private Partitions partitions = new Partitions();
+
+    /** Purga programada del historial y de los rollups */
+    private Retention retention = new Retention();
+
+    /** Rollups por minuto (V11) */
+    private Rollups rollups = new Rollups();
+
+    /** Tail en vivo por Server-Sent Events */
+    private Tail tail = new Tail();
+
+    /** Búsqueda de texto completo */
+    private Search search = new Search();
+
+    /** Configuración del writer que acumula registros y los persiste por lotes */
+    @Data
+    public static class Writer {
+
+        /** Estrategia de inserción de los lotes */
+        private WriteMode mode = WriteMode.JPA;
+
+        /** Formato del COPY cuando {@code mode} es COPY */
+        private CopyFormat copyFormat = CopyFormat.BINARY;
+
+        /** Cantidad máxima de registros por flush (un único batch JDBC) */
+        private int batchSize = 100;
+
+        /** Latencia máxima desde que llega el primer registro de un lote hasta su flush */
+        private Duration maxLatency = Duration.ofMillis(500);
+
+        /** Capacidad de la cola entre el aspect y el writer (se redondea a potencia de dos) */
+        private int queueCapacity = 16_384;
+
+        /** Política a aplicar cuando la cola se satura */
+        private OverflowPolicy overflowPolicy = OverflowPolicy.PREFER_ERRORS;
+
+        /** Espera máxima en el hilo de la request con BLOCK_WITH_TIMEOUT */
+        private Duration blockTimeout = Duration.ofMillis(5);
+
+        /** Con SAMPLE, se admite 1 de cada sampleRate registros por encima del high-watermark */
+        private int sampleRate = 10;
+
+        /** Fracción de ocupación a partir de la cual SAMPLE empieza a muestrear */
+        private double highWatermark = 0.8;
+
+        /** Con PREFER_ERRORS, fracción de la cola reservada para llamadas fallidas */
+        private double errorReserve = 0.2;
+
+        /** Tiempo máximo de espera para vaciar la cola al detener la aplicación */
+        private Duration shutdownTimeout = Duration.ofSeconds(30);
+    }
+
+    /** Configuración del spool en disco donde se vuelcan los lotes que no se pudieron persistir */
+    @Data
+    public static class Spool {
+
+        /** Si está deshabilitado, los lotes que fallan se descartan */
+        private boolean enabled = false;
+
+        /** Directorio de los segmentos del spool */
+        private String directory = "data/call-history-spool";
+
+        /** Tamaño fijo de cada segmento mapeado en memoria */
+        private DataSize segmentSize = DataSize.ofMegabytes(16);
+
+        /** Máximo de segmentos en disco; al superarlo se descarta el más antiguo */
+        private int maxSegments = 64;
+
+        /** Espera antes de reintentar la base después de un fallo */
+        private Duration retryInterval = Duration.ofSeconds(5);
+
+        /** Cada cuánto se fuerzan a disco las escrituras del spool */
+        private Duration forceInterval = Duration.ofSeconds(1);
+    }
+
+    /** Políticas iniciales del motor de captura; pueden cambiarse en caliente */
+    @Data
+    public static class Capture {
+
+        /** Política por defecto; los campos no configurados capturan todo, como históricamente */
+        private CapturePolicy defaults = new CapturePolicy();
+
+        /** Overrides por endpoint, con clave {@code paquete.Clase#metodo(TipoParametro,...)} */
+        private Map<String, CapturePolicy> endpoints = new LinkedHashMap<>();
+    }
+
+    /** Configuración del fingerprinting de errores */
+    @Data
+    public static class Errors {
+
+        /** Frames del tope de cada excepción que entran en el fingerprint */
+        private int topFrames = 5;
+
+        /** Tamaño máximo en caracteres del stacktrace guardado por fingerprint */
+        private int maxStacktraceLength = 16_384;
+
+        /** Fingerprints recordados en memoria; por encima se descartan los menos usados */
+        private int knownCapacity = 10_000;
+
+        /**
+         * Tiempo que se recuerda un fingerprint sin volver a tocarlo en la base; debe ser menor que
+         * {@code app.call-history.retention.orphan-grace}
+         */
+        private Duration knownTtl = Duration.ofHours(1);
+
+        /** Fingerprints nuevos pendientes de renderizar; por encima se reintentan más tarde */
+        private int maxPending = 1_000;
+    }
+
+    /** Configuración del almacenamiento de cuerpos */
+    @Data
+    public static class Payloads {
+
+        /** Dónde se guardan query params y cuerpos */
+        private PayloadStorage storage = PayloadStorage.INLINE;
+
+        /**
+         * Con DEDUPLICATED, los valores más cortos (en caracteres) se siguen guardando en la fila
+         */
+        private int minSize = 256;
+
+        /** Nivel de deflate (1 = más rápido, 9 = más compacto) */
+        private int compressionLevel = 6;
+
+        /** Hashes que se recuerdan como ya guardados, para no reinsertarlos en cada lote */
+        private int knownCapacity = 10_000;
+
+        /**
+         * Tiempo que se recuerda un hash sin volver a tocarlo en la base; debe ser menor que {@code
+         * app.call-history.retention.orphan-grace}
+         */
+        private Duration knownTtl = Duration.ofHours(1);
+    }
+
+    /** Configuración del mantenimiento de particiones de app.call_history */
+    @Data
+    public static class Partitions {
+
+        /** Si está deshabilitado no se crean ni se eliminan particiones desde la aplicación */
+        private boolean enabled = true;
+
+        /** Rango de cada partición (en UTC) */
+        private PartitionPeriod period = PartitionPeriod.MONTHLY;
+
+        /** Particiones futuras que se mantienen creadas además de la actual */
+        private int premake = 3;
+
+        /**
+         * Qué hacer con las particiones que quedan completas fuera de {@code
+         * app.call-history.retention.max-age}
+         */
+        private ExpiredPartitionAction expiredAction = ExpiredPartitionAction.DROP;
+
+        /** Cada cuánto se revisan las particiones */
+        private Duration checkInterval = Duration.ofHours(1);
+
+        /**
+         * Espera máxima por el lock de app.call_history al crear o expirar una partición; si se
+         * agota, el DDL se reintenta en la próxima ronda
+         */
+        private Duration lockTimeout = Duration.ofSeconds(2);
+    }
+
+    /** Configuración de la purga programada del historial */
+    @Data
+    public static class Retention {
+
+        /** Antigüedad a partir de la cual se purgan registros; cero deshabilita la purga */
+        private Duration maxAge = Duration.ZERO;
+
+        /** Antigüedad máxima de los rollups por minuto; cero los conserva todos */
+        private Duration rollupMaxAge = Duration.ZERO;
+
+        /** Filas borradas por sentencia (cada lote es su propia transacción) */
+        private int batchSize = 5000;
+
+        /** Pausa entre lotes, para dejar respirar a autovacuum y a las réplicas */
+        private Duration batchPause = Duration.ofMillis(200);
+
+        /** Tiempo máximo de cada corrida; lo pendiente queda para la siguiente */
+        private Duration maxRunTime = Duration.ofMinutes(10);
+
+        /** Cada cuánto corre la purga */
+        private Duration checkInterval = Duration.ofHours(1);
+
+        /**
+         * Margen, antes del corte de {@code max-age}, que un payload o fingerprint tiene que llevar
+         * sin referencias nuevas para borrarse; debe superar el {@code known-ttl} de payloads y
+         * errores
+         */
+        private Duration orphanGrace = Duration.ofDays(1);
+    }
+
+    /** Configuración del tail en vivo del historial */
+    @Data
+    public static class Tail {
+
+        /** Conexiones simultáneas; las siguientes se rechazan con 503 */
+        private int maxSubscribers = 16;
+
+        /** Registros pendientes por suscriptor antes de empezar a descartar */
+        private int bufferSize = 1024;
+
+        /** Duración máxima de una conexión; el cliente reconecta al vencer */
+        private Duration timeout = Duration.ofMinutes(30);
+
+        /** Espera del hilo de entrega cuando el buffer está vacío */
+        private Duration pollInterval = Duration.ofMillis(100);
+
+        /** Cada cuánto se envía un comentario sin tráfico, para detectar desconexiones */
+        private Duration heartbeatInterval = Duration.ofSeconds(15);
+    }
+
+    /** Configuración de la búsqueda de texto completo sobre el historial */
+    @Data
+    public static class Search {
+
+        /**
+         * Indexar también query params y cuerpos (migración repetible R__call_history_body_search,
+         * que se vuelve a aplicar al cambiar este valor y crea o elimina la columna). Suma un
+         * tsvector y un índice GIN por INSERT y solo cubre cuerpos guardados en la fila ({@code
+         * payloads.storage=INLINE}); por defecto solo se indexan los errores
+         */
+        private boolean indexBodies = false;
+    }
+
+    /** Configuración de los rollups por minuto de app.call_history */
+    @Data
+    public static class Rollups {
+
+        /**
+         * Si está habilitado, cada lote del writer actualiza los rollups en su misma transacción y
+         * analytics los usa para agrupar por path
+         */
+        private boolean enabled = true;
+
+        /** Tramo de historial que el backfill reconstruye por transacción */
+        private Duration backfillChunk = Duration.ofHours(1);
+
+        /**
+         * Minutos recientes que el backfill no toca, porque el writer todavía puede estar
+         * escribiéndolos
+         */
+        private Duration backfillSafetyMargin = Duration.ofMinutes(5);
+    }
+
+    /** Estrategia con la que se insertan los lotes de historial */
+    public enum WriteMode {
+        /** saveAll de JPA con batching JDBC */
+        JPA,
+        /** COPY FROM STDIN de PostgreSQL vía CopyManager */
+        COPY
+    }
+
+    /** Almacenamiento de query params y cuerpos */
+    public enum PayloadStorage {
+        /** En las columnas de texto de app.call_history */
+        INLINE,
+        /** Comprimidos en app.call_history_payload, una vez por contenido (hash SHA-256) */
+        DEDUPLICATED
+    }
+
+    /** Rango de tiempo cubierto por cada partición */
+    public enum PartitionPeriod {
+        DAILY,
+        MONTHLY
+    }
+
+    /** Tratamiento de las particiones fuera de la ventana de retención */
+    public enum ExpiredPartitionAction {
+        /** DROP TABLE: libera el espacio de inmediato */
+        DROP,
+        /** DETACH PARTITION: la tabla queda fuera del historial para archivarla */
+        DETACH
+    }
+
+    /** Formato de los datos enviados con COPY */
+    public enum CopyFormat {
+        /** Formato binario de PostgreSQL: sin parseo de texto en el servidor */
+        BINARY,
+        /** CSV: más fácil de inspeccionar, algo más costoso de parsear */
+        CSV
+    }
+}
@@ -1,5 +1,8 @@
 package com.ar.laboratory.baseapi2.shared.infrastructure.config;
 
+import com.ar.laboratory.baseapi2.callhistory.domain.exception.CallHistoryNotFoundException;
+import com.ar.laboratory.baseapi2.callhistory.domain.exception.ErrorFingerprintNotFoundException;
+import com.ar.laboratory.baseapi2.callhistory.domain.exception.UnanchoredCallHistoryQueryException;
 import com.ar.laboratory.baseapi2.example.domain.exception.ExampleAlreadyExistsException;
 import com.ar.laboratory.baseapi2.example.domain.exception.ExampleNotFoundException;
 import com.ar.laboratory.baseapi2.infrastructure.config.ErrorResponse;
@@ -42,6 +45,25 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
     }
 
+    @ExceptionHandler({CallHistoryNotFoundException.class, ErrorFingerprintNotFoundException.class})
+    public ResponseEntity<ErrorResponse> handleCallHistoryNotFoundException(
+            RuntimeException ex, WebRequest request) {
+
+        log.error("{}: {}", ex.getClass().getSimpleName(), ex.getMessage());
+
+        ErrorResponse errorResponse =
+                ErrorResponse.builder()
+                        .timestamp(LocalDateTime.now())
+                        .status(HttpStatus.NOT_FOUND.value())
+                        .error(HttpStatus.NOT_FOUND.getReasonPhrase())
+                        .message(ex.getMessage())
+                        .path(getPath(request))
+                        .traceId(generateTraceId())
+                        .build();
+
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+    }
+
     @ExceptionHandler(ExampleAlreadyExistsException.class)
     public ResponseEntity<ErrorResponse> handleExampleAlreadyExistsException(
             ExampleAlreadyExistsException ex, WebRequest request) {
@@ -61,11 +83,11 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
     }
 
-    @ExceptionHandler(BadRequestException.class)
+    @ExceptionHandler({BadRequestException.class, UnanchoredCallHistoryQueryException.class})
     public ResponseEntity<ErrorResponse> handleBadRequestException(
-            BadRequestException ex, WebRequest request) {
+            RuntimeException ex, WebRequest request) {
 
-        log.error("BadRequestException: {}", ex.getMessage());
+        log.error("{}: {}", ex.getClass().getSimpleName(), ex.getMessage());
 
         ErrorResponse errorResponse =
                 ErrorResponse.builder()
@@ -0,0 +1,79 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.config;
+
+import com.ar.laboratory.baseapi2.example.infrastructure.outbound.persistence.entity.ExampleEntity;
+import com.ar.laboratory.baseapi2.shared.infrastructure.datasource.ReadReplicas;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.boot.jpa.EntityManagerFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+
+/**
+ * Unidad de persistencia principal, la del tráfico de negocio
+ *
+ * <p>El historial de llamadas tiene su propio pool y su propio EntityManagerFactory ({@code
+ * CallHistoryPersistenceConfig}); al declarar un segundo EntityManagerFactory Spring Boot deja de
+ * crear el suyo, por eso este se declara explícitamente. Se construye con el {@link
+ * EntityManagerFactoryBuilder} de Boot, así que mantiene {@code spring.jpa.*} (ddl-auto, naming,
+ * batching). Flyway y el {@code JdbcTemplate} por defecto usan este DataSource por ser el primario.
+ *
+ * <p>El DataSource expuesto envuelve al pool con {@link ReadReplicas}: las transacciones {@code
+ * readOnly} se leen de las réplicas configuradas y, después de cada commit de escritura, las
+ * lecturas de esta instancia vuelven al primario durante {@code app.read-replicas.sticky-window}.
+ */
+@Configuration
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+@EnableJpaRepositories(
+        basePackages = "com.ar.laboratory.baseapi2.example.infrastructure.outbound.persistence",
+        entityManagerFactoryRef = "entityManagerFactory",
+        transactionManagerRef = "transactionManager")
+public class PersistenceConfig {
+
+    /** Pool de negocio contra el primario, configurado con {@code spring.datasource.*} */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource businessPool(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties
+                .initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("businessPool") HikariDataSource businessPool,
+            ReadReplicas readReplicas,
+            ReadReplicaProperties readReplicaProperties) {
+        return readReplicas.route(
+                "business", businessPool, readReplicaProperties.getBusinessPoolSize());
+    }
+
+    @Bean
+    @Primary
+    public LocalContainerEntityManagerFactoryBean entityManagerFactory(
+            EntityManagerFactoryBuilder builder, DataSource dataSource) {
+        return builder.dataSource(dataSource)
+                .packages(ExampleEntity.class)
+                .persistenceUnit("default")
+                .build();
+    }
+
+    @Bean
+    @Primary
+    public JpaTransactionManager transactionManager(
+            EntityManagerFactory entityManagerFactory, ReadReplicas readReplicas) {
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+        transactionManager.addListener(readReplicas.readYourWrites("business"));
+        return transactionManager;
+    }
+}
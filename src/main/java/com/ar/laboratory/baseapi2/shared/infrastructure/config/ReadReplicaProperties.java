@@ -0,0 +1,56 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Propiedades de las réplicas de lectura de PostgreSQL
+ *
+ * <p>Se leen desde el prefijo {@code app.read-replicas} del application.yml. Sin réplicas
+ * configuradas todas las consultas van al primario.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.read-replicas")
+public class ReadReplicaProperties {
+
+    /** Réplicas que reciben las transacciones de solo lectura, en round-robin */
+    private List<Node> nodes = new ArrayList<>();
+
+    /** Retraso de replicación tolerado; una réplica más atrasada deja de recibir lecturas */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    /**
+     * Después de confirmar una escritura de negocio, las lecturas de esta instancia van al primario
+     * durante este tiempo (read-your-writes); cero lo deshabilita
+     */
+    private Duration stickyWindow = Duration.ofSeconds(5);
+
+    /** Cada cuánto se mide el retraso de cada réplica */
+    private Duration checkInterval = Duration.ofSeconds(2);
+
+    /** Espera máxima por una conexión de réplica antes de caer al primario */
+    private Duration connectionTimeout = Duration.ofSeconds(2);
+
+    /** Conexiones por réplica para el tráfico de negocio */
+    private int businessPoolSize = 10;
+
+    /** Conexiones por réplica para las consultas del historial de llamadas */
+    private int callHistoryPoolSize = 2;
+
+    /** Conexión a una réplica */
+    @Data
+    public static class Node {
+
+        /** Nombre para logs y métricas */
+        private String name;
+
+        private String url;
+
+        private String username;
+
+        private String password;
+    }
+}
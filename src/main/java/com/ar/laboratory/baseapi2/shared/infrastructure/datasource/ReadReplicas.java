@@ -0,0 +1,163 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.datasource;
+
+import com.ar.laboratory.baseapi2.shared.infrastructure.config.ReadReplicaProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+/**
+ * Enrutamiento de las transacciones de solo lectura a réplicas de PostgreSQL
+ *
+ * <p>Cada unidad de persistencia envuelve su pool primario con {@link #route}: el resultado es un
+ * {@link LazyConnectionDataSourceProxy} que pide la conexión real recién en la primera sentencia,
+ * cuando ya se sabe si la transacción es {@code readOnly}. Las de solo lectura van al {@link
+ * ReplicaRoutingDataSource} de la unidad; el resto, y todo lo que corre fuera de una transacción,
+ * va al primario. Cada unidad tiene sus propios pools de réplica, así que el aislamiento entre
+ * negocio e historial se mantiene también en las réplicas.
+ *
+ * <p>Un chequeo periódico mide el retraso de cada réplica contra la posición del WAL del primario;
+ * las que superan {@code max-lag}, no responden o no están recibiendo WAL en streaming salen de la
+ * rotación hasta el próximo chequeo bueno.
+ *
+ * <p>La ventana de read-your-writes es local a cada instancia: garantiza que un nodo lea sus
+ * propias escrituras, no que otro nodo detrás del mismo balanceador las vea. Un cliente que escribe
+ * en un nodo y enseguida lee en otro puede leer de una réplica todavía atrasada.
+ */
+@Slf4j
+@Component
+public class ReadReplicas implements DisposableBean {
+
+    /** Marca del hilo que está dentro de {@link #onPrimary} */
+    private static final ThreadLocal<Boolean> PRIMARY_READS = ThreadLocal.withInitial(() -> false);
+
+    private final ReadReplicaProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final List<ReplicaNode> nodes = new CopyOnWriteArrayList<>();
+    private final Map<String, ReplicaRoutingDataSource> routers = new ConcurrentHashMap<>();
+
+    public ReadReplicas(ReadReplicaProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * DataSource de la unidad: el primario para escrituras y las réplicas para transacciones de
+     * solo lectura. Sin réplicas configuradas solo difiere la obtención de la conexión.
+     *
+     * @param unit Nombre de la unidad de persistencia (prefijo de los pools de réplica)
+     * @param primary Pool primario de la unidad
+     * @param poolSize Conexiones por réplica para esta unidad
+     */
+    public DataSource route(String unit, DataSource primary, int poolSize) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primary);
+        if (properties.getNodes().isEmpty()) {
+            return proxy;
+        }
+        List<ReplicaNode> unitNodes =
+                properties.getNodes().stream()
+                        .map(node -> createNode(unit, node, poolSize))
+                        .toList();
+        nodes.addAll(unitNodes);
+        ReplicaRoutingDataSource router =
+                new ReplicaRoutingDataSource(
+                        unit, primary, unitNodes, properties.getStickyWindow(), meterRegistry);
+        routers.put(unit, router);
+        proxy.setReadOnlyDataSource(router);
+        log.info(
+                "Read-only transactions of {} routed to replicas {}",
+                unit,
+                unitNodes.stream().map(ReplicaNode::name).toList());
+        return proxy;
+    }
+
+    /**
+     * Listener para el transaction manager de la unidad: cada commit de una transacción de
+     * escritura manda las lecturas de esa unidad en esta instancia al primario durante {@code
+     * sticky-window}
+     */
+    public TransactionExecutionListener readYourWrites(String unit) {
+        return new TransactionExecutionListener() {
+            @Override
+            public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+                ReplicaRoutingDataSource router = routers.get(unit);
+                if (router != null && commitFailure == null && !transaction.isReadOnly()) {
+                    router.markWrite();
+                }
+            }
+        };
+    }
+
+    /**
+     * Ejecuta {@code work} leyendo del primario aunque abra transacciones {@code readOnly}. Es para
+     * lecturas cuyo resultado se guarda y sobrevive a la transacción, como la carga de un caché:
+     * leída de una réplica atrasada, una entrada recién invalidada volvería a poblarse con el valor
+     * viejo.
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        boolean previous = PRIMARY_READS.get();
+        PRIMARY_READS.set(true);
+        try {
+            return work.get();
+        } finally {
+            PRIMARY_READS.set(previous);
+        }
+    }
+
+    /** True dentro de {@link #onPrimary} */
+    static boolean readsFromPrimary() {
+        return PRIMARY_READS.get();
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.read-replicas.check-interval:2s}")
+    public void refresh() {
+        routers.values().forEach(router -> router.refresh(properties.getMaxLag()));
+    }
+
+    @Override
+    public void destroy() {
+        nodes.forEach(ReplicaNode::close);
+    }
+
+    private ReplicaNode createNode(String unit, ReadReplicaProperties.Node node, int poolSize) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(unit + "-" + node.getName());
+        pool.setJdbcUrl(node.getUrl());
+        pool.setUsername(node.getUsername());
+        pool.setPassword(node.getPassword());
+        pool.setMaximumPoolSize(poolSize);
+        pool.setMinimumIdle(1);
+        pool.setReadOnly(true);
+        pool.setConnectionTimeout(properties.getConnectionTimeout().toMillis());
+        // El pool arranca con la primera conexión; una réplica caída no impide levantar la app
+        pool.setInitializationFailTimeout(-1);
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+
+        ReplicaNode replica = new ReplicaNode(node.getName(), pool);
+        Gauge.builder("db.replica.lag", replica, ReplicaNode::lagMillis)
+                .description("Retraso de replicación medido; -1 si la réplica no responde")
+                .baseUnit("milliseconds")
+                .tag("unit", unit)
+                .tag("replica", node.getName())
+                .register(meterRegistry);
+        Gauge.builder("db.replica.available", replica, r -> r.isAvailable() ? 1 : 0)
+                .description("1 si la réplica está recibiendo lecturas")
+                .tag("unit", unit)
+                .tag("replica", node.getName())
+                .register(meterRegistry);
+        return replica;
+    }
+}
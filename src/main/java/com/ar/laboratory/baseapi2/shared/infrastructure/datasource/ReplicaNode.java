@@ -0,0 +1,129 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Una réplica dentro de una unidad de persistencia: su pool y el último estado medido.
+ *
+ * <p>Arranca como no disponible: recibe lecturas recién cuando el primer chequeo confirma que
+ * responde, que está recibiendo WAL en streaming y que su retraso está dentro de {@code max-lag}.
+ */
+@Slf4j
+final class ReplicaNode {
+
+    /**
+     * Estado de la réplica frente a la posición del primario ({@code ?}, su {@code
+     * pg_current_wal_lsn()} leído justo antes). Si ya reprodujo hasta ahí está al día aunque el
+     * primario no haya confirmado nada en un rato; si no, el retraso es la antigüedad de la última
+     * transacción reproducida. Sin la posición del primario se compara contra lo recibido.
+     *
+     * <p>Un WAL receiver caído deja de recibir pero no de reproducir: lo recibido coincide con lo
+     * reproducido y la réplica parecería al día. Por eso se exige que esté en streaming.
+     */
+    private static final String STATE_SQL =
+            """
+            SELECT pg_is_in_recovery() AS in_recovery,
+                   coalesce((SELECT status = 'streaming' FROM pg_stat_wal_receiver), false)
+                       AS streaming,
+                   CASE
+                       WHEN pg_last_wal_replay_lsn() >= coalesce(?::pg_lsn, pg_last_wal_receive_lsn())
+                           THEN 0
+                       ELSE extract(epoch FROM now() - pg_last_xact_replay_timestamp()) * 1000
+                   END AS lag_ms
+            """;
+
+    private final String name;
+    private final HikariDataSource pool;
+
+    private volatile boolean available;
+    private volatile boolean checked;
+    private volatile long lagMillis = -1;
+
+    ReplicaNode(String name, HikariDataSource pool) {
+        this.name = name;
+        this.pool = pool;
+    }
+
+    String name() {
+        return name;
+    }
+
+    boolean isAvailable() {
+        return available;
+    }
+
+    /** Último retraso medido en milisegundos; -1 si no respondió o no está en streaming */
+    long lagMillis() {
+        return lagMillis;
+    }
+
+    Connection getConnection() throws SQLException {
+        return pool.getConnection();
+    }
+
+    /**
+     * Mide el retraso y decide si la réplica puede recibir lecturas
+     *
+     * @param primaryLsn {@code pg_current_wal_lsn()} del primario, o null si no respondió
+     */
+    void refresh(Duration maxLag, String primaryLsn) {
+        try (Connection connection = pool.getConnection();
+                PreparedStatement statement = connection.prepareStatement(STATE_SQL)) {
+            statement.setString(1, primaryLsn);
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                if (!rs.getBoolean("in_recovery")) {
+                    // No está en recovery: es un primario
+                    update(0, true, "available");
+                } else if (!rs.getBoolean("streaming")) {
+                    update(-1, false, "not streaming WAL, reads fall back to primary");
+                } else {
+                    double lag = rs.getDouble("lag_ms");
+                    if (rs.wasNull()) {
+                        update(-1, false, "replay position unknown, reads fall back to primary");
+                    } else {
+                        boolean withinLag = (long) lag <= maxLag.toMillis();
+                        update(
+                                (long) lag,
+                                withinLag,
+                                withinLag ? "available" : "lagging, reads fall back to primary");
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            markDown(e);
+        }
+    }
+
+    private void update(long lag, boolean withinLag, String state) {
+        lagMillis = lag;
+        if (withinLag != available || !checked) {
+            log.info("Read replica {} {} (lag {} ms)", pool.getPoolName(), state, lag);
+        }
+        available = withinLag;
+        checked = true;
+    }
+
+    /** Saca la réplica de la rotación hasta el próximo chequeo exitoso */
+    void markDown(SQLException cause) {
+        if (available || !checked) {
+            log.warn(
+                    "Read replica {} unavailable, reads fall back to primary: {}",
+                    pool.getPoolName(),
+                    cause.getMessage());
+        }
+        available = false;
+        checked = true;
+        lagMillis = -1;
+    }
+
+    void close() {
+        pool.close();
+    }
+}
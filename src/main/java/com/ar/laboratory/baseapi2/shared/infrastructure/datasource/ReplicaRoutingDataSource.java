@@ -0,0 +1,123 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+/**
+ * DataSource de solo lectura de una unidad de persistencia: reparte las conexiones entre las
+ * réplicas disponibles en round-robin y cae al primario si ninguna está disponible, si la elegida
+ * no entrega una conexión, si está vigente la ventana de read-your-writes o si el hilo está dentro
+ * de {@link ReadReplicas#onPrimary}.
+ *
+ * <p>Lo usa {@code LazyConnectionDataSourceProxy} como {@code readOnlyDataSource}: solo recibe
+ * pedidos de transacciones {@code readOnly}, y recién cuando ejecutan la primera sentencia.
+ */
+@Slf4j
+final class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final List<ReplicaNode> replicas;
+    private final long stickyWindowNanos;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter primaryReads;
+    private final List<Counter> replicaReads;
+
+    /** Hasta cuándo (System.nanoTime) las lecturas van al primario */
+    private volatile long primaryUntilNanos = System.nanoTime();
+
+    ReplicaRoutingDataSource(
+            String unit,
+            DataSource primary,
+            List<ReplicaNode> replicas,
+            Duration stickyWindow,
+            MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.stickyWindowNanos = stickyWindow.toNanos();
+        this.primaryReads = readsCounter(meterRegistry, unit, "primary");
+        this.replicaReads =
+                this.replicas.stream()
+                        .map(replica -> readsCounter(meterRegistry, unit, replica.name()))
+                        .toList();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!ReadReplicas.readsFromPrimary() && System.nanoTime() - primaryUntilNanos >= 0) {
+            int start = next.getAndIncrement();
+            for (int i = 0; i < replicas.size(); i++) {
+                int index = Math.floorMod(start + i, replicas.size());
+                ReplicaNode replica = replicas.get(index);
+                if (!replica.isAvailable()) {
+                    continue;
+                }
+                try {
+                    Connection connection = replica.getConnection();
+                    replicaReads.get(index).increment();
+                    return connection;
+                } catch (SQLException e) {
+                    replica.markDown(e);
+                }
+            }
+        }
+        primaryReads.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Las réplicas usan las credenciales del pool");
+    }
+
+    /**
+     * Vuelve a medir las réplicas contra la posición actual del WAL del primario, leída antes que
+     * ellas: una réplica al día reprodujo al menos todo lo confirmado hasta ese momento
+     */
+    void refresh(Duration maxLag) {
+        String primaryLsn = primaryLsn();
+        replicas.forEach(replica -> replica.refresh(maxLag, primaryLsn));
+    }
+
+    private String primaryLsn() {
+        try (Connection connection = primary.getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery("SELECT pg_current_wal_lsn()::text")) {
+            rs.next();
+            return rs.getString(1);
+        } catch (SQLException e) {
+            log.warn(
+                    "Primary WAL position unavailable, checking replicas alone: {}",
+                    e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Registra una escritura confirmada: abre la ventana de read-your-writes. Es estado de esta
+     * JVM: otra instancia no se entera y puede seguir leyendo de una réplica atrasada.
+     */
+    void markWrite() {
+        if (stickyWindowNanos > 0) {
+            primaryUntilNanos = System.nanoTime() + stickyWindowNanos;
+        }
+    }
+
+    private static Counter readsCounter(MeterRegistry meterRegistry, String unit, String target) {
+        return Counter.builder("db.reads.routed")
+                .description("Conexiones de solo lectura entregadas por destino")
+                .tag("unit", unit)
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+}
@@ -1,14 +1,21 @@
 package com.ar.laboratory.baseapi2.shared.infrastructure.history;
 
 import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryRecord;
-import com.ar.laboratory.baseapi2.shared.infrastructure.annotation.CallHistory;
+import com.ar.laboratory.baseapi2.shared.infrastructure.history.fingerprint.ErrorFingerprintTracker;
+import com.ar.laboratory.baseapi2.shared.infrastructure.history.latency.LatencyHistogram;
+import com.ar.laboratory.baseapi2.shared.infrastructure.history.payload.PayloadSerializer;
+import com.ar.laboratory.baseapi2.shared.infrastructure.history.policy.EffectivePolicy;
+import com.ar.laboratory.baseapi2.shared.infrastructure.history.tail.CallHistoryTail;
+import com.ar.laboratory.baseapi2.shared.infrastructure.interception.InterceptionPlan;
+import com.ar.laboratory.baseapi2.shared.infrastructure.interception.InterceptionRegistry;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
-import java.io.PrintWriter;
-import java.io.StringWriter;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -24,6 +31,25 @@ import org.springframework.web.context.request.ServletRequestAttributes;
 /**
  * Aspect AOP que intercepta métodos anotados con @CallHistory y registra información de la llamada
  * de forma asíncrona.
+ *
+ * <p>La configuración de cada método (handler, masking, límites y política de captura) sale de su
+ * {@link InterceptionPlan}, armado al arrancar; por llamada solo se hace una búsqueda en el {@link
+ * InterceptionRegistry}.
+ *
+ * <p>Antes de hacer cualquier trabajo consulta la política de captura vigente: si la política del
+ * endpoint no puede capturar la llamada, o no salió en el muestreo y no tiene reglas de tail
+ * sampling, delega directamente al método sin reservar memoria. Las reglas de errores y de llamadas
+ * lentas se evalúan después de {@code proceed()}; recién entonces se arma el registro.
+ *
+ * <p>Todas las llamadas, capturadas o no, se miden con {@link System#nanoTime()} y se registran en
+ * el histograma en memoria del handler (ver {@link LatencyHistogram}), con resolución de
+ * microsegundos.
+ *
+ * <p>De los errores solo se calcula el fingerprint; el stacktrace se renderiza fuera del hilo de la
+ * request y una única vez por fingerprint (ver {@link ErrorFingerprintTracker}).
+ *
+ * <p>Los registros capturados también se difunden al tail en vivo ({@link CallHistoryTail}), que
+ * nunca bloquea la request.
  */
 @Slf4j
 @Aspect
@@ -33,35 +59,91 @@ public class CallHistoryAspect {
 
     private final CallHistoryAsyncWriter asyncWriter;
     private final ObjectMapper objectMapper;
+    private final PayloadSerializer payloadSerializer;
+    private final ErrorFingerprintTracker errorFingerprints;
+    private final InterceptionRegistry interceptionRegistry;
+    private final CallHistoryTail tail;
 
     /**
      * Intercepta métodos anotados con @CallHistory
      *
      * @param joinPoint Punto de interceptación
-     * @param callHistory Anotación con configuración
      * @return Resultado del método interceptado
      * @throws Throwable Si ocurre un error en el método interceptado
      */
-    @Around("@annotation(callHistory)")
-    public Object logCallHistory(ProceedingJoinPoint joinPoint, CallHistory callHistory)
-            throws Throwable {
-        long startTime = System.currentTimeMillis();
+    @Around("@annotation(com.ar.laboratory.baseapi2.shared.infrastructure.annotation.CallHistory)")
+    public Object logCallHistory(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        InterceptionPlan plan =
+                interceptionRegistry.planFor(signature.getMethod(), joinPoint.getTarget());
+        if (!plan.recordsCallHistory()) {
+            return joinPoint.proceed();
+        }
+        EffectivePolicy policy = plan.currentPolicy();
+        LatencyHistogram latency = plan.getLatency();
+
+        // Fast path: sin trabajo ni reservas de memoria cuando la llamada no se va a capturar;
+        // solo se mide para el histograma en memoria
+        boolean sampled = !policy.isInert() && policy.sample();
+        if (!sampled && (policy.isInert() || !policy.hasTailRules())) {
+            long startNanos = System.nanoTime();
+            try {
+                return joinPoint.proceed();
+            } finally {
+                long endNanos = System.nanoTime();
+                latency.record(endNanos - startNanos, endNanos);
+            }
+        }
+
+        long startMillis = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+        Object result = null;
+        Throwable failure = null;
+        try {
+            // Ejecutar el método interceptado
+            result = joinPoint.proceed();
+            return result;
+        } catch (Throwable throwable) {
+            failure = throwable;
+            throw throwable;
+        } finally {
+            long endNanos = System.nanoTime();
+            long durationNanos = endNanos - startNanos;
+            latency.record(durationNanos, endNanos);
+            if (sampled || policy.captureAfter(failure != null, durationNanos)) {
+                try {
+                    record(joinPoint, plan, policy, startMillis, durationNanos, result, failure);
+                } catch (RuntimeException e) {
+                    // La auditoría nunca debe propagar errores al flujo de negocio
+                    log.warn("Call history could not be recorded: {}", e.getMessage());
+                }
+            }
+        }
+    }
 
+    /**
+     * Arma el registro de una llamada ya ejecutada, lo encola para persistirlo y lo difunde al tail
+     */
+    private void record(
+            ProceedingJoinPoint joinPoint,
+            InterceptionPlan plan,
+            EffectivePolicy policy,
+            long startMillis,
+            long durationNanos,
+            Object result,
+            Throwable failure) {
         CallHistoryRecord.CallHistoryRecordBuilder recordBuilder =
                 CallHistoryRecord.builder()
-                        .createdAt(LocalDateTime.now())
-                        .success(true)
+                        .createdAt(
+                                LocalDateTime.ofInstant(
+                                        Instant.ofEpochMilli(startMillis), ZoneId.systemDefault()))
+                        .success(failure == null)
+                        .durationMs(TimeUnit.NANOSECONDS.toMillis(durationNanos))
                         .correlationId(getCorrelationId())
                         .traceId(getTraceId());
 
         // Capturar información del método
-        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
-        String className = signature.getDeclaringType().getSimpleName();
-        String methodName = signature.getName();
-        String action =
-                callHistory.action().isEmpty() ? methodName.toUpperCase() : callHistory.action();
-
-        recordBuilder.handler(className + "#" + methodName + " [" + action + "]");
+        recordBuilder.handler(plan.getHandler());
 
         // Capturar información HTTP si disponible
         HttpServletRequest request = getCurrentHttpRequest();
@@ -70,70 +152,49 @@ public class CallHistoryAspect {
                     .httpMethod(request.getMethod())
                     .path(request.getRequestURI())
                     .clientIp(getClientIp(request))
-                    .userAgent(request.getHeader("User-Agent"))
-                    .queryParams(serializeQueryParams(request));
+                    .userAgent(request.getHeader("User-Agent"));
+            // En controller, Spring establece el status después; se aproxima
+            recordBuilder.httpStatus(failure == null ? 200 : 500);
         }
 
-        // Capturar request body si está habilitado
-        if (callHistory.logRequest() && joinPoint.getArgs().length > 0) {
-            String requestBody =
-                    serializePayload(
-                            joinPoint.getArgs(),
-                            callHistory.maskFields(),
-                            callHistory.maxPayloadSize());
-            recordBuilder.requestBody(requestBody);
-        }
-
-        Object result = null;
-        try {
-            // Ejecutar el método interceptado
-            result = joinPoint.proceed();
-
-            // Capturar respuesta si está habilitado
-            if (callHistory.logResponse() && result != null) {
-                String responseBody =
-                        serializePayload(
-                                result, callHistory.maskFields(), callHistory.maxPayloadSize());
-                recordBuilder.responseBody(responseBody);
+        if (policy.captureBodies()) {
+            if (request != null) {
+                recordBuilder.queryParams(serializeQueryParams(request));
             }
 
-            // Si hay response HTTP, capturar status
-            if (request != null) {
-                // En controller, Spring establece el status después
-                recordBuilder.httpStatus(200); // Por defecto, se puede mejorar con interceptor
+            // Capturar request body si está habilitado
+            if (plan.isLogRequest() && joinPoint.getArgs().length > 0) {
+                recordBuilder.requestBody(
+                        payloadSerializer.serialize(
+                                joinPoint.getArgs(), plan.getMaskPlan(), plan.getMaxPayloadSize()));
             }
 
-            return result;
+            // Capturar respuesta si está habilitado
+            if (plan.isLogResponse() && result != null) {
+                recordBuilder.responseBody(
+                        payloadSerializer.serialize(
+                                result, plan.getMaskPlan(), plan.getMaxPayloadSize()));
+            }
+        }
 
-        } catch (Throwable throwable) {
+        if (failure != null) {
             // Capturar información del error
             recordBuilder
-                    .success(false)
-                    .errorType(throwable.getClass().getName())
-                    .errorMessage(throwable.getMessage())
-                    .errorStacktrace(getStackTrace(throwable, 4096));
-
-            if (request != null) {
-                recordBuilder.httpStatus(500); // Aproximado, se puede mejorar
-            }
-
-            throw throwable;
-
-        } finally {
-            // Calcular duración y persistir asíncronamente
-            long duration = System.currentTimeMillis() - startTime;
-            recordBuilder.durationMs(duration);
+                    .errorType(failure.getClass().getName())
+                    .errorMessage(failure.getMessage())
+                    .errorFingerprint(errorFingerprints.track(failure, startMillis));
+        }
 
-            CallHistoryRecord record = recordBuilder.build();
-            asyncWriter.write(record);
+        CallHistoryRecord record = recordBuilder.build();
+        asyncWriter.write(record);
+        tail.publish(record);
 
-            log.debug(
-                    "Call history recorded: {} {} - Duration: {}ms - Success: {}",
-                    record.getHttpMethod(),
-                    record.getPath(),
-                    duration,
-                    record.getSuccess());
-        }
+        log.debug(
+                "Call history recorded: {} {} - Duration: {}ms - Success: {}",
+                record.getHttpMethod(),
+                record.getPath(),
+                record.getDurationMs(),
+                record.getSuccess());
     }
 
     /** Obtiene el correlation ID desde MDC o genera uno nuevo */
@@ -214,72 +275,4 @@ public class CallHistoryAspect {
             return null;
         }
     }
-
-    /**
-     * Serializa un payload (request/response) a JSON con masking y truncado
-     *
-     * @param payload Objeto a serializar
-     * @param maskFields Campos a enmascarar
-     * @param maxSize Tamaño máximo en caracteres
-     * @return JSON serializado
-     */
-    private String serializePayload(Object payload, String[] maskFields, int maxSize) {
-        try {
-            String json = objectMapper.writeValueAsString(payload);
-
-            // Aplicar masking si hay campos sensibles
-            if (maskFields != null && maskFields.length > 0) {
-                json = maskSensitiveFields(json, maskFields);
-            }
-
-            // Truncar si excede el tamaño máximo
-            if (json.length() > maxSize) {
-                json = json.substring(0, maxSize) + "... [TRUNCATED]";
-            }
-
-            return json;
-        } catch (Exception e) {
-            log.warn("Error serializing payload: {}", e.getMessage());
-            return "[Error serializing: " + e.getMessage() + "]";
-        }
-    }
-
-    /**
-     * Enmascara campos sensibles en un JSON Nota: Implementación simple basada en regex. Para
-     * producción considerar un parser JSON completo.
-     */
-    private String maskSensitiveFields(String json, String[] maskFields) {
-        String result = json;
-        for (String field : maskFields) {
-            // Pattern simple: "field":"value" -> "field":"***"
-            result =
-                    result.replaceAll(
-                            "\"" + field + "\"\\s*:\\s*\"[^\"]*\"",
-                            "\"" + field + "\":\"***MASKED***\"");
-            // Pattern para valores sin comillas (números, booleanos)
-            result =
-                    result.replaceAll(
-                            "\"" + field + "\"\\s*:\\s*[^,}\\]]+",
-                            "\"" + field + "\":\"***MASKED***\"");
-        }
-        return result;
-    }
-
-    /** Extrae el stacktrace de una excepción limitado a un tamaño máximo */
-    private String getStackTrace(Throwable throwable, int maxLength) {
-        try {
-            StringWriter sw = new StringWriter();
-            PrintWriter pw = new PrintWriter(sw);
-            throwable.printStackTrace(pw);
-            String stackTrace = sw.toString();
-
-            if (stackTrace.length() > maxLength) {
-                stackTrace = stackTrace.substring(0, maxLength) + "\n... [TRUNCATED]";
-            }
-
-            return stackTrace;
-        } catch (Exception e) {
-            return throwable.getMessage();
-        }
-    }
 }
@@ -1,46 +1,413 @@
 package com.ar.laboratory.baseapi2.shared.infrastructure.history;
 
 import com.ar.laboratory.baseapi2.callhistory.application.outbound.port.CallHistoryRepositoryPort;
+import com.ar.laboratory.baseapi2.callhistory.application.outbound.port.ErrorFingerprintRepositoryPort;
 import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryRecord;
-import lombok.RequiredArgsConstructor;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.ErrorFingerprint;
+import com.ar.laboratory.baseapi2.shared.infrastructure.config.CallHistoryProperties;
+import com.ar.laboratory.baseapi2.shared.infrastructure.history.fingerprint.ErrorFingerprintTracker;
+import com.ar.laboratory.baseapi2.shared.infrastructure.history.spool.CallHistorySpool;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.context.SmartLifecycle;
 import org.springframework.stereotype.Service;
 
 /**
- * Servicio para escritura asíncrona del historial de llamadas. Persiste los registros de forma
- * asíncrona para no impactar el tiempo de respuesta del endpoint principal.
+ * Servicio para escritura asíncrona del historial de llamadas. Acumula los registros en una cola
+ * lock-free acotada ({@link CallHistoryHandoffQueue}) y un único hilo los persiste por lotes, para
+ * no impactar el tiempo de respuesta del endpoint principal ni ocupar una conexión por cada llamada
+ * interceptada.
+ *
+ * <p>Cuando la cola se satura se aplica {@code app.call-history.writer.overflow-policy}; el hilo de
+ * la request nunca recibe excepciones ni espera más que {@code block-timeout}.
+ *
+ * <p>Un lote se persiste cuando alcanza {@code app.call-history.writer.batch-size} registros o
+ * cuando pasa {@code app.call-history.writer.max-latency} desde que llegó su primer registro.
+ *
+ * <p>Si {@code app.call-history.spool.enabled} está activo, los lotes que no se pueden persistir se
+ * vuelcan a un {@link CallHistorySpool} en disco. Tras un fallo la base no se vuelve a intentar
+ * hasta que pasa {@code retry-interval} (los lotes van directo al spool) y, cuando responde de
+ * nuevo, el mismo hilo reenvía el spool entre lotes en vivo. Al iniciar se reenvía lo que haya
+ * quedado pendiente de una ejecución anterior.
+ *
+ * <p>Antes de cada lote, el mismo hilo renderiza y guarda los fingerprints de error nuevos que
+ * juntó el {@link ErrorFingerprintTracker}, así los stacktraces nunca se generan en el hilo de la
+ * request. Mientras un fingerprint no está guardado, los registros que se vuelcan al spool llevan
+ * su stacktrace inline: al reenviarlos se guarda el fingerprint y recién ahí se quita el stacktrace
+ * de la fila, así un reinicio no deja registros apuntando a fingerprints perdidos.
+ *
+ * <p>Métricas publicadas:
+ *
+ * <ul>
+ *   <li>{@code call.history.writer.flush}: duración de cada flush
+ *   <li>{@code call.history.writer.batch.size}: registros por flush
+ *   <li>{@code call.history.writer.records}: registros por resultado (enqueued, dropped, persisted,
+ *       failed, spooled, replayed) y política de desborde configurada
+ *   <li>{@code call.history.writer.queue.size}: registros pendientes en la cola
+ *   <li>{@code call.history.spool.pending}: registros en el spool pendientes de reenviar
+ * </ul>
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
-public class CallHistoryAsyncWriter {
+public class CallHistoryAsyncWriter implements SmartLifecycle {
 
     private final CallHistoryRepositoryPort callHistoryRepository;
+    private final ErrorFingerprintRepositoryPort errorFingerprintRepository;
+    private final ErrorFingerprintTracker errorFingerprints;
+    private final CallHistoryProperties.Writer properties;
+    private final CallHistoryProperties.Spool spoolProperties;
+    private final CallHistoryHandoffQueue queue;
+
+    private final Timer flushTimer;
+    private final DistributionSummary batchSizeSummary;
+    private final Counter persistedCounter;
+    private final Counter failedCounter;
+    private final Counter spooledCounter;
+    private final Counter replayedCounter;
+
+    private volatile boolean running;
+    private Thread flusherThread;
+
+    /** Fingerprints nuevos ya renderizados que falta guardar; solo los usa el hilo flusher */
+    private final List<ErrorFingerprint> pendingFingerprints = new ArrayList<>();
+
+    /** Spool en disco (null si está deshabilitado); solo lo usa el hilo flusher */
+    private CallHistorySpool spool;
+
+    private boolean databaseAvailable = true;
+    private long retryAtNanos;
+    private long nextForceNanos;
+
+    public CallHistoryAsyncWriter(
+            CallHistoryRepositoryPort callHistoryRepository,
+            ErrorFingerprintRepositoryPort errorFingerprintRepository,
+            ErrorFingerprintTracker errorFingerprints,
+            CallHistoryProperties callHistoryProperties,
+            MeterRegistry meterRegistry) {
+        this.callHistoryRepository = callHistoryRepository;
+        this.errorFingerprintRepository = errorFingerprintRepository;
+        this.errorFingerprints = errorFingerprints;
+        this.properties = callHistoryProperties.getWriter();
+        this.spoolProperties = callHistoryProperties.getSpool();
+        this.queue = new CallHistoryHandoffQueue(properties);
+
+        this.flushTimer =
+                Timer.builder("call.history.writer.flush")
+                        .description("Duración de cada flush de historial de llamadas")
+                        .register(meterRegistry);
+        this.batchSizeSummary =
+                DistributionSummary.builder("call.history.writer.batch.size")
+                        .description("Registros persistidos por flush")
+                        .register(meterRegistry);
+        this.persistedCounter = recordsCounter(meterRegistry, "persisted");
+        this.failedCounter = recordsCounter(meterRegistry, "failed");
+        this.spooledCounter = recordsCounter(meterRegistry, "spooled");
+        this.replayedCounter = recordsCounter(meterRegistry, "replayed");
+        FunctionCounter.builder(
+                        "call.history.writer.records",
+                        queue,
+                        CallHistoryHandoffQueue::enqueuedCount)
+                .description("Registros de historial de llamadas por resultado")
+                .tag("outcome", "enqueued")
+                .tag("policy", properties.getOverflowPolicy().name())
+                .register(meterRegistry);
+        FunctionCounter.builder(
+                        "call.history.writer.records", queue, CallHistoryHandoffQueue::droppedCount)
+                .description("Registros de historial de llamadas por resultado")
+                .tag("outcome", "dropped")
+                .tag("policy", properties.getOverflowPolicy().name())
+                .register(meterRegistry);
+        Gauge.builder("call.history.writer.queue.size", queue, CallHistoryHandoffQueue::size)
+                .description("Registros pendientes de persistir")
+                .register(meterRegistry);
+        Gauge.builder(
+                        "call.history.spool.pending",
+                        this,
+                        writer -> writer.spool == null ? 0 : writer.spool.pendingRecords())
+                .description("Registros en el spool pendientes de reenviar a la base")
+                .register(meterRegistry);
+    }
 
     /**
-     * Escribe un registro de historial de forma asíncrona. Si falla, registra el error pero no
-     * propaga la excepción (tolerancia a fallos).
+     * Encola un registro de historial para persistirlo en el próximo lote. Si la cola está saturada
+     * aplica la política de desborde y contabiliza los descartes (tolerancia a fallos).
      *
      * @param record Registro a persistir
      */
-    @Async
     public void write(CallHistoryRecord record) {
-        try {
-            callHistoryRepository.save(record);
+        if (!queue.offer(record)) {
             log.debug(
-                    "Call history saved successfully: {} {} [{}ms]",
+                    "Call history queue full, record dropped: {} {}",
                     record.getHttpMethod(),
-                    record.getPath(),
-                    record.getDurationMs());
+                    record.getPath());
+        }
+    }
+
+    @Override
+    public void start() {
+        if (spoolProperties.isEnabled()) {
+            try {
+                spool = new CallHistorySpool(spoolProperties);
+            } catch (RuntimeException e) {
+                // Sin spool se sigue funcionando como antes: los lotes fallidos se descartan
+                log.error("Call history spool disabled, could not open {}", spoolProperties, e);
+            }
+        }
+        running = true;
+        flusherThread = new Thread(this::runFlushLoop, "call-history-writer");
+        flusherThread.setDaemon(true);
+        flusherThread.start();
+        log.info(
+                "Call history writer started: batchSize={}, maxLatency={}, queueCapacity={},"
+                        + " overflowPolicy={}",
+                properties.getBatchSize(),
+                properties.getMaxLatency(),
+                queue.capacity(),
+                properties.getOverflowPolicy());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        LockSupport.unpark(flusherThread);
+        try {
+            flusherThread.join(properties.getShutdownTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (flusherThread.isAlive()) {
+            log.warn("Call history writer did not drain in time, {} pending", queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /** Loop del hilo flusher: arma lotes por tamaño o por tiempo y los persiste */
+    private void runFlushLoop() {
+        int batchSize = properties.getBatchSize();
+        long maxLatencyNanos = properties.getMaxLatency().toNanos();
+        List<CallHistoryRecord> batch = new ArrayList<>(batchSize);
+
+        while (running) {
+            CallHistoryRecord first = queue.poll(maxLatencyNanos);
+            if (first != null) {
+                batch.add(first);
+                fillBatch(batch, batchSize, System.nanoTime() + maxLatencyNanos);
+                flush(batch);
+            }
+            replaySpool(batch, batchSize);
+            forceSpoolIfDue();
+        }
+
+        // Al detenerse, vaciar lo que quede en la cola
+        while (queue.drainTo(batch, batchSize) > 0) {
+            flush(batch);
+        }
+        if (spool != null) {
+            spool.close();
+        }
+    }
+
+    /** Completa el lote hasta batchSize o hasta que venza el deadline */
+    private void fillBatch(List<CallHistoryRecord> batch, int batchSize, long deadline) {
+        while (batch.size() < batchSize && running) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                return;
+            }
+            CallHistoryRecord next = queue.poll(remaining);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    /**
+     * Persiste el lote y lo vacía. Si falla, lo vuelca al spool (si está habilitado) y no propaga
+     * la excepción
+     */
+    private void flush(List<CallHistoryRecord> batch) {
+        int size = batch.size();
+        if (spool != null && !shouldTryDatabase()) {
+            // La base falló hace poco: no bloquear el hilo reintentando en cada lote
+            spool(batch);
+            batch.clear();
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            persistFingerprints();
+            callHistoryRepository.saveAll(batch);
+            persistedCounter.increment(size);
+            databaseAvailable = true;
+            log.debug("Call history batch saved: {} records", size);
         } catch (Exception e) {
             // Tolerancia a fallos: si falla el guardado, no debe romper el flujo principal
+            markDatabaseUnavailable();
             log.error(
-                    "Failed to save call history for {} {}: {}",
-                    record.getHttpMethod(),
-                    record.getPath(),
-                    e.getMessage(),
-                    e);
+                    "Failed to save call history batch of {} records: {}", size, e.getMessage(), e);
+            spool(batch);
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            batchSizeSummary.record(size);
+            batch.clear();
         }
     }
+
+    /** Vuelca el lote al spool; sin spool (o si falla) los registros se cuentan como perdidos */
+    private void spool(List<CallHistoryRecord> batch) {
+        if (spool == null) {
+            failedCounter.increment(batch.size());
+            return;
+        }
+        attachUnsavedStacktraces(batch);
+        int written = 0;
+        try {
+            written = spool.append(batch);
+        } catch (RuntimeException e) {
+            log.error("Failed to write call history batch to spool: {}", e.getMessage(), e);
+        }
+        spooledCounter.increment(written);
+        failedCounter.increment(batch.size() - written);
+    }
+
+    /**
+     * Reenvía registros del spool mientras la base responda y no se acumulen registros en vivo
+     * suficientes para un lote completo
+     */
+    private void replaySpool(List<CallHistoryRecord> batch, int batchSize) {
+        if (spool == null || !spool.hasPending() || !shouldTryDatabase()) {
+            return;
+        }
+        while (running && spool.hasPending() && queue.size() < batchSize) {
+            try {
+                persistFingerprints();
+                spool.peek(batch, batchSize);
+                if (!batch.isEmpty()) {
+                    persistSpooledFingerprints(batch);
+                    callHistoryRepository.saveAll(batch);
+                }
+                spool.commit();
+                replayedCounter.increment(batch.size());
+                databaseAvailable = true;
+            } catch (Exception e) {
+                markDatabaseUnavailable();
+                log.warn(
+                        "Call history spool replay failed, {} records pending: {}",
+                        spool.pendingRecords(),
+                        e.getMessage());
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+        if (!spool.hasPending()) {
+            log.info("Call history spool fully replayed");
+        }
+    }
+
+    /**
+     * Guarda los fingerprints de error nuevos antes que los registros que los referencian. Si
+     * falla, quedan pendientes para el próximo intento y la excepción se propaga como la de un lote
+     */
+    private void persistFingerprints() {
+        errorFingerprints.drainTo(pendingFingerprints);
+        if (!pendingFingerprints.isEmpty()) {
+            errorFingerprintRepository.saveAllIfAbsent(pendingFingerprints);
+            pendingFingerprints.clear();
+        }
+    }
+
+    /**
+     * Copia a cada registro el stacktrace de su fingerprint si todavía no se guardó, para que viaje
+     * con él en el spool y sobreviva a un reinicio
+     */
+    private void attachUnsavedStacktraces(List<CallHistoryRecord> batch) {
+        errorFingerprints.drainTo(pendingFingerprints);
+        if (pendingFingerprints.isEmpty()) {
+            return;
+        }
+        Map<String, ErrorFingerprint> unsaved = new HashMap<>();
+        pendingFingerprints.forEach(pending -> unsaved.put(pending.getFingerprint(), pending));
+        for (CallHistoryRecord record : batch) {
+            ErrorFingerprint pending = unsaved.get(record.getErrorFingerprint());
+            if (pending != null && record.getErrorStacktrace() == null) {
+                record.setErrorStacktrace(pending.getStacktrace());
+            }
+        }
+    }
+
+    /**
+     * Guarda los fingerprints que viajaron inline en registros del spool y les quita el stacktrace:
+     * una vez guardado el fingerprint, la fila solo lo referencia
+     */
+    private void persistSpooledFingerprints(List<CallHistoryRecord> batch) {
+        Map<String, ErrorFingerprint> carried = new LinkedHashMap<>();
+        for (CallHistoryRecord record : batch) {
+            if (record.getErrorFingerprint() != null && record.getErrorStacktrace() != null) {
+                carried.putIfAbsent(
+                        record.getErrorFingerprint(),
+                        ErrorFingerprint.builder()
+                                .fingerprint(record.getErrorFingerprint())
+                                .errorType(record.getErrorType())
+                                .errorMessage(record.getErrorMessage())
+                                .stacktrace(record.getErrorStacktrace())
+                                .firstSeen(record.getCreatedAt())
+                                .build());
+            }
+        }
+        if (carried.isEmpty()) {
+            return;
+        }
+        errorFingerprintRepository.saveAllIfAbsent(new ArrayList<>(carried.values()));
+        for (CallHistoryRecord record : batch) {
+            if (carried.containsKey(record.getErrorFingerprint())) {
+                record.setErrorStacktrace(null);
+            }
+        }
+    }
+
+    private void forceSpoolIfDue() {
+        long now = System.nanoTime();
+        if (spool != null && now - nextForceNanos >= 0) {
+            spool.force();
+            nextForceNanos = now + spoolProperties.getForceInterval().toNanos();
+        }
+    }
+
+    private boolean shouldTryDatabase() {
+        return databaseAvailable || System.nanoTime() - retryAtNanos >= 0;
+    }
+
+    private void markDatabaseUnavailable() {
+        databaseAvailable = false;
+        retryAtNanos = System.nanoTime() + spoolProperties.getRetryInterval().toNanos();
+    }
+
+    /** Todas las series llevan las mismas claves de tag: Prometheus rechaza las que difieren */
+    private Counter recordsCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("call.history.writer.records")
+                .description("Registros de historial de llamadas por resultado")
+                .tag("outcome", outcome)
+                .tag("policy", properties.getOverflowPolicy().name())
+                .register(meterRegistry);
+    }
 }
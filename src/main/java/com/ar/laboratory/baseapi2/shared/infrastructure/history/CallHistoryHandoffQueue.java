@@ -0,0 +1,170 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.history;
+
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryRecord;
+import com.ar.laboratory.baseapi2.shared.infrastructure.config.CallHistoryProperties;
+import java.util.Collection;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Handoff acotado entre los hilos de request (productores) y el hilo writer (consumidor).
+ *
+ * <p>Envuelve un {@link BoundedRingBuffer} y aplica la {@link OverflowPolicy} configurada cuando se
+ * satura. {@link #offer(CallHistoryRecord)} nunca lanza excepciones y, salvo con {@link
+ * OverflowPolicy#BLOCK_WITH_TIMEOUT}, nunca espera. El consumidor se estaciona con {@link
+ * LockSupport} cuando la cola está vacía y los productores lo despiertan solo si está esperando.
+ */
+public class CallHistoryHandoffQueue {
+
+    /** Pausa entre reintentos de BLOCK_WITH_TIMEOUT */
+    private static final long BLOCK_RETRY_NANOS = 50_000L;
+
+    /** Máximo de registros antiguos a desplazar por cada registro entrante */
+    private static final int MAX_EVICTIONS_PER_OFFER = 4;
+
+    private final BoundedRingBuffer<CallHistoryRecord> buffer;
+    private final OverflowPolicy policy;
+    private final long blockTimeoutNanos;
+    private final int sampleRate;
+    private final int highWatermark;
+    private final int successLimit;
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    private volatile Thread consumer;
+    private volatile boolean consumerParked;
+
+    public CallHistoryHandoffQueue(CallHistoryProperties.Writer properties) {
+        this.buffer = new BoundedRingBuffer<>(properties.getQueueCapacity());
+        this.policy = properties.getOverflowPolicy();
+        this.blockTimeoutNanos = properties.getBlockTimeout().toNanos();
+        this.sampleRate = Math.max(1, properties.getSampleRate());
+        this.highWatermark = (int) (buffer.capacity() * properties.getHighWatermark());
+        this.successLimit = (int) (buffer.capacity() * (1 - properties.getErrorReserve()));
+    }
+
+    /**
+     * Intenta encolar un registro aplicando la política de desborde.
+     *
+     * @return true si el registro quedó encolado
+     */
+    public boolean offer(CallHistoryRecord record) {
+        boolean accepted =
+                switch (policy) {
+                    case DROP_NEWEST -> buffer.offer(record);
+                    case DROP_OLDEST -> offerEvictingOldest(record);
+                    case SAMPLE -> offerSampled(record);
+                    case BLOCK_WITH_TIMEOUT -> offerBlocking(record);
+                    case PREFER_ERRORS -> offerPreferringErrors(record);
+                };
+
+        if (accepted) {
+            enqueued.increment();
+            if (consumerParked) {
+                LockSupport.unpark(consumer);
+            }
+        } else {
+            dropped.increment();
+        }
+        return accepted;
+    }
+
+    /**
+     * Espera (como único consumidor) a que haya un registro disponible.
+     *
+     * @param timeoutNanos tiempo máximo de espera
+     * @return el registro o null si venció el timeout o se interrumpió el hilo
+     */
+    public CallHistoryRecord poll(long timeoutNanos) {
+        CallHistoryRecord record = buffer.poll();
+        if (record != null) {
+            return record;
+        }
+
+        long deadline = System.nanoTime() + timeoutNanos;
+        consumer = Thread.currentThread();
+        try {
+            while (true) {
+                consumerParked = true;
+                // Re-chequear después de publicar el flag para no perder un unpark
+                record = buffer.poll();
+                if (record != null) {
+                    return record;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || Thread.currentThread().isInterrupted()) {
+                    return null;
+                }
+                LockSupport.parkNanos(this, remaining);
+            }
+        } finally {
+            consumerParked = false;
+        }
+    }
+
+    /** Extrae sin esperar hasta {@code maxElements} registros */
+    public int drainTo(Collection<? super CallHistoryRecord> target, int maxElements) {
+        return buffer.drainTo(target, maxElements);
+    }
+
+    public int size() {
+        return buffer.size();
+    }
+
+    public int capacity() {
+        return buffer.capacity();
+    }
+
+    /** Registros aceptados desde el inicio */
+    public long enqueuedCount() {
+        return enqueued.sum();
+    }
+
+    /** Registros descartados por la política de desborde (incluye los desplazados) */
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    private boolean offerEvictingOldest(CallHistoryRecord record) {
+        for (int attempt = 0; attempt < MAX_EVICTIONS_PER_OFFER; attempt++) {
+            if (buffer.offer(record)) {
+                return true;
+            }
+            if (buffer.poll() != null) {
+                dropped.increment();
+            }
+        }
+        return buffer.offer(record);
+    }
+
+    private boolean offerSampled(CallHistoryRecord record) {
+        if (buffer.size() >= highWatermark
+                && ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+            return false;
+        }
+        return buffer.offer(record);
+    }
+
+    private boolean offerBlocking(CallHistoryRecord record) {
+        if (buffer.offer(record)) {
+            return true;
+        }
+        long deadline = System.nanoTime() + blockTimeoutNanos;
+        while (System.nanoTime() < deadline) {
+            LockSupport.parkNanos(BLOCK_RETRY_NANOS);
+            if (buffer.offer(record)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean offerPreferringErrors(CallHistoryRecord record) {
+        if (Boolean.FALSE.equals(record.getSuccess())) {
+            return offerEvictingOldest(record);
+        }
+        return buffer.size() < successLimit && buffer.offer(record);
+    }
+}
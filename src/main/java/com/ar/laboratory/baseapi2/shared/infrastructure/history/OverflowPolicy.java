@@ -0,0 +1,26 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.history;
+
+/**
+ * Política aplicada cuando la cola entre el aspect y el writer de historial se satura. Ninguna
+ * política lanza excepciones ni espera sin límite en el hilo de la request.
+ */
+public enum OverflowPolicy {
+
+    /** Descarta el registro entrante */
+    DROP_NEWEST,
+
+    /** Descarta el registro más antiguo de la cola para hacer lugar al entrante */
+    DROP_OLDEST,
+
+    /** Por encima del high-watermark admite solo 1 de cada {@code sample-rate} registros */
+    SAMPLE,
+
+    /** Espera hasta {@code block-timeout} a que haya lugar y luego descarta el entrante */
+    BLOCK_WITH_TIMEOUT,
+
+    /**
+     * Reserva una fracción de la cola para llamadas fallidas: los éxitos se descartan al llegar a
+     * la reserva y los errores desplazan al registro más antiguo si la cola está llena
+     */
+    PREFER_ERRORS
+}
@@ -0,0 +1,25 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.history.admin;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.List;
+import org.springframework.http.ResponseEntity;
+
+/** Contrato API para consultar las latencias en vivo de los endpoints con @CallHistory */
+@Tag(
+        name = "Call History Admin",
+        description = "Administración de las políticas de captura del historial de llamadas")
+public interface CallHistoryLatencyAdminApi {
+
+    @Operation(
+            summary = "Latencias en vivo por endpoint",
+            description =
+                    "Percentiles (ms) de cada handler en ventanas de 1, 5 y 15 minutos, calculados"
+                            + " en memoria sobre todas las llamadas, sin consultar la base. Cada"
+                            + " ventana incluye el minuto en curso.")
+    @ApiResponses(
+            value = {@ApiResponse(responseCode = "200", description = "Percentiles vigentes")})
+    ResponseEntity<List<EndpointLatencyResponse>> getLatencies();
+}
@@ -0,0 +1,42 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.history.admin;
+
+import com.ar.laboratory.baseapi2.shared.infrastructure.history.latency.LatencyHistograms;
+import com.ar.laboratory.baseapi2.shared.infrastructure.history.latency.LatencySnapshot;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/** Controller REST con las latencias en memoria de los endpoints con @CallHistory */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/admin/call-history/latency")
+@RequiredArgsConstructor
+public class CallHistoryLatencyAdminController implements CallHistoryLatencyAdminApi {
+
+    private final LatencyHistograms latencyHistograms;
+
+    @GetMapping
+    @Override
+    public ResponseEntity<List<EndpointLatencyResponse>> getLatencies() {
+        log.info("Request GET /admin/call-history/latency");
+
+        Map<String, LatencySnapshot> oneMinute = latencyHistograms.snapshots(1);
+        Map<String, LatencySnapshot> fiveMinutes = latencyHistograms.snapshots(5);
+        Map<String, LatencySnapshot> fifteenMinutes = latencyHistograms.snapshots(15);
+
+        return ResponseEntity.ok(
+                oneMinute.keySet().stream()
+                        .map(
+                                handler ->
+                                        EndpointLatencyResponse.builder()
+                                                .handler(handler)
+                                                .oneMinute(oneMinute.get(handler))
+                                                .fiveMinutes(fiveMinutes.get(handler))
+                                                .fifteenMinutes(fifteenMinutes.get(handler))
+                                                .build())
+                        .toList());
+    }
+}
@@ -0,0 +1,72 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.history.admin;
+
+import com.ar.laboratory.baseapi2.shared.infrastructure.history.policy.CapturePolicy;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+
+/**
+ * Contrato API para administrar en caliente las políticas de captura de @CallHistory (muestreo,
+ * captura de errores, tail sampling de llamadas lentas y nivel de detalle).
+ */
+@Tag(
+        name = "Call History Admin",
+        description = "Administración de las políticas de captura del historial de llamadas")
+public interface CallHistoryPolicyAdminApi {
+
+    @Operation(
+            summary = "Listar políticas",
+            description = "Obtiene la política por defecto y los overrides por endpoint vigentes")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Políticas vigentes")})
+    ResponseEntity<CapturePoliciesResponse> getPolicies();
+
+    @Operation(
+            summary = "Actualizar política por defecto",
+            description = "Los campos omitidos conservan su valor actual")
+    @ApiResponses(
+            value = {
+                @ApiResponse(responseCode = "200", description = "Política actualizada"),
+                @ApiResponse(responseCode = "400", description = "Valores inválidos")
+            })
+    ResponseEntity<CapturePolicy> updateDefaults(@RequestBody CapturePolicy policy);
+
+    @Operation(
+            summary = "Crear o reemplazar la política de un endpoint",
+            description = "Los campos omitidos heredan de la política por defecto")
+    @ApiResponses(
+            value = {
+                @ApiResponse(responseCode = "200", description = "Política guardada"),
+                @ApiResponse(responseCode = "400", description = "Valores inválidos")
+            })
+    ResponseEntity<CapturePolicy> putEndpoint(
+            @Parameter(
+                            description =
+                                    "Endpoint como paquete.Clase#metodo(TipoParametro,...) (#"
+                                            + " codificado como %23)",
+                            example =
+                                    "com.ar.laboratory.baseapi2.example.infrastructure.inbound.web.controller.ExampleController#listAll()")
+                    @PathVariable
+                    String endpoint,
+            @RequestBody CapturePolicy policy);
+
+    @Operation(
+            summary = "Eliminar la política de un endpoint",
+            description = "El endpoint vuelve a usar la política por defecto")
+    @ApiResponses(
+            value = {
+                @ApiResponse(responseCode = "204", description = "Política eliminada"),
+                @ApiResponse(responseCode = "404", description = "El endpoint no tenía override")
+            })
+    ResponseEntity<Void> deleteEndpoint(
+            @Parameter(
+                            description =
+                                    "Endpoint como paquete.Clase#metodo(TipoParametro,...) (#"
+                                            + " codificado como %23)")
+                    @PathVariable
+                    String endpoint);
+}
@@ -0,0 +1,57 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.history.admin;
+
+import com.ar.laboratory.baseapi2.shared.infrastructure.history.policy.CallHistoryPolicyEngine;
+import com.ar.laboratory.baseapi2.shared.infrastructure.history.policy.CapturePolicy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/** Controller REST de administración de políticas de captura del historial de llamadas */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/admin/call-history/policies")
+@RequiredArgsConstructor
+public class CallHistoryPolicyAdminController implements CallHistoryPolicyAdminApi {
+
+    private final CallHistoryPolicyEngine policyEngine;
+
+    @GetMapping
+    @Override
+    public ResponseEntity<CapturePoliciesResponse> getPolicies() {
+        log.info("Request GET /admin/call-history/policies");
+
+        return ResponseEntity.ok(
+                CapturePoliciesResponse.builder()
+                        .defaults(policyEngine.defaults())
+                        .endpoints(policyEngine.endpoints())
+                        .build());
+    }
+
+    @PutMapping("/defaults")
+    @Override
+    public ResponseEntity<CapturePolicy> updateDefaults(@RequestBody CapturePolicy policy) {
+        log.info("Request PUT /admin/call-history/policies/defaults - {}", policy);
+
+        return ResponseEntity.ok(policyEngine.updateDefaults(policy));
+    }
+
+    @PutMapping("/endpoints/{endpoint}")
+    @Override
+    public ResponseEntity<CapturePolicy> putEndpoint(
+            @PathVariable String endpoint, @RequestBody CapturePolicy policy) {
+        log.info("Request PUT /admin/call-history/policies/endpoints/{} - {}", endpoint, policy);
+
+        return ResponseEntity.ok(policyEngine.putEndpoint(endpoint, policy));
+    }
+
+    @DeleteMapping("/endpoints/{endpoint}")
+    @Override
+    public ResponseEntity<Void> deleteEndpoint(@PathVariable String endpoint) {
+        log.info("Request DELETE /admin/call-history/policies/endpoints/{}", endpoint);
+
+        return policyEngine.removeEndpoint(endpoint)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+}
@@ -0,0 +1,42 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.history.admin;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/** Contrato API para seguir en vivo las llamadas capturadas por @CallHistory */
+@Tag(
+        name = "Call History Admin",
+        description = "Administración de las políticas de captura del historial de llamadas")
+public interface CallHistoryTailAdminApi {
+
+    @Operation(
+            summary = "Tail en vivo del historial",
+            description =
+                    "Stream Server-Sent Events con cada llamada capturada (evento call), a medida"
+                            + " que se registra y sin consultar la base. Si el cliente no consume"
+                            + " a tiempo se descartan llamadas y se informa la cantidad en un"
+                            + " evento dropped.")
+    @ApiResponses(
+            value = {
+                @ApiResponse(responseCode = "200", description = "Stream text/event-stream"),
+                @ApiResponse(
+                        responseCode = "503",
+                        description = "Se alcanzó el máximo de suscriptores")
+            })
+    ResponseEntity<SseEmitter> tail(
+            @Parameter(description = "Prefijo del path", example = "/api/v1/examples")
+                    @RequestParam(required = false)
+                    String path,
+            @Parameter(description = "Solo exitosas (true) o fallidas (false)")
+                    @RequestParam(required = false)
+                    Boolean success,
+            @Parameter(description = "Duración mínima en milisegundos", example = "500")
+                    @RequestParam(required = false)
+                    Long minDurationMs);
+}
@@ -0,0 +1,41 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.history.admin;
+
+import com.ar.laboratory.baseapi2.shared.infrastructure.history.tail.CallHistoryTail;
+import com.ar.laboratory.baseapi2.shared.infrastructure.history.tail.TailFilter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/** Controller REST con el tail en vivo de las llamadas capturadas */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/admin/call-history/tail")
+@RequiredArgsConstructor
+public class CallHistoryTailAdminController implements CallHistoryTailAdminApi {
+
+    private final CallHistoryTail callHistoryTail;
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Override
+    public ResponseEntity<SseEmitter> tail(
+            @RequestParam(required = false) String path,
+            @RequestParam(required = false) Boolean success,
+            @RequestParam(required = false) Long minDurationMs) {
+        log.info(
+                "Request GET /admin/call-history/tail?path={}&success={}&minDurationMs={}",
+                path,
+                success,
+                minDurationMs);
+
+        SseEmitter emitter =
+                callHistoryTail.subscribe(new TailFilter(path, success, minDurationMs));
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok().contentType(MediaType.TEXT_EVENT_STREAM).body(emitter);
+    }
+}
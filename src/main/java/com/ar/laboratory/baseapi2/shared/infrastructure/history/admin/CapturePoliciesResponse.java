@@ -0,0 +1,18 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.history.admin;
+
+import com.ar.laboratory.baseapi2.shared.infrastructure.history.policy.CapturePolicy;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** DTO con las políticas de captura vigentes */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CapturePoliciesResponse {
+    private CapturePolicy defaults;
+    private Map<String, CapturePolicy> endpoints;
+}
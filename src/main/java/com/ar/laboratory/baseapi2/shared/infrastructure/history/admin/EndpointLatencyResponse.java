@@ -0,0 +1,19 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.history.admin;
+
+import com.ar.laboratory.baseapi2.shared.infrastructure.history.latency.LatencySnapshot;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** DTO con los percentiles en memoria de un handler para las ventanas de 1, 5 y 15 minutos */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EndpointLatencyResponse {
+    private String handler;
+    private LatencySnapshot oneMinute;
+    private LatencySnapshot fiveMinutes;
+    private LatencySnapshot fifteenMinutes;
+}
@@ -0,0 +1,152 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.history.fingerprint;
+
+import com.ar.laboratory.baseapi2.callhistory.domain.model.ErrorFingerprint;
+import com.ar.laboratory.baseapi2.shared.infrastructure.config.CallHistoryProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Calcula el fingerprint de los errores capturados y junta los que todavía no se guardaron.
+ *
+ * <p>En el hilo de la request solo se calcula el hash (FNV-1a de 64 bits sobre el tipo de cada
+ * excepción de la cadena de causas y la clase#método de sus frames del tope); no se renderiza el
+ * stacktrace. Si el fingerprint no se vio antes, la excepción queda pendiente y el hilo writer la
+ * renderiza y la guarda una única vez ({@link #drainTo(List)}).
+ *
+ * <p>Los fingerprints conocidos se recuerdan en memoria hasta {@code known-capacity} y como mucho
+ * {@code known-ttl}. Olvidar uno solo provoca volver a renderizar y a insertar (sin duplicar: el
+ * INSERT sobre uno existente solo actualiza su {@code last_referenced_at}) la próxima ocurrencia.
+ * El TTL es lo que le permite a la purga de huérfanos borrar fingerprints sin referencias: uno que
+ * lleva más de {@code known-ttl} sin tocarse en la base ya no está en memoria de ningún nodo.
+ */
+@Slf4j
+@Component
+public class ErrorFingerprintTracker {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final int MAX_CAUSES = 4;
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final CallHistoryProperties.Errors properties;
+    private final Cache<String, Boolean> known;
+    private final ConcurrentLinkedQueue<Pending> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    public ErrorFingerprintTracker(CallHistoryProperties callHistoryProperties) {
+        this.properties = callHistoryProperties.getErrors();
+        this.known =
+                Caffeine.newBuilder()
+                        .maximumSize(properties.getKnownCapacity())
+                        .expireAfterWrite(properties.getKnownTtl())
+                        .build();
+    }
+
+    /**
+     * Fingerprint del error. Si es nuevo, lo deja pendiente de guardar.
+     *
+     * @param failure Excepción capturada
+     * @param timestampMillis Momento de la llamada, usado como primera aparición
+     * @return Fingerprint en hexadecimal (16 caracteres)
+     */
+    public String track(Throwable failure, long timestampMillis) {
+        String fingerprint = fingerprint(failure, properties.getTopFrames());
+        if (known.getIfPresent(fingerprint) != null) {
+            return fingerprint;
+        }
+        if (known.asMap().putIfAbsent(fingerprint, Boolean.TRUE) == null) {
+            if (pendingCount.incrementAndGet() <= properties.getMaxPending()) {
+                pending.offer(new Pending(fingerprint, failure, timestampMillis));
+            } else {
+                // Sin lugar: se olvida para reintentar en la próxima ocurrencia
+                pendingCount.decrementAndGet();
+                known.invalidate(fingerprint);
+            }
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Renderiza los fingerprints pendientes y los agrega a {@code target}. Lo llama el hilo writer,
+     * fuera del hilo de la request.
+     *
+     * @return cantidad agregada
+     */
+    public int drainTo(List<ErrorFingerprint> target) {
+        int drained = 0;
+        Pending next;
+        while ((next = pending.poll()) != null) {
+            pendingCount.decrementAndGet();
+            target.add(render(next));
+            drained++;
+        }
+        return drained;
+    }
+
+    /** Hash del tipo de cada excepción de la cadena y de los primeros {@code topFrames} frames */
+    static String fingerprint(Throwable failure, int topFrames) {
+        long hash = FNV_OFFSET_BASIS;
+        Throwable current = failure;
+        for (int depth = 0; current != null && depth < MAX_CAUSES; depth++) {
+            hash = mix(hash, current.getClass().getName());
+            StackTraceElement[] frames = current.getStackTrace();
+            for (int i = 0; i < Math.min(topFrames, frames.length); i++) {
+                hash = mix(hash, frames[i].getClassName());
+                hash = mix(hash, frames[i].getMethodName());
+            }
+            current = current.getCause() == current ? null : current.getCause();
+        }
+        return HEX.toHexDigits(hash);
+    }
+
+    private static long mix(long hash, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        // Separador, para que "ab"+"c" no coincida con "a"+"bc"
+        hash ^= 0xFF;
+        return hash * FNV_PRIME;
+    }
+
+    private ErrorFingerprint render(Pending entry) {
+        return ErrorFingerprint.builder()
+                .fingerprint(entry.fingerprint())
+                .errorType(entry.failure().getClass().getName())
+                .errorMessage(entry.failure().getMessage())
+                .stacktrace(renderStackTrace(entry.failure()))
+                .firstSeen(
+                        LocalDateTime.ofInstant(
+                                Instant.ofEpochMilli(entry.timestampMillis()),
+                                ZoneId.systemDefault()))
+                .build();
+    }
+
+    private String renderStackTrace(Throwable failure) {
+        try {
+            StringWriter stackTrace = new StringWriter();
+            failure.printStackTrace(new PrintWriter(stackTrace));
+            int maxLength = properties.getMaxStacktraceLength();
+            return stackTrace.getBuffer().length() > maxLength
+                    ? stackTrace.getBuffer().substring(0, maxLength) + "\n... [TRUNCATED]"
+                    : stackTrace.toString();
+        } catch (RuntimeException e) {
+            log.debug("Could not render stacktrace: {}", e.getMessage());
+            return String.valueOf(failure);
+        }
+    }
+
+    /** Error nuevo pendiente de renderizar y guardar */
+    private record Pending(String fingerprint, Throwable failure, long timestampMillis) {}
+}
@@ -0,0 +1,154 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.history.latency;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de latencias de un endpoint con ventanas móviles de hasta {@value #MAX_WINDOW_MINUTES}
+ * minutos.
+ *
+ * <p>Los buckets son log-lineales al estilo HdrHistogram: cada potencia de dos de microsegundos se
+ * divide en {@value #SUB_BUCKETS} sub-buckets, así que el error relativo de un percentil es menor a
+ * 1/16 (6,25%) desde 1 µs hasta ~67 s; los valores mayores caen en el último bucket.
+ *
+ * <p>Hay un slot por minuto en un anillo de {@value #SLOTS}, y cada slot tiene {@code stripes}
+ * copias de los contadores; cada hilo escribe en la suya para no competir por las mismas líneas de
+ * caché. {@link #record} es un incremento atómico (wait-free) sobre un array preexistente: no toma
+ * locks ni reserva memoria. Los hilos que registran nunca limpian slots; lo hace {@link #rotate},
+ * que prepara el slot del minuto siguiente antes de que empiece. Cada slot recuerda el minuto para
+ * el que se limpió, y las lecturas ignoran los slots que no corresponden a la ventana pedida.
+ */
+public final class LatencyHistogram {
+
+    static final int SUB_BUCKET_BITS = 4;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /** Valores a partir de 2^26 µs (~67 s) caen en el último bucket */
+    static final int MAX_EXPONENT = 26;
+
+    static final int BUCKETS = SUB_BUCKETS + (MAX_EXPONENT - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    public static final int MAX_WINDOW_MINUTES = 15;
+
+    /** Ventana máxima más el slot que se prepara para el minuto siguiente */
+    static final int SLOTS = 16;
+
+    private static final long MAX_VALUE = (1L << MAX_EXPONENT) - 1;
+    private static final long NANOS_PER_MINUTE = 60_000_000_000L;
+
+    /** Buckets más la suma, redondeado a múltiplo de 8 para separar las stripes */
+    private static final int STRIDE = ((BUCKETS + 1 + 7) / 8) * 8;
+
+    private static final int SUM = BUCKETS;
+
+    private final int stripeMask;
+    private final AtomicLongArray[] slots = new AtomicLongArray[SLOTS];
+    private final AtomicLongArray slotMinutes = new AtomicLongArray(SLOTS);
+
+    /**
+     * @param stripes Copias de los contadores por slot; se redondea a potencia de dos
+     * @param nowNanos {@link System#nanoTime()} actual, para preparar los primeros slots
+     */
+    public LatencyHistogram(int stripes, long nowNanos) {
+        int size = Integer.highestOneBit(Math.max(1, stripes));
+        this.stripeMask = size - 1;
+        for (int i = 0; i < SLOTS; i++) {
+            slots[i] = new AtomicLongArray(size * STRIDE);
+            slotMinutes.set(i, Long.MIN_VALUE);
+        }
+        rotate(nowNanos);
+    }
+
+    /**
+     * Registra una llamada
+     *
+     * @param durationNanos Duración medida con {@link System#nanoTime()}
+     * @param nowNanos {@link System#nanoTime()} al terminar la llamada
+     */
+    public void record(long durationNanos, long nowNanos) {
+        long micros = Math.min(Math.max(durationNanos / 1_000, 0), MAX_VALUE);
+        AtomicLongArray slot = slots[slotIndex(minute(nowNanos))];
+        int base = (int) (Thread.currentThread().threadId() & stripeMask) * STRIDE;
+        slot.getAndIncrement(base + bucketIndex(micros));
+        slot.getAndAdd(base + SUM, micros);
+    }
+
+    /**
+     * Prepara los slots del minuto en curso y del siguiente. Se llama periódicamente, con una
+     * frecuencia bastante mayor a un minuto.
+     */
+    public void rotate(long nowNanos) {
+        long minute = minute(nowNanos);
+        prepare(minute);
+        prepare(minute + 1);
+    }
+
+    /**
+     * Percentiles de la ventana: el minuto en curso y los {@code minutes - 1} anteriores
+     *
+     * @param minutes Entre 1 y {@value #MAX_WINDOW_MINUTES}
+     */
+    public LatencySnapshot snapshot(int minutes, long nowNanos) {
+        if (minutes < 1 || minutes > MAX_WINDOW_MINUTES) {
+            throw new IllegalArgumentException(
+                    "La ventana debe ser de 1 a " + MAX_WINDOW_MINUTES + " minutos: " + minutes);
+        }
+        long[] counts = new long[BUCKETS];
+        long sumMicros = 0;
+        long minute = minute(nowNanos);
+        for (long target = minute - minutes + 1; target <= minute; target++) {
+            int index = slotIndex(target);
+            if (slotMinutes.get(index) != target) {
+                continue;
+            }
+            AtomicLongArray slot = slots[index];
+            for (int base = 0; base < slot.length(); base += STRIDE) {
+                for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                    counts[bucket] += slot.get(base + bucket);
+                }
+                sumMicros += slot.get(base + SUM);
+            }
+        }
+        return LatencySnapshot.of(counts, sumMicros);
+    }
+
+    private void prepare(long minute) {
+        int index = slotIndex(minute);
+        if (slotMinutes.get(index) == minute) {
+            return;
+        }
+        AtomicLongArray slot = slots[index];
+        for (int i = 0; i < slot.length(); i++) {
+            slot.set(i, 0);
+        }
+        slotMinutes.set(index, minute);
+    }
+
+    private static long minute(long nanos) {
+        return Math.floorDiv(nanos, NANOS_PER_MINUTE);
+    }
+
+    private static int slotIndex(long minute) {
+        return (int) (minute & (SLOTS - 1));
+    }
+
+    /** Bucket de un valor en µs: lineal hasta {@value #SUB_BUCKETS}, log-lineal después */
+    static int bucketIndex(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (micros >>> shift) - SUB_BUCKETS;
+        return SUB_BUCKETS + shift * SUB_BUCKETS + subBucket;
+    }
+
+    /** Mayor valor en µs que cae en el bucket */
+    static long highestValue(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket - SUB_BUCKETS) / SUB_BUCKETS;
+        long subBucket = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+        return ((SUB_BUCKETS + subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,45 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.history.latency;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Histogramas de latencia en memoria, uno por handler con @CallHistory. Se registran todas las
+ * llamadas, sin importar la política de captura, y se consultan sin ir a la base.
+ *
+ * <p>El histograma de cada método se resuelve una sola vez al armar su {@code InterceptionPlan}.
+ */
+@Component
+public class LatencyHistograms {
+
+    /** Una copia de los contadores por núcleo, hasta 8 */
+    private static final int STRIPES =
+            Math.min(8, Integer.highestOneBit(Runtime.getRuntime().availableProcessors()));
+
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    /** Histograma del handler, creado la primera vez */
+    public LatencyHistogram forHandler(String handler) {
+        return histograms.computeIfAbsent(
+                handler, key -> new LatencyHistogram(STRIPES, System.nanoTime()));
+    }
+
+    /** Percentiles de la ventana para cada handler, ordenados por handler */
+    public Map<String, LatencySnapshot> snapshots(int minutes) {
+        long now = System.nanoTime();
+        Map<String, LatencySnapshot> snapshots = new TreeMap<>();
+        histograms.forEach(
+                (handler, histogram) -> snapshots.put(handler, histogram.snapshot(minutes, now)));
+        return snapshots;
+    }
+
+    /** Prepara el slot del minuto siguiente de cada histograma antes de que empiece */
+    @Scheduled(fixedRate = 5_000)
+    public void rotate() {
+        long now = System.nanoTime();
+        histograms.values().forEach(histogram -> histogram.rotate(now));
+    }
+}
@@ -0,0 +1,59 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.history.latency;
+
+/**
+ * Percentiles de una ventana de {@link LatencyHistogram}, en milisegundos. Cada percentil es el
+ * mayor valor del bucket que lo contiene (sobreestima como mucho un 6,25%).
+ *
+ * @param max Mayor valor del bucket más alto con llamadas
+ */
+public record LatencySnapshot(
+        long count,
+        double mean,
+        double p50,
+        double p90,
+        double p95,
+        double p99,
+        double p999,
+        double max) {
+
+    static final LatencySnapshot EMPTY = new LatencySnapshot(0, 0, 0, 0, 0, 0, 0, 0);
+
+    static LatencySnapshot of(long[] counts, long sumMicros) {
+        long count = 0;
+        int highest = -1;
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            count += counts[bucket];
+            if (counts[bucket] > 0) {
+                highest = bucket;
+            }
+        }
+        if (count == 0) {
+            return EMPTY;
+        }
+        return new LatencySnapshot(
+                count,
+                millis(sumMicros) / count,
+                percentile(counts, count, 0.50),
+                percentile(counts, count, 0.90),
+                percentile(counts, count, 0.95),
+                percentile(counts, count, 0.99),
+                percentile(counts, count, 0.999),
+                millis(LatencyHistogram.highestValue(highest)));
+    }
+
+    private static double percentile(long[] counts, long count, double quantile) {
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return millis(LatencyHistogram.highestValue(bucket));
+            }
+        }
+        return millis(LatencyHistogram.highestValue(counts.length - 1));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1_000.0;
+    }
+}
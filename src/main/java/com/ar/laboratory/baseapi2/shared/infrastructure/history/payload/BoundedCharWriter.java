@@ -0,0 +1,108 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.history.payload;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * Writer sobre un buffer de caracteres reutilizable con un límite duro. Al alcanzar el límite
+ * guarda lo que entra y lanza {@link LimitReachedException} para cortar la serialización en curso,
+ * en lugar de generar el payload completo y recortarlo después.
+ *
+ * <p>No es thread-safe: cada hilo usa su propia instancia.
+ */
+final class BoundedCharWriter extends Writer {
+
+    /** Se lanza siempre la misma instancia, sin stacktrace: es control de flujo, no un error */
+    static final LimitReachedException LIMIT_REACHED = new LimitReachedException();
+
+    private char[] buffer;
+    private int size;
+    private int limit;
+    private boolean truncated;
+
+    BoundedCharWriter(int initialCapacity) {
+        this.buffer = new char[initialCapacity];
+    }
+
+    /** Prepara el writer para una nueva serialización */
+    void reset(int limit) {
+        this.size = 0;
+        this.limit = limit;
+        this.truncated = false;
+    }
+
+    @Override
+    public void write(char[] chars, int offset, int length) throws IOException {
+        int room = limit - size;
+        int accepted = Math.min(room, length);
+        ensureCapacity(size + accepted);
+        System.arraycopy(chars, offset, buffer, size, accepted);
+        size += accepted;
+        if (accepted < length) {
+            truncated = true;
+            throw LIMIT_REACHED;
+        }
+    }
+
+    @Override
+    public void write(String value, int offset, int length) throws IOException {
+        int room = limit - size;
+        int accepted = Math.min(room, length);
+        ensureCapacity(size + accepted);
+        value.getChars(offset, offset + accepted, buffer, size);
+        size += accepted;
+        if (accepted < length) {
+            truncated = true;
+            throw LIMIT_REACHED;
+        }
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        if (size >= limit) {
+            truncated = true;
+            throw LIMIT_REACHED;
+        }
+        ensureCapacity(size + 1);
+        buffer[size++] = (char) c;
+    }
+
+    @Override
+    public void flush() {
+        // Sin destino intermedio
+    }
+
+    @Override
+    public void close() {
+        // El buffer se reutiliza
+    }
+
+    boolean isTruncated() {
+        return truncated;
+    }
+
+    /** Contenido escrito, con el sufijo indicado si se alcanzó el límite */
+    String contents(String truncatedSuffix) {
+        String text = new String(buffer, 0, size);
+        return truncated ? text + truncatedSuffix : text;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.min(Math.max(buffer.length * 2, required), limit));
+        }
+    }
+
+    /** Señal de límite alcanzado */
+    static final class LimitReachedException extends IOException {
+        private LimitReachedException() {
+            super("Payload limit reached", null);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.history.payload;
+
+/**
+ * Conjunto de nombres de campo a enmascarar. La comparación ignora mayúsculas y no reserva memoria,
+ * porque se evalúa por cada nombre de campo escrito durante la serialización.
+ */
+public final class MaskPlan {
+
+    /** Plan sin campos a enmascarar */
+    public static final MaskPlan NONE = new MaskPlan(new String[0]);
+
+    private final String[] fields;
+
+    private MaskPlan(String[] fields) {
+        this.fields = fields;
+    }
+
+    /** Crea un plan a partir de los nombres configurados en la anotación */
+    public static MaskPlan of(String... fields) {
+        if (fields == null || fields.length == 0) {
+            return NONE;
+        }
+        return new MaskPlan(fields.clone());
+    }
+
+    public boolean matches(String fieldName) {
+        for (String field : fields) {
+            if (field.equalsIgnoreCase(fieldName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isEmpty() {
+        return fields.length == 0;
+    }
+}
@@ -0,0 +1,419 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.history.payload;
+
+import com.fasterxml.jackson.core.Base64Variant;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.util.JsonGeneratorDelegate;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Generator que enmascara en línea los valores de los campos sensibles.
+ *
+ * <p>Cuando se escribe un nombre de campo incluido en el {@link MaskPlan}, el valor siguiente se
+ * reemplaza por {@value #MASK}. Si ese valor es un objeto o un array, se escribe la máscara y se
+ * descarta todo su contenido. Así el payload se genera y enmascara en una sola pasada, sin regex ni
+ * copias intermedias.
+ *
+ * <p>Se construye sin delegar los métodos de copia ({@code writeObject}/{@code writeTree}), para
+ * que los valores anidados también pasen por este generator.
+ */
+final class MaskingJsonGenerator extends JsonGeneratorDelegate {
+
+    static final String MASK = "***MASKED***";
+
+    private final MaskPlan maskPlan;
+
+    /** El próximo valor pertenece a un campo sensible */
+    private boolean maskNext;
+
+    /** Profundidad dentro de un objeto/array enmascarado (0 = no se está descartando) */
+    private int skipDepth;
+
+    MaskingJsonGenerator(JsonGenerator delegate, MaskPlan maskPlan) {
+        super(delegate, false);
+        this.maskPlan = maskPlan;
+    }
+
+    // --- Estructuras ---
+
+    @Override
+    public void writeStartObject() throws IOException {
+        if (enterStructure()) {
+            super.writeStartObject();
+        }
+    }
+
+    @Override
+    public void writeStartObject(Object forValue) throws IOException {
+        if (enterStructure()) {
+            super.writeStartObject(forValue);
+        }
+    }
+
+    @Override
+    public void writeStartObject(Object forValue, int size) throws IOException {
+        if (enterStructure()) {
+            super.writeStartObject(forValue, size);
+        }
+    }
+
+    @Override
+    public void writeEndObject() throws IOException {
+        if (exitStructure()) {
+            super.writeEndObject();
+        }
+    }
+
+    @Override
+    public void writeStartArray() throws IOException {
+        if (enterStructure()) {
+            super.writeStartArray();
+        }
+    }
+
+    @Override
+    public void writeStartArray(int size) throws IOException {
+        if (enterStructure()) {
+            super.writeStartArray(size);
+        }
+    }
+
+    @Override
+    public void writeStartArray(Object forValue) throws IOException {
+        if (enterStructure()) {
+            super.writeStartArray(forValue);
+        }
+    }
+
+    @Override
+    public void writeStartArray(Object forValue, int size) throws IOException {
+        if (enterStructure()) {
+            super.writeStartArray(forValue, size);
+        }
+    }
+
+    @Override
+    public void writeEndArray() throws IOException {
+        if (exitStructure()) {
+            super.writeEndArray();
+        }
+    }
+
+    @Override
+    public void writeArray(int[] array, int offset, int length) throws IOException {
+        if (passValue()) {
+            super.writeArray(array, offset, length);
+        }
+    }
+
+    @Override
+    public void writeArray(long[] array, int offset, int length) throws IOException {
+        if (passValue()) {
+            super.writeArray(array, offset, length);
+        }
+    }
+
+    @Override
+    public void writeArray(double[] array, int offset, int length) throws IOException {
+        if (passValue()) {
+            super.writeArray(array, offset, length);
+        }
+    }
+
+    @Override
+    public void writeArray(String[] array, int offset, int length) throws IOException {
+        if (passValue()) {
+            super.writeArray(array, offset, length);
+        }
+    }
+
+    // --- Nombres de campo ---
+
+    @Override
+    public void writeFieldName(String name) throws IOException {
+        if (skipDepth == 0) {
+            maskNext = maskPlan.matches(name);
+            super.writeFieldName(name);
+        }
+    }
+
+    @Override
+    public void writeFieldName(SerializableString name) throws IOException {
+        if (skipDepth == 0) {
+            maskNext = maskPlan.matches(name.getValue());
+            super.writeFieldName(name);
+        }
+    }
+
+    @Override
+    public void writeFieldId(long id) throws IOException {
+        writeFieldName(Long.toString(id));
+    }
+
+    @Override
+    public void writeOmittedField(String fieldName) throws IOException {
+        if (skipDepth == 0) {
+            super.writeOmittedField(fieldName);
+        }
+    }
+
+    // --- Valores escalares ---
+
+    @Override
+    public void writeString(String text) throws IOException {
+        if (passValue()) {
+            super.writeString(text);
+        }
+    }
+
+    @Override
+    public void writeString(char[] text, int offset, int len) throws IOException {
+        if (passValue()) {
+            super.writeString(text, offset, len);
+        }
+    }
+
+    @Override
+    public void writeString(SerializableString text) throws IOException {
+        if (passValue()) {
+            super.writeString(text);
+        }
+    }
+
+    @Override
+    public void writeString(Reader reader, int len) throws IOException {
+        if (passValue()) {
+            super.writeString(reader, len);
+        }
+    }
+
+    @Override
+    public void writeRawUTF8String(byte[] text, int offset, int length) throws IOException {
+        if (passValue()) {
+            super.writeRawUTF8String(text, offset, length);
+        }
+    }
+
+    @Override
+    public void writeUTF8String(byte[] text, int offset, int length) throws IOException {
+        if (passValue()) {
+            super.writeUTF8String(text, offset, length);
+        }
+    }
+
+    @Override
+    public void writeRawValue(String text) throws IOException {
+        if (passValue()) {
+            super.writeRawValue(text);
+        }
+    }
+
+    @Override
+    public void writeRawValue(String text, int offset, int len) throws IOException {
+        if (passValue()) {
+            super.writeRawValue(text, offset, len);
+        }
+    }
+
+    @Override
+    public void writeRawValue(char[] text, int offset, int len) throws IOException {
+        if (passValue()) {
+            super.writeRawValue(text, offset, len);
+        }
+    }
+
+    @Override
+    public void writeRaw(String text) throws IOException {
+        if (skipDepth == 0) {
+            super.writeRaw(text);
+        }
+    }
+
+    @Override
+    public void writeRaw(String text, int offset, int len) throws IOException {
+        if (skipDepth == 0) {
+            super.writeRaw(text, offset, len);
+        }
+    }
+
+    @Override
+    public void writeRaw(char[] text, int offset, int len) throws IOException {
+        if (skipDepth == 0) {
+            super.writeRaw(text, offset, len);
+        }
+    }
+
+    @Override
+    public void writeRaw(char c) throws IOException {
+        if (skipDepth == 0) {
+            super.writeRaw(c);
+        }
+    }
+
+    @Override
+    public void writeRaw(SerializableString raw) throws IOException {
+        if (skipDepth == 0) {
+            super.writeRaw(raw);
+        }
+    }
+
+    @Override
+    public void writeBinary(Base64Variant variant, byte[] data, int offset, int len)
+            throws IOException {
+        if (passValue()) {
+            super.writeBinary(variant, data, offset, len);
+        }
+    }
+
+    @Override
+    public int writeBinary(Base64Variant variant, InputStream data, int dataLength)
+            throws IOException {
+        if (passValue()) {
+            return super.writeBinary(variant, data, dataLength);
+        }
+        return 0;
+    }
+
+    @Override
+    public void writeNumber(short v) throws IOException {
+        if (passValue()) {
+            super.writeNumber(v);
+        }
+    }
+
+    @Override
+    public void writeNumber(int v) throws IOException {
+        if (passValue()) {
+            super.writeNumber(v);
+        }
+    }
+
+    @Override
+    public void writeNumber(long v) throws IOException {
+        if (passValue()) {
+            super.writeNumber(v);
+        }
+    }
+
+    @Override
+    public void writeNumber(BigInteger v) throws IOException {
+        if (passValue()) {
+            super.writeNumber(v);
+        }
+    }
+
+    @Override
+    public void writeNumber(double v) throws IOException {
+        if (passValue()) {
+            super.writeNumber(v);
+        }
+    }
+
+    @Override
+    public void writeNumber(float v) throws IOException {
+        if (passValue()) {
+            super.writeNumber(v);
+        }
+    }
+
+    @Override
+    public void writeNumber(BigDecimal v) throws IOException {
+        if (passValue()) {
+            super.writeNumber(v);
+        }
+    }
+
+    @Override
+    public void writeNumber(String encodedValue) throws IOException {
+        if (passValue()) {
+            super.writeNumber(encodedValue);
+        }
+    }
+
+    @Override
+    public void writeNumber(char[] encodedValue, int offset, int len) throws IOException {
+        if (passValue()) {
+            super.writeNumber(encodedValue, offset, len);
+        }
+    }
+
+    @Override
+    public void writeBoolean(boolean state) throws IOException {
+        if (passValue()) {
+            super.writeBoolean(state);
+        }
+    }
+
+    @Override
+    public void writeNull() throws IOException {
+        if (passValue()) {
+            super.writeNull();
+        }
+    }
+
+    @Override
+    public void writeEmbeddedObject(Object object) throws IOException {
+        if (passValue()) {
+            super.writeEmbeddedObject(object);
+        }
+    }
+
+    @Override
+    public void writeObjectId(Object id) throws IOException {
+        if (passValue()) {
+            super.writeObjectId(id);
+        }
+    }
+
+    @Override
+    public void writeObjectRef(Object id) throws IOException {
+        if (passValue()) {
+            super.writeObjectRef(id);
+        }
+    }
+
+    // --- Estado ---
+
+    /**
+     * Decide si un valor escalar se escribe tal cual. Si pertenece a un campo sensible escribe la
+     * máscara en su lugar.
+     */
+    private boolean passValue() throws IOException {
+        if (skipDepth > 0) {
+            return false;
+        }
+        if (maskNext) {
+            maskNext = false;
+            delegate.writeString(MASK);
+            return false;
+        }
+        return true;
+    }
+
+    /** Decide si se abre la estructura o se empieza/continúa a descartarla */
+    private boolean enterStructure() throws IOException {
+        if (skipDepth > 0) {
+            skipDepth++;
+            return false;
+        }
+        if (maskNext) {
+            maskNext = false;
+            delegate.writeString(MASK);
+            skipDepth = 1;
+            return false;
+        }
+        return true;
+    }
+
+    private boolean exitStructure() {
+        if (skipDepth > 0) {
+            skipDepth--;
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,67 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.history.payload;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Serializa payloads de request/response para el historial de llamadas en una sola pasada.
+ *
+ * <p>Jackson escribe a través de un {@link MaskingJsonGenerator}, que enmascara los campos
+ * sensibles mientras genera, sobre un {@link BoundedCharWriter} reutilizable por hilo, que corta la
+ * serialización al llegar a {@code maxSize}. No se construye el JSON completo, no se aplican regex
+ * y la única copia del payload es el String final.
+ */
+@Slf4j
+@Component
+public class PayloadSerializer {
+
+    static final String TRUNCATED_SUFFIX = "... [TRUNCATED]";
+
+    /** Capacidad inicial del buffer por hilo; crece hasta maxSize según haga falta */
+    private static final int INITIAL_BUFFER_CAPACITY = 1024;
+
+    private static final ThreadLocal<BoundedCharWriter> BUFFERS =
+            ThreadLocal.withInitial(() -> new BoundedCharWriter(INITIAL_BUFFER_CAPACITY));
+
+    private final ObjectMapper objectMapper;
+
+    public PayloadSerializer(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Serializa un payload a JSON con masking y truncado
+     *
+     * @param payload Objeto a serializar
+     * @param maskPlan Campos a enmascarar
+     * @param maxSize Tamaño máximo en caracteres
+     * @return JSON serializado, con {@value #TRUNCATED_SUFFIX} si se recortó
+     */
+    public String serialize(Object payload, MaskPlan maskPlan, int maxSize) {
+        BoundedCharWriter writer = BUFFERS.get();
+        writer.reset(maxSize);
+        try (JsonGenerator generator = createGenerator(writer, maskPlan)) {
+            objectMapper.writeValue(generator, payload);
+        } catch (BoundedCharWriter.LimitReachedException e) {
+            // Corte esperado al llegar a maxSize
+        } catch (Exception e) {
+            if (!writer.isTruncated()) {
+                log.warn("Error serializing payload: {}", e.getMessage());
+                return "[Error serializing: " + e.getMessage() + "]";
+            }
+        }
+        return writer.contents(TRUNCATED_SUFFIX);
+    }
+
+    private JsonGenerator createGenerator(BoundedCharWriter writer, MaskPlan maskPlan)
+            throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+        // El generator no debe cerrar el writer (se reutiliza) ni completar estructuras al cortar
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+        return maskPlan.isEmpty() ? generator : new MaskingJsonGenerator(generator, maskPlan);
+    }
+}
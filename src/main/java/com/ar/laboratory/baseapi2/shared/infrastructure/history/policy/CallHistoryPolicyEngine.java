@@ -0,0 +1,198 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.history.policy;
+
+import com.ar.laboratory.baseapi2.shared.infrastructure.config.CallHistoryProperties;
+import com.ar.laboratory.baseapi2.shared.infrastructure.exception.BadRequestException;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Motor de políticas de captura de @CallHistory.
+ *
+ * <p>Mantiene una política por defecto y overrides por endpoint. La clave de un endpoint es {@code
+ * paquete.Clase#metodo(TipoParametro,...)}: el nombre completo de la clase y los tipos de los
+ * parámetros distinguen clases homónimas de distintos paquetes y sobrecargas de un mismo método.
+ * Ambas se cargan de {@code app.call-history.capture} y pueden cambiarse en caliente desde el
+ * endpoint de administración.
+ *
+ * <p>La configuración vigente es un snapshot inmutable. Cada endpoint tiene un {@link
+ * PolicyBinding} con su política ya resuelta; al publicar un snapshot nuevo se recalculan todos,
+ * por lo que leer la política de un endpoint no reserva memoria en régimen.
+ */
+@Slf4j
+@Component
+public class CallHistoryPolicyEngine {
+
+    private static final Pattern ENDPOINT_KEY = Pattern.compile("[\\w.$]+#[\\w$]+\\([^()#]*\\)");
+
+    private final ConcurrentHashMap<String, PolicyBinding> bindings = new ConcurrentHashMap<>();
+    private volatile Snapshot snapshot;
+
+    public CallHistoryPolicyEngine(CallHistoryProperties callHistoryProperties) {
+        CallHistoryProperties.Capture capture = callHistoryProperties.getCapture();
+        CapturePolicy defaults = merge(capture.getDefaults(), builtInDefaults());
+        validate(defaults);
+        capture.getEndpoints().values().forEach(this::validate);
+        this.snapshot = new Snapshot(defaults, Map.copyOf(capture.getEndpoints()));
+    }
+
+    /** Política vigente para el método interceptado */
+    public EffectivePolicy resolve(Method method) {
+        return bind(endpointKey(method)).get();
+    }
+
+    /**
+     * Referencia a la política de un endpoint que se mantiene actualizada ante cada cambio de
+     * configuración
+     *
+     * @param endpointKey Clave {@code paquete.Clase#metodo(TipoParametro,...)}
+     */
+    public PolicyBinding bind(String endpointKey) {
+        PolicyBinding binding = bindings.get(endpointKey);
+        return binding != null ? binding : createBinding(endpointKey);
+    }
+
+    private synchronized PolicyBinding createBinding(String endpointKey) {
+        // Sincronizado con publish(): un binding nuevo nunca queda con un snapshot viejo
+        return bindings.computeIfAbsent(
+                endpointKey,
+                key -> new PolicyBinding(key, new EffectivePolicy(snapshot.policyFor(key))));
+    }
+
+    /** Política por defecto vigente */
+    public CapturePolicy defaults() {
+        return copy(snapshot.defaults());
+    }
+
+    /** Overrides por endpoint vigentes */
+    public Map<String, CapturePolicy> endpoints() {
+        Map<String, CapturePolicy> endpoints = new LinkedHashMap<>();
+        snapshot.endpoints().forEach((key, value) -> endpoints.put(key, copy(value)));
+        return Collections.unmodifiableMap(endpoints);
+    }
+
+    /** Actualiza la política por defecto; los campos null conservan su valor actual */
+    public synchronized CapturePolicy updateDefaults(CapturePolicy update) {
+        Snapshot current = snapshot;
+        CapturePolicy defaults = merge(update, current.defaults());
+        validate(defaults);
+        publish(new Snapshot(defaults, current.endpoints()));
+        log.info("Call history default capture policy updated: {}", defaults);
+        return copy(defaults);
+    }
+
+    /** Crea o reemplaza el override de un endpoint */
+    public synchronized CapturePolicy putEndpoint(String endpoint, CapturePolicy policy) {
+        if (endpoint == null || !ENDPOINT_KEY.matcher(endpoint).matches()) {
+            throw new BadRequestException(
+                    "El endpoint debe tener la forma paquete.Clase#metodo(TipoParametro,...): "
+                            + endpoint);
+        }
+        validate(policy);
+        Snapshot current = snapshot;
+        Map<String, CapturePolicy> endpoints = new LinkedHashMap<>(current.endpoints());
+        endpoints.put(endpoint, copy(policy));
+        publish(new Snapshot(current.defaults(), Map.copyOf(endpoints)));
+        log.info("Call history capture policy for {} updated: {}", endpoint, policy);
+        return copy(policy);
+    }
+
+    /**
+     * Elimina el override de un endpoint
+     *
+     * @return false si no existía
+     */
+    public synchronized boolean removeEndpoint(String endpoint) {
+        Snapshot current = snapshot;
+        if (!current.endpoints().containsKey(endpoint)) {
+            return false;
+        }
+        Map<String, CapturePolicy> endpoints = new LinkedHashMap<>(current.endpoints());
+        endpoints.remove(endpoint);
+        publish(new Snapshot(current.defaults(), Map.copyOf(endpoints)));
+        log.info("Call history capture policy for {} removed", endpoint);
+        return true;
+    }
+
+    /**
+     * Clave de endpoint de un método: {@code paquete.Clase#metodo(TipoParametro,...)}, con el
+     * nombre completo de la clase y los nombres simples de los tipos de los parámetros
+     */
+    public static String endpointKey(Method method) {
+        StringJoiner parameters = new StringJoiner(",", "(", ")");
+        for (Class<?> type : method.getParameterTypes()) {
+            parameters.add(type.getSimpleName());
+        }
+        return method.getDeclaringClass().getName() + "#" + method.getName() + parameters;
+    }
+
+    private void publish(Snapshot next) {
+        snapshot = next;
+        bindings.values()
+                .forEach(
+                        binding ->
+                                binding.update(
+                                        new EffectivePolicy(
+                                                next.policyFor(binding.endpointKey()))));
+    }
+
+    private void validate(CapturePolicy policy) {
+        Double rate = policy.getSampleRate();
+        if (rate != null && (rate.isNaN() || rate < 0 || rate > 1)) {
+            throw new BadRequestException("sampleRate debe estar entre 0.0 y 1.0: " + rate);
+        }
+        if (policy.getSlowThreshold() != null && policy.getSlowThreshold().isNegative()) {
+            throw new BadRequestException("slowThreshold no puede ser negativo");
+        }
+    }
+
+    /** Completa los campos null de {@code policy} con los de {@code base} */
+    private static CapturePolicy merge(CapturePolicy policy, CapturePolicy base) {
+        if (policy == null) {
+            return copy(base);
+        }
+        return CapturePolicy.builder()
+                .sampleRate(
+                        policy.getSampleRate() != null
+                                ? policy.getSampleRate()
+                                : base.getSampleRate())
+                .alwaysCaptureErrors(
+                        policy.getAlwaysCaptureErrors() != null
+                                ? policy.getAlwaysCaptureErrors()
+                                : base.getAlwaysCaptureErrors())
+                .slowThreshold(
+                        policy.getSlowThreshold() != null
+                                ? policy.getSlowThreshold()
+                                : base.getSlowThreshold())
+                .level(policy.getLevel() != null ? policy.getLevel() : base.getLevel())
+                .build();
+    }
+
+    private static CapturePolicy copy(CapturePolicy policy) {
+        return policy.toBuilder().build();
+    }
+
+    /** Comportamiento histórico: capturar todo */
+    private static CapturePolicy builtInDefaults() {
+        return CapturePolicy.builder()
+                .sampleRate(1.0)
+                .alwaysCaptureErrors(true)
+                .level(CaptureLevel.BODIES)
+                .build();
+    }
+
+    /** Configuración inmutable publicada */
+    private record Snapshot(CapturePolicy defaults, Map<String, CapturePolicy> endpoints) {
+
+        CapturePolicy policyFor(String endpoint) {
+            CapturePolicy override = endpoints.get(endpoint);
+            return override == null ? defaults : merge(override, defaults);
+        }
+    }
+}
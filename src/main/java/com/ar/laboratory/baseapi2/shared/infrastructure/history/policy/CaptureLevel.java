@@ -0,0 +1,14 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.history.policy;
+
+/** Nivel de detalle con el que se captura una llamada anotada con @CallHistory */
+public enum CaptureLevel {
+
+    /** No se captura nada: el aspect solo delega al método */
+    OFF,
+
+    /** Solo metadatos: handler, HTTP, tiempos, status y error (sin bodies ni query params) */
+    METADATA,
+
+    /** Metadatos más query params y los bodies habilitados en la anotación */
+    BODIES
+}
@@ -0,0 +1,35 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.history.policy;
+
+import java.time.Duration;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Definición de una política de captura, tal como se configura en {@code app.call-history.capture}
+ * o se envía al endpoint de administración.
+ *
+ * <p>En las políticas por endpoint, un campo null hereda el valor de la política por defecto.
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class CapturePolicy {
+
+    /** Fracción de llamadas capturadas por muestreo (0.0 a 1.0) */
+    private Double sampleRate;
+
+    /** Si las llamadas que fallan se capturan siempre, aunque no hayan salido en el muestreo */
+    private Boolean alwaysCaptureErrors;
+
+    /**
+     * Las llamadas que duran al menos este umbral se capturan siempre (tail sampling). Null o cero
+     * lo deshabilita
+     */
+    private Duration slowThreshold;
+
+    /** Nivel de detalle de la captura */
+    private CaptureLevel level;
+}
@@ -0,0 +1,53 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.history.policy;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Política ya resuelta para un método: valores primitivos e inmutables, para que las decisiones del
+ * aspect no reserven memoria.
+ */
+public final class EffectivePolicy {
+
+    private final CaptureLevel level;
+    private final double sampleRate;
+    private final boolean alwaysCaptureErrors;
+    private final long slowThresholdNanos;
+
+    EffectivePolicy(CapturePolicy policy) {
+        this.level = policy.getLevel();
+        this.sampleRate = policy.getSampleRate();
+        this.alwaysCaptureErrors = policy.getAlwaysCaptureErrors();
+        this.slowThresholdNanos =
+                policy.getSlowThreshold() == null || policy.getSlowThreshold().isZero()
+                        ? Long.MAX_VALUE
+                        : policy.getSlowThreshold().toNanos();
+    }
+
+    /** True si ninguna llamada puede llegar a capturarse: el aspect solo delega */
+    public boolean isInert() {
+        return level == CaptureLevel.OFF
+                || (sampleRate <= 0
+                        && !alwaysCaptureErrors
+                        && slowThresholdNanos == Long.MAX_VALUE);
+    }
+
+    /** Decisión de muestreo previa a la ejecución */
+    public boolean sample() {
+        return sampleRate >= 1
+                || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    /** True si hay reglas que se evalúan después de la ejecución (errores o lentitud) */
+    public boolean hasTailRules() {
+        return alwaysCaptureErrors || slowThresholdNanos != Long.MAX_VALUE;
+    }
+
+    /** Decisión de tail sampling para una llamada que no salió en el muestreo */
+    public boolean captureAfter(boolean failed, long durationNanos) {
+        return (failed && alwaysCaptureErrors) || durationNanos >= slowThresholdNanos;
+    }
+
+    public boolean captureBodies() {
+        return level == CaptureLevel.BODIES;
+    }
+}
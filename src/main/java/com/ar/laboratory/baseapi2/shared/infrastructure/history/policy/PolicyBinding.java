@@ -0,0 +1,30 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.history.policy;
+
+/**
+ * Referencia a la política vigente de un endpoint. El {@link CallHistoryPolicyEngine} la actualiza
+ * cada vez que cambia la configuración, así quien la conserva lee la política con una sola lectura
+ * volátil, sin buscarla por llamada.
+ */
+public final class PolicyBinding {
+
+    private final String endpointKey;
+    private volatile EffectivePolicy current;
+
+    PolicyBinding(String endpointKey, EffectivePolicy current) {
+        this.endpointKey = endpointKey;
+        this.current = current;
+    }
+
+    /** Política vigente */
+    public EffectivePolicy get() {
+        return current;
+    }
+
+    public String endpointKey() {
+        return endpointKey;
+    }
+
+    void update(EffectivePolicy policy) {
+        this.current = policy;
+    }
+}
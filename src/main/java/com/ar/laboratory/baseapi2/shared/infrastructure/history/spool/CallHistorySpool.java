@@ -0,0 +1,264 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.history.spool;
+
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryRecord;
+import com.ar.laboratory.baseapi2.shared.infrastructure.config.CallHistoryProperties;
+import com.ar.laboratory.baseapi2.shared.infrastructure.exception.InfrastructureException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Spool local, append-only y mapeado en memoria para el historial de llamadas.
+ *
+ * <p>El writer vuelca acá los lotes que no pudo persistir y los reenvía a la base cuando se
+ * recupera. Los registros viven en archivos {@code segment-<secuencia>.spool} de tamaño fijo (ver
+ * {@link SpoolSegment}); al llenarse uno se rota al siguiente y los segmentos ya reenviados se
+ * borran. El offset de lectura confirmado se guarda en la cabecera de cada segmento, de modo que
+ * tras un reinicio se retoma desde el último lote reenviado con éxito.
+ *
+ * <p>El disco usado está acotado por {@code max-segments}: si se supera, se descarta el segmento
+ * más antiguo y se contabilizan sus registros como perdidos.
+ *
+ * <p>No es thread-safe: está pensado para usarse solo desde el hilo writer.
+ */
+@Slf4j
+public class CallHistorySpool implements AutoCloseable {
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".spool";
+    private static final Pattern SEGMENT_NAME = Pattern.compile("segment-\\d+\\.spool");
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final ArrayDeque<SpoolSegment> segments = new ArrayDeque<>();
+    private final CallHistorySpoolCodec codec = new CallHistorySpoolCodec();
+
+    private byte[] readBuffer = new byte[4096];
+    private long pendingRecords;
+    private long discardedRecords;
+
+    /** Posición del último {@link #peek} pendiente de confirmar */
+    private int peekedPosition = -1;
+
+    private int peekedRecords;
+
+    public CallHistorySpool(CallHistoryProperties.Spool properties) {
+        this.directory = Path.of(properties.getDirectory());
+        this.segmentSize = (int) properties.getSegmentSize().toBytes();
+        this.maxSegments = Math.max(2, properties.getMaxSegments());
+        if (segmentSize <= SpoolSegment.HEADER_SIZE + SpoolSegment.FRAME_OVERHEAD) {
+            throw new IllegalArgumentException("segment-size demasiado chico: " + segmentSize);
+        }
+        recover();
+    }
+
+    /**
+     * Agrega los registros al spool. Un registro más grande que un segmento se descarta.
+     *
+     * @return cantidad de registros escritos
+     */
+    public int append(List<CallHistoryRecord> records) {
+        int written = 0;
+        for (CallHistoryRecord record : records) {
+            int length = codec.encode(record);
+            if (length > segmentSize - SpoolSegment.HEADER_SIZE - SpoolSegment.FRAME_OVERHEAD) {
+                log.warn("Call history record too large for spool ({} bytes), dropped", length);
+                discardedRecords++;
+                continue;
+            }
+            SpoolSegment segment = segments.peekLast();
+            if (segment == null || !segment.append(codec.buffer(), length)) {
+                segment = rotate();
+                segment.append(codec.buffer(), length);
+            }
+            pendingRecords++;
+            written++;
+        }
+        return written;
+    }
+
+    /**
+     * Lee hasta {@code maxRecords} registros desde el offset confirmado sin avanzarlo. Los
+     * registros corruptos se saltean. Confirmar con {@link #commit()} una vez persistidos.
+     *
+     * @return cantidad de registros agregados a {@code target}
+     */
+    public int peek(List<CallHistoryRecord> target, int maxRecords) {
+        SpoolSegment segment = firstSegmentWithData();
+        if (segment == null) {
+            return 0;
+        }
+        int position = segment.readPosition();
+        int read = 0;
+        int consumed = 0;
+        while (read < maxRecords) {
+            int length = segment.frameLength(position);
+            if (length <= 0) {
+                break;
+            }
+            if (readBuffer.length < length) {
+                readBuffer = Arrays.copyOf(readBuffer, Math.max(readBuffer.length * 2, length));
+            }
+            if (segment.read(position, readBuffer) < 0) {
+                break;
+            }
+            position += SpoolSegment.FRAME_OVERHEAD + length;
+            consumed++;
+            try {
+                target.add(CallHistorySpoolCodec.decode(ByteBuffer.wrap(readBuffer, 0, length)));
+                read++;
+            } catch (RuntimeException e) {
+                log.warn("Corrupted call history spool record skipped: {}", e.getMessage());
+                discardedRecords++;
+            }
+        }
+        peekedPosition = position;
+        peekedRecords = consumed;
+        return read;
+    }
+
+    /** Confirma el último {@link #peek}: avanza el offset de lectura y borra segmentos vacíos */
+    public void commit() {
+        if (peekedPosition < 0) {
+            return;
+        }
+        SpoolSegment segment = firstSegmentWithData();
+        if (segment != null) {
+            segment.commitRead(peekedPosition, peekedRecords);
+            pendingRecords -= peekedRecords;
+        }
+        peekedPosition = -1;
+        peekedRecords = 0;
+        releaseConsumedSegments();
+    }
+
+    /** Fuerza a disco los segmentos abiertos */
+    public void force() {
+        segments.forEach(SpoolSegment::force);
+    }
+
+    public boolean hasPending() {
+        return pendingRecords > 0;
+    }
+
+    /** Registros pendientes de reenviar */
+    public long pendingRecords() {
+        return pendingRecords;
+    }
+
+    /** Registros perdidos por corrupción, tamaño excesivo o por superar max-segments */
+    public long discardedRecords() {
+        return discardedRecords;
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public void close() {
+        force();
+    }
+
+    /** Reabre los segmentos existentes en orden de secuencia */
+    private void recover() {
+        try {
+            Files.createDirectories(directory);
+            List<Path> files;
+            try (Stream<Path> stream = Files.list(directory)) {
+                files =
+                        stream.filter(CallHistorySpool::isSegmentFile)
+                                .sorted((a, b) -> Long.compare(sequenceOf(a), sequenceOf(b)))
+                                .toList();
+            }
+            for (Path file : files) {
+                try {
+                    SpoolSegment segment = SpoolSegment.open(sequenceOf(file), file);
+                    segments.addLast(segment);
+                    pendingRecords += segment.pendingRecords();
+                } catch (IOException e) {
+                    log.error("Discarding unreadable call history spool segment {}", file, e);
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            throw new InfrastructureException(
+                    "No se pudo inicializar el spool de historial en " + directory, e);
+        }
+        releaseConsumedSegments();
+        if (pendingRecords > 0) {
+            log.info(
+                    "Call history spool recovered: {} pending records in {} segments",
+                    pendingRecords,
+                    segments.size());
+        }
+    }
+
+    /** Abre un segmento nuevo, descartando el más antiguo si se supera max-segments */
+    private SpoolSegment rotate() {
+        SpoolSegment last = segments.peekLast();
+        if (last != null) {
+            last.force();
+        }
+        while (segments.size() >= maxSegments) {
+            SpoolSegment oldest = segments.pollFirst();
+            log.error(
+                    "Call history spool full, discarding segment {} with {} pending records",
+                    oldest.file(),
+                    oldest.pendingRecords());
+            pendingRecords -= oldest.pendingRecords();
+            discardedRecords += oldest.pendingRecords();
+            peekedPosition = -1;
+            deleteQuietly(oldest);
+        }
+        long sequence = last == null ? 1 : last.sequence() + 1;
+        Path file =
+                directory.resolve(SEGMENT_PREFIX + "%020d".formatted(sequence) + SEGMENT_SUFFIX);
+        try {
+            SpoolSegment segment = SpoolSegment.create(sequence, file, segmentSize);
+            segments.addLast(segment);
+            return segment;
+        } catch (IOException e) {
+            throw new InfrastructureException("No se pudo crear el segmento de spool " + file, e);
+        }
+    }
+
+    private SpoolSegment firstSegmentWithData() {
+        releaseConsumedSegments();
+        SpoolSegment first = segments.peekFirst();
+        return first != null && first.pendingRecords() > 0 ? first : null;
+    }
+
+    /** Borra los segmentos ya reenviados, salvo el último (sigue recibiendo escrituras) */
+    private void releaseConsumedSegments() {
+        while (segments.size() > 1 && segments.peekFirst().pendingRecords() == 0) {
+            deleteQuietly(segments.pollFirst());
+        }
+    }
+
+    private static void deleteQuietly(SpoolSegment segment) {
+        try {
+            segment.delete();
+        } catch (IOException e) {
+            log.warn("Could not delete call history spool segment {}", segment.file(), e);
+        }
+    }
+
+    private static boolean isSegmentFile(Path file) {
+        return SEGMENT_NAME.matcher(file.getFileName().toString()).matches();
+    }
+
+    private static long sequenceOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(
+                name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
@@ -0,0 +1,228 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.history.spool;
+
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryRecord;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Codificación binaria compacta de {@link CallHistoryRecord} para el spool.
+ *
+ * <p>Formato (versión 2): un byte de versión, un int con un bit de presencia por campo y luego solo
+ * los campos no nulos en orden de declaración. Los strings se escriben como largo varint + bytes
+ * UTF-8 y {@code createdAt} como segundos epoch (UTC) + nanos.
+ *
+ * <p>La versión 2 agrega {@code errorFingerprint} al final. Los registros de versión 1 que hayan
+ * quedado en disco se siguen leyendo: su bitmap nunca tiene ese bit.
+ *
+ * <p>No es thread-safe: reutiliza un buffer interno para no reservar memoria por registro. Cada
+ * spool tiene su propia instancia y solo la usa el hilo writer.
+ */
+public final class CallHistorySpoolCodec {
+
+    static final byte VERSION_1 = 1;
+    static final byte VERSION_2 = 2;
+
+    private static final int ID = 0;
+    private static final int CREATED_AT = 1;
+    private static final int CORRELATION_ID = 2;
+    private static final int TRACE_ID = 3;
+    private static final int HTTP_METHOD = 4;
+    private static final int PATH = 5;
+    private static final int HANDLER = 6;
+    private static final int HTTP_STATUS = 7;
+    private static final int SUCCESS = 8;
+    private static final int DURATION_MS = 9;
+    private static final int CLIENT_IP = 10;
+    private static final int USER_AGENT = 11;
+    private static final int USER_ID = 12;
+    private static final int QUERY_PARAMS = 13;
+    private static final int REQUEST_BODY = 14;
+    private static final int RESPONSE_BODY = 15;
+    private static final int ERROR_TYPE = 16;
+    private static final int ERROR_MESSAGE = 17;
+    private static final int ERROR_STACKTRACE = 18;
+    private static final int ERROR_FINGERPRINT = 19;
+
+    private byte[] buffer = new byte[4096];
+    private int position;
+
+    /**
+     * Codifica el registro en el buffer interno.
+     *
+     * @return cantidad de bytes válidos en {@link #buffer()}
+     */
+    public int encode(CallHistoryRecord record) {
+        position = 0;
+        ensureCapacity(5);
+        buffer[position++] = VERSION_2;
+        int presenceOffset = position;
+        position += 4;
+
+        int presence = 0;
+        if (record.getId() != null) {
+            presence |= 1 << ID;
+            writeLong(record.getId());
+        }
+        if (record.getCreatedAt() != null) {
+            presence |= 1 << CREATED_AT;
+            writeLong(record.getCreatedAt().toEpochSecond(ZoneOffset.UTC));
+            writeInt(record.getCreatedAt().getNano());
+        }
+        presence |= writeString(CORRELATION_ID, record.getCorrelationId());
+        presence |= writeString(TRACE_ID, record.getTraceId());
+        presence |= writeString(HTTP_METHOD, record.getHttpMethod());
+        presence |= writeString(PATH, record.getPath());
+        presence |= writeString(HANDLER, record.getHandler());
+        if (record.getHttpStatus() != null) {
+            presence |= 1 << HTTP_STATUS;
+            writeInt(record.getHttpStatus());
+        }
+        if (record.getSuccess() != null) {
+            presence |= 1 << SUCCESS;
+            ensureCapacity(1);
+            buffer[position++] = (byte) (record.getSuccess() ? 1 : 0);
+        }
+        if (record.getDurationMs() != null) {
+            presence |= 1 << DURATION_MS;
+            writeLong(record.getDurationMs());
+        }
+        presence |= writeString(CLIENT_IP, record.getClientIp());
+        presence |= writeString(USER_AGENT, record.getUserAgent());
+        presence |= writeString(USER_ID, record.getUserId());
+        presence |= writeString(QUERY_PARAMS, record.getQueryParams());
+        presence |= writeString(REQUEST_BODY, record.getRequestBody());
+        presence |= writeString(RESPONSE_BODY, record.getResponseBody());
+        presence |= writeString(ERROR_TYPE, record.getErrorType());
+        presence |= writeString(ERROR_MESSAGE, record.getErrorMessage());
+        presence |= writeString(ERROR_STACKTRACE, record.getErrorStacktrace());
+        presence |= writeString(ERROR_FINGERPRINT, record.getErrorFingerprint());
+
+        ByteBuffer.wrap(buffer, presenceOffset, 4).putInt(presence);
+        return position;
+    }
+
+    /** Buffer interno con el último registro codificado (válido hasta el próximo encode) */
+    public byte[] buffer() {
+        return buffer;
+    }
+
+    /**
+     * Decodifica un registro desde la posición actual del buffer hasta su límite.
+     *
+     * @throws IllegalArgumentException si la versión no es soportada
+     */
+    public static CallHistoryRecord decode(ByteBuffer source) {
+        byte version = source.get();
+        if (version != VERSION_1 && version != VERSION_2) {
+            throw new IllegalArgumentException("Versión de spool no soportada: " + version);
+        }
+        int presence = source.getInt();
+        CallHistoryRecord.CallHistoryRecordBuilder builder = CallHistoryRecord.builder();
+        if (has(presence, ID)) {
+            builder.id(source.getLong());
+        }
+        if (has(presence, CREATED_AT)) {
+            long seconds = source.getLong();
+            int nanos = source.getInt();
+            builder.createdAt(LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC));
+        }
+        builder.correlationId(readString(source, presence, CORRELATION_ID))
+                .traceId(readString(source, presence, TRACE_ID))
+                .httpMethod(readString(source, presence, HTTP_METHOD))
+                .path(readString(source, presence, PATH))
+                .handler(readString(source, presence, HANDLER));
+        if (has(presence, HTTP_STATUS)) {
+            builder.httpStatus(source.getInt());
+        }
+        if (has(presence, SUCCESS)) {
+            builder.success(source.get() != 0);
+        }
+        if (has(presence, DURATION_MS)) {
+            builder.durationMs(source.getLong());
+        }
+        return builder.clientIp(readString(source, presence, CLIENT_IP))
+                .userAgent(readString(source, presence, USER_AGENT))
+                .userId(readString(source, presence, USER_ID))
+                .queryParams(readString(source, presence, QUERY_PARAMS))
+                .requestBody(readString(source, presence, REQUEST_BODY))
+                .responseBody(readString(source, presence, RESPONSE_BODY))
+                .errorType(readString(source, presence, ERROR_TYPE))
+                .errorMessage(readString(source, presence, ERROR_MESSAGE))
+                .errorStacktrace(readString(source, presence, ERROR_STACKTRACE))
+                .errorFingerprint(readString(source, presence, ERROR_FINGERPRINT))
+                .build();
+    }
+
+    private int writeString(int field, String value) {
+        if (value == null) {
+            return 0;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length);
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+        return 1 << field;
+    }
+
+    private void writeVarInt(int value) {
+        ensureCapacity(5);
+        while ((value & ~0x7F) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    private void writeInt(int value) {
+        ensureCapacity(4);
+        ByteBuffer.wrap(buffer, position, 4).putInt(value);
+        position += 4;
+    }
+
+    private void writeLong(long value) {
+        ensureCapacity(8);
+        ByteBuffer.wrap(buffer, position, 8).putLong(value);
+        position += 8;
+    }
+
+    private void ensureCapacity(int additional) {
+        if (position + additional > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + additional));
+        }
+    }
+
+    private static boolean has(int presence, int field) {
+        return (presence & (1 << field)) != 0;
+    }
+
+    private static String readString(ByteBuffer source, int presence, int field) {
+        if (!has(presence, field)) {
+            return null;
+        }
+        int length = readVarInt(source);
+        String value =
+                new String(
+                        source.array(),
+                        source.arrayOffset() + source.position(),
+                        length,
+                        StandardCharsets.UTF_8);
+        source.position(source.position() + length);
+        return value;
+    }
+
+    private static int readVarInt(ByteBuffer source) {
+        int value = 0;
+        int shift = 0;
+        byte current;
+        do {
+            current = source.get();
+            value |= (current & 0x7F) << shift;
+            shift += 7;
+        } while ((current & 0x80) != 0);
+        return value;
+    }
+}
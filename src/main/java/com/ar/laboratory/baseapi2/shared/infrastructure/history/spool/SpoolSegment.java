@@ -0,0 +1,193 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.history.spool;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Segmento del spool: un archivo de tamaño fijo mapeado en memoria.
+ *
+ * <p>Layout: cabecera de {@value #HEADER_SIZE} bytes ({@code magic}, versión y offset de lectura
+ * confirmado) seguida de frames {@code [largo int][crc32 int][payload]}. Un largo 0 marca el fin de
+ * los datos; como el archivo se crea con ceros y el largo se escribe después del payload, una
+ * escritura interrumpida nunca queda visible como frame válido.
+ *
+ * <p>Al reabrir un segmento existente se recorren los frames desde el offset de lectura validando
+ * el CRC; el primer frame inválido se considera el final (escritura truncada por un crash).
+ */
+final class SpoolSegment {
+
+    static final int HEADER_SIZE = 16;
+    static final int FRAME_OVERHEAD = 8;
+
+    private static final int MAGIC = 0x43485350; // "CHSP"
+    private static final int FORMAT_VERSION = 1;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int READ_OFFSET = 8;
+
+    private final long sequence;
+    private final Path file;
+    private final MappedByteBuffer buffer;
+    private final CRC32 crc = new CRC32();
+
+    private int writePosition;
+    private int readPosition;
+    private int pendingRecords;
+
+    private SpoolSegment(long sequence, Path file, MappedByteBuffer buffer) {
+        this.sequence = sequence;
+        this.file = file;
+        this.buffer = buffer;
+    }
+
+    /** Crea un segmento nuevo de {@code size} bytes */
+    static SpoolSegment create(long sequence, Path file, int size) throws IOException {
+        SpoolSegment segment = new SpoolSegment(sequence, file, map(file, size));
+        segment.buffer.putInt(MAGIC_OFFSET, MAGIC);
+        segment.buffer.putInt(VERSION_OFFSET, FORMAT_VERSION);
+        segment.buffer.putInt(READ_OFFSET, HEADER_SIZE);
+        segment.writePosition = HEADER_SIZE;
+        segment.readPosition = HEADER_SIZE;
+        return segment;
+    }
+
+    /**
+     * Reabre un segmento existente y recupera la posición de escritura validando los frames.
+     *
+     * @throws IOException si el archivo no es un segmento de spool
+     */
+    static SpoolSegment open(long sequence, Path file) throws IOException {
+        int size = (int) Files.size(file);
+        SpoolSegment segment = new SpoolSegment(sequence, file, map(file, size));
+        ByteBuffer buffer = segment.buffer;
+        if (size < HEADER_SIZE
+                || buffer.getInt(MAGIC_OFFSET) != MAGIC
+                || buffer.getInt(VERSION_OFFSET) != FORMAT_VERSION) {
+            throw new IOException("Segmento de spool inválido: " + file);
+        }
+        int readPosition = buffer.getInt(READ_OFFSET);
+        if (readPosition < HEADER_SIZE || readPosition > size) {
+            readPosition = HEADER_SIZE;
+        }
+        segment.readPosition = readPosition;
+        segment.writePosition = readPosition;
+
+        while (true) {
+            int length = segment.frameLength(segment.writePosition);
+            if (length <= 0 || !segment.crcMatches(segment.writePosition, length)) {
+                break;
+            }
+            segment.writePosition += FRAME_OVERHEAD + length;
+            segment.pendingRecords++;
+        }
+        return segment;
+    }
+
+    /**
+     * Agrega un frame al final del segmento.
+     *
+     * @return false si no hay lugar
+     */
+    boolean append(byte[] payload, int length) {
+        int frameSize = FRAME_OVERHEAD + length;
+        if (writePosition + frameSize > buffer.capacity()) {
+            return false;
+        }
+        crc.reset();
+        crc.update(payload, 0, length);
+        buffer.put(writePosition + FRAME_OVERHEAD, payload, 0, length);
+        buffer.putInt(writePosition + 4, (int) crc.getValue());
+        // Terminador explícito por si quedaron bytes de un frame truncado más adelante
+        int next = writePosition + frameSize;
+        if (next + 4 <= buffer.capacity()) {
+            buffer.putInt(next, 0);
+        }
+        // El largo se publica al final: hasta acá el frame no es visible para la recuperación
+        buffer.putInt(writePosition, length);
+        writePosition = next;
+        pendingRecords++;
+        return true;
+    }
+
+    /**
+     * Lee el frame ubicado en {@code position} hacia {@code target}.
+     *
+     * @return largo del payload o -1 si no hay más frames
+     */
+    int read(int position, byte[] target) {
+        if (position >= writePosition) {
+            return -1;
+        }
+        int length = buffer.getInt(position);
+        buffer.get(position + FRAME_OVERHEAD, target, 0, length);
+        return length;
+    }
+
+    /** Largo del payload del frame en {@code position} (sin validar) */
+    int frameLength(int position) {
+        if (position + FRAME_OVERHEAD > buffer.capacity()) {
+            return 0;
+        }
+        int length = buffer.getInt(position);
+        if (length > buffer.capacity() - position - FRAME_OVERHEAD) {
+            return 0;
+        }
+        return length;
+    }
+
+    /** Confirma la lectura hasta {@code position} descontando {@code records} pendientes */
+    void commitRead(int position, int records) {
+        readPosition = position;
+        pendingRecords -= records;
+        buffer.putInt(READ_OFFSET, position);
+    }
+
+    /** Fuerza los cambios del mapeo a disco */
+    void force() {
+        buffer.force();
+    }
+
+    void delete() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    long sequence() {
+        return sequence;
+    }
+
+    Path file() {
+        return file;
+    }
+
+    int readPosition() {
+        return readPosition;
+    }
+
+    int pendingRecords() {
+        return pendingRecords;
+    }
+
+    private boolean crcMatches(int position, int length) {
+        crc.reset();
+        crc.update(buffer.slice(position + FRAME_OVERHEAD, length));
+        return (int) crc.getValue() == buffer.getInt(position + 4);
+    }
+
+    private static MappedByteBuffer map(Path file, int size) throws IOException {
+        try (FileChannel channel =
+                FileChannel.open(
+                        file,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.READ,
+                        StandardOpenOption.WRITE)) {
+            // El mapeo sigue siendo válido después de cerrar el canal
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+}
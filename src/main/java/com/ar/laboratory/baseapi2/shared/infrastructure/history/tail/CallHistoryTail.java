@@ -0,0 +1,183 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.history.tail;
+
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryRecord;
+import com.ar.laboratory.baseapi2.shared.infrastructure.config.CallHistoryProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Difusión en vivo de los registros de historial a suscriptores Server-Sent Events, sin pasar por
+ * la base.
+ *
+ * <p>{@link #publish} corre en el hilo de la request: sin suscriptores es una lectura volátil; con
+ * suscriptores, por cada uno evalúa su filtro y hace un {@code offer} no bloqueante en su buffer
+ * acotado. Si el buffer está lleno el registro se descarta para ese suscriptor y se cuenta.
+ *
+ * <p>Cada suscriptor tiene su propio hilo virtual de entrega, que vacía el buffer y escribe en la
+ * conexión. Un cliente lento solo bloquea su propio hilo y pierde registros; al reanudar recibe un
+ * evento {@code dropped} con la cantidad descartada.
+ *
+ * <p>Solo se difunden las llamadas capturadas según la política de captura vigente.
+ */
+@Slf4j
+@Component
+public class CallHistoryTail {
+
+    private static final TailSubscriber[] NO_SUBSCRIBERS = new TailSubscriber[0];
+
+    /** Máximo de registros enviados seguidos antes de revisar descartes y cierre */
+    private static final int DRAIN_BATCH = 256;
+
+    private final ObjectMapper objectMapper;
+    private final CallHistoryProperties.Tail properties;
+    private final AtomicLong nextId = new AtomicLong();
+    private final LongAdder droppedTotal = new LongAdder();
+
+    /** Copy-on-write: la request recorre el array sin locks */
+    private volatile TailSubscriber[] subscribers = NO_SUBSCRIBERS;
+
+    public CallHistoryTail(
+            ObjectMapper objectMapper,
+            CallHistoryProperties callHistoryProperties,
+            MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.properties = callHistoryProperties.getTail();
+        Gauge.builder("call.history.tail.subscribers", this, tail -> tail.subscribers.length)
+                .description("Suscriptores conectados al tail de historial")
+                .register(meterRegistry);
+        FunctionCounter.builder("call.history.tail.dropped", this, tail -> tail.droppedCount())
+                .description("Registros descartados por suscriptores lentos del tail")
+                .register(meterRegistry);
+    }
+
+    /** Difunde un registro a los suscriptores cuyo filtro lo acepta; nunca bloquea */
+    public void publish(CallHistoryRecord record) {
+        TailSubscriber[] current = subscribers;
+        for (TailSubscriber subscriber : current) {
+            subscriber.offer(record);
+        }
+    }
+
+    /**
+     * Registra un suscriptor y arranca su hilo de entrega
+     *
+     * @return null si ya se alcanzó {@code max-subscribers}
+     */
+    public SseEmitter subscribe(TailFilter filter) {
+        TailSubscriber subscriber =
+                new TailSubscriber(nextId.incrementAndGet(), filter, properties.getBufferSize());
+        if (!add(subscriber)) {
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+        Thread.ofVirtual()
+                .name("call-history-tail-" + subscriber.id())
+                .start(() -> deliver(subscriber, emitter));
+        log.info("Call history tail subscriber {} connected: {}", subscriber.id(), filter);
+        return emitter;
+    }
+
+    /** Registros descartados por todos los suscriptores, incluidos los ya desconectados */
+    public long droppedCount() {
+        long live = 0;
+        for (TailSubscriber subscriber : subscribers) {
+            live += subscriber.dropped();
+        }
+        return droppedTotal.sum() + live;
+    }
+
+    @PreDestroy
+    void closeAll() {
+        for (TailSubscriber subscriber : subscribers) {
+            subscriber.close();
+        }
+    }
+
+    private void deliver(TailSubscriber subscriber, SseEmitter emitter) {
+        long pollNanos = properties.getPollInterval().toNanos();
+        long heartbeatNanos = properties.getHeartbeatInterval().toNanos();
+        long lastWriteNanos = System.nanoTime();
+        try {
+            while (!subscriber.isClosed()) {
+                int sent = 0;
+                CallHistoryRecord record;
+                while (sent < DRAIN_BATCH && (record = subscriber.poll()) != null) {
+                    emitter.send(
+                            SseEmitter.event()
+                                    .name("call")
+                                    .data(
+                                            objectMapper.writeValueAsString(record),
+                                            MediaType.APPLICATION_JSON));
+                    subscriber.markSent();
+                    sent++;
+                }
+                long drops = subscriber.takeNewDrops();
+                if (drops > 0) {
+                    emitter.send(
+                            SseEmitter.event()
+                                    .name("dropped")
+                                    .data(Map.of("dropped", drops), MediaType.APPLICATION_JSON));
+                    sent++;
+                }
+                long now = System.nanoTime();
+                if (sent > 0) {
+                    lastWriteNanos = now;
+                } else if (now - lastWriteNanos >= heartbeatNanos) {
+                    // Detecta clientes desconectados aunque no haya tráfico
+                    emitter.send(SseEmitter.event().comment("keepalive"));
+                    lastWriteNanos = now;
+                } else {
+                    LockSupport.parkNanos(pollNanos);
+                }
+            }
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            // Cliente desconectado o emitter ya completado
+            log.debug(
+                    "Call history tail subscriber {} stopped: {}", subscriber.id(), e.getMessage());
+        } finally {
+            subscriber.close();
+            remove(subscriber);
+        }
+    }
+
+    private synchronized boolean add(TailSubscriber subscriber) {
+        TailSubscriber[] current = subscribers;
+        if (current.length >= properties.getMaxSubscribers()) {
+            return false;
+        }
+        TailSubscriber[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = subscriber;
+        subscribers = updated;
+        return true;
+    }
+
+    private synchronized void remove(TailSubscriber subscriber) {
+        subscribers =
+                Arrays.stream(subscribers)
+                        .filter(s -> s != subscriber)
+                        .toArray(TailSubscriber[]::new);
+        droppedTotal.add(subscriber.dropped());
+        log.info(
+                "Call history tail subscriber {} disconnected: {} sent, {} dropped",
+                subscriber.id(),
+                subscriber.sent(),
+                subscriber.dropped());
+    }
+}
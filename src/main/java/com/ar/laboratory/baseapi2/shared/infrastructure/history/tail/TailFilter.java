@@ -0,0 +1,28 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.history.tail;
+
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryRecord;
+
+/**
+ * Filtro de un suscriptor del tail; los campos en null no filtran
+ *
+ * @param pathPrefix Solo llamadas cuyo path empieza con este prefijo
+ * @param success Solo exitosas o fallidas
+ * @param minDurationMs Solo llamadas que tardaron al menos esto
+ */
+public record TailFilter(String pathPrefix, Boolean success, Long minDurationMs) {
+
+    public static final TailFilter ALL = new TailFilter(null, null, null);
+
+    /** Se evalúa en el hilo de la request: solo comparaciones, sin reservar memoria */
+    public boolean matches(CallHistoryRecord record) {
+        if (pathPrefix != null
+                && (record.getPath() == null || !record.getPath().startsWith(pathPrefix))) {
+            return false;
+        }
+        if (success != null && !success.equals(record.getSuccess())) {
+            return false;
+        }
+        return minDurationMs == null
+                || (record.getDurationMs() != null && record.getDurationMs() >= minDurationMs);
+    }
+}
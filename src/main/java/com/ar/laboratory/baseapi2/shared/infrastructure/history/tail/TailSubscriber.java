@@ -0,0 +1,87 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.history.tail;
+
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryRecord;
+import com.ar.laboratory.baseapi2.shared.infrastructure.history.BoundedRingBuffer;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Suscriptor del tail: su filtro y un buffer acotado propio
+ *
+ * <p>Los hilos de request solo hacen {@link #offer}; si el buffer está lleno el registro se
+ * descarta y se cuenta, sin esperar. El hilo de entrega del suscriptor es el único que lo vacía.
+ */
+final class TailSubscriber {
+
+    private final long id;
+    private final TailFilter filter;
+    private final BoundedRingBuffer<CallHistoryRecord> buffer;
+    private final LongAdder dropped = new LongAdder();
+
+    private volatile boolean closed;
+
+    /** Descartes ya informados al cliente; solo lo usa el hilo de entrega */
+    private long reportedDropped;
+
+    /** Registros enviados; solo lo usa el hilo de entrega */
+    private long sent;
+
+    TailSubscriber(long id, TailFilter filter, int bufferSize) {
+        this.id = id;
+        this.filter = filter;
+        this.buffer = new BoundedRingBuffer<>(bufferSize);
+    }
+
+    /** Encola el registro si pasa el filtro; nunca bloquea */
+    void offer(CallHistoryRecord record) {
+        if (closed || !filter.matches(record)) {
+            return;
+        }
+        if (!buffer.offer(record)) {
+            dropped.increment();
+        }
+    }
+
+    CallHistoryRecord poll() {
+        return buffer.poll();
+    }
+
+    /**
+     * Descartes desde el último informe
+     *
+     * @return 0 si no hubo nuevos
+     */
+    long takeNewDrops() {
+        long total = dropped.sum();
+        long pending = total - reportedDropped;
+        reportedDropped = total;
+        return pending;
+    }
+
+    void markSent() {
+        sent++;
+    }
+
+    void close() {
+        closed = true;
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    long id() {
+        return id;
+    }
+
+    TailFilter filter() {
+        return filter;
+    }
+
+    long sent() {
+        return sent;
+    }
+
+    long dropped() {
+        return dropped.sum();
+    }
+}
@@ -0,0 +1,50 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.interception;
+
+import com.ar.laboratory.baseapi2.shared.infrastructure.history.latency.LatencyHistogram;
+import com.ar.laboratory.baseapi2.shared.infrastructure.history.payload.MaskPlan;
+import com.ar.laboratory.baseapi2.shared.infrastructure.history.policy.EffectivePolicy;
+import com.ar.laboratory.baseapi2.shared.infrastructure.history.policy.PolicyBinding;
+import java.lang.reflect.Method;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Metadata de interceptación de un método, calculada una sola vez al registrar el bean.
+ *
+ * <p>Reúne lo que los aspects necesitan por llamada (label del handler, acción, plan de masking,
+ * política de captura e histograma de latencia) para que no relean anotaciones ni armen strings en
+ * cada invocación. Es inmutable; solo la política de captura cambia, a través de su {@link
+ * PolicyBinding}.
+ */
+@Getter
+@Builder
+public final class InterceptionPlan {
+
+    private final Method method;
+
+    /** Handler registrado en el historial: {@code ClaseSimple#metodo [ACCION]} */
+    private final String handler;
+
+    private final String action;
+    private final MaskPlan maskPlan;
+    private final boolean logRequest;
+    private final boolean logResponse;
+    private final int maxPayloadSize;
+
+    @Getter(AccessLevel.NONE)
+    private final PolicyBinding policy;
+
+    /** Histograma en memoria del handler; registra todas las llamadas */
+    private final LatencyHistogram latency;
+
+    /** True si el método tiene @CallHistory */
+    public boolean recordsCallHistory() {
+        return policy != null;
+    }
+
+    /** Política de captura vigente; solo válida si {@link #recordsCallHistory()} */
+    public EffectivePolicy currentPolicy() {
+        return policy.get();
+    }
+}
@@ -0,0 +1,139 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.interception;
+
+import com.ar.laboratory.baseapi2.shared.infrastructure.annotation.CallHistory;
+import com.ar.laboratory.baseapi2.shared.infrastructure.history.latency.LatencyHistograms;
+import com.ar.laboratory.baseapi2.shared.infrastructure.history.payload.MaskPlan;
+import com.ar.laboratory.baseapi2.shared.infrastructure.history.policy.CallHistoryPolicyEngine;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Registro de {@link InterceptionPlan} por {@link Method}.
+ *
+ * <p>A medida que se crean los beans recorre sus métodos anotados con @CallHistory y arma el plan
+ * de cada uno. Una configuración inválida (tamaño de payload no positivo, campos de masking vacíos)
+ * corta el arranque de la aplicación en lugar de fallar en la primera llamada.
+ *
+ * <p>Los aspects hacen una única búsqueda por llamada con {@link #planFor(Method, Object)}. Los
+ * métodos que no se vieron al arrancar (beans lazy, proxies por interfaz) se resuelven la primera
+ * vez y quedan registrados.
+ */
+@Slf4j
+@Component
+public class InterceptionRegistry implements BeanPostProcessor {
+
+    private final ConcurrentHashMap<Method, InterceptionPlan> plans = new ConcurrentHashMap<>();
+    private final ObjectProvider<CallHistoryPolicyEngine> policyEngine;
+    private final ObjectProvider<LatencyHistograms> latencyHistograms;
+
+    public InterceptionRegistry(
+            ObjectProvider<CallHistoryPolicyEngine> policyEngine,
+            ObjectProvider<LatencyHistograms> latencyHistograms) {
+        this.policyEngine = policyEngine;
+        this.latencyHistograms = latencyHistograms;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        Class<?> beanClass = ClassUtils.getUserClass(AopUtils.getTargetClass(bean));
+        if (!AnnotationUtils.isCandidateClass(beanClass, CallHistory.class)) {
+            return bean;
+        }
+        Map<Method, InterceptionPlan> found =
+                MethodIntrospector.selectMethods(
+                        beanClass,
+                        (MethodIntrospector.MetadataLookup<InterceptionPlan>) this::buildPlan);
+        found.forEach(plans::putIfAbsent);
+        if (!found.isEmpty()) {
+            log.debug("Interception plans registered for {}: {}", beanName, found.size());
+        }
+        return bean;
+    }
+
+    /**
+     * Plan del método interceptado
+     *
+     * @param method Método de la firma del join point
+     * @param target Objeto destino, para resolver el método concreto si la firma es de una interfaz
+     * @return Plan del método, nunca null
+     */
+    public InterceptionPlan planFor(Method method, Object target) {
+        InterceptionPlan plan = plans.get(method);
+        return plan != null ? plan : register(method, target);
+    }
+
+    private InterceptionPlan register(Method method, Object target) {
+        Class<?> targetClass =
+                target != null
+                        ? ClassUtils.getUserClass(AopUtils.getTargetClass(target))
+                        : method.getDeclaringClass();
+        Method specific = AopUtils.getMostSpecificMethod(method, targetClass);
+        InterceptionPlan plan = buildPlan(specific);
+        if (plan == null) {
+            // Sin anotaciones: plan vacío para no volver a introspectar el método
+            plan = InterceptionPlan.builder().method(specific).build();
+        }
+        InterceptionPlan existing = plans.putIfAbsent(method, plan);
+        return existing != null ? existing : plan;
+    }
+
+    /** Arma el plan de un método, o null si no tiene anotaciones de interceptación */
+    private InterceptionPlan buildPlan(Method method) {
+        CallHistory callHistory =
+                AnnotatedElementUtils.findMergedAnnotation(method, CallHistory.class);
+        if (callHistory == null) {
+            return null;
+        }
+
+        validate(method, callHistory);
+        String action =
+                callHistory.action().isEmpty()
+                        ? method.getName().toUpperCase()
+                        : callHistory.action();
+        String handler =
+                method.getDeclaringClass().getSimpleName()
+                        + "#"
+                        + method.getName()
+                        + " ["
+                        + action
+                        + "]";
+        return InterceptionPlan.builder()
+                .method(method)
+                .handler(handler)
+                .action(action)
+                .maskPlan(MaskPlan.of(callHistory.maskFields()))
+                .logRequest(callHistory.logRequest())
+                .logResponse(callHistory.logResponse())
+                .maxPayloadSize(callHistory.maxPayloadSize())
+                .policy(policyEngine.getObject().bind(CallHistoryPolicyEngine.endpointKey(method)))
+                .latency(latencyHistograms.getObject().forHandler(handler))
+                .build();
+    }
+
+    private static void validate(Method method, CallHistory callHistory) {
+        if (callHistory.maxPayloadSize() <= 0) {
+            throw new IllegalStateException(
+                    "@CallHistory con maxPayloadSize no positivo en " + describe(method));
+        }
+        for (String field : callHistory.maskFields()) {
+            if (field == null || field.isBlank()) {
+                throw new IllegalStateException(
+                        "@CallHistory con un campo de masking vacío en " + describe(method));
+            }
+        }
+    }
+
+    private static String describe(Method method) {
+        return method.getDeclaringClass().getName() + "#" + method.getName();
+    }
+}
@@ -0,0 +1,31 @@
+-- Búsqueda de texto en query params y cuerpos (opcional)
+-- Sigue a app.call-history.search.index-bodies a través del placeholder callHistoryIndexBodies.
+-- Flyway vuelve a correr una migración repetible cuando cambia su checksum, y el checksum se
+-- calcula con los placeholders ya reemplazados: cambiar la propiedad crea o elimina la columna en
+-- el siguiente arranque, sin DDL a mano.
+-- Cada INSERT calcula el tsvector de los cuerpos y actualiza un segundo índice GIN: tiene costo en
+-- la escritura del historial. Solo sirve con app.call-history.payloads.storage=INLINE; los cuerpos
+-- deduplicados (V7) no están en la fila y no se indexan.
+-- Los cuerpos se recortan a 256K caracteres (el tsvector tiene un tope de 1 MB).
+-- Agregar la columna STORED reescribe todas las particiones: en tablas grandes, habilitarla en una
+-- ventana de mantenimiento. Eliminar una columna generada no reescribe la tabla.
+
+DO $$
+BEGIN
+    IF '${callHistoryIndexBodies}' = 'true' THEN
+        ALTER TABLE app.call_history
+            ADD COLUMN IF NOT EXISTS search_payloads TSVECTOR GENERATED ALWAYS AS (
+                setweight(to_tsvector('simple'::regconfig,
+                    left(coalesce(query_params, '') || ' ' || coalesce(request_body, '') || ' '
+                         || coalesce(response_body, ''), 262144)), 'D')
+            ) STORED;
+        CREATE INDEX IF NOT EXISTS idx_call_history_search_payloads
+            ON app.call_history USING gin (search_payloads);
+        COMMENT ON COLUMN app.call_history.search_payloads IS
+            'tsvector de query params y cuerpos inline (D), generado; opcional';
+    ELSE
+        DROP INDEX IF EXISTS app.idx_call_history_search_payloads;
+        ALTER TABLE app.call_history DROP COLUMN IF EXISTS search_payloads;
+    END IF;
+END
+$$;
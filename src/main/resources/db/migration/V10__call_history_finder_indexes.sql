@@ -0,0 +1,18 @@
+-- Índices para las búsquedas paginadas por cursor de app.call_history
+-- Cada búsqueda filtra por una columna y recorre (created_at, id) descendente desde el cursor,
+-- así que el índice que la sirve es (columna, created_at DESC, id DESC). Reemplazan a los índices
+-- de una sola columna de V4 (que V8 ya no recrea), que obligaban a ordenar todas las filas
+-- coincidentes. Por success no hay índice completo: un booleano no es selectivo y success = true
+-- usa idx_call_history_created_at_id.
+
+CREATE INDEX IF NOT EXISTS idx_call_history_path_created_at
+    ON app.call_history (path, created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_call_history_correlation_created_at
+    ON app.call_history (correlation_id, created_at DESC, id DESC);
+
+-- Parcial: las fallidas son una fracción chica de la tabla
+CREATE INDEX IF NOT EXISTS idx_call_history_failures
+    ON app.call_history (created_at DESC, id DESC)
+    WHERE success = FALSE;
+
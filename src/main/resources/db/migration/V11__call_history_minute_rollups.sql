@@ -0,0 +1,87 @@
+-- Rollups por minuto del historial, mantenidos por el writer en la misma transacción que el insert
+-- de cada lote. Una fila por (minuto, path, método, clase de status): los dashboards y analytics
+-- agregan estas filas en lugar de recorrer app.call_history.
+
+-- Suma posición a posición de dos sketches de latencia (contadores por bucket log-lineal).
+-- Los arrays pueden tener largos distintos: unnest completa el más corto con NULL.
+CREATE OR REPLACE FUNCTION app.call_history_sketch_merge(a BIGINT[], b BIGINT[])
+    RETURNS BIGINT[]
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE
+AS $$
+    SELECT CASE
+               WHEN a IS NULL THEN b
+               WHEN b IS NULL THEN a
+               ELSE ARRAY(SELECT coalesce(x, 0) + coalesce(y, 0)
+                            FROM unnest(a, b) WITH ORDINALITY AS t(x, y, i)
+                           ORDER BY i)
+           END
+$$;
+
+CREATE AGGREGATE app.call_history_sketch_sum(BIGINT[]) (
+    SFUNC = app.call_history_sketch_merge,
+    STYPE = BIGINT[],
+    COMBINEFUNC = app.call_history_sketch_merge,
+    PARALLEL = SAFE
+);
+
+-- Suma una duración (ms) a un sketch: mismo bucket que LatencySketch.bucketIndex (8 sub-buckets por
+-- potencia de dos, valores recortados a [0, 2^24)). El array crece hasta el bucket más alto usado,
+-- así que no queda con ceros finales, igual que LatencySketch.toArray.
+CREATE OR REPLACE FUNCTION app.call_history_sketch_add(sketch BIGINT[], duration_ms BIGINT)
+    RETURNS BIGINT[]
+    LANGUAGE plpgsql IMMUTABLE PARALLEL SAFE
+AS $$
+DECLARE
+    v        BIGINT;
+    exponent INTEGER := 0;
+    bucket   INTEGER;
+    used     INTEGER := coalesce(array_length(sketch, 1), 0);
+BEGIN
+    IF duration_ms IS NULL THEN
+        RETURN sketch;
+    END IF;
+    v := least(greatest(duration_ms, 0), 16777215);
+    IF v < 8 THEN
+        bucket := v;
+    ELSE
+        WHILE (v >> (exponent + 1)) > 0 LOOP
+            exponent := exponent + 1;
+        END LOOP;
+        bucket := 8 + (exponent - 3) * 8 + ((v >> (exponent - 3)) - 8)::INTEGER;
+    END IF;
+    IF bucket + 1 > used THEN
+        sketch := coalesce(sketch, '{}') || array_fill(0::BIGINT, ARRAY[bucket + 1 - used]);
+    END IF;
+    sketch[bucket + 1] := sketch[bucket + 1] + 1;
+    RETURN sketch;
+END
+$$;
+
+-- Sketch de las duraciones de un grupo de filas crudas; lo usa el backfill dentro de la base
+CREATE AGGREGATE app.call_history_sketch_of(BIGINT) (
+    SFUNC = app.call_history_sketch_add,
+    STYPE = BIGINT[],
+    INITCOND = '{}',
+    COMBINEFUNC = app.call_history_sketch_merge,
+    PARALLEL = SAFE
+);
+
+CREATE TABLE IF NOT EXISTS app.call_history_rollup_minute (
+    minute          TIMESTAMPTZ NOT NULL,
+    path            VARCHAR(512) NOT NULL,
+    http_method     VARCHAR(16) NOT NULL,
+    status_class    SMALLINT NOT NULL,
+    requests        BIGINT NOT NULL,
+    errors          BIGINT NOT NULL,
+    duration_sum    BIGINT NOT NULL,
+    duration_min    BIGINT,
+    duration_max    BIGINT,
+    latency_sketch  BIGINT[] NOT NULL,
+    PRIMARY KEY (minute, path, http_method, status_class)
+);
+
+COMMENT ON TABLE app.call_history_rollup_minute IS 'Agregados por minuto de app.call_history';
+COMMENT ON COLUMN app.call_history_rollup_minute.path IS 'Path de la request; cadena vacía si no hubo request HTTP';
+COMMENT ON COLUMN app.call_history_rollup_minute.status_class IS 'http_status / 100; 0 si no hubo status';
+COMMENT ON COLUMN app.call_history_rollup_minute.latency_sketch IS
+    'Contadores de duration_ms por bucket log-lineal (8 por potencia de dos), sin ceros finales';
@@ -0,0 +1,22 @@
+-- Búsqueda de texto completo sobre app.call_history
+-- Columna tsvector generada (STORED) con su índice GIN, para no recorrer la tabla con LIKE:
+--   search_errors: error_type (peso A) y error_message (peso B)
+-- Los cuerpos no se indexan por defecto: un tsvector de cuerpos se calcularía en cada INSERT del
+-- writer y no sirve con almacenamiento DEDUPLICATED (V7), donde no están en la fila. Se habilitan
+-- con app.call-history.search.index-bodies (R__call_history_body_search).
+-- Configuración 'simple': los mensajes mezclan idiomas e identificadores, sin stemming ni stopwords.
+-- El tipo de error se indexa con los puntos como separadores, para encontrar
+-- com.example.FooException buscando FooException.
+-- Agregar una columna STORED reescribe todas las particiones: en tablas grandes, correr en una
+-- ventana de mantenimiento. Las particiones nuevas heredan columnas e índices.
+
+ALTER TABLE app.call_history
+    ADD COLUMN IF NOT EXISTS search_errors TSVECTOR GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple'::regconfig, replace(coalesce(error_type, ''), '.', ' ')), 'A')
+        || setweight(to_tsvector('simple'::regconfig, coalesce(error_message, '')), 'B')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_call_history_search_errors
+    ON app.call_history USING gin (search_errors);
+
+COMMENT ON COLUMN app.call_history.search_errors IS 'tsvector de error_type (A) y error_message (B), generado';
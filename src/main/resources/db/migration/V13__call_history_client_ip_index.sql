@@ -0,0 +1,6 @@
+-- Índice para la consulta multi-criterio de app.call_history anclada por IP de cliente
+-- Mismo patrón que los de V10: (columna, created_at DESC, id DESC) para recorrer el cursor desde el
+-- índice. Las demás anclas (path, fallidas, ventana de tiempo) ya tienen el suyo.
+
+CREATE INDEX IF NOT EXISTS idx_call_history_client_ip_created_at
+    ON app.call_history (client_ip, created_at DESC, id DESC);
@@ -0,0 +1,16 @@
+-- Última referencia a cada payload y fingerprint, para que la purga borre los que quedaron huérfanos
+-- El writer la actualiza en cada INSERT ... ON CONFLICT; mientras el hash siga en su caché en memoria
+-- (known-ttl) no vuelve a tocarla, por eso la purga deja un margen (orphan-grace) mayor que ese TTL.
+-- now() es estable: el DEFAULT se evalúa una vez y el ALTER no reescribe la tabla.
+
+ALTER TABLE app.call_history_payload
+    ADD COLUMN IF NOT EXISTS last_referenced_at TIMESTAMPTZ NOT NULL DEFAULT now();
+
+ALTER TABLE app.call_history_error_fingerprint
+    ADD COLUMN IF NOT EXISTS last_referenced_at TIMESTAMPTZ NOT NULL DEFAULT now();
+
+CREATE INDEX IF NOT EXISTS idx_call_history_payload_last_referenced
+    ON app.call_history_payload (last_referenced_at);
+
+COMMENT ON COLUMN app.call_history_payload.last_referenced_at IS 'Último lote que insertó o volvió a referenciar el payload';
+COMMENT ON COLUMN app.call_history_error_fingerprint.last_referenced_at IS 'Último lote que insertó o volvió a referenciar el fingerprint';
@@ -0,0 +1,8 @@
+-- Preparar app.call_history para inserts por lotes (JDBC batch)
+-- Con IDENTITY, Hibernate necesita un round trip por fila para obtener el ID generado.
+-- Con una secuencia de incremento 50 (pooled optimizer), reserva 50 IDs por nextval
+-- y puede enviar los INSERT agrupados.
+
+ALTER SEQUENCE app.call_history_id_seq INCREMENT BY 50;
+
+COMMENT ON COLUMN app.call_history.id IS 'Identificador asignado desde app.call_history_id_seq en bloques de 50';
@@ -0,0 +1,27 @@
+-- Stacktraces deduplicados por fingerprint
+-- Cada error distinto (tipo de excepción + frames del tope) se guarda una única vez;
+-- app.call_history solo referencia el fingerprint en lugar de repetir el stacktrace por fila.
+
+CREATE TABLE IF NOT EXISTS app.call_history_error_fingerprint (
+    fingerprint    VARCHAR(16) PRIMARY KEY,
+    error_type     VARCHAR(256) NOT NULL,
+    error_message  TEXT,
+    stacktrace     TEXT NOT NULL,
+    first_seen     TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_call_history_error_fingerprint_first_seen
+    ON app.call_history_error_fingerprint (first_seen DESC);
+
+ALTER TABLE app.call_history ADD COLUMN IF NOT EXISTS error_fingerprint VARCHAR(16);
+
+-- Parcial: solo las llamadas fallidas tienen fingerprint
+CREATE INDEX IF NOT EXISTS idx_call_history_error_fingerprint
+    ON app.call_history (error_fingerprint, created_at DESC)
+    WHERE error_fingerprint IS NOT NULL;
+
+COMMENT ON TABLE app.call_history_error_fingerprint IS 'Errores deduplicados del historial de llamadas, uno por fingerprint';
+COMMENT ON COLUMN app.call_history_error_fingerprint.fingerprint IS 'Hash FNV-1a de 64 bits (hex) del tipo de excepción, sus causas y los frames del tope';
+COMMENT ON COLUMN app.call_history_error_fingerprint.error_message IS 'Mensaje de la primera ocurrencia';
+COMMENT ON COLUMN app.call_history.error_fingerprint IS 'Fingerprint del error en app.call_history_error_fingerprint';
+COMMENT ON COLUMN app.call_history.error_stacktrace IS 'Stacktrace completo; solo registros anteriores a los fingerprints';
@@ -0,0 +1,25 @@
+-- Almacenamiento deduplicado de query params y cuerpos (app.call-history.payloads.storage=DEDUPLICATED)
+-- Cada contenido distinto se guarda una sola vez, comprimido por la aplicación, con clave SHA-256;
+-- app.call_history solo guarda los hashes y sus filas quedan chicas para los scans por created_at.
+
+CREATE TABLE IF NOT EXISTS app.call_history_payload (
+    hash           VARCHAR(64) PRIMARY KEY,
+    encoding       VARCHAR(16) NOT NULL,
+    content        BYTEA NOT NULL,
+    original_size  INTEGER NOT NULL,
+    created_at     TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+-- El contenido ya viene comprimido: evitar que TOAST lo vuelva a intentar comprimir
+ALTER TABLE app.call_history_payload ALTER COLUMN content SET STORAGE EXTERNAL;
+
+ALTER TABLE app.call_history
+    ADD COLUMN IF NOT EXISTS query_params_hash  VARCHAR(64),
+    ADD COLUMN IF NOT EXISTS request_body_hash  VARCHAR(64),
+    ADD COLUMN IF NOT EXISTS response_body_hash VARCHAR(64);
+
+COMMENT ON TABLE app.call_history_payload IS 'Query params y cuerpos del historial, uno por contenido';
+COMMENT ON COLUMN app.call_history_payload.hash IS 'SHA-256 (hex) del texto original';
+COMMENT ON COLUMN app.call_history_payload.encoding IS 'deflate (raw, sin cabecera zlib) o identity';
+COMMENT ON COLUMN app.call_history_payload.original_size IS 'Largo en bytes UTF-8 del texto original';
+COMMENT ON COLUMN app.call_history.request_body_hash IS 'Hash en app.call_history_payload; si es NULL el valor está en request_body';
@@ -0,0 +1,67 @@
+-- Particionado nativo de app.call_history por rango de created_at
+-- Las consultas por rango de fechas solo leen las particiones que corresponden (partition pruning)
+-- y la retención pasa a ser un DROP de la partición vencida en lugar de DELETE masivos.
+-- Las particiones futuras y las vencidas las gestiona CallHistoryPartitionManager.
+
+-- Los límites se calculan en UTC, igual que el manager: pgjdbc toma la zona de la sesión de la JVM y
+-- en una zona con horario de verano "+ 1 month" correría los límites una hora.
+SET LOCAL TimeZone = 'UTC';
+
+-- En un deploy escalonado las instancias viejas siguen insertando: sin este lock, lo que confirmen
+-- entre el INSERT ... SELECT y el DROP se perdería. Las lecturas siguen funcionando.
+LOCK TABLE app.call_history IN SHARE ROW EXCLUSIVE MODE;
+
+CREATE TABLE app.call_history_partitioned (
+    LIKE app.call_history INCLUDING DEFAULTS INCLUDING COMMENTS
+) PARTITION BY RANGE (created_at);
+
+-- La clave de partición debe formar parte de la PK; el ID sigue siendo único por la secuencia
+ALTER TABLE app.call_history_partitioned
+    ADD CONSTRAINT call_history_partitioned_pkey PRIMARY KEY (id, created_at);
+
+-- Particiones mensuales (UTC) desde el registro más antiguo hasta tres meses adelante
+DO $$
+DECLARE
+    month_start TIMESTAMPTZ;
+    last_month  TIMESTAMPTZ := date_trunc('month', now(), 'UTC') + INTERVAL '3 months';
+BEGIN
+    SELECT COALESCE(date_trunc('month', min(created_at), 'UTC'), date_trunc('month', now(), 'UTC'))
+      INTO month_start
+      FROM app.call_history;
+
+    WHILE month_start <= last_month LOOP
+        EXECUTE format(
+            'CREATE TABLE app.%I PARTITION OF app.call_history_partitioned FOR VALUES FROM (%L) TO (%L)',
+            'call_history_p' || to_char(month_start AT TIME ZONE 'UTC', 'YYYYMMDD'),
+            month_start,
+            month_start + INTERVAL '1 month');
+        month_start := month_start + INTERVAL '1 month';
+    END LOOP;
+END $$;
+
+-- Red de seguridad para filas fuera de las particiones creadas; normalmente vacía
+CREATE TABLE app.call_history_default PARTITION OF app.call_history_partitioned DEFAULT;
+
+INSERT INTO app.call_history_partitioned SELECT * FROM app.call_history;
+
+ALTER SEQUENCE app.call_history_id_seq OWNED BY app.call_history_partitioned.id;
+DROP TABLE app.call_history;
+ALTER TABLE app.call_history_partitioned RENAME TO call_history;
+ALTER TABLE app.call_history RENAME CONSTRAINT call_history_partitioned_pkey TO call_history_pkey;
+
+-- Índices particionados: se crean en cada partición, también en las que se agreguen después.
+-- created_at usa BRIN: las filas llegan en orden de tiempo y el índice ocupa unos pocos KB.
+CREATE INDEX idx_call_history_created_at
+    ON app.call_history USING brin (created_at) WITH (pages_per_range = 32);
+
+-- Los de una sola columna de V4 por path, correlation_id y success no se recrean: los reemplazan
+-- los compuestos de V10, y construirlos acá solo alargaría el lock de la migración.
+CREATE INDEX idx_call_history_http_status
+    ON app.call_history (http_status);
+
+CREATE INDEX idx_call_history_error_fingerprint
+    ON app.call_history (error_fingerprint, created_at DESC)
+    WHERE error_fingerprint IS NOT NULL;
+
+COMMENT ON TABLE app.call_history IS 'Historial de llamadas a endpoints para auditoría y debugging, particionado por mes de created_at';
+COMMENT ON TABLE app.call_history_default IS 'Partición por defecto; si tiene filas, la partición de ese rango no se puede crear';
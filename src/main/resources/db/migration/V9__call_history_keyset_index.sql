@@ -0,0 +1,9 @@
+-- Índice para la paginación por cursor de app.call_history
+-- Cada página arranca en (created_at, id) del último registro de la anterior, así que el costo es
+-- el mismo en la primera página que en la millonésima (sin OFFSET). Al ser un índice particionado,
+-- PostgreSQL recorre las particiones en orden y se detiene al completar la página.
+
+CREATE INDEX IF NOT EXISTS idx_call_history_created_at_id
+    ON app.call_history (created_at DESC, id DESC);
+
+COMMENT ON INDEX app.idx_call_history_created_at_id IS 'Paginación por cursor (created_at, id) descendente';
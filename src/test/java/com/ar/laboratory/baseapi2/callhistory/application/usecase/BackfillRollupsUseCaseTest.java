@@ -0,0 +1,61 @@
+package com.ar.laboratory.baseapi2.callhistory.application.usecase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.ar.laboratory.baseapi2.callhistory.application.outbound.port.CallHistoryRollupPort;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BackfillRollupsUseCase Tests")
+class BackfillRollupsUseCaseTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2026, 3, 1, 10, 0);
+
+    @Mock private CallHistoryRollupPort rollupRepository;
+
+    @InjectMocks private BackfillRollupsUseCase backfillRollupsUseCase;
+
+    @Test
+    @DisplayName("Debe recalcular los rollups tramo por tramo, alineados al minuto")
+    void shouldRebuildRollupsChunkByChunk() {
+        // Given
+        when(rollupRepository.rebuild(any(), any())).thenReturn(10L);
+
+        // When
+        long total =
+                backfillRollupsUseCase.execute(
+                        FROM.plusSeconds(20),
+                        FROM.plusMinutes(150).plusSeconds(5),
+                        Duration.ofHours(1));
+
+        // Then
+        assertThat(total).isEqualTo(30);
+        verify(rollupRepository).rebuild(eq(FROM), eq(FROM.plusHours(1)));
+        verify(rollupRepository).rebuild(eq(FROM.plusHours(1)), eq(FROM.plusHours(2)));
+        verify(rollupRepository).rebuild(eq(FROM.plusHours(2)), eq(FROM.plusMinutes(150)));
+        verifyNoMoreInteractions(rollupRepository);
+    }
+
+    @Test
+    @DisplayName("Un rango vacío no debe tocar los rollups")
+    void emptyRangeShouldDoNothing() {
+        // When
+        long total =
+                backfillRollupsUseCase.execute(
+                        FROM.plusSeconds(10), FROM.plusSeconds(50), Duration.ofHours(1));
+
+        // Then
+        assertThat(total).isZero();
+        verifyNoInteractions(rollupRepository);
+    }
+}
@@ -0,0 +1,60 @@
+package com.ar.laboratory.baseapi2.callhistory.application.usecase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import com.ar.laboratory.baseapi2.callhistory.application.outbound.port.CallHistoryRepositoryPort;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryCursor;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryPage;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistorySummary;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FindBySuccessUseCase Tests")
+class FindBySuccessUseCaseTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 1, 12, 0);
+
+    @Mock private CallHistoryRepositoryPort callHistoryRepository;
+
+    @InjectMocks private FindBySuccessUseCase findBySuccessUseCase;
+
+    @Test
+    @DisplayName("Debe pedir una página acotada continuando desde el cursor")
+    void shouldRequestBoundedPageFromCursor() {
+        // Given
+        CallHistoryCursor after = new CallHistoryCursor(NOW, 100L);
+        CallHistorySummary failure =
+                CallHistorySummary.builder().id(99L).createdAt(NOW).success(false).build();
+        when(callHistoryRepository.findBySuccess(false, after, 21)).thenReturn(List.of(failure));
+
+        // When
+        CallHistoryPage page = findBySuccessUseCase.execute(false, after, 20);
+
+        // Then
+        assertThat(page.items()).containsExactly(failure);
+        assertThat(page.hasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Un límite no positivo debe tratarse como página de un registro")
+    void shouldApplyMinimumPageSize() {
+        // Given
+        when(callHistoryRepository.findBySuccess(true, null, 2)).thenReturn(List.of());
+
+        // When
+        CallHistoryPage page = findBySuccessUseCase.execute(true, null, 0);
+
+        // Then
+        assertThat(page.items()).isEmpty();
+        verify(callHistoryRepository, times(1)).findBySuccess(true, null, 2);
+        assertThat(CallHistoryPage.pageSize(10_000)).isEqualTo(CallHistoryPage.MAX_LIMIT);
+    }
+}
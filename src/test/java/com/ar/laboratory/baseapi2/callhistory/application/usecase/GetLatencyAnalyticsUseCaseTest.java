@@ -0,0 +1,59 @@
+package com.ar.laboratory.baseapi2.callhistory.application.usecase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import com.ar.laboratory.baseapi2.callhistory.application.outbound.port.CallHistoryAnalyticsPort;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.LatencyAnalyticsQuery;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.LatencyGroupBy;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.LatencyStats;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GetLatencyAnalyticsUseCase Tests")
+class GetLatencyAnalyticsUseCaseTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2026, 3, 1, 0, 0);
+
+    @Mock private CallHistoryAnalyticsPort analyticsPort;
+
+    @InjectMocks private GetLatencyAnalyticsUseCase getLatencyAnalyticsUseCase;
+
+    @Test
+    @DisplayName("Debe devolver las métricas agregadas por la base")
+    void shouldReturnAggregatedStats() {
+        // Given
+        LatencyAnalyticsQuery query =
+                new LatencyAnalyticsQuery(
+                        FROM, FROM.plusHours(1), Duration.ofMinutes(5), LatencyGroupBy.PATH);
+        LatencyStats stats =
+                new LatencyStats(FROM, "/api/v1/examples", 600, 30, 12.0, 80.5, 140.0, 300L);
+        when(analyticsPort.latency(query)).thenReturn(List.of(stats));
+
+        // When
+        List<LatencyStats> result = getLatencyAnalyticsUseCase.execute(query);
+
+        // Then
+        assertThat(result).containsExactly(stats);
+        assertThat(result.get(0).errorRate()).isEqualTo(0.05);
+        assertThat(result.get(0).throughput(query.bucket())).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Debe contar los intervalos del rango redondeando hacia arriba")
+    void shouldCountBucketsRoundingUp() {
+        LatencyAnalyticsQuery query =
+                new LatencyAnalyticsQuery(
+                        FROM, FROM.plusMinutes(61), Duration.ofMinutes(5), LatencyGroupBy.HANDLER);
+
+        assertThat(query.bucketCount()).isEqualTo(13);
+    }
+}
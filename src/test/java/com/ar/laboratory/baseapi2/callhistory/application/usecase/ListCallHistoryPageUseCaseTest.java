@@ -0,0 +1,83 @@
+package com.ar.laboratory.baseapi2.callhistory.application.usecase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import com.ar.laboratory.baseapi2.callhistory.application.outbound.port.CallHistoryRepositoryPort;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryCursor;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryPage;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistorySummary;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ListCallHistoryPageUseCase Tests")
+class ListCallHistoryPageUseCaseTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 1, 12, 0);
+
+    @Mock private CallHistoryRepositoryPort callHistoryRepository;
+
+    @InjectMocks private ListCallHistoryPageUseCase listCallHistoryPageUseCase;
+
+    @Test
+    @DisplayName("Debe devolver el cursor del último registro cuando hay más páginas")
+    void shouldReturnNextCursorWhenMoreSummariesExist() {
+        // Given
+        when(callHistoryRepository.findPage(null, 3)).thenReturn(summaries(10, 9, 8));
+
+        // When
+        CallHistoryPage page = listCallHistoryPageUseCase.execute(null, 2);
+
+        // Then
+        assertThat(page.items()).extracting(CallHistorySummary::getId).containsExactly(10L, 9L);
+        assertThat(page.next()).isEqualTo(new CallHistoryCursor(NOW.minusSeconds(9), 9L));
+    }
+
+    @Test
+    @DisplayName("No debe devolver cursor en la última página")
+    void shouldNotReturnCursorOnLastPage() {
+        // Given
+        CallHistoryCursor after = new CallHistoryCursor(NOW.minusSeconds(8), 8L);
+        when(callHistoryRepository.findPage(after, 3)).thenReturn(summaries(7));
+
+        // When
+        CallHistoryPage page = listCallHistoryPageUseCase.execute(after, 2);
+
+        // Then
+        assertThat(page.items()).hasSize(1);
+        assertThat(page.hasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Debe acotar el tamaño de página al máximo permitido")
+    void shouldClampLimit() {
+        // Given
+        when(callHistoryRepository.findPage(null, CallHistoryPage.MAX_LIMIT + 1))
+                .thenReturn(List.of());
+
+        // When
+        listCallHistoryPageUseCase.execute(null, 100_000);
+
+        // Then
+        verify(callHistoryRepository, times(1)).findPage(null, CallHistoryPage.MAX_LIMIT + 1);
+    }
+
+    private static List<CallHistorySummary> summaries(long... ids) {
+        return LongStream.of(ids)
+                .mapToObj(
+                        id ->
+                                CallHistorySummary.builder()
+                                        .id(id)
+                                        .createdAt(NOW.minusSeconds(id))
+                                        .build())
+                .toList();
+    }
+}
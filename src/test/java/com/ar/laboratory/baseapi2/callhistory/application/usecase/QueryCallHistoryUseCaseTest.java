@@ -0,0 +1,97 @@
+package com.ar.laboratory.baseapi2.callhistory.application.usecase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+import com.ar.laboratory.baseapi2.callhistory.application.outbound.port.CallHistoryRepositoryPort;
+import com.ar.laboratory.baseapi2.callhistory.domain.exception.UnanchoredCallHistoryQueryException;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryCriteria;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryCursor;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryPage;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistorySummary;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("QueryCallHistoryUseCase Tests")
+class QueryCallHistoryUseCaseTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 1, 11, 0);
+
+    @Mock private CallHistoryRepositoryPort callHistoryRepository;
+
+    @InjectMocks private QueryCallHistoryUseCase queryCallHistoryUseCase;
+
+    @Test
+    @DisplayName("Debe pedir un registro extra y devolver el cursor de la página siguiente")
+    void shouldReturnPageWithNextCursor() {
+        // Given
+        CallHistoryCriteria criteria =
+                CallHistoryCriteria.builder()
+                        .path("/api/v1/examples")
+                        .httpMethod("POST")
+                        .success(false)
+                        .minDurationMs(500L)
+                        .from(NOW.minusHours(1))
+                        .to(NOW)
+                        .build();
+        List<CallHistorySummary> fetched =
+                List.of(summary(3L, NOW.minusMinutes(1)), summary(2L, NOW.minusMinutes(2)));
+        when(callHistoryRepository.findByCriteria(criteria, null, 2)).thenReturn(fetched);
+
+        // When
+        CallHistoryPage page = queryCallHistoryUseCase.execute(criteria, null, 1);
+
+        // Then
+        assertThat(page.items()).containsExactly(fetched.get(0));
+        assertThat(page.next()).isEqualTo(new CallHistoryCursor(NOW.minusMinutes(1), 3L));
+    }
+
+    @Test
+    @DisplayName("Solo método, status y duración no anclan la consulta a un índice")
+    void criteriaShouldRequireSelectiveFilter() {
+        CallHistoryCriteria unanchored =
+                CallHistoryCriteria.builder()
+                        .httpMethod("POST")
+                        .statusFrom(500)
+                        .minDurationMs(500L)
+                        .from(NOW.minusDays(7))
+                        .to(NOW)
+                        .build();
+
+        assertThat(unanchored.isAnchored()).isFalse();
+        unanchored.setFrom(NOW.minusHours(1));
+        assertThat(unanchored.isAnchored()).isTrue();
+        unanchored.setFrom(null);
+        unanchored.setSuccess(false);
+        assertThat(unanchored.isAnchored()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Debe rechazar una consulta sin ancla sin llegar al repositorio")
+    void shouldRejectUnanchoredQuery() {
+        // Given
+        CallHistoryCriteria criteria =
+                CallHistoryCriteria.builder()
+                        .httpMethod("GET")
+                        .from(NOW.minusDays(7))
+                        .to(NOW)
+                        .build();
+
+        // When & Then
+        assertThatThrownBy(() -> queryCallHistoryUseCase.execute(criteria, null, 50))
+                .isInstanceOf(UnanchoredCallHistoryQueryException.class);
+        verifyNoInteractions(callHistoryRepository);
+    }
+
+    private static CallHistorySummary summary(Long id, LocalDateTime createdAt) {
+        return CallHistorySummary.builder().id(id).createdAt(createdAt).success(false).build();
+    }
+}
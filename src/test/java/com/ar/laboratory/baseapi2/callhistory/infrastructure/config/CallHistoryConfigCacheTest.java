@@ -0,0 +1,102 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.ar.laboratory.baseapi2.callhistory.application.inbound.command.FindErrorFingerprintCommand;
+import com.ar.laboratory.baseapi2.callhistory.application.inbound.command.ListCallHistoryCommand;
+import com.ar.laboratory.baseapi2.callhistory.application.inbound.command.ListErrorFingerprintsCommand;
+import com.ar.laboratory.baseapi2.callhistory.application.outbound.port.CallHistoryAnalyticsPort;
+import com.ar.laboratory.baseapi2.callhistory.application.outbound.port.CallHistoryRepositoryPort;
+import com.ar.laboratory.baseapi2.callhistory.application.outbound.port.CallHistoryRollupPort;
+import com.ar.laboratory.baseapi2.callhistory.application.outbound.port.CallHistorySearchPort;
+import com.ar.laboratory.baseapi2.callhistory.application.outbound.port.ErrorFingerprintRepositoryPort;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistorySummary;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.ErrorFingerprint;
+import com.ar.laboratory.baseapi2.shared.infrastructure.cache.CacheAside;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+/** Wiring real de {@link CallHistoryConfig} con un CacheManager en memoria */
+@SpringJUnitConfig(CallHistoryConfigCacheTest.TestConfig.class)
+@DisplayName("CallHistoryConfig cache Tests")
+class CallHistoryConfigCacheTest {
+
+    @Autowired private ListCallHistoryCommand listCallHistoryCommand;
+    @Autowired private FindErrorFingerprintCommand findErrorFingerprintCommand;
+    @Autowired private ListErrorFingerprintsCommand listErrorFingerprintsCommand;
+
+    @MockitoBean private CallHistoryRepositoryPort repositoryPort;
+    @MockitoBean private ErrorFingerprintRepositoryPort errorFingerprintRepository;
+    @MockitoBean private CallHistorySearchPort searchPort;
+    @MockitoBean private CallHistoryAnalyticsPort analyticsPort;
+    @MockitoBean private CallHistoryRollupPort rollupPort;
+
+    @Test
+    @DisplayName("El listado debe cachearse por limit y offset")
+    void listShouldBeCachedPerPage() {
+        // Given
+        List<CallHistorySummary> page = List.of(CallHistorySummary.builder().id(1L).build());
+        when(repositoryPort.findAll(10, 0)).thenReturn(page);
+        when(repositoryPort.findAll(10, 10)).thenReturn(List.of());
+
+        // When
+        listCallHistoryCommand.execute(10, 0);
+        List<CallHistorySummary> cached = listCallHistoryCommand.execute(10, 0);
+        listCallHistoryCommand.execute(10, 10);
+
+        // Then
+        assertThat(cached).isEqualTo(page);
+        verify(repositoryPort, times(1)).findAll(10, 0);
+        verify(repositoryPort, times(1)).findAll(10, 10);
+    }
+
+    @Test
+    @DisplayName("Los fingerprints deben cachearse por hash y por límite")
+    void fingerprintsShouldBeCached() {
+        // Given
+        ErrorFingerprint fingerprint = ErrorFingerprint.builder().fingerprint("abc").build();
+        when(errorFingerprintRepository.findByFingerprint("abc"))
+                .thenReturn(Optional.of(fingerprint));
+        when(errorFingerprintRepository.findRecent(20)).thenReturn(List.of(fingerprint));
+
+        // When
+        findErrorFingerprintCommand.execute("abc");
+        findErrorFingerprintCommand.execute("abc");
+        listErrorFingerprintsCommand.execute(20);
+        listErrorFingerprintsCommand.execute(20);
+
+        // Then
+        verify(errorFingerprintRepository, times(1)).findByFingerprint("abc");
+        verify(errorFingerprintRepository, times(1)).findRecent(20);
+    }
+
+    @Configuration
+    @Import({CallHistoryConfig.class, CacheAside.class})
+    static class TestConfig {
+
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ar.laboratory.baseapi2.callhistory.application.outbound.port.CallHistoryRepositoryPort;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryRecord;
+import com.ar.laboratory.baseapi2.example.application.outbound.port.ExampleRepositoryPort;
+import com.ar.laboratory.baseapi2.example.domain.model.Example;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.time.LocalDateTime;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Las dos unidades de persistencia contra PostgreSQL real: cada pool se identifica en el servidor
+ * con su nombre (application_name), así se ve de qué pool salió la conexión de cada transacción
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(
+        properties = {
+            "spring.cache.type=none",
+            "app.cache.enabled=false",
+            "spring.datasource.hikari.data-source-properties.ApplicationName=business",
+            "app.call-history.datasource.hikari.data-source-properties.ApplicationName=call-history"
+        })
+@DisplayName("CallHistoryPersistenceConfig Integration Tests")
+class CallHistoryPersistenceConfigIntegrationTest {
+
+    private static final String APPLICATION_NAME = "SELECT current_setting('application_name')";
+    private static final String COUNT_BY_CORRELATION_ID =
+            "SELECT count(*) FROM app.call_history WHERE correlation_id = ?";
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired private CallHistoryRepositoryPort callHistoryRepository;
+    @Autowired private ExampleRepositoryPort exampleRepository;
+
+    @PersistenceContext(unitName = "callHistory")
+    private EntityManager callHistoryEntityManager;
+
+    @Autowired
+    @Qualifier(CallHistoryPersistenceConfig.DATA_SOURCE)
+    private DataSource callHistoryDataSource;
+
+    @Autowired
+    @Qualifier(CallHistoryPersistenceConfig.JDBC_TEMPLATE)
+    private JdbcTemplate callHistoryJdbcTemplate;
+
+    @Autowired
+    @Qualifier(CallHistoryPersistenceConfig.TRANSACTION_MANAGER)
+    private PlatformTransactionManager callHistoryTransactionManager;
+
+    @Autowired private DataSource dataSource;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate callHistoryTransaction;
+    private TransactionTemplate businessTransaction;
+    private JdbcTemplate businessJdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        callHistoryTransaction = new TransactionTemplate(callHistoryTransactionManager);
+        businessTransaction = new TransactionTemplate(transactionManager);
+        businessJdbcTemplate = new JdbcTemplate(dataSource);
+        callHistoryJdbcTemplate.execute("TRUNCATE app.call_history");
+        businessJdbcTemplate.update("DELETE FROM app.example WHERE dni LIKE 'pc-%'");
+    }
+
+    @Test
+    @DisplayName("El historial debe escribir con su pool, su transaction manager y su JdbcTemplate")
+    void callHistoryWritesShouldUseCallHistoryPool() {
+        callHistoryTransaction.executeWithoutResult(
+                status -> {
+                    // When
+                    callHistoryRepository.saveAll(List.of(record("pc-history")));
+                    callHistoryEntityManager.flush();
+
+                    // Then: el adaptador y el JdbcTemplate comparten la transacción y la conexión
+                    assertThat(TransactionSynchronizationManager.hasResource(callHistoryDataSource))
+                            .isTrue();
+                    assertThat(TransactionSynchronizationManager.hasResource(dataSource)).isFalse();
+                    assertThat(
+                                    callHistoryJdbcTemplate.queryForObject(
+                                            COUNT_BY_CORRELATION_ID, Long.class, "pc-history"))
+                            .isOne();
+                    assertThat(
+                                    callHistoryJdbcTemplate.queryForObject(
+                                            APPLICATION_NAME, String.class))
+                            .isEqualTo("call-history");
+                    status.setRollbackOnly();
+                });
+
+        // Then: el rollback del transaction manager del historial deshizo el lote
+        assertThat(
+                        callHistoryJdbcTemplate.queryForObject(
+                                COUNT_BY_CORRELATION_ID, Long.class, "pc-history"))
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("El negocio debe escribir con el pool y el transaction manager primarios")
+    void businessWritesShouldUsePrimaryPool() {
+        businessTransaction.executeWithoutResult(
+                status -> {
+                    // When
+                    exampleRepository.save(example("pc-business"));
+
+                    // Then
+                    assertThat(TransactionSynchronizationManager.hasResource(dataSource)).isTrue();
+                    assertThat(TransactionSynchronizationManager.hasResource(callHistoryDataSource))
+                            .isFalse();
+                    assertThat(businessJdbcTemplate.queryForObject(APPLICATION_NAME, String.class))
+                            .isEqualTo("business");
+                    status.setRollbackOnly();
+                });
+
+        // Then
+        assertThat(exampleRepository.existsByDni("pc-business")).isFalse();
+    }
+
+    @Test
+    @DisplayName("El rollback de una transacción de negocio no debe deshacer el historial")
+    void businessRollbackShouldKeepCallHistory() {
+        // When: la request falla después de que el historial confirmó su lote
+        businessTransaction.executeWithoutResult(
+                status -> {
+                    exampleRepository.save(example("pc-rollback"));
+                    callHistoryRepository.saveAll(List.of(record("pc-rollback")));
+                    status.setRollbackOnly();
+                });
+
+        // Then
+        assertThat(exampleRepository.existsByDni("pc-rollback")).isFalse();
+        assertThat(
+                        callHistoryJdbcTemplate.queryForObject(
+                                COUNT_BY_CORRELATION_ID, Long.class, "pc-rollback"))
+                .isOne();
+    }
+
+    @Test
+    @DisplayName("El rollback de una transacción del historial no debe deshacer el negocio")
+    void callHistoryRollbackShouldKeepBusinessWrites() {
+        // When
+        callHistoryTransaction.executeWithoutResult(
+                status -> {
+                    callHistoryRepository.saveAll(List.of(record("pc-isolated")));
+                    exampleRepository.save(example("pc-isolated"));
+                    status.setRollbackOnly();
+                });
+
+        // Then
+        assertThat(exampleRepository.existsByDni("pc-isolated")).isTrue();
+        assertThat(
+                        callHistoryJdbcTemplate.queryForObject(
+                                COUNT_BY_CORRELATION_ID, Long.class, "pc-isolated"))
+                .isZero();
+    }
+
+    private static CallHistoryRecord record(String correlationId) {
+        return CallHistoryRecord.builder()
+                .createdAt(LocalDateTime.now())
+                .correlationId(correlationId)
+                .httpMethod("POST")
+                .path("/api/v1/examples")
+                .httpStatus(201)
+                .success(true)
+                .durationMs(5L)
+                .build();
+    }
+
+    private static Example example(String dni) {
+        return Example.builder().name("Persistencia").dni(dni).build();
+    }
+}
@@ -0,0 +1,71 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.inbound.web.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistorySummary;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("CallHistoryExportWriter Tests")
+class CallHistoryExportWriterTest {
+
+    private static final List<String> FIELDS =
+            List.of("id", "createdAt", "path", "success", "correlationId");
+
+    private final CallHistorySummary summary =
+            CallHistorySummary.builder()
+                    .id(7L)
+                    .createdAt(LocalDateTime.of(2026, 3, 1, 12, 0, 5))
+                    .path("/api/v1/examples?q=\"a,b\"")
+                    .success(true)
+                    .build();
+
+    @Test
+    @DisplayName("NDJSON debe escribir un objeto por línea omitiendo nulos")
+    void ndjsonShouldWriteOneObjectPerLine() throws IOException {
+        // When
+        String ndjson = export(CallHistoryExportFormat.NDJSON, summary, summary);
+
+        // Then
+        String line =
+                "{\"id\":7,\"createdAt\":\"2026-03-01T12:00:05\","
+                        + "\"path\":\"/api/v1/examples?q=\\\"a,b\\\"\",\"success\":true}\n";
+        assertThat(ndjson).isEqualTo(line + line);
+    }
+
+    @Test
+    @DisplayName("CSV debe escribir cabecera, escapar comillas y dejar vacíos los nulos")
+    void csvShouldWriteHeaderAndQuoteStrings() throws IOException {
+        // When
+        String csv = export(CallHistoryExportFormat.CSV, summary);
+
+        // Then
+        assertThat(csv)
+                .isEqualTo(
+                        "id,createdAt,path,success,correlationId\r\n"
+                            + "7,2026-03-01T12:00:05,\"/api/v1/examples?q=\"\"a,b\"\"\",true,\r\n");
+    }
+
+    @Test
+    @DisplayName("CSV vacío debe tener solo la cabecera")
+    void emptyCsvShouldContainHeader() throws IOException {
+        assertThat(export(CallHistoryExportFormat.CSV))
+                .isEqualTo("id,createdAt,path,success,correlationId\r\n");
+    }
+
+    private static String export(CallHistoryExportFormat format, CallHistorySummary... summaries)
+            throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (CallHistoryExportWriter writer = format.writer(out, FIELDS)) {
+            for (CallHistorySummary summary : summaries) {
+                writer.write(summary);
+            }
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,43 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.inbound.web.export;
+
+import static com.ar.laboratory.baseapi2.callhistory.infrastructure.inbound.web.export.ExportContentCoding.acceptsGzip;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("ExportContentCoding Tests")
+class ExportContentCodingTest {
+
+    @Test
+    @DisplayName("Debe aceptar gzip listado con q mayor a 0 o cubierto por *")
+    void shouldAcceptGzipWithPositiveQuality() {
+        assertThat(acceptsGzip("gzip")).isTrue();
+        assertThat(acceptsGzip("gzip, deflate, br")).isTrue();
+        assertThat(acceptsGzip("GZIP;q=0.5")).isTrue();
+        assertThat(acceptsGzip("br;q=1.0, gzip;q=0.8, *;q=0.1")).isTrue();
+        assertThat(acceptsGzip("x-gzip")).isTrue();
+        assertThat(acceptsGzip("*")).isTrue();
+    }
+
+    @Test
+    @DisplayName("gzip con q=0 debe quedar rechazado aunque * lo acepte")
+    void shouldRejectGzipWithZeroQuality() {
+        assertThat(acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(acceptsGzip("gzip; q=0.000")).isFalse();
+        assertThat(acceptsGzip("identity, gzip;q=0")).isFalse();
+        assertThat(acceptsGzip("*, gzip;q=0")).isFalse();
+        assertThat(acceptsGzip("gzip;q=0, *")).isFalse();
+        assertThat(acceptsGzip("*;q=0")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Sin gzip, con un q inválido o sin cabecera no debe comprimir")
+    void shouldNotCompressOtherwise() {
+        assertThat(acceptsGzip("deflate, br")).isFalse();
+        assertThat(acceptsGzip("gzipped")).isFalse();
+        assertThat(acceptsGzip("gzip;q=abc")).isFalse();
+        assertThat(acceptsGzip("")).isFalse();
+        assertThat(acceptsGzip(null)).isFalse();
+    }
+}
@@ -0,0 +1,81 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.inbound.web.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistorySearchCursor;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistorySearchHit;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistorySummary;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.inbound.web.dto.CallHistorySummaryResponse;
+import com.ar.laboratory.baseapi2.shared.infrastructure.exception.BadRequestException;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("CallHistoryDtoMapper Tests")
+class CallHistoryDtoMapperTest {
+
+    private final CallHistoryDtoMapper mapper = new CallHistoryDtoMapper();
+
+    private final CallHistorySummary summary =
+            CallHistorySummary.builder()
+                    .id(7L)
+                    .createdAt(LocalDateTime.of(2026, 3, 1, 12, 0))
+                    .httpMethod("GET")
+                    .path("/api/v1/examples")
+                    .httpStatus(200)
+                    .success(true)
+                    .durationMs(12L)
+                    .correlationId("abc-123")
+                    .build();
+
+    @Test
+    @DisplayName("Debe completar solo los campos pedidos en fields")
+    void shouldMapOnlyRequestedFields() {
+        // When
+        CallHistorySummaryResponse response =
+                mapper.toResponse(summary, mapper.parseFields("id, path,httpStatus"));
+
+        // Then
+        assertThat(response.getId()).isEqualTo(7L);
+        assertThat(response.getPath()).isEqualTo("/api/v1/examples");
+        assertThat(response.getHttpStatus()).isEqualTo(200);
+        assertThat(response.getCreatedAt()).isNull();
+        assertThat(response.getCorrelationId()).isNull();
+    }
+
+    @Test
+    @DisplayName("Sin fields debe completar todos los campos del resumen")
+    void shouldMapAllFieldsByDefault() {
+        // When
+        CallHistorySummaryResponse response = mapper.toResponse(summary, mapper.parseFields(null));
+
+        // Then
+        assertThat(response).hasNoNullFieldsOrProperties();
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un campo desconocido")
+    void shouldRejectUnknownField() {
+        assertThatThrownBy(() -> mapper.parseFields("id,requestBody"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("requestBody");
+    }
+
+    @Test
+    @DisplayName("El cursor de búsqueda debe sobrevivir la ida y vuelta por el token")
+    void searchCursorShouldRoundTrip() {
+        // Given
+        CallHistorySearchCursor cursor =
+                CallHistorySearchCursor.of(new CallHistorySearchHit(summary, 0.0607927f));
+
+        // When
+        CallHistorySearchCursor decoded =
+                mapper.fromSearchCursorToken(mapper.toSearchCursorToken(cursor));
+
+        // Then
+        assertThat(decoded).isEqualTo(cursor);
+        assertThatThrownBy(() -> mapper.fromSearchCursorToken("bm8tZXMtdW4tY3Vyc29y"))
+                .isInstanceOf(BadRequestException.class);
+    }
+}
@@ -0,0 +1,146 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.adapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.withinPercentage;
+
+import com.ar.laboratory.baseapi2.callhistory.application.outbound.port.CallHistoryAnalyticsPort;
+import com.ar.laboratory.baseapi2.callhistory.application.outbound.port.CallHistoryRepositoryPort;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryRecord;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.LatencyAnalyticsQuery;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.LatencyGroupBy;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.LatencyStats;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.config.CallHistoryPersistenceConfig;
+import com.ar.laboratory.baseapi2.shared.infrastructure.config.CallHistoryProperties;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Analytics de latencia contra PostgreSQL real: los percentiles del sketch de los rollups deben
+ * quedar dentro del error de sus buckets respecto de {@code percentile_cont} sobre las filas
+ * crudas, y los conteos y el máximo deben ser exactos
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {"spring.cache.type=none", "app.cache.enabled=false"})
+@DisplayName("CallHistoryAnalyticsAdapter Integration Tests")
+class CallHistoryAnalyticsAdapterIntegrationTest {
+
+    /** Error relativo máximo de los buckets del sketch (LatencySketch) */
+    private static final double SKETCH_ERROR_PERCENT = 12.5;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired private CallHistoryRepositoryPort repository;
+    @Autowired private CallHistoryAnalyticsPort rollupAnalytics;
+
+    @Autowired
+    @Qualifier(CallHistoryPersistenceConfig.JDBC_TEMPLATE)
+    private JdbcTemplate jdbcTemplate;
+
+    private CallHistoryAnalyticsAdapter rawAnalytics;
+
+    private final LocalDateTime base =
+            LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusHours(2);
+
+    @BeforeEach
+    void setUp() {
+        CallHistoryProperties withoutRollups = new CallHistoryProperties();
+        withoutRollups.getRollups().setEnabled(false);
+        rawAnalytics = new CallHistoryAnalyticsAdapter(jdbcTemplate, withoutRollups);
+        jdbcTemplate.execute("TRUNCATE app.call_history, app.call_history_rollup_minute");
+    }
+
+    @Test
+    @DisplayName("Los percentiles de los rollups deben aproximar a los de las filas crudas")
+    void rollupPercentilesShouldApproximateRawPercentiles() {
+        // Given: dos paths con distribuciones distintas y llamadas sin path, en lotes
+        // separados para que el writer sume sketches sobre los mismos minutos
+        List<CallHistoryRecord> records = records();
+        repository.saveAll(records.subList(0, records.size() / 2));
+        repository.saveAll(records.subList(records.size() / 2, records.size()));
+        LatencyAnalyticsQuery query =
+                new LatencyAnalyticsQuery(
+                        base, base.plusMinutes(10), Duration.ofMinutes(5), LatencyGroupBy.PATH);
+
+        // When
+        List<LatencyStats> raw = rawAnalytics.latency(query);
+        List<LatencyStats> rollup = rollupAnalytics.latency(query);
+
+        // Then: 2 intervalos x 3 grupos
+        assertThat(raw).hasSize(6);
+        assertThat(rollup).hasSize(raw.size());
+        for (int i = 0; i < raw.size(); i++) {
+            LatencyStats expected = raw.get(i);
+            LatencyStats actual = rollup.get(i);
+            assertThat(actual.bucketStart()).isEqualTo(expected.bucketStart());
+            assertThat(actual.key()).isEqualTo(expected.key());
+            assertThat(actual.requests()).isEqualTo(expected.requests());
+            assertThat(actual.errors()).isEqualTo(expected.errors());
+            assertThat(actual.maxMs()).isEqualTo(expected.maxMs());
+            assertThat(actual.p50())
+                    .isCloseTo(expected.p50(), withinPercentage(SKETCH_ERROR_PERCENT));
+            assertThat(actual.p95())
+                    .isCloseTo(expected.p95(), withinPercentage(SKETCH_ERROR_PERCENT));
+            assertThat(actual.p99())
+                    .isCloseTo(expected.p99(), withinPercentage(SKETCH_ERROR_PERCENT));
+        }
+
+        // Then: la respuesta salió de los rollups, no de las filas
+        jdbcTemplate.execute("TRUNCATE app.call_history");
+        assertThat(rawAnalytics.latency(query)).isEmpty();
+        assertThat(rollupAnalytics.latency(query)).isEqualTo(rollup);
+    }
+
+    private List<CallHistoryRecord> records() {
+        Random random = new Random(42);
+        List<CallHistoryRecord> records = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            String path = i % 3 == 0 ? "/api/v1/fast" : i % 3 == 1 ? "/api/v1/slow" : null;
+            long duration =
+                    path == null
+                            ? 1 + random.nextInt(200)
+                            : path.endsWith("fast")
+                                    ? 5 + random.nextInt(45)
+                                    : 100
+                                            + (long)
+                                                    (random.nextDouble()
+                                                            * random.nextDouble()
+                                                            * 5000);
+            int status = random.nextInt(20) == 0 ? 500 : 200;
+            records.add(
+                    CallHistoryRecord.builder()
+                            .createdAt(base.plusSeconds(i / 5))
+                            .correlationId("analytics-" + i)
+                            .httpMethod("GET")
+                            .path(path)
+                            .httpStatus(status)
+                            .success(status < 500)
+                            .durationMs(duration)
+                            .build());
+        }
+        return records;
+    }
+}
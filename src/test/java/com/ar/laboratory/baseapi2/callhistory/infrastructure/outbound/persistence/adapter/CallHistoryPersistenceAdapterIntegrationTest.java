@@ -0,0 +1,222 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.adapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ar.laboratory.baseapi2.callhistory.application.outbound.port.CallHistoryRepositoryPort;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryCriteria;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryRecord;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistorySummary;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.config.CallHistoryPersistenceConfig;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/** Adaptador del historial contra PostgreSQL real, con las migraciones de Flyway */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {"spring.cache.type=none", "app.cache.enabled=false"})
+@DisplayName("CallHistoryPersistenceAdapter Integration Tests")
+class CallHistoryPersistenceAdapterIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired private CallHistoryRepositoryPort repository;
+
+    @Autowired
+    @Qualifier(CallHistoryPersistenceConfig.JDBC_TEMPLATE)
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    @Qualifier(CallHistoryPersistenceConfig.TRANSACTION_MANAGER)
+    private PlatformTransactionManager transactionManager;
+
+    private final LocalDateTime base = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE app.call_history");
+    }
+
+    @Test
+    @DisplayName("findAll debe respetar un offset que no es múltiplo del limit")
+    void findAllShouldHonourNonMultipleOffset() {
+        // Given: 200 registros, el más nuevo es el de índice 199
+        List<CallHistoryRecord> records = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            records.add(record(i, true));
+        }
+        repository.saveAll(records);
+
+        // When
+        List<CallHistorySummary> page = repository.findAll(50, 75);
+
+        // Then: filas 75 a 124 en orden descendente
+        assertThat(page).hasSize(50);
+        assertThat(page.get(0).getCreatedAt()).isEqualTo(createdAt(199 - 75));
+        assertThat(page.get(49).getCreatedAt()).isEqualTo(createdAt(199 - 124));
+    }
+
+    @Test
+    @DisplayName("Las fallidas deben leerse con el índice parcial también con plan genérico")
+    void failuresShouldUsePartialIndexUnderGenericPlan() {
+        // Given: mayoría de exitosas, una de cada cincuenta fallida
+        List<CallHistoryRecord> records = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            records.add(record(i, i % 50 != 0));
+        }
+        repository.saveAll(records);
+        jdbcTemplate.execute("ANALYZE app.call_history");
+
+        // When: misma consulta que findFailuresBefore, preparada y con plan genérico forzado
+        String[] partialIndexes = failureIndexPartitions();
+        String plan =
+                explainGeneric(
+                        "SELECT id, created_at FROM app.call_history"
+                                + " WHERE success = false AND created_at <= $1"
+                                + " AND (created_at < $1 OR id < $2)"
+                                + " ORDER BY created_at DESC, id DESC LIMIT $3");
+        List<CallHistorySummary> failures = repository.findBySuccess(false, null, 20);
+
+        // Then
+        assertThat(partialIndexes).isNotEmpty();
+        assertThat(plan).containsAnyOf(partialIndexes);
+        assertThat(plan).doesNotContain("Filter: (success");
+        assertThat(failures).hasSize(20).allMatch(summary -> !summary.getSuccess());
+    }
+
+    @Test
+    @DisplayName("La consulta multi-criterio de fallidas debe usar el índice parcial")
+    void criteriaFailuresShouldUsePartialIndexUnderGenericPlan() {
+        // Given
+        List<CallHistoryRecord> records = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            records.add(record(i, i % 50 != 0));
+        }
+        repository.saveAll(records);
+        jdbcTemplate.execute("ANALYZE app.call_history");
+        CallHistoryCriteria criteria =
+                CallHistoryCriteria.builder().success(false).httpMethod("GET").build();
+
+        // When: la sentencia que arma la Specification, ya preparada en el servidor por el driver
+        // (prepareThreshold) y con plan genérico forzado en la misma conexión
+        String plan =
+                new TransactionTemplate(transactionManager)
+                        .execute(
+                                status -> {
+                                    jdbcTemplate.execute(
+                                            "SET LOCAL plan_cache_mode = force_generic_plan");
+                                    for (int i = 0; i < 6; i++) {
+                                        assertThat(repository.findByCriteria(criteria, null, 20))
+                                                .hasSize(20)
+                                                .allMatch(summary -> !summary.getSuccess());
+                                    }
+                                    return explainPrepared("select%success%");
+                                });
+
+        // Then
+        assertThat(plan).containsAnyOf(failureIndexPartitions());
+        assertThat(plan).doesNotContain("Filter: (NOT success").doesNotContain("Filter: (success");
+    }
+
+    /** Índices de cada partición que heredan de idx_call_history_failures */
+    private String[] failureIndexPartitions() {
+        return jdbcTemplate
+                .queryForList(
+                        "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid"
+                                + " WHERE i.inhparent = 'app.idx_call_history_failures'::regclass",
+                        String.class)
+                .toArray(String[]::new);
+    }
+
+    /**
+     * EXPLAIN de una sentencia que el driver ya preparó en esta conexión. Bajo plan genérico el
+     * plan no depende de los parámetros: las fechas van en 'infinity' para que la poda en ejecución
+     * no descarte particiones y el resto en NULL.
+     */
+    private String explainPrepared(String statementLike) {
+        Map<String, Object> prepared =
+                jdbcTemplate.queryForMap(
+                        "SELECT name, array_to_string(parameter_types::text[], ',') AS types FROM"
+                            + " pg_prepared_statements WHERE statement ILIKE ? AND statement ILIKE"
+                            + " '%app.call_history%' ORDER BY prepare_time DESC LIMIT 1",
+                        statementLike);
+        StringJoiner arguments = new StringJoiner(", ", "(", ")");
+        for (String type : ((String) prepared.get("types")).split(",")) {
+            arguments.add(type.startsWith("timestamp") ? "'infinity'" : "NULL");
+        }
+        return String.join(
+                "\n",
+                jdbcTemplate.queryForList(
+                        "EXPLAIN EXECUTE \"" + prepared.get("name") + "\"" + arguments,
+                        String.class));
+    }
+
+    /** EXPLAIN de la sentencia preparada como la ejecuta el driver tras varias ejecuciones */
+    private String explainGeneric(String sql) {
+        return jdbcTemplate.execute(
+                (ConnectionCallback<String>)
+                        connection -> {
+                            try (Statement statement = connection.createStatement()) {
+                                statement.execute("SET plan_cache_mode = force_generic_plan");
+                                statement.execute(
+                                        "PREPARE failures(timestamp, bigint, int) AS " + sql);
+                                StringBuilder plan = new StringBuilder();
+                                try (ResultSet rows =
+                                        statement.executeQuery(
+                                                "EXPLAIN EXECUTE failures('infinity', "
+                                                        + Long.MAX_VALUE
+                                                        + ", 20)")) {
+                                    while (rows.next()) {
+                                        plan.append(rows.getString(1)).append('\n');
+                                    }
+                                }
+                                statement.execute("DEALLOCATE failures");
+                                statement.execute("RESET plan_cache_mode");
+                                return plan.toString();
+                            }
+                        });
+    }
+
+    private CallHistoryRecord record(int i, boolean success) {
+        return CallHistoryRecord.builder()
+                .createdAt(createdAt(i))
+                .correlationId("corr-" + i)
+                .httpMethod("GET")
+                .path("/api/v1/examples")
+                .httpStatus(success ? 200 : 500)
+                .success(success)
+                .durationMs(5L)
+                .build();
+    }
+
+    private LocalDateTime createdAt(int i) {
+        return base.minusMinutes(30).plusSeconds(i);
+    }
+}
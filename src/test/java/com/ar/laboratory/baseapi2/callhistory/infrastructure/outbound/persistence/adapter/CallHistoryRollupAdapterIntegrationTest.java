@@ -0,0 +1,153 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.adapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.ar.laboratory.baseapi2.callhistory.application.outbound.port.CallHistoryRepositoryPort;
+import com.ar.laboratory.baseapi2.callhistory.application.outbound.port.CallHistoryRollupPort;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryRecord;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.config.CallHistoryPersistenceConfig;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/** Rollups por minuto contra PostgreSQL real: upserts del writer y recálculo en la base */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {"spring.cache.type=none", "app.cache.enabled=false"})
+@DisplayName("CallHistoryRollupAdapter Integration Tests")
+class CallHistoryRollupAdapterIntegrationTest {
+
+    private static final String ROLLUPS =
+            "SELECT minute, path, http_method, status_class, requests, errors, duration_sum,"
+                    + " duration_min, duration_max, latency_sketch::text AS latency_sketch"
+                    + " FROM app.call_history_rollup_minute ORDER BY 1, 2, 3, 4";
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired private CallHistoryRepositoryPort repository;
+    @Autowired private CallHistoryRollupPort rollupPort;
+
+    @Autowired
+    @Qualifier(CallHistoryPersistenceConfig.JDBC_TEMPLATE)
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    @Qualifier(CallHistoryPersistenceConfig.TRANSACTION_MANAGER)
+    private PlatformTransactionManager transactionManager;
+
+    private final LocalDateTime base =
+            LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusHours(2);
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE app.call_history, app.call_history_rollup_minute");
+    }
+
+    @Test
+    @DisplayName("El recálculo en la base debe dar los mismos rollups que los upserts del writer")
+    void rebuildShouldMatchWriterUpserts() {
+        // Given: dos lotes que caen en los mismos minutos, con duraciones de todas las escalas
+        List<CallHistoryRecord> records = records(300);
+        repository.saveAll(records.subList(0, 150));
+        repository.saveAll(records.subList(150, 300));
+        List<Map<String, Object>> upserted = jdbcTemplate.queryForList(ROLLUPS);
+
+        // When
+        long rows = rollupPort.rebuild(base, base.plusHours(1));
+
+        // Then
+        assertThat(rows).isEqualTo(300);
+        assertThat(upserted).hasSizeGreaterThan(5);
+        assertThat(jdbcTemplate.queryForList(ROLLUPS)).isEqualTo(upserted);
+    }
+
+    @Test
+    @DisplayName("El recálculo debe esperar a que confirmen los lotes en vuelo")
+    void rebuildShouldWaitForInFlightUpserts() throws Exception {
+        // Given: un lote del writer con los rollups ya sumados pero sin confirmar
+        CountDownLatch upserted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CompletableFuture<Void> writer =
+                CompletableFuture.runAsync(
+                        () ->
+                                transaction.executeWithoutResult(
+                                        status -> {
+                                            repository.saveAll(records(40));
+                                            upserted.countDown();
+                                            await(release);
+                                        }));
+        assertThat(upserted.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        CompletableFuture<Long> rebuild =
+                CompletableFuture.supplyAsync(() -> rollupPort.rebuild(base, base.plusHours(1)));
+
+        // Then: bloqueado hasta el commit del lote, y después lo incluye una sola vez
+        assertThatThrownBy(() -> rebuild.get(500, TimeUnit.MILLISECONDS))
+                .isInstanceOf(TimeoutException.class);
+        release.countDown();
+        writer.get(10, TimeUnit.SECONDS);
+        assertThat(rebuild.get(10, TimeUnit.SECONDS)).isEqualTo(40);
+        assertThat(
+                        jdbcTemplate.queryForObject(
+                                "SELECT sum(requests) FROM app.call_history_rollup_minute",
+                                Long.class))
+                .isEqualTo(40);
+    }
+
+    private List<CallHistoryRecord> records(int count) {
+        long[] durations = {0L, 3L, 7L, 8L, 15L, 130L, 999L, 65_000L, 20_000_000L};
+        List<CallHistoryRecord> records = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int status = i % 7 == 0 ? 500 : i % 5 == 0 ? 404 : 200;
+            records.add(
+                    CallHistoryRecord.builder()
+                            .createdAt(base.plusSeconds(i * 7L))
+                            .correlationId("rollup-" + i)
+                            .httpMethod(i % 3 == 0 ? "POST" : "GET")
+                            .path(i % 11 == 0 ? null : "/api/v1/examples")
+                            .httpStatus(status)
+                            .success(status < 500)
+                            .durationMs(i % 13 == 0 ? null : durations[i % durations.length])
+                            .build());
+        }
+        return records;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
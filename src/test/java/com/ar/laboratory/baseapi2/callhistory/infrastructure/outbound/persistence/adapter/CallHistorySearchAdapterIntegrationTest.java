@@ -0,0 +1,162 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.adapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ar.laboratory.baseapi2.callhistory.application.inbound.command.SearchCallHistoryCommand;
+import com.ar.laboratory.baseapi2.callhistory.application.outbound.port.CallHistoryRepositoryPort;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryRecord;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistorySearchCursor;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistorySearchHit;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistorySearchPage;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistorySearchQuery;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistorySearchSort;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.config.CallHistoryPersistenceConfig;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Búsqueda de texto contra PostgreSQL real: orden por relevancia y por fecha, y cursores que cortan
+ * empates de rank o de created_at entre páginas sin repetir ni saltear resultados
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {"spring.cache.type=none", "app.cache.enabled=false"})
+@DisplayName("CallHistorySearchAdapter Integration Tests")
+class CallHistorySearchAdapterIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired private CallHistoryRepositoryPort repository;
+    @Autowired private SearchCallHistoryCommand searchCommand;
+
+    @Autowired
+    @Qualifier(CallHistoryPersistenceConfig.JDBC_TEMPLATE)
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDateTime base = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE app.call_history");
+        List<CallHistoryRecord> records = new ArrayList<>();
+        // "timeout" en el tipo de error (peso A), de a dos con el mismo created_at
+        for (int i = 0; i < 3; i++) {
+            records.add(failure("type-" + i, i / 2, "com.acme.timeout.ClientException", "gateway"));
+        }
+        // "timeout" dos veces en el mensaje (peso B)
+        records.add(failure("twice", 1, "java.io.IOException", "timeout after timeout"));
+        // "timeout" una vez en el mensaje, con el mismo rank entre sí
+        for (int i = 0; i < 4; i++) {
+            records.add(failure("message-" + i, i / 2, "java.io.IOException", "read timeout"));
+        }
+        // Sin coincidencia
+        for (int i = 0; i < 3; i++) {
+            records.add(failure("other-" + i, 0, "java.io.IOException", "connection reset"));
+        }
+        repository.saveAll(records);
+    }
+
+    @Test
+    @DisplayName("Por relevancia debe ordenar por peso y recorrer los empates de rank por id")
+    void relevancePagesShouldMatchSingleQuery() {
+        // Given
+        List<CallHistorySearchHit> all = search(CallHistorySearchSort.RELEVANCE, 100, null).hits();
+
+        // When
+        List<CallHistorySearchHit> paged = searchAllPages(CallHistorySearchSort.RELEVANCE, 2);
+
+        // Then
+        assertThat(correlationIds(all))
+                .hasSize(8)
+                .startsWith("type-2", "type-1", "type-0", "twice")
+                .endsWith("message-3", "message-2", "message-1", "message-0");
+        assertThat(all).isSortedAccordingTo((a, b) -> Float.compare(b.rank(), a.rank()));
+        assertThat(correlationIds(paged)).isEqualTo(correlationIds(all));
+    }
+
+    @Test
+    @DisplayName("Por fecha debe recorrer los empates de created_at por id")
+    void recentPagesShouldMatchSingleQuery() {
+        // Given
+        List<CallHistorySearchHit> all = search(CallHistorySearchSort.RECENT, 100, null).hits();
+
+        // When
+        List<CallHistorySearchHit> paged = searchAllPages(CallHistorySearchSort.RECENT, 3);
+
+        // Then
+        assertThat(correlationIds(all))
+                .containsExactly(
+                        "message-3",
+                        "message-2",
+                        "twice",
+                        "type-2",
+                        "message-1",
+                        "message-0",
+                        "type-1",
+                        "type-0");
+        assertThat(correlationIds(paged)).isEqualTo(correlationIds(all));
+    }
+
+    private List<CallHistorySearchHit> searchAllPages(CallHistorySearchSort sort, int limit) {
+        List<CallHistorySearchHit> hits = new ArrayList<>();
+        CallHistorySearchCursor after = null;
+        for (int page = 0; page < 10; page++) {
+            CallHistorySearchPage result = search(sort, limit, after);
+            assertThat(result.hits()).hasSizeLessThanOrEqualTo(limit);
+            hits.addAll(result.hits());
+            if (!result.hasNext()) {
+                return hits;
+            }
+            after = result.next();
+        }
+        throw new AssertionError("La paginación no terminó");
+    }
+
+    private CallHistorySearchPage search(
+            CallHistorySearchSort sort, int limit, CallHistorySearchCursor after) {
+        return searchCommand.execute(
+                new CallHistorySearchQuery(
+                        "timeout", base.minusDays(1), base.plusDays(1), null, false, sort, after),
+                limit);
+    }
+
+    private static List<String> correlationIds(List<CallHistorySearchHit> hits) {
+        return hits.stream().map(hit -> hit.summary().getCorrelationId()).toList();
+    }
+
+    private CallHistoryRecord failure(
+            String correlationId, int minute, String errorType, String errorMessage) {
+        return CallHistoryRecord.builder()
+                .createdAt(base.plusMinutes(minute))
+                .correlationId(correlationId)
+                .httpMethod("GET")
+                .path("/api/v1/examples")
+                .httpStatus(504)
+                .success(false)
+                .durationMs(30_000L)
+                .errorType(errorType)
+                .errorMessage(errorMessage)
+                .build();
+    }
+}
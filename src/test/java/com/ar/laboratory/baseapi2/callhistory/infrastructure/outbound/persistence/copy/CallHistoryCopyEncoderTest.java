@@ -0,0 +1,89 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.copy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryRecord;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.payload.PayloadReferences;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("CallHistoryCopyEncoder Tests")
+class CallHistoryCopyEncoderTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2026, 3, 1, 10, 15, 30);
+
+    @Test
+    @DisplayName("CSV debe escapar comillas y distinguir NULL de string vacío")
+    void csvShouldQuoteStringsAndKeepNullsEmpty() throws IOException {
+        // Given
+        CallHistoryRecord record =
+                CallHistoryRecord.builder()
+                        .createdAt(CREATED_AT)
+                        .httpMethod("POST")
+                        .path("/api/v1/examples")
+                        .httpStatus(201)
+                        .success(true)
+                        .durationMs(7L)
+                        .userId("")
+                        .requestBody("{\"nombre\":\"a,b\"}\nfin")
+                        .build();
+
+        // When
+        String csv = encode(new CsvCallHistoryCopyEncoder(), record);
+
+        // Then
+        assertThat(csv)
+                .isEqualTo(
+                        "42,2026-03-01T10:15:30,,,\"POST\",\"/api/v1/examples\",,201,true,7,,,\"\","
+                                + ",\"{\"\"nombre\"\":\"\"a,b\"\"}\nfin\",,,,,,,,\n");
+    }
+
+    @Test
+    @DisplayName("Binario debe escribir firma, 23 campos por fila y trailer")
+    void binaryShouldWriteHeaderTuplesAndTrailer() throws IOException {
+        // Given
+        CallHistoryRecord record =
+                CallHistoryRecord.builder().createdAt(CREATED_AT).success(false).build();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        new BinaryCallHistoryCopyEncoder()
+                .encode(List.of(record), new long[] {42L}, PayloadReferences.NONE, out);
+
+        // Then
+        ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+        byte[] signature = new byte[11];
+        buffer.get(signature);
+        assertThat(new String(signature, 0, 5, StandardCharsets.US_ASCII)).isEqualTo("PGCOP");
+        assertThat(buffer.getInt()).isZero();
+        assertThat(buffer.getInt()).isZero();
+        assertThat(buffer.getShort()).isEqualTo((short) 23);
+        assertThat(buffer.getInt()).isEqualTo(8);
+        assertThat(buffer.getLong()).isEqualTo(42L);
+        assertThat(buffer.getInt()).isEqualTo(8);
+        buffer.getLong(); // created_at
+        for (int i = 0; i < 6; i++) {
+            assertThat(buffer.getInt()).isEqualTo(-1); // textos e http_status nulos
+        }
+        assertThat(buffer.getInt()).isEqualTo(1);
+        assertThat(buffer.get()).isZero(); // success=false
+        for (int i = 0; i < 14; i++) {
+            assertThat(buffer.getInt()).isEqualTo(-1);
+        }
+        assertThat(buffer.getShort()).isEqualTo((short) -1);
+        assertThat(buffer.hasRemaining()).isFalse();
+    }
+
+    private static String encode(CallHistoryCopyEncoder encoder, CallHistoryRecord record)
+            throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        encoder.encode(List.of(record), new long[] {42L}, PayloadReferences.NONE, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
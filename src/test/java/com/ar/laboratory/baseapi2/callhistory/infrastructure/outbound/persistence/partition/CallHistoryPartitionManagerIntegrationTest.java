@@ -0,0 +1,117 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.partition;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.config.CallHistoryPersistenceConfig;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Instant;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/** DDL de particiones contra PostgreSQL real: creación al arrancar y expiración con lock_timeout */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(
+        properties = {
+            "spring.cache.type=none",
+            "app.cache.enabled=false",
+            "app.call-history.partitions.lock-timeout=200ms"
+        })
+@DisplayName("CallHistoryPartitionManager Integration Tests")
+class CallHistoryPartitionManagerIntegrationTest {
+
+    private static final CallHistoryPartition EXPIRED =
+            new CallHistoryPartition(
+                    "call_history_p20010101",
+                    Instant.parse("2001-01-01T00:00:00Z"),
+                    Instant.parse("2001-02-01T00:00:00Z"));
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired private CallHistoryPartitionManager partitionManager;
+
+    @Autowired
+    @Qualifier(CallHistoryPersistenceConfig.JDBC_TEMPLATE)
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    @Qualifier(CallHistoryPersistenceConfig.DATA_SOURCE)
+    private DataSource dataSource;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS app." + EXPIRED.name());
+    }
+
+    @Test
+    @DisplayName("Al arrancar deben quedar creadas la partición en curso y las siguientes")
+    void maintainShouldCoverCurrentAndPremadePeriods() {
+        // When: ya corrió al arrancar; una segunda ronda no debe crear nada
+        int before = partitionManager.listPartitions().size();
+        partitionManager.maintain();
+
+        // Then
+        Instant now = Instant.now();
+        assertThat(partitionManager.listPartitions())
+                .hasSize(before)
+                .anyMatch(
+                        partition -> !partition.from().isAfter(now) && partition.to().isAfter(now))
+                .anyMatch(partition -> partition.from().isAfter(now));
+    }
+
+    @Test
+    @DisplayName("La expiración debe abandonar sin esperar si otra transacción usa la tabla")
+    void expireShouldGiveUpWhenTheLockIsNotAvailable() throws Exception {
+        // Given: una partición vencida y una consulta en curso sobre app.call_history
+        createExpiredPartition();
+        try (Connection reader = dataSource.getConnection()) {
+            reader.setAutoCommit(false);
+            try (Statement statement = reader.createStatement()) {
+                statement.execute("SELECT count(*) FROM app.call_history");
+            }
+
+            // When
+            long start = System.nanoTime();
+            boolean expired = partitionManager.expire(EXPIRED, jdbcTemplate);
+
+            // Then: no se encoló detrás de la consulta y la partición sigue vinculada
+            assertThat(expired).isFalse();
+            assertThat((System.nanoTime() - start) / 1_000_000).isLessThan(5_000);
+            assertThat(partitionManager.expiredBefore(EXPIRED.to(), jdbcTemplate))
+                    .contains(EXPIRED);
+            reader.rollback();
+        }
+
+        // Then: en la ronda siguiente, sin la consulta, se elimina
+        assertThat(partitionManager.expire(EXPIRED, jdbcTemplate)).isTrue();
+        assertThat(partitionManager.expiredBefore(EXPIRED.to(), jdbcTemplate))
+                .doesNotContain(EXPIRED);
+    }
+
+    private void createExpiredPartition() {
+        jdbcTemplate.execute(
+                "CREATE TABLE app."
+                        + EXPIRED.name()
+                        + " PARTITION OF app.call_history FOR VALUES FROM ('2001-01-01"
+                        + " 00:00:00+00') TO ('2001-02-01 00:00:00+00')");
+    }
+}
@@ -0,0 +1,96 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.partition;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.ar.laboratory.baseapi2.shared.infrastructure.config.CallHistoryProperties;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("CallHistoryPartitionPlanner Tests")
+class CallHistoryPartitionPlannerTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-15T10:00:00Z");
+
+    private CallHistoryProperties.Partitions properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CallHistoryProperties.Partitions();
+        properties.setPremake(2);
+    }
+
+    @Test
+    @DisplayName("Debe crear la partición actual y las futuras que falten, alineadas al mes UTC")
+    void shouldPlanMissingMonthlyPartitions() {
+        // Given
+        List<CallHistoryPartition> existing =
+                List.of(monthly("20260301", "2026-03-01", "2026-04-01"));
+
+        // When
+        List<CallHistoryPartition> missing =
+                new CallHistoryPartitionPlanner(properties).missing(existing, NOW);
+
+        // Then
+        assertThat(missing)
+                .containsExactly(
+                        monthly("20260401", "2026-04-01", "2026-05-01"),
+                        monthly("20260501", "2026-05-01", "2026-06-01"));
+    }
+
+    @Test
+    @DisplayName("No debe crear particiones diarias que se superpongan con una mensual existente")
+    void shouldSkipRangesCoveredByExistingPartitions() {
+        // Given
+        properties.setPeriod(CallHistoryProperties.PartitionPeriod.DAILY);
+        List<CallHistoryPartition> existing =
+                List.of(monthly("20260301", "2026-03-01", "2026-04-01"));
+
+        // When
+        List<CallHistoryPartition> missing =
+                new CallHistoryPartitionPlanner(properties).missing(existing, NOW);
+
+        // Then
+        assertThat(missing).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Solo deben expirar las particiones completamente anteriores al corte")
+    void shouldExpireOnlyFullyOutdatedPartitions() {
+        // Given
+        Instant cutoff = NOW.minus(Duration.ofDays(30));
+        CallHistoryPartition january = monthly("20260101", "2026-01-01", "2026-02-01");
+        CallHistoryPartition february = monthly("20260201", "2026-02-01", "2026-03-01");
+        CallHistoryPartition march = monthly("20260301", "2026-03-01", "2026-04-01");
+
+        // When
+        List<CallHistoryPartition> expired =
+                new CallHistoryPartitionPlanner(properties)
+                        .expired(List.of(january, february, march), cutoff);
+
+        // Then
+        assertThat(expired).containsExactly(january);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un premake negativo")
+    void shouldRejectNegativePremake() {
+        // Given
+        properties.setPremake(-1);
+
+        // When / Then
+        assertThatThrownBy(() -> new CallHistoryPartitionPlanner(properties))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static CallHistoryPartition monthly(String suffix, String from, String to) {
+        return new CallHistoryPartition(
+                "call_history_p" + suffix,
+                Instant.parse(from + "T00:00:00Z"),
+                Instant.parse(to + "T00:00:00Z"));
+    }
+}
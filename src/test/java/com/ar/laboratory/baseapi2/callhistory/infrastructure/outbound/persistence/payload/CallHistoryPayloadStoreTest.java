@@ -0,0 +1,215 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.payload;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryRecord;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.entity.CallHistoryEntity;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.entity.CallHistoryPayloadEntity;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.mapper.CallHistoryEntityMapper;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.repository.CallHistoryPayloadJpaRepository;
+import com.ar.laboratory.baseapi2.shared.infrastructure.config.CallHistoryProperties;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CallHistoryPayloadStore Tests")
+class CallHistoryPayloadStoreTest {
+
+    private static final String BODY =
+            "{\"items\":[" + "{\"nombre\":\"ejemplo\"},".repeat(50) + "]}";
+
+    @Mock private CallHistoryPayloadJpaRepository jpaRepository;
+    @Mock private JdbcTemplate jdbcTemplate;
+
+    private CallHistoryProperties properties;
+    private CallHistoryPayloadStore store;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CallHistoryProperties();
+        properties.getPayloads().setStorage(CallHistoryProperties.PayloadStorage.DEDUPLICATED);
+        properties.getPayloads().setMinSize(64);
+        store = new CallHistoryPayloadStore(properties, jpaRepository, jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Con INLINE no debe externalizar nada")
+    void inlineStorageShouldKeepValuesInRow() {
+        // Given
+        properties.getPayloads().setStorage(CallHistoryProperties.PayloadStorage.INLINE);
+
+        // When
+        PayloadReferences references = store.externalize(List.of(record(BODY)));
+
+        // Then
+        assertThat(references).isSameAs(PayloadReferences.NONE);
+        assertThat(references.inlineResponseBody(record(BODY), 0)).isEqualTo(BODY);
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Cuerpos idénticos deben guardarse una sola vez, también entre lotes")
+    @SuppressWarnings("unchecked")
+    void identicalBodiesShouldBeStoredOnce() {
+        // Given
+        CallHistoryRecord first = record(BODY);
+        CallHistoryRecord second = record(BODY);
+
+        // When
+        PayloadReferences references = store.externalize(List.of(first, second));
+        store.externalize(List.of(record(BODY)));
+
+        // Then
+        ArgumentCaptor<Collection<StoredPayload>> inserted =
+                ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate, times(1))
+                .batchUpdate(anyString(), inserted.capture(), anyInt(), any());
+        assertThat(inserted.getValue()).hasSize(1);
+        assertThat(references.responseBodyHash(0))
+                .hasSize(64)
+                .isEqualTo(references.responseBodyHash(1));
+        assertThat(references.inlineResponseBody(first, 0)).isNull();
+        assertThat(references.requestBodyHash(0)).isNull(); // valor corto: queda en la fila
+        assertThat(references.inlineRequestBody(first, 0)).isEqualTo("{}");
+    }
+
+    @Test
+    @DisplayName("Tras un rollback el siguiente lote debe volver a insertar el payload")
+    void rolledBackPayloadsShouldBeInsertedAgain() {
+        // Given: el lote corre en una transacción que hace rollback
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            store.externalize(List.of(record(BODY)));
+            completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // When: el reintento (spool) confirma
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            store.externalize(List.of(record(BODY)));
+            completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        store.externalize(List.of(record(BODY)));
+
+        // Then: dos INSERT (lote fallido y reintento), ninguno después del commit
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Vencido el known-ttl el siguiente lote debe volver a tocar el payload")
+    void expiredHashesShouldBeTouchedAgain() {
+        // Given
+        properties.getPayloads().setKnownTtl(Duration.ZERO);
+        store = new CallHistoryPayloadStore(properties, jpaRepository, jdbcTemplate);
+
+        // When
+        store.externalize(List.of(record(BODY)));
+        store.externalize(List.of(record(BODY)));
+
+        // Then: el segundo INSERT actualiza last_referenced_at y la purga no lo toma como huérfano
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("El contenido comprimido debe recuperar el texto original")
+    void storedPayloadShouldRoundTrip() {
+        // When
+        StoredPayload compressible = StoredPayload.encode("h1", BODY, 6);
+        StoredPayload tiny = StoredPayload.encode("h2", "ñ", 6);
+
+        // Then
+        assertThat(compressible.encoding()).isEqualTo(StoredPayload.DEFLATE);
+        assertThat(compressible.content().length).isLessThan(BODY.length() / 4);
+        assertThat(compressible.decode()).isEqualTo(BODY);
+        assertThat(tiny.encoding()).isEqualTo(StoredPayload.IDENTITY);
+        assertThat(tiny.decode()).isEqualTo("ñ");
+    }
+
+    @Test
+    @DisplayName("El mapper debe resolver los cuerpos externalizados desde el store")
+    void mapperShouldResolveExternalizedBodies() {
+        // Given
+        String hash = CallHistoryPayloadStore.hash(BODY);
+        StoredPayload stored = StoredPayload.encode(hash, BODY, 6);
+        when(jpaRepository.findAllById(List.of(hash)))
+                .thenReturn(
+                        List.of(
+                                new CallHistoryPayloadEntity(
+                                        hash,
+                                        stored.encoding(),
+                                        stored.content(),
+                                        stored.originalSize(),
+                                        null)));
+        CallHistoryEntity entity =
+                CallHistoryEntity.builder().id(1L).requestBody("{}").responseBodyHash(hash).build();
+
+        // When
+        CallHistoryRecord record =
+                new CallHistoryEntityMapper().toDomain(entity, store.load(List.of(hash)));
+
+        // Then
+        assertThat(record.getRequestBody()).isEqualTo("{}");
+        assertThat(record.getResponseBody()).isEqualTo(BODY);
+    }
+
+    @Test
+    @DisplayName("El cuerpo se descomprime recién al leerlo y una sola vez")
+    void bodyShouldBeLoadedLazilyOnce() {
+        // Given
+        int[] loads = {0};
+        Supplier<String> loader =
+                () -> {
+                    loads[0]++;
+                    return BODY;
+                };
+        CallHistoryRecord record = CallHistoryRecord.builder().responseBodyLoader(loader).build();
+
+        // When / Then
+        assertThat(loads[0]).isZero();
+        assertThat(record.getResponseBody()).isEqualTo(BODY);
+        assertThat(record.getResponseBody()).isEqualTo(BODY);
+        assertThat(loads[0]).isEqualTo(1);
+    }
+
+    private static void completeTransaction(int status) {
+        List<TransactionSynchronization> synchronizations =
+                TransactionSynchronizationManager.getSynchronizations();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    private static CallHistoryRecord record(String responseBody) {
+        return CallHistoryRecord.builder()
+                .httpMethod("GET")
+                .path("/api/v1/examples")
+                .requestBody("{}")
+                .responseBody(responseBody)
+                .build();
+    }
+}
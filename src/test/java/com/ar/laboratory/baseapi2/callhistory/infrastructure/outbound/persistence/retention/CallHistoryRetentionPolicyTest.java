@@ -0,0 +1,101 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.retention;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.ar.laboratory.baseapi2.shared.infrastructure.config.CallHistoryProperties;
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("CallHistoryRetentionPolicy Tests")
+class CallHistoryRetentionPolicyTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-15T10:00:00Z");
+    private static final Duration KNOWN_TTL = Duration.ofHours(1);
+
+    private CallHistoryProperties.Retention properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CallHistoryProperties.Retention();
+    }
+
+    @Test
+    @DisplayName("Debe calcular cortes independientes para historial y rollups")
+    void shouldComputeCutoffsFromMaxAges() {
+        // Given
+        properties.setMaxAge(Duration.ofDays(30));
+        properties.setRollupMaxAge(Duration.ofDays(365));
+
+        // When
+        CallHistoryRetentionPolicy policy = new CallHistoryRetentionPolicy(properties, KNOWN_TTL);
+
+        // Then
+        assertThat(policy.isEnabled()).isTrue();
+        assertThat(policy.historyCutoff(NOW)).contains(Instant.parse("2026-02-13T10:00:00Z"));
+        assertThat(policy.rollupCutoff(NOW)).contains(Instant.parse("2025-03-15T10:00:00Z"));
+    }
+
+    @Test
+    @DisplayName("Con retención cero no debe purgar nada")
+    void zeroRetentionShouldKeepEverything() {
+        // When
+        CallHistoryRetentionPolicy policy = new CallHistoryRetentionPolicy(properties, KNOWN_TTL);
+
+        // Then
+        assertThat(policy.isEnabled()).isFalse();
+        assertThat(policy.historyCutoff(NOW)).isEmpty();
+        assertThat(policy.rollupCutoff(NOW)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Debe rechazar una retención negativa")
+    void shouldRejectNegativeRetention() {
+        // Given
+        properties.setMaxAge(Duration.ofDays(-1));
+
+        // When / Then
+        assertThatThrownBy(() -> new CallHistoryRetentionPolicy(properties, KNOWN_TTL))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar lotes vacíos")
+    void shouldRejectNonPositiveBatchSize() {
+        // Given
+        properties.setBatchSize(0);
+
+        // When / Then
+        assertThatThrownBy(() -> new CallHistoryRetentionPolicy(properties, KNOWN_TTL))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Los huérfanos deben purgarse orphan-grace antes del corte del historial")
+    void orphanCutoffShouldLeaveGraceBeforeHistoryCutoff() {
+        // Given
+        properties.setMaxAge(Duration.ofDays(30));
+        properties.setOrphanGrace(Duration.ofDays(1));
+        CallHistoryRetentionPolicy policy = new CallHistoryRetentionPolicy(properties, KNOWN_TTL);
+
+        // When
+        Instant cutoff = policy.orphanCutoff(policy.historyCutoff(NOW).orElseThrow());
+
+        // Then
+        assertThat(cutoff).isEqualTo(Instant.parse("2026-02-12T10:00:00Z"));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un margen de huérfanos que no supere el TTL de las cachés")
+    void shouldRejectOrphanGraceNotAboveKnownTtl() {
+        // Given
+        properties.setOrphanGrace(KNOWN_TTL);
+
+        // When / Then
+        assertThatThrownBy(() -> new CallHistoryRetentionPolicy(properties, KNOWN_TTL))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,202 @@
+package com.ar.laboratory.baseapi2.callhistory.infrastructure.outbound.persistence.retention;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ar.laboratory.baseapi2.callhistory.application.outbound.port.CallHistoryRepositoryPort;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryRecord;
+import com.ar.laboratory.baseapi2.callhistory.infrastructure.config.CallHistoryPersistenceConfig;
+import com.ar.laboratory.baseapi2.shared.infrastructure.config.CallHistoryProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Purga contra PostgreSQL real: la partición vencida se elimina entera y el resto se borra en lotes
+ * de 7 por (created_at, id), con empates de created_at que caen en el medio de un lote
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(
+        properties = {
+            "spring.cache.type=none",
+            "app.cache.enabled=false",
+            "app.call-history.retention.max-age=1d",
+            "app.call-history.retention.batch-size=7",
+            "app.call-history.retention.batch-pause=0"
+        })
+@DisplayName("CallHistoryRetentionService Integration Tests")
+class CallHistoryRetentionServiceIntegrationTest {
+
+    private static final String EXPIRED_PARTITION = "call_history_p20010101";
+    private static final String OLD_KEYS =
+            "SELECT id FROM app.call_history WHERE correlation_id LIKE 'old-%'"
+                    + " ORDER BY created_at, id";
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired private CallHistoryRetentionService retentionService;
+    @Autowired private CallHistoryRepositoryPort repository;
+    @Autowired private CallHistoryProperties callHistoryProperties;
+    @Autowired private MeterRegistry meterRegistry;
+
+    @Autowired
+    @Qualifier(CallHistoryPersistenceConfig.JDBC_TEMPLATE)
+    private JdbcTemplate jdbcTemplate;
+
+    private Duration maxRunTime;
+
+    @BeforeEach
+    void setUp() {
+        maxRunTime = callHistoryProperties.getRetention().getMaxRunTime();
+        jdbcTemplate.execute("TRUNCATE app.call_history");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS app." + EXPIRED_PARTITION);
+        jdbcTemplate.execute(
+                "CREATE TABLE app."
+                        + EXPIRED_PARTITION
+                        + " PARTITION OF app.call_history FOR VALUES FROM ('2001-01-01"
+                        + " 00:00:00+00') TO ('2001-02-01 00:00:00+00')");
+        repository.saveAll(records());
+    }
+
+    @AfterEach
+    void tearDown() {
+        callHistoryProperties.getRetention().setMaxRunTime(maxRunTime);
+    }
+
+    @Test
+    @DisplayName("Una corrida debe eliminar la partición vencida y borrar el resto lote tras lote")
+    void shouldDropExpiredPartitionAndPurgeAllBatchesInOneRun() throws InterruptedException {
+        // Given
+        double purgedRows = purged("rows");
+        double purgedPartitions = purged("partitions");
+        long completed = runs("completed");
+
+        // When
+        runOnce();
+
+        // Then: 8 lotes (7 completos y uno de 1) sin saltear filas en los empates
+        assertThat(partitionExists()).isFalse();
+        assertThat(jdbcTemplate.queryForList(OLD_KEYS, Long.class)).isEmpty();
+        assertThat(purged("rows") - purgedRows).isEqualTo(50);
+        assertThat(purged("partitions") - purgedPartitions).isEqualTo(1);
+        assertThat(runs("completed")).isEqualTo(completed + 1);
+        assertThat(countAll()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Una corrida cortada por tiempo debe dejar las filas más nuevas para la siguiente")
+    void shouldStopAtMaxRunTimeAndLeaveNewestRows() throws InterruptedException {
+        // Given: sin tiempo, cada corrida alcanza a borrar un solo lote
+        callHistoryProperties.getRetention().setMaxRunTime(Duration.ZERO);
+        List<Long> oldKeys = jdbcTemplate.queryForList(OLD_KEYS, Long.class);
+        long partial = runs("partial");
+        long completed = runs("completed");
+
+        // When / Then: cada corrida borra los 7 más viejos que quedan
+        runOnce();
+        assertThat(partitionExists()).isFalse();
+        for (int run = 1; run < 8; run++) {
+            assertThat(jdbcTemplate.queryForList(OLD_KEYS, Long.class))
+                    .as("después de la corrida %d", run)
+                    .isEqualTo(oldKeys.subList(run * 7, oldKeys.size()));
+            runOnce();
+        }
+
+        // Then: la octava borró la última fila y terminó; las recientes siguen
+        assertThat(jdbcTemplate.queryForList(OLD_KEYS, Long.class)).isEmpty();
+        assertThat(runs("partial")).isEqualTo(partial + 7);
+        assertThat(runs("completed")).isEqualTo(completed + 1);
+        assertThat(countAll()).isEqualTo(3);
+    }
+
+    /** Lanza una corrida y espera a que termine */
+    private void runOnce() throws InterruptedException {
+        long before = runs("partial") + runs("completed");
+        assertThat(retentionService.start()).isTrue();
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (runs("partial") + runs("completed") == before) {
+            assertThat(runs("failed")).isZero();
+            assertThat(System.nanoTime()).as("la corrida no terminó").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+
+    private long runs(String outcome) {
+        Timer timer =
+                meterRegistry.find("call.history.retention.run").tag("outcome", outcome).timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private double purged(String target) {
+        return meterRegistry
+                .get("call.history.retention.purged")
+                .tag("target", target)
+                .counter()
+                .count();
+    }
+
+    private long countAll() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM app.call_history", Long.class);
+    }
+
+    private boolean partitionExists() {
+        return Boolean.TRUE.equals(
+                jdbcTemplate.queryForObject(
+                        "SELECT to_regclass(?) IS NOT NULL",
+                        Boolean.class,
+                        "app." + EXPIRED_PARTITION));
+    }
+
+    /**
+     * Filas en la partición vencida, 50 viejas en la DEFAULT (de a 10 con el mismo created_at) y 3
+     * recientes
+     */
+    private static List<CallHistoryRecord> records() {
+        List<CallHistoryRecord> records = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            records.add(record("partitioned-" + i, LocalDateTime.of(2001, 1, 10, 0, i)));
+        }
+        for (int i = 0; i < 50; i++) {
+            records.add(record("old-" + i, LocalDateTime.of(2002, 3, 1, 0, i / 10)));
+        }
+        for (int i = 0; i < 3; i++) {
+            records.add(record("recent-" + i, LocalDateTime.now().minusMinutes(i)));
+        }
+        return records;
+    }
+
+    private static CallHistoryRecord record(String correlationId, LocalDateTime createdAt) {
+        return CallHistoryRecord.builder()
+                .createdAt(createdAt)
+                .correlationId(correlationId)
+                .httpMethod("GET")
+                .path("/api/v1/examples")
+                .httpStatus(200)
+                .success(true)
+                .durationMs(5L)
+                .build();
+    }
+}
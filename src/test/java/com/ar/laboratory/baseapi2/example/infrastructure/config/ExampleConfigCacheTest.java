@@ -0,0 +1,177 @@
+package com.ar.laboratory.baseapi2.example.infrastructure.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.ar.laboratory.baseapi2.example.application.inbound.command.CreateExampleCommand;
+import com.ar.laboratory.baseapi2.example.application.inbound.command.FindExampleByDniCommand;
+import com.ar.laboratory.baseapi2.example.application.inbound.command.ListExamplesCommand;
+import com.ar.laboratory.baseapi2.example.application.outbound.port.ExampleRepositoryPort;
+import com.ar.laboratory.baseapi2.example.domain.exception.ExampleNotFoundException;
+import com.ar.laboratory.baseapi2.example.domain.model.Example;
+import com.ar.laboratory.baseapi2.shared.infrastructure.cache.CacheAside;
+import com.ar.laboratory.baseapi2.shared.infrastructure.config.CacheConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+/**
+ * Wiring real de {@link ExampleConfig}: los commands que expone deben pasar por el caché y por la
+ * transacción, con un CacheManager en memoria en lugar de Redis
+ */
+@SpringJUnitConfig(ExampleConfigCacheTest.TestConfig.class)
+@DisplayName("ExampleConfig cache Tests")
+class ExampleConfigCacheTest {
+
+    @Autowired private CreateExampleCommand createExampleCommand;
+    @Autowired private FindExampleByDniCommand findExampleByDniCommand;
+    @Autowired private ListExamplesCommand listExamplesCommand;
+    @Autowired private CacheManager cacheManager;
+    @Autowired private MeterRegistry meterRegistry;
+    @Autowired private RecordingTransactionManager transactionManager;
+
+    @MockitoBean private ExampleRepositoryPort repositoryPort;
+
+    private final Example example = Example.builder().id(1L).name("Juan").dni("12345678").build();
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        transactionManager.definitions.clear();
+        meterRegistry.clear();
+    }
+
+    @Test
+    @DisplayName("La segunda búsqueda por DNI debe salir del caché sin tocar el repositorio")
+    void findByDniShouldHitCache() {
+        // Given
+        when(repositoryPort.findByDni("12345678")).thenReturn(Optional.of(example));
+
+        // When
+        Example first = findExampleByDniCommand.execute("12345678");
+        Example second = findExampleByDniCommand.execute("12345678");
+
+        // Then
+        assertThat(first).isEqualTo(example);
+        assertThat(second).isEqualTo(example);
+        verify(repositoryPort, times(1)).findByDni("12345678");
+        assertThat(gets(CacheConfig.EXAMPLES_BY_DNI, "hit")).isEqualTo(1);
+        assertThat(gets(CacheConfig.EXAMPLES_BY_DNI, "miss")).isEqualTo(1);
+        assertThat(transactionManager.definitions)
+                .singleElement()
+                .satisfies(definition -> assertThat(definition.isReadOnly()).isTrue());
+    }
+
+    @Test
+    @DisplayName("Un DNI inexistente no debe quedar cacheado")
+    void notFoundShouldNotBeCached() {
+        // Given
+        when(repositoryPort.findByDni("99999999")).thenReturn(Optional.empty());
+
+        // When / Then
+        assertThatThrownBy(() -> findExampleByDniCommand.execute("99999999"))
+                .isInstanceOf(ExampleNotFoundException.class);
+        assertThatThrownBy(() -> findExampleByDniCommand.execute("99999999"))
+                .isInstanceOf(ExampleNotFoundException.class);
+        verify(repositoryPort, times(2)).findByDni("99999999");
+    }
+
+    @Test
+    @DisplayName("El listado debe cachearse y crear un Example debe invalidarlo junto con su DNI")
+    void createShouldEvictDniAndListing() {
+        // Given
+        when(repositoryPort.findAll()).thenReturn(new ArrayList<>(List.of(example)));
+        when(repositoryPort.findByDni("12345678")).thenReturn(Optional.of(example));
+        when(repositoryPort.existsByDni("12345678")).thenReturn(false);
+        when(repositoryPort.save(any(Example.class))).thenReturn(example);
+        listExamplesCommand.execute();
+        listExamplesCommand.execute();
+        findExampleByDniCommand.execute("12345678");
+
+        // When
+        createExampleCommand.execute(Example.builder().name("Juan").dni("12345678").build());
+        listExamplesCommand.execute();
+        findExampleByDniCommand.execute("12345678");
+
+        // Then
+        verify(repositoryPort, times(2)).findAll();
+        verify(repositoryPort, times(2)).findByDni("12345678");
+        assertThat(gets(CacheConfig.EXAMPLES_CACHE, "hit")).isEqualTo(1);
+        assertThat(transactionManager.definitions)
+                .filteredOn(definition -> !definition.isReadOnly())
+                .hasSize(1);
+    }
+
+    private double gets(String cacheName, String result) {
+        return meterRegistry
+                .get("cache.aside.gets")
+                .tag("cache", cacheName)
+                .tag("result", result)
+                .counter()
+                .count();
+    }
+
+    @Configuration
+    @Import({ExampleConfig.class, CacheAside.class})
+    static class TestConfig {
+
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        RecordingTransactionManager transactionManager() {
+            return new RecordingTransactionManager();
+        }
+    }
+
+    /** Transaction manager sin recurso que registra cada transacción abierta */
+    static class RecordingTransactionManager extends AbstractPlatformTransactionManager
+            implements PlatformTransactionManager {
+
+        final List<TransactionDefinition> definitions = new ArrayList<>();
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+            definitions.add(definition);
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {}
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {}
+    }
+}
@@ -0,0 +1,137 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.endsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+@DisplayName("TwoLevelCacheManager Tests")
+class TwoLevelCacheManagerTest {
+
+    private static final String CHANNEL = "cache-invalidations";
+
+    private final ConcurrentMapCacheManager remote = new ConcurrentMapCacheManager();
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private CacheInvalidationChannel channel;
+    private TwoLevelCacheManager manager;
+
+    @BeforeEach
+    void setUp() {
+        channel = new CacheInvalidationChannel(redisTemplate, CHANNEL);
+        manager =
+                new TwoLevelCacheManager(
+                        remote,
+                        Set.of("examplesByDni"),
+                        100,
+                        Duration.ofMinutes(1),
+                        channel,
+                        meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Tras leer de L2 la clave debe servirse desde L1")
+    void shouldServeFromLocalAfterFirstRemoteRead() {
+        // Given
+        remote.getCache("examplesByDni").put("12345678", "Juan");
+        Cache cache = manager.getCache("examplesByDni");
+
+        // When
+        Cache.ValueWrapper first = cache.get("12345678");
+        remote.getCache("examplesByDni").evict("12345678");
+        Cache.ValueWrapper second = cache.get("12345678");
+
+        // Then
+        assertThat(first.get()).isEqualTo("Juan");
+        assertThat(second.get()).isEqualTo("Juan");
+        assertThat(l1Gets("hit")).isEqualTo(1);
+        assertThat(l1Gets("miss")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Los cachés sin L1 deben delegarse a L2 sin envolver")
+    void shouldDelegateOtherCachesToRemote() {
+        assertThat(manager.getCache("callHistoryCache"))
+                .isSameAs(remote.getCache("callHistoryCache"));
+        assertThat(manager.getCache("examplesByDni")).isInstanceOf(TwoLevelCache.class);
+    }
+
+    @Test
+    @DisplayName("Invalidar debe borrar ambos niveles y difundirse a los demás nodos")
+    void evictShouldClearBothLevelsAndBroadcast() {
+        // Given
+        Cache cache = manager.getCache("examplesByDni");
+        cache.put("12345678", "Juan");
+
+        // When
+        cache.evict("12345678");
+
+        // Then
+        assertThat(cache.get("12345678")).isNull();
+        assertThat(remote.getCache("examplesByDni").get("12345678")).isNull();
+        verify(redisTemplate).convertAndSend(anyString(), endsWith("\nexamplesByDni\n12345678"));
+    }
+
+    @Test
+    @DisplayName("Una invalidación de otro nodo debe descartar solo la copia de L1")
+    void remoteInvalidationShouldDropLocalCopy() {
+        // Given
+        Cache cache = manager.getCache("examplesByDni");
+        cache.put("12345678", "Juan");
+        remote.getCache("examplesByDni").put("12345678", "Juan (actualizado)");
+
+        // When
+        channel.onMessage(message("otro-nodo\nexamplesByDni\n12345678"), null);
+
+        // Then
+        assertThat(cache.get("12345678").get()).isEqualTo("Juan (actualizado)");
+        verify(redisTemplate, never()).convertAndSend(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Sin clave, la invalidación de otro nodo debe vaciar L1 completo")
+    void remoteClearShouldDropAllLocalCopies() {
+        // Given
+        Cache cache = manager.getCache("examplesByDni");
+        cache.put("1", "uno");
+        cache.put("2", "dos");
+        remote.getCache("examplesByDni").clear();
+
+        // When
+        channel.onMessage(message("otro-nodo\nexamplesByDni"), null);
+
+        // Then
+        assertThat(cache.get("1")).isNull();
+        assertThat(cache.get("2")).isNull();
+    }
+
+    private double l1Gets(String result) {
+        return meterRegistry
+                .get("cache.gets")
+                .tag("cache", "examplesByDni")
+                .tag("level", "l1")
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(
+                CHANNEL.getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+    }
+}
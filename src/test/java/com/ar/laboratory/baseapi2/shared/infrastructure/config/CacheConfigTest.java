@@ -0,0 +1,53 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistorySummary;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.ErrorFingerprint;
+import com.ar.laboratory.baseapi2.example.domain.model.Example;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+@DisplayName("CacheConfig Tests")
+class CacheConfigTest {
+
+    private final RedisSerializer<Object> serializer = CacheConfig.valueSerializer();
+
+    @Test
+    @DisplayName("Los valores de los commands cacheados deben sobrevivir el JSON de Redis")
+    void cachedValuesShouldRoundTrip() {
+        // Given
+        Example example = Example.builder().id(1L).name("Juan").dni("12345678").build();
+        CallHistorySummary summary =
+                CallHistorySummary.builder()
+                        .id(7L)
+                        .createdAt(LocalDateTime.of(2026, 1, 2, 3, 4, 5))
+                        .httpMethod("GET")
+                        .path("/api/v1/examples")
+                        .httpStatus(200)
+                        .success(true)
+                        .durationMs(12L)
+                        .build();
+        ErrorFingerprint fingerprint =
+                ErrorFingerprint.builder()
+                        .fingerprint("abc")
+                        .firstSeen(LocalDateTime.of(2026, 1, 1, 0, 0))
+                        .occurrences(3L)
+                        .build();
+
+        // When / Then (CacheAside guarda las listas como ArrayList)
+        assertThat(roundTrip(example)).isEqualTo(example);
+        assertThat(roundTrip(new ArrayList<>(List.of(example)))).isEqualTo(List.of(example));
+        assertThat(roundTrip(new ArrayList<>(List.of(summary)))).isEqualTo(List.of(summary));
+        assertThat(roundTrip(new ArrayList<>(List.of(fingerprint, fingerprint))))
+                .isEqualTo(List.of(fingerprint, fingerprint));
+    }
+
+    private Object roundTrip(Object value) {
+        return serializer.deserialize(serializer.serialize(value));
+    }
+}
@@ -0,0 +1,238 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("ReplicaRoutingDataSource Tests")
+class ReplicaRoutingDataSourceTest {
+
+    private static final Duration MAX_LAG = Duration.ofSeconds(5);
+
+    private final Connection primaryConnection = mock(Connection.class);
+    private final DataSource primary = mock(DataSource.class);
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        meterRegistry = new SimpleMeterRegistry();
+        when(primary.getConnection()).thenReturn(primaryConnection);
+    }
+
+    @Test
+    @DisplayName("Debe repartir las lecturas entre las réplicas disponibles")
+    void shouldRoundRobinAcrossAvailableReplicas() throws SQLException {
+        // Given
+        Replica first = replica("r1", 0);
+        Replica second = replica("r2", 100);
+        ReplicaRoutingDataSource router = router(Duration.ZERO, first.node, second.node);
+
+        // When
+        List<Connection> connections =
+                List.of(
+                        router.getConnection(),
+                        router.getConnection(),
+                        router.getConnection(),
+                        router.getConnection());
+
+        // Then
+        assertThat(connections)
+                .containsExactly(
+                        first.connection, second.connection, first.connection, second.connection);
+        assertThat(routed("r1")).isEqualTo(2);
+        assertThat(routed("r2")).isEqualTo(2);
+        assertThat(routed("primary")).isZero();
+    }
+
+    @Test
+    @DisplayName("Una réplica sin chequear o atrasada no debe recibir lecturas")
+    void shouldSkipUncheckedAndLaggingReplicas() throws SQLException {
+        // Given
+        Replica lagging = replica("lagging", MAX_LAG.toMillis() + 1);
+        ReplicaNode unchecked = new ReplicaNode("unchecked", mock(HikariDataSource.class));
+        ReplicaRoutingDataSource router = router(Duration.ZERO, lagging.node, unchecked);
+
+        // When
+        Connection connection = router.getConnection();
+
+        // Then
+        assertThat(connection).isSameAs(primaryConnection);
+        assertThat(lagging.node.isAvailable()).isFalse();
+        assertThat(lagging.node.lagMillis()).isEqualTo(MAX_LAG.toMillis() + 1);
+        assertThat(routed("primary")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Si la réplica no entrega conexión debe sacarla de la rotación y seguir")
+    void shouldMarkReplicaDownWhenConnectionFails() throws SQLException {
+        // Given
+        Replica failing = replica("failing", 0);
+        when(failing.pool.getConnection())
+                .thenThrow(new SQLTransientConnectionException("timeout"));
+
+        ReplicaRoutingDataSource router = router(Duration.ZERO, failing.node);
+
+        // When
+        Connection connection = router.getConnection();
+
+        // Then
+        assertThat(connection).isSameAs(primaryConnection);
+        assertThat(failing.node.isAvailable()).isFalse();
+        assertThat(failing.node.lagMillis()).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("Tras una escritura debe leer del primario durante la ventana")
+    void shouldReadFromPrimaryWithinStickyWindow() throws SQLException {
+        // Given
+        Replica replica = replica("r1", 0);
+        ReplicaRoutingDataSource sticky = router(Duration.ofMinutes(1), replica.node);
+        ReplicaRoutingDataSource disabled = router(Duration.ZERO, replica.node);
+
+        // When
+        Connection beforeWrite = sticky.getConnection();
+        sticky.markWrite();
+        disabled.markWrite();
+
+        // Then
+        assertThat(beforeWrite).isSameAs(replica.connection);
+        assertThat(sticky.getConnection()).isSameAs(primaryConnection);
+        assertThat(disabled.getConnection()).isSameAs(replica.connection);
+    }
+
+    @Test
+    @DisplayName("Dentro de onPrimary debe leer del primario y restaurar el ruteo al salir")
+    void shouldReadFromPrimaryWithinOnPrimaryScope() throws SQLException {
+        // Given
+        Replica replica = replica("r1", 0);
+        ReplicaRoutingDataSource router = router(Duration.ZERO, replica.node);
+
+        // When
+        Connection nested =
+                ReadReplicas.onPrimary(() -> ReadReplicas.onPrimary(() -> connection(router)));
+        Connection inside = ReadReplicas.onPrimary(() -> connection(router));
+        Connection after = router.getConnection();
+
+        // Then
+        assertThat(nested).isSameAs(primaryConnection);
+        assertThat(inside).isSameAs(primaryConnection);
+        assertThat(after).isSameAs(replica.connection);
+        assertThat(ReadReplicas.readsFromPrimary()).isFalse();
+    }
+
+    @Test
+    @DisplayName(
+            "Una réplica con el WAL receiver caído no debe recibir lecturas aunque parezca al día")
+    void shouldSkipReplicaThatIsNotStreaming() throws SQLException {
+        // Given: reprodujo todo lo que recibió, pero dejó de recibir
+        Replica disconnected = replica("disconnected", false, 0);
+        ReplicaRoutingDataSource router = router(Duration.ZERO, disconnected.node);
+
+        // When
+        Connection connection = router.getConnection();
+
+        // Then
+        assertThat(connection).isSameAs(primaryConnection);
+        assertThat(disconnected.node.isAvailable()).isFalse();
+        assertThat(disconnected.node.lagMillis()).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("El chequeo debe comparar cada réplica contra la posición del WAL del primario")
+    void refreshShouldCompareReplicasAgainstPrimaryWalPosition() throws SQLException {
+        // Given
+        Replica replica = replica("r1", 0);
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(primaryConnection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getString(1)).thenReturn("0/5A000D8");
+
+        // When
+        router(Duration.ZERO, replica.node).refresh(MAX_LAG);
+
+        // Then
+        verify(replica.statement).setString(1, "0/5A000D8");
+        assertThat(replica.node.isAvailable()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Si el primario no responde debe medir las réplicas contra lo que recibieron")
+    void refreshShouldFallBackToReceivedPositionWithoutPrimary() throws SQLException {
+        // Given
+        Replica replica = replica("r1", 0);
+        when(primary.getConnection()).thenThrow(new SQLTransientConnectionException("down"));
+
+        // When
+        router(Duration.ZERO, replica.node).refresh(MAX_LAG);
+
+        // Then
+        verify(replica.statement).setString(1, null);
+        assertThat(replica.node.isAvailable()).isTrue();
+    }
+
+    private ReplicaRoutingDataSource router(Duration stickyWindow, ReplicaNode... replicas) {
+        return new ReplicaRoutingDataSource(
+                "business", primary, List.of(replicas), stickyWindow, meterRegistry);
+    }
+
+    private double routed(String target) {
+        return meterRegistry.get("db.reads.routed").tag("target", target).counter().count();
+    }
+
+    /** Réplica en streaming cuyo chequeo de retraso devuelve {@code lagMillis} */
+    private static Replica replica(String name, long lagMillis) throws SQLException {
+        return replica(name, true, lagMillis);
+    }
+
+    private static Replica replica(String name, boolean streaming, long lagMillis)
+            throws SQLException {
+        HikariDataSource pool = mock(HikariDataSource.class);
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(pool.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getBoolean("in_recovery")).thenReturn(true);
+        when(resultSet.getBoolean("streaming")).thenReturn(streaming);
+        when(resultSet.getDouble("lag_ms")).thenReturn((double) lagMillis);
+
+        ReplicaNode node = new ReplicaNode(name, pool);
+        node.refresh(MAX_LAG, "0/3000000");
+        return new Replica(node, pool, connection, statement);
+    }
+
+    private static Connection connection(DataSource dataSource) {
+        try {
+            return dataSource.getConnection();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Replica(
+            ReplicaNode node,
+            HikariDataSource pool,
+            Connection connection,
+            PreparedStatement statement) {}
+}
@@ -0,0 +1,286 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.history;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+
+import com.ar.laboratory.baseapi2.callhistory.application.outbound.port.CallHistoryRepositoryPort;
+import com.ar.laboratory.baseapi2.callhistory.application.outbound.port.ErrorFingerprintRepositoryPort;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryRecord;
+import com.ar.laboratory.baseapi2.callhistory.domain.model.ErrorFingerprint;
+import com.ar.laboratory.baseapi2.shared.infrastructure.config.CallHistoryProperties;
+import com.ar.laboratory.baseapi2.shared.infrastructure.history.fingerprint.ErrorFingerprintTracker;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CallHistoryAsyncWriter Tests")
+class CallHistoryAsyncWriterTest {
+
+    @Mock private CallHistoryRepositoryPort callHistoryRepository;
+    @Mock private ErrorFingerprintRepositoryPort errorFingerprintRepository;
+
+    private final List<Integer> flushedBatchSizes = new CopyOnWriteArrayList<>();
+    private SimpleMeterRegistry meterRegistry;
+    private CallHistoryAsyncWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        CallHistoryProperties properties = new CallHistoryProperties();
+        properties.getWriter().setBatchSize(10);
+        properties.getWriter().setMaxLatency(Duration.ofMillis(100));
+        properties.getWriter().setQueueCapacity(128);
+        properties.getWriter().setOverflowPolicy(OverflowPolicy.DROP_NEWEST);
+
+        meterRegistry = new SimpleMeterRegistry();
+        writer =
+                new CallHistoryAsyncWriter(
+                        callHistoryRepository,
+                        errorFingerprintRepository,
+                        new ErrorFingerprintTracker(properties),
+                        properties,
+                        meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (writer.isRunning()) {
+            writer.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Debe persistir los registros en lotes de batchSize")
+    void shouldFlushFullBatches() {
+        // Given
+        recordFlushedBatchSizes();
+        for (int i = 0; i < 25; i++) {
+            writer.write(record(i));
+        }
+
+        // When
+        writer.start();
+
+        // Then
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> flushedBatchSizes.stream().mapToInt(Integer::intValue).sum() == 25);
+        assertThat(flushedBatchSizes).startsWith(10, 10);
+        assertThat(counter("persisted")).isEqualTo(25);
+    }
+
+    @Test
+    @DisplayName("Debe persistir un lote incompleto al vencer maxLatency")
+    void shouldFlushPartialBatchAfterMaxLatency() {
+        // Given
+        recordFlushedBatchSizes();
+        writer.start();
+
+        // When
+        writer.write(record(1));
+        writer.write(record(2));
+
+        // Then
+        await().atMost(Duration.ofSeconds(5)).until(() -> flushedBatchSizes.contains(2));
+    }
+
+    @Test
+    @DisplayName("Debe descartar y contabilizar registros cuando la cola está llena")
+    void shouldDropWhenQueueIsFull() {
+        // When
+        for (int i = 0; i < 150; i++) {
+            writer.write(record(i));
+        }
+
+        // Then
+        assertThat(counter("enqueued")).isEqualTo(128);
+        assertThat(counter("dropped")).isEqualTo(22);
+    }
+
+    @Test
+    @DisplayName("No debe propagar errores de persistencia")
+    void shouldCountFailedBatches() {
+        // Given
+        doThrow(new IllegalStateException("db down"))
+                .when(callHistoryRepository)
+                .saveAll(anyList());
+        writer.start();
+
+        // When
+        writer.write(record(1));
+
+        // Then
+        await().atMost(Duration.ofSeconds(5)).until(() -> counter("failed") == 1);
+    }
+
+    @Test
+    @DisplayName("Debe volcar al spool los lotes fallidos y reenviarlos cuando la base se recupera")
+    void shouldSpoolFailedBatchesAndReplayThem(@TempDir Path spoolDirectory) {
+        // Given
+        CallHistoryProperties properties = new CallHistoryProperties();
+        properties.getWriter().setBatchSize(10);
+        properties.getWriter().setMaxLatency(Duration.ofMillis(50));
+        properties.getSpool().setEnabled(true);
+        properties.getSpool().setDirectory(spoolDirectory.toString());
+        properties.getSpool().setRetryInterval(Duration.ofMillis(100));
+        writer =
+                new CallHistoryAsyncWriter(
+                        callHistoryRepository,
+                        errorFingerprintRepository,
+                        new ErrorFingerprintTracker(properties),
+                        properties,
+                        meterRegistry);
+
+        List<CallHistoryRecord> saved = new CopyOnWriteArrayList<>();
+        doThrow(new IllegalStateException("db down"))
+                .doAnswer(
+                        invocation -> {
+                            saved.addAll(invocation.getArgument(0));
+                            return null;
+                        })
+                .when(callHistoryRepository)
+                .saveAll(anyList());
+        writer.start();
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            writer.write(record(i));
+        }
+
+        // Then
+        await().atMost(Duration.ofSeconds(5)).until(() -> saved.size() == 5);
+        assertThat(counter("spooled")).isEqualTo(5);
+        assertThat(counter("replayed")).isEqualTo(5);
+        assertThat(counter("failed")).isZero();
+    }
+
+    @Test
+    @DisplayName("Un fingerprint sin guardar debe viajar en el spool y guardarse al reenviar")
+    void shouldKeepUnsavedFingerprintTracesInSpool(@TempDir Path spoolDirectory) {
+        // Given: la base cae antes de guardar el fingerprint y el registro va al spool
+        CallHistoryProperties properties = new CallHistoryProperties();
+        properties.getWriter().setMaxLatency(Duration.ofMillis(50));
+        properties.getSpool().setEnabled(true);
+        properties.getSpool().setDirectory(spoolDirectory.toString());
+        ErrorFingerprintTracker tracker = new ErrorFingerprintTracker(properties);
+        writer =
+                new CallHistoryAsyncWriter(
+                        callHistoryRepository,
+                        errorFingerprintRepository,
+                        tracker,
+                        properties,
+                        meterRegistry);
+        doThrow(new IllegalStateException("db down"))
+                .when(errorFingerprintRepository)
+                .saveAllIfAbsent(anyList());
+        CallHistoryRecord failed = record(1);
+        failed.setSuccess(false);
+        failed.setErrorType(IllegalStateException.class.getName());
+        failed.setErrorFingerprint(tracker.track(new IllegalStateException("boom"), 0L));
+        writer.start();
+        writer.write(failed);
+        await().atMost(Duration.ofSeconds(5)).until(() -> counter("spooled") == 1);
+        writer.stop();
+
+        // When: reinicio con la base disponible y el tracker vacío
+        reset(errorFingerprintRepository);
+        List<CallHistoryRecord> saved = new CopyOnWriteArrayList<>();
+        doAnswer(
+                        invocation -> {
+                            saved.addAll(invocation.getArgument(0));
+                            return null;
+                        })
+                .when(callHistoryRepository)
+                .saveAll(anyList());
+        writer =
+                new CallHistoryAsyncWriter(
+                        callHistoryRepository,
+                        errorFingerprintRepository,
+                        new ErrorFingerprintTracker(properties),
+                        properties,
+                        new SimpleMeterRegistry());
+        writer.start();
+
+        // Then
+        await().atMost(Duration.ofSeconds(5)).until(() -> saved.size() == 1);
+        ArgumentCaptor<List<ErrorFingerprint>> fingerprints = ArgumentCaptor.captor();
+        verify(errorFingerprintRepository).saveAllIfAbsent(fingerprints.capture());
+        assertThat(fingerprints.getValue())
+                .singleElement()
+                .satisfies(
+                        fingerprint -> {
+                            assertThat(fingerprint.getFingerprint())
+                                    .isEqualTo(failed.getErrorFingerprint());
+                            assertThat(fingerprint.getStacktrace())
+                                    .startsWith("java.lang.IllegalStateException: boom");
+                        });
+        assertThat(saved.get(0).getErrorFingerprint()).isEqualTo(failed.getErrorFingerprint());
+        assertThat(saved.get(0).getErrorStacktrace()).isNull();
+    }
+
+    @Test
+    @DisplayName("Todas las series de records deben tener las mismas claves de tag")
+    void recordsSeriesShouldShareTagKeys() {
+        // When
+        Set<Set<String>> tagKeys =
+                meterRegistry.get("call.history.writer.records").meters().stream()
+                        .map(
+                                meter ->
+                                        meter.getId().getTags().stream()
+                                                .map(Tag::getKey)
+                                                .collect(Collectors.toSet()))
+                        .collect(Collectors.toSet());
+
+        // Then
+        assertThat(tagKeys).containsExactly(Set.of("outcome", "policy"));
+    }
+
+    private void recordFlushedBatchSizes() {
+        doAnswer(
+                        invocation -> {
+                            List<?> batch = invocation.getArgument(0);
+                            flushedBatchSizes.add(batch.size());
+                            return null;
+                        })
+                .when(callHistoryRepository)
+                .saveAll(anyList());
+    }
+
+    private double counter(String outcome) {
+        return meterRegistry
+                .get("call.history.writer.records")
+                .tag("outcome", outcome)
+                .meter()
+                .measure()
+                .iterator()
+                .next()
+                .getValue();
+    }
+
+    private static CallHistoryRecord record(int i) {
+        return CallHistoryRecord.builder()
+                .httpMethod("GET")
+                .path("/api/v1/examples/" + i)
+                .success(true)
+                .durationMs(1L)
+                .build();
+    }
+}
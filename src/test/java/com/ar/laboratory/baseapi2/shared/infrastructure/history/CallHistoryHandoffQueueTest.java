@@ -0,0 +1,134 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.history;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryRecord;
+import com.ar.laboratory.baseapi2.shared.infrastructure.config.CallHistoryProperties;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("CallHistoryHandoffQueue Tests")
+class CallHistoryHandoffQueueTest {
+
+    @Test
+    @DisplayName("DROP_NEWEST debe descartar el registro entrante cuando la cola está llena")
+    void dropNewestShouldRejectIncoming() {
+        CallHistoryHandoffQueue queue = queue(OverflowPolicy.DROP_NEWEST);
+        fill(queue, 8);
+
+        assertThat(queue.offer(record(100L, true))).isFalse();
+        assertThat(queue.droppedCount()).isEqualTo(1);
+        assertThat(queue.poll(0).getId()).isZero();
+    }
+
+    @Test
+    @DisplayName("DROP_OLDEST debe desplazar al registro más antiguo")
+    void dropOldestShouldEvictHead() {
+        CallHistoryHandoffQueue queue = queue(OverflowPolicy.DROP_OLDEST);
+        fill(queue, 8);
+
+        assertThat(queue.offer(record(100L, true))).isTrue();
+        assertThat(queue.droppedCount()).isEqualTo(1);
+        assertThat(queue.poll(0).getId()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("PREFER_ERRORS debe reservar lugar para llamadas fallidas")
+    void preferErrorsShouldKeepRoomForFailures() {
+        CallHistoryHandoffQueue queue = queue(OverflowPolicy.PREFER_ERRORS);
+        // Con capacidad 8 y reserva 0.25, los éxitos se cortan en 6
+        for (long i = 0; i < 8; i++) {
+            queue.offer(record(i, true));
+        }
+        assertThat(queue.size()).isEqualTo(6);
+
+        assertThat(queue.offer(record(200L, false))).isTrue();
+        assertThat(queue.offer(record(201L, false))).isTrue();
+        assertThat(queue.offer(record(202L, false))).isTrue();
+        assertThat(queue.size()).isEqualTo(8);
+
+        List<CallHistoryRecord> drained = new ArrayList<>();
+        queue.drainTo(drained, 8);
+        assertThat(drained).extracting(CallHistoryRecord::getId).contains(200L, 201L, 202L);
+    }
+
+    @Test
+    @DisplayName("BLOCK_WITH_TIMEOUT debe esperar como máximo block-timeout")
+    void blockWithTimeoutShouldGiveUp() {
+        CallHistoryHandoffQueue queue = queue(OverflowPolicy.BLOCK_WITH_TIMEOUT);
+        fill(queue, 8);
+
+        long start = System.nanoTime();
+        assertThat(queue.offer(record(100L, true))).isFalse();
+        assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    @DisplayName("Debe entregar todos los registros con varios productores concurrentes")
+    void shouldDeliverAllRecordsFromConcurrentProducers() throws Exception {
+        CallHistoryProperties.Writer properties = properties(OverflowPolicy.BLOCK_WITH_TIMEOUT);
+        properties.setQueueCapacity(64);
+        properties.setBlockTimeout(Duration.ofSeconds(5));
+        CallHistoryHandoffQueue queue = new CallHistoryHandoffQueue(properties);
+
+        int producers = 4;
+        int perProducer = 5_000;
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int p = 0; p < producers; p++) {
+            long base = (long) p * perProducer;
+            executor.submit(
+                    () -> {
+                        start.await();
+                        for (long i = 0; i < perProducer; i++) {
+                            queue.offer(record(base + i, true));
+                        }
+                        return null;
+                    });
+        }
+
+        start.countDown();
+        Set<Long> received = new HashSet<>();
+        while (received.size() < producers * perProducer) {
+            CallHistoryRecord record = queue.poll(TimeUnit.SECONDS.toNanos(5));
+            assertThat(record).isNotNull();
+            received.add(record.getId());
+        }
+        executor.shutdown();
+
+        assertThat(queue.droppedCount()).isZero();
+        assertThat(queue.enqueuedCount()).isEqualTo(producers * perProducer);
+    }
+
+    private static CallHistoryHandoffQueue queue(OverflowPolicy policy) {
+        return new CallHistoryHandoffQueue(properties(policy));
+    }
+
+    private static CallHistoryProperties.Writer properties(OverflowPolicy policy) {
+        CallHistoryProperties.Writer properties = new CallHistoryProperties.Writer();
+        properties.setQueueCapacity(8);
+        properties.setOverflowPolicy(policy);
+        properties.setErrorReserve(0.25);
+        properties.setBlockTimeout(Duration.ofMillis(20));
+        return properties;
+    }
+
+    private static void fill(CallHistoryHandoffQueue queue, int count) {
+        for (long i = 0; i < count; i++) {
+            assertThat(queue.offer(record(i, true))).isTrue();
+        }
+    }
+
+    private static CallHistoryRecord record(Long id, boolean success) {
+        return CallHistoryRecord.builder().id(id).success(success).build();
+    }
+}
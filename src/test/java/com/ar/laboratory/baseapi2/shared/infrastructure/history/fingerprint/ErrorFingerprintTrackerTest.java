@@ -0,0 +1,118 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.history.fingerprint;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ar.laboratory.baseapi2.callhistory.domain.model.ErrorFingerprint;
+import com.ar.laboratory.baseapi2.shared.infrastructure.config.CallHistoryProperties;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("ErrorFingerprintTracker Tests")
+class ErrorFingerprintTrackerTest {
+
+    private CallHistoryProperties properties;
+    private ErrorFingerprintTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CallHistoryProperties();
+        tracker = new ErrorFingerprintTracker(properties);
+    }
+
+    @Test
+    @DisplayName("El mismo error debe dar el mismo fingerprint aunque cambie el mensaje")
+    void shouldIgnoreMessageInFingerprint() {
+        // Given
+        IllegalStateException first = failAt("primero");
+        IllegalStateException second = failAt("segundo");
+
+        // When / Then
+        assertThat(tracker.track(first, 0L))
+                .isEqualTo(tracker.track(second, 0L))
+                .hasSize(16)
+                .matches("[0-9a-f]{16}");
+    }
+
+    @Test
+    @DisplayName("Distinto tipo o distinta causa deben dar fingerprints distintos")
+    void shouldDistinguishTypeAndCause() {
+        // Given
+        RuntimeException base = new RuntimeException("x");
+        RuntimeException withCause = new RuntimeException("x", new IllegalArgumentException());
+        withCause.setStackTrace(base.getStackTrace());
+        IllegalStateException otherType = new IllegalStateException("x");
+        otherType.setStackTrace(base.getStackTrace());
+
+        // When
+        String baseFingerprint = ErrorFingerprintTracker.fingerprint(base, 5);
+
+        // Then
+        assertThat(ErrorFingerprintTracker.fingerprint(withCause, 5)).isNotEqualTo(baseFingerprint);
+        assertThat(ErrorFingerprintTracker.fingerprint(otherType, 5)).isNotEqualTo(baseFingerprint);
+    }
+
+    @Test
+    @DisplayName("Debe renderizar el stacktrace una sola vez por fingerprint")
+    void shouldRenderOnlyUnseenFingerprints() {
+        // Given
+        tracker.track(failAt("uno"), 0L);
+        tracker.track(failAt("dos"), 0L);
+        tracker.track(new IllegalArgumentException("otro"), 0L);
+
+        // When
+        List<ErrorFingerprint> drained = new ArrayList<>();
+        tracker.drainTo(drained);
+
+        // Then
+        assertThat(drained).hasSize(2);
+        assertThat(drained.get(0).getErrorMessage()).isEqualTo("uno");
+        assertThat(drained.get(0).getStacktrace())
+                .startsWith("java.lang.IllegalStateException: uno")
+                .contains("failAt");
+        assertThat(tracker.drainTo(new ArrayList<>())).isZero();
+    }
+
+    @Test
+    @DisplayName("Debe truncar stacktraces largos y respetar el máximo de pendientes")
+    void shouldTruncateAndBoundPending() {
+        // Given
+        properties.getErrors().setMaxStacktraceLength(40);
+        properties.getErrors().setMaxPending(1);
+        tracker.track(failAt("uno"), 0L);
+        tracker.track(new IllegalArgumentException("descartado"), 0L);
+
+        // When
+        List<ErrorFingerprint> drained = new ArrayList<>();
+        tracker.drainTo(drained);
+
+        // Then
+        assertThat(drained).hasSize(1);
+        assertThat(drained.get(0).getStacktrace()).hasSize(40 + "\n... [TRUNCATED]".length());
+        tracker.track(new IllegalArgumentException("descartado"), 0L);
+        assertThat(tracker.drainTo(new ArrayList<>())).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Vencido el known-ttl el mismo error debe volver a quedar pendiente")
+    void expiredFingerprintsShouldBeTrackedAgain() {
+        // Given
+        properties.getErrors().setKnownTtl(Duration.ZERO);
+        tracker = new ErrorFingerprintTracker(properties);
+        tracker.track(failAt("uno"), 0L);
+        tracker.drainTo(new ArrayList<>());
+
+        // When
+        tracker.track(failAt("dos"), 0L);
+
+        // Then
+        assertThat(tracker.drainTo(new ArrayList<>())).isEqualTo(1);
+    }
+
+    private static IllegalStateException failAt(String message) {
+        return new IllegalStateException(message);
+    }
+}
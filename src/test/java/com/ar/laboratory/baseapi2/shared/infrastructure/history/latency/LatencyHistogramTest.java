@@ -0,0 +1,80 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.history.latency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("LatencyHistogram Tests")
+class LatencyHistogramTest {
+
+    private static final long MINUTE = 60_000_000_000L;
+    private static final long NOW = 1_000 * MINUTE + 30_000_000_000L;
+
+    @Test
+    @DisplayName("Cada bucket debe contener sus valores con error relativo menor a 1/16")
+    void bucketsShouldBoundRelativeError() {
+        for (long micros = 0; micros < 1L << 20; micros += 7) {
+            int bucket = LatencyHistogram.bucketIndex(micros);
+            long highest = LatencyHistogram.highestValue(bucket);
+
+            assertThat(highest).isGreaterThanOrEqualTo(micros);
+            assertThat(highest - micros).isLessThanOrEqualTo(micros / 16);
+        }
+        assertThat(LatencyHistogram.bucketIndex((1L << LatencyHistogram.MAX_EXPONENT) - 1))
+                .isEqualTo(LatencyHistogram.BUCKETS - 1);
+    }
+
+    @Test
+    @DisplayName("Debe calcular percentiles con resolución de microsegundos")
+    void shouldComputePercentilesBelowOneMillisecond() {
+        // Given
+        LatencyHistogram histogram = new LatencyHistogram(4, NOW);
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 10_000L, NOW); // 10 µs a 1 ms
+        }
+
+        // When
+        LatencySnapshot snapshot = histogram.snapshot(1, NOW);
+
+        // Then
+        assertThat(snapshot.count()).isEqualTo(100);
+        assertThat(snapshot.p50()).isCloseTo(0.5, within(0.5 / 16));
+        assertThat(snapshot.p99()).isCloseTo(0.99, within(0.99 / 16));
+        assertThat(snapshot.mean()).isCloseTo(0.505, within(0.001));
+    }
+
+    @Test
+    @DisplayName("Las ventanas deben incluir solo los minutos que abarcan")
+    void windowsShouldCoverTheirMinutes() {
+        // Given
+        LatencyHistogram histogram = new LatencyHistogram(1, NOW);
+        histogram.record(1_000_000L, NOW);
+        for (int minute = 1; minute <= 4; minute++) {
+            histogram.rotate(NOW + minute * MINUTE);
+        }
+        histogram.record(2_000_000L, NOW + 4 * MINUTE);
+
+        // Then
+        assertThat(histogram.snapshot(1, NOW + 4 * MINUTE).count()).isEqualTo(1);
+        assertThat(histogram.snapshot(5, NOW + 4 * MINUTE).count()).isEqualTo(2);
+        assertThat(histogram.snapshot(15, NOW + 4 * MINUTE).max()).isCloseTo(2.0, within(0.125));
+    }
+
+    @Test
+    @DisplayName("Un slot reutilizado del anillo no debe arrastrar datos viejos")
+    void reusedSlotsShouldBeCleared() {
+        // Given
+        LatencyHistogram histogram = new LatencyHistogram(1, NOW);
+        histogram.record(1_000_000L, NOW);
+
+        // When: 16 minutos después el mismo slot vuelve a usarse
+        long later = NOW + LatencyHistogram.SLOTS * MINUTE;
+        histogram.rotate(later - MINUTE);
+        histogram.rotate(later);
+
+        // Then
+        assertThat(histogram.snapshot(15, later).count()).isZero();
+    }
+}
@@ -0,0 +1,120 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.history.payload;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("PayloadSerializer Tests")
+class PayloadSerializerTest {
+
+    private PayloadSerializer serializer;
+
+    @BeforeEach
+    void setUp() {
+        serializer = new PayloadSerializer(new ObjectMapper());
+    }
+
+    @Test
+    @DisplayName("Debe serializar sin cambios cuando no hay campos a enmascarar")
+    void shouldSerializeWithoutMasking() {
+        // Given
+        Map<String, Object> payload = ordered("nombre", "Juan", "edad", 30);
+
+        // When
+        String json = serializer.serialize(payload, MaskPlan.NONE, 1_000);
+
+        // Then
+        assertThat(json).isEqualTo("{\"nombre\":\"Juan\",\"edad\":30}");
+    }
+
+    @Test
+    @DisplayName("Debe enmascarar valores escalares ignorando mayúsculas")
+    void shouldMaskScalarValuesIgnoringCase() {
+        // Given
+        Map<String, Object> payload =
+                ordered("usuario", "juan", "Password", "secreto", "pin", 1234, "activo", true);
+
+        // When
+        String json = serializer.serialize(payload, MaskPlan.of("password", "PIN"), 1_000);
+
+        // Then
+        assertThat(json)
+                .isEqualTo(
+                        "{\"usuario\":\"juan\",\"Password\":\"***MASKED***\","
+                                + "\"pin\":\"***MASKED***\",\"activo\":true}");
+    }
+
+    @Test
+    @DisplayName("Debe enmascarar objetos y arrays completos y seguir con los campos siguientes")
+    void shouldMaskNestedStructures() {
+        // Given
+        Map<String, Object> payload =
+                ordered(
+                        "tarjeta", ordered("numero", "4111", "cvv", ordered("valor", 123)),
+                        "tokens", List.of("a", List.of("b"), ordered("c", 1)),
+                        "detalle", ordered("token", "x", "monto", 10));
+
+        // When
+        String json =
+                serializer.serialize(payload, MaskPlan.of("tarjeta", "tokens", "token"), 1_000);
+
+        // Then
+        assertThat(json)
+                .isEqualTo(
+                        "{\"tarjeta\":\"***MASKED***\",\"tokens\":\"***MASKED***\","
+                                + "\"detalle\":{\"token\":\"***MASKED***\",\"monto\":10}}");
+    }
+
+    @Test
+    @DisplayName("Debe enmascarar campos dentro de los argumentos del método")
+    void shouldMaskFieldsInsideArgumentsArray() {
+        // Given
+        Object[] args = {ordered("password", "secreto"), "texto"};
+
+        // When
+        String json = serializer.serialize(args, MaskPlan.of("password"), 1_000);
+
+        // Then
+        assertThat(json).isEqualTo("[{\"password\":\"***MASKED***\"},\"texto\"]");
+    }
+
+    @Test
+    @DisplayName("Debe truncar al tamaño máximo y agregar el sufijo")
+    void shouldTruncateAtMaxSize() {
+        // Given
+        Map<String, Object> payload = ordered("descripcion", "x".repeat(10_000));
+
+        // When
+        String json = serializer.serialize(payload, MaskPlan.NONE, 20);
+
+        // Then
+        assertThat(json).isEqualTo("{\"descripcion\":\"xxxx" + PayloadSerializer.TRUNCATED_SUFFIX);
+    }
+
+    @Test
+    @DisplayName("Debe reutilizar el buffer del hilo sin arrastrar contenido previo")
+    void shouldReuseBufferBetweenCalls() {
+        // Given
+        serializer.serialize(ordered("descripcion", "x".repeat(5_000)), MaskPlan.NONE, 10);
+
+        // When
+        String json = serializer.serialize(ordered("id", 1), MaskPlan.NONE, 1_000);
+
+        // Then
+        assertThat(json).isEqualTo("{\"id\":1}");
+    }
+
+    private static Map<String, Object> ordered(Object... keyValues) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            map.put((String) keyValues[i], keyValues[i + 1]);
+        }
+        return map;
+    }
+}
@@ -0,0 +1,151 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.history.policy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.ar.laboratory.baseapi2.shared.infrastructure.config.CallHistoryProperties;
+import com.ar.laboratory.baseapi2.shared.infrastructure.exception.BadRequestException;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("CallHistoryPolicyEngine Tests")
+class CallHistoryPolicyEngineTest {
+
+    private static final String HOT =
+            "com.ar.laboratory.baseapi2.shared.infrastructure.history.policy"
+                    + ".CallHistoryPolicyEngineTest$SampleController#hot()";
+
+    private CallHistoryPolicyEngine engine;
+    private Method hotMethod;
+    private Method otherMethod;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        engine = new CallHistoryPolicyEngine(new CallHistoryProperties());
+        hotMethod = SampleController.class.getDeclaredMethod("hot");
+        otherMethod = SampleController.class.getDeclaredMethod("other");
+    }
+
+    @Test
+    @DisplayName("Por defecto debe capturar todas las llamadas con bodies")
+    void shouldCaptureEverythingByDefault() {
+        EffectivePolicy policy = engine.resolve(hotMethod);
+
+        assertThat(policy.isInert()).isFalse();
+        assertThat(policy.sample()).isTrue();
+        assertThat(policy.captureBodies()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Debe aplicar el override del endpoint heredando los campos omitidos")
+    void shouldMergeEndpointOverrideWithDefaults() {
+        // When
+        engine.putEndpoint(
+                HOT,
+                CapturePolicy.builder()
+                        .sampleRate(0.0)
+                        .slowThreshold(Duration.ofMillis(200))
+                        .level(CaptureLevel.METADATA)
+                        .build());
+
+        // Then
+        EffectivePolicy hot = engine.resolve(hotMethod);
+        assertThat(hot.sample()).isFalse();
+        assertThat(hot.captureBodies()).isFalse();
+        assertThat(hot.hasTailRules()).isTrue();
+        assertThat(hot.captureAfter(true, 0)).isTrue(); // alwaysCaptureErrors heredado
+        assertThat(hot.captureAfter(false, TimeUnit.MILLISECONDS.toNanos(50))).isFalse();
+        assertThat(hot.captureAfter(false, TimeUnit.MILLISECONDS.toNanos(250))).isTrue();
+        assertThat(engine.resolve(otherMethod).captureBodies()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Debe devolver la política cacheada hasta que cambie la configuración")
+    void shouldCacheResolvedPolicyUntilReconfigured() {
+        // Given
+        EffectivePolicy first = engine.resolve(hotMethod);
+        assertThat(engine.resolve(hotMethod)).isSameAs(first);
+
+        // When
+        engine.updateDefaults(CapturePolicy.builder().level(CaptureLevel.OFF).build());
+
+        // Then
+        EffectivePolicy updated = engine.resolve(hotMethod);
+        assertThat(updated).isNotSameAs(first);
+        assertThat(updated.isInert()).isTrue();
+        assertThat(engine.defaults().getSampleRate()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Debe considerar inerte una política sin muestreo ni reglas de tail")
+    void shouldBeInertWithoutSamplingNorTailRules() {
+        engine.updateDefaults(
+                CapturePolicy.builder().sampleRate(0.0).alwaysCaptureErrors(false).build());
+
+        assertThat(engine.resolve(hotMethod).isInert()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Debe eliminar el override de un endpoint")
+    void shouldRemoveEndpointOverride() {
+        engine.putEndpoint(HOT, CapturePolicy.builder().sampleRate(0.0).build());
+
+        assertThat(engine.removeEndpoint(HOT)).isTrue();
+        assertThat(engine.removeEndpoint(HOT)).isFalse();
+        assertThat(engine.resolve(hotMethod).sample()).isTrue();
+    }
+
+    @Test
+    @DisplayName("La clave debe distinguir sobrecargas y clases homónimas de otros paquetes")
+    void endpointKeyShouldDistinguishOverloadsAndSameNamedClasses() throws NoSuchMethodException {
+        // Given
+        Method overload =
+                SampleController.class.getDeclaredMethod("hot", String.class, int[].class);
+        Method sameName = Outer.SampleController.class.getDeclaredMethod("hot");
+
+        // When
+        engine.putEndpoint(HOT, CapturePolicy.builder().level(CaptureLevel.OFF).build());
+
+        // Then
+        assertThat(CallHistoryPolicyEngine.endpointKey(hotMethod)).isEqualTo(HOT);
+        assertThat(CallHistoryPolicyEngine.endpointKey(overload))
+                .isEqualTo(HOT.replace("hot()", "hot(String,int[])"));
+        assertThat(engine.resolve(hotMethod).isInert()).isTrue();
+        assertThat(engine.resolve(overload).isInert()).isFalse();
+        assertThat(engine.resolve(sameName).isInert()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Debe rechazar valores inválidos")
+    void shouldRejectInvalidPolicies() {
+        assertThatThrownBy(
+                        () ->
+                                engine.updateDefaults(
+                                        CapturePolicy.builder().sampleRate(1.5).build()))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> engine.putEndpoint("sin-metodo", new CapturePolicy()))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> engine.putEndpoint("SampleController#hot", new CapturePolicy()))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @SuppressWarnings("unused")
+    static class SampleController {
+        void hot() {}
+
+        void hot(String filter, int[] ids) {}
+
+        void other() {}
+    }
+
+    static class Outer {
+        @SuppressWarnings("unused")
+        static class SampleController {
+            void hot() {}
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.history.spool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryRecord;
+import com.ar.laboratory.baseapi2.shared.infrastructure.config.CallHistoryProperties;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+@DisplayName("CallHistorySpool Tests")
+class CallHistorySpoolTest {
+
+    @TempDir Path directory;
+
+    @Test
+    @DisplayName("Debe codificar y decodificar todos los campos del registro")
+    void shouldRoundTripAllFields() {
+        // Given
+        CallHistoryRecord record =
+                CallHistoryRecord.builder()
+                        .createdAt(LocalDateTime.of(2026, 1, 2, 3, 4, 5, 123_456_789))
+                        .correlationId("corr-1")
+                        .traceId("trace-1")
+                        .httpMethod("POST")
+                        .path("/api/v1/examples")
+                        .handler("ExampleController.create")
+                        .httpStatus(500)
+                        .success(false)
+                        .durationMs(42L)
+                        .clientIp("10.0.0.1")
+                        .userAgent("curl/8")
+                        .userId("user-1")
+                        .queryParams("a=1")
+                        .requestBody("{\"nombre\":\"Año\"}")
+                        .responseBody("{}")
+                        .errorType("IllegalStateException")
+                        .errorMessage("boom")
+                        .errorStacktrace("at x.y.z")
+                        .errorFingerprint("0123456789abcdef")
+                        .build();
+        CallHistorySpool spool = spool(DataSize.ofKilobytes(64), 4);
+
+        // When
+        spool.append(List.of(record));
+        List<CallHistoryRecord> read = new ArrayList<>();
+        spool.peek(read, 10);
+
+        // Then
+        assertThat(read).containsExactly(record);
+    }
+
+    @Test
+    @DisplayName("Debe avanzar el offset de lectura solo al confirmar")
+    void shouldAdvanceOnlyOnCommit() {
+        // Given
+        CallHistorySpool spool = spool(DataSize.ofKilobytes(64), 4);
+        spool.append(records(0, 5));
+
+        // When
+        List<CallHistoryRecord> first = new ArrayList<>();
+        spool.peek(first, 3);
+        List<CallHistoryRecord> again = new ArrayList<>();
+        spool.peek(again, 3);
+        spool.commit();
+        List<CallHistoryRecord> rest = new ArrayList<>();
+        spool.peek(rest, 10);
+
+        // Then
+        assertThat(again).isEqualTo(first);
+        assertThat(rest).extracting(CallHistoryRecord::getDurationMs).containsExactly(3L, 4L);
+        assertThat(spool.pendingRecords()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Debe recuperar los registros pendientes al reabrir el spool")
+    void shouldRecoverPendingRecordsOnRestart() {
+        // Given
+        CallHistorySpool spool = spool(DataSize.ofKilobytes(64), 4);
+        spool.append(records(0, 5));
+        spool.peek(new ArrayList<>(), 2);
+        spool.commit();
+        spool.close();
+
+        // When
+        CallHistorySpool reopened = spool(DataSize.ofKilobytes(64), 4);
+        List<CallHistoryRecord> read = new ArrayList<>();
+        reopened.peek(read, 10);
+
+        // Then
+        assertThat(reopened.pendingRecords()).isEqualTo(3);
+        assertThat(read).extracting(CallHistoryRecord::getDurationMs).containsExactly(2L, 3L, 4L);
+    }
+
+    @Test
+    @DisplayName("Debe descartar un frame con CRC inválido al recuperar")
+    void shouldTruncateAtCorruptedFrame() throws IOException {
+        // Given
+        CallHistorySpool spool = spool(DataSize.ofKilobytes(64), 4);
+        spool.append(records(0, 3));
+        spool.close();
+        Path segment = segmentFiles().getFirst();
+        List<CallHistoryRecord> all = new ArrayList<>();
+        spool(DataSize.ofKilobytes(64), 4).peek(all, 10);
+        assertThat(all).hasSize(3);
+
+        // Corromper el payload del último frame
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            long lastFrame = lastFrameOffset(file);
+            file.seek(lastFrame + SpoolSegment.FRAME_OVERHEAD + 2);
+            file.write(0x7F);
+        }
+
+        // When
+        CallHistorySpool reopened = spool(DataSize.ofKilobytes(64), 4);
+
+        // Then
+        assertThat(reopened.pendingRecords()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Debe rotar segmentos y descartar el más antiguo al superar max-segments")
+    void shouldRotateAndBoundSegments() throws IOException {
+        // Given
+        CallHistorySpool spool = spool(DataSize.ofBytes(512), 2);
+
+        // When
+        spool.append(records(0, 40));
+
+        // Then
+        assertThat(spool.segmentCount()).isEqualTo(2);
+        assertThat(segmentFiles()).hasSize(2);
+        assertThat(spool.discardedRecords()).isPositive();
+        assertThat(spool.pendingRecords() + spool.discardedRecords()).isEqualTo(40);
+    }
+
+    @Test
+    @DisplayName("Debe borrar los segmentos ya reenviados")
+    void shouldDeleteConsumedSegments() throws IOException {
+        // Given
+        CallHistorySpool spool = spool(DataSize.ofBytes(512), 8);
+        spool.append(records(0, 20));
+        assertThat(spool.segmentCount()).isGreaterThan(1);
+
+        // When
+        List<CallHistoryRecord> read = new ArrayList<>();
+        while (spool.hasPending()) {
+            spool.peek(read, 5);
+            spool.commit();
+        }
+
+        // Then
+        assertThat(read).hasSize(20);
+        assertThat(segmentFiles()).hasSize(1);
+    }
+
+    private CallHistorySpool spool(DataSize segmentSize, int maxSegments) {
+        CallHistoryProperties.Spool properties = new CallHistoryProperties.Spool();
+        properties.setEnabled(true);
+        properties.setDirectory(directory.toString());
+        properties.setSegmentSize(segmentSize);
+        properties.setMaxSegments(maxSegments);
+        return new CallHistorySpool(properties);
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    private static long lastFrameOffset(RandomAccessFile file) throws IOException {
+        long position = SpoolSegment.HEADER_SIZE;
+        long last = position;
+        while (true) {
+            file.seek(position);
+            int length = file.readInt();
+            if (length <= 0) {
+                return last;
+            }
+            last = position;
+            position += SpoolSegment.FRAME_OVERHEAD + length;
+        }
+    }
+
+    private static List<CallHistoryRecord> records(int from, int to) {
+        List<CallHistoryRecord> records = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            records.add(
+                    CallHistoryRecord.builder()
+                            .httpMethod("GET")
+                            .path("/api/v1/examples/" + i)
+                            .success(true)
+                            .durationMs((long) i)
+                            .build());
+        }
+        return records;
+    }
+}
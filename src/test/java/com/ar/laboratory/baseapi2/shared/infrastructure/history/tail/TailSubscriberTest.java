@@ -0,0 +1,61 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.history.tail;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ar.laboratory.baseapi2.callhistory.domain.model.CallHistoryRecord;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("TailSubscriber Tests")
+class TailSubscriberTest {
+
+    @Test
+    @DisplayName("Debe encolar solo los registros que pasan el filtro")
+    void shouldOfferOnlyMatchingRecords() {
+        // Given
+        TailSubscriber subscriber =
+                new TailSubscriber(1, new TailFilter("/api/v1/examples", false, 100L), 8);
+
+        // When
+        subscriber.offer(record("/api/v1/examples/42", false, 250L));
+        subscriber.offer(record("/api/v1/examples", true, 250L));
+        subscriber.offer(record("/api/v1/examples", false, 50L));
+        subscriber.offer(record("/api/v1/other", false, 250L));
+        subscriber.offer(record(null, false, 250L));
+
+        // Then
+        assertThat(subscriber.poll().getPath()).isEqualTo("/api/v1/examples/42");
+        assertThat(subscriber.poll()).isNull();
+        assertThat(subscriber.dropped()).isZero();
+    }
+
+    @Test
+    @DisplayName("Con el buffer lleno debe descartar sin bloquear e informar cada descarte una vez")
+    void shouldCountDropsWhenBufferIsFull() {
+        // Given
+        TailSubscriber subscriber = new TailSubscriber(1, TailFilter.ALL, 4);
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            subscriber.offer(record("/api/v1/examples", true, (long) i));
+        }
+
+        // Then
+        assertThat(subscriber.dropped()).isEqualTo(6);
+        assertThat(subscriber.takeNewDrops()).isEqualTo(6);
+        assertThat(subscriber.takeNewDrops()).isZero();
+        assertThat(subscriber.poll().getDurationMs()).isZero();
+
+        subscriber.close();
+        subscriber.offer(record("/api/v1/examples", true, 1L));
+        assertThat(subscriber.dropped()).isEqualTo(6);
+    }
+
+    private static CallHistoryRecord record(String path, boolean success, Long durationMs) {
+        return CallHistoryRecord.builder()
+                .path(path)
+                .success(success)
+                .durationMs(durationMs)
+                .build();
+    }
+}
@@ -0,0 +1,168 @@
+package com.ar.laboratory.baseapi2.shared.infrastructure.interception;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.ar.laboratory.baseapi2.shared.infrastructure.annotation.CallHistory;
+import com.ar.laboratory.baseapi2.shared.infrastructure.config.CallHistoryProperties;
+import com.ar.laboratory.baseapi2.shared.infrastructure.history.latency.LatencyHistograms;
+import com.ar.laboratory.baseapi2.shared.infrastructure.history.policy.CallHistoryPolicyEngine;
+import com.ar.laboratory.baseapi2.shared.infrastructure.history.policy.CaptureLevel;
+import com.ar.laboratory.baseapi2.shared.infrastructure.history.policy.CapturePolicy;
+import java.lang.reflect.Method;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+@DisplayName("InterceptionRegistry Tests")
+class InterceptionRegistryTest {
+
+    private CallHistoryPolicyEngine policyEngine;
+    private InterceptionRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        policyEngine = new CallHistoryPolicyEngine(new CallHistoryProperties());
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("policyEngine", policyEngine);
+        beanFactory.addBean("latencyHistograms", new LatencyHistograms());
+        registry =
+                new InterceptionRegistry(
+                        beanFactory.getBeanProvider(CallHistoryPolicyEngine.class),
+                        beanFactory.getBeanProvider(LatencyHistograms.class));
+    }
+
+    @Test
+    @DisplayName("Debe precalcular handler, acción y masking de los métodos con @CallHistory")
+    void shouldBuildCallHistoryPlanOnStartup() throws NoSuchMethodException {
+        // Given
+        SampleController controller = new SampleController();
+        Method create = SampleController.class.getDeclaredMethod("create", String.class);
+        Method find = SampleController.class.getDeclaredMethod("find");
+
+        // When
+        registry.postProcessAfterInitialization(controller, "sampleController");
+
+        // Then
+        InterceptionPlan createPlan = registry.planFor(create, controller);
+        assertThat(createPlan.recordsCallHistory()).isTrue();
+        assertThat(createPlan.getHandler()).isEqualTo("SampleController#create [CREATE]");
+        assertThat(createPlan.getMaskPlan().matches("PIN")).isTrue();
+        assertThat(createPlan.getMaxPayloadSize()).isEqualTo(128);
+        assertThat(createPlan.isLogResponse()).isFalse();
+
+        InterceptionPlan findPlan = registry.planFor(find, controller);
+        assertThat(findPlan.getHandler()).isEqualTo("SampleController#find [CONSULTA]");
+        assertThat(registry.planFor(find, controller)).isSameAs(findPlan);
+    }
+
+    @Test
+    @DisplayName("La política del plan debe reflejar los cambios hechos en caliente")
+    void shouldFollowPolicyUpdates() throws NoSuchMethodException {
+        // Given
+        SampleController controller = new SampleController();
+        registry.postProcessAfterInitialization(controller, "sampleController");
+        InterceptionPlan plan =
+                registry.planFor(
+                        SampleController.class.getDeclaredMethod("create", String.class),
+                        controller);
+        assertThat(plan.currentPolicy().captureBodies()).isTrue();
+
+        // When
+        policyEngine.putEndpoint(
+                SampleController.class.getName() + "#create(String)",
+                CapturePolicy.builder().level(CaptureLevel.METADATA).build());
+
+        // Then
+        assertThat(plan.currentPolicy().captureBodies()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Debe resolver los métodos de interfaz contra la clase concreta")
+    void shouldResolveInterfaceMethods() throws NoSuchMethodException {
+        // Given
+        Method interfaceMethod = SampleService.class.getMethod("load");
+
+        // When
+        InterceptionPlan plan = registry.planFor(interfaceMethod, new AuditedService());
+
+        // Then
+        assertThat(plan.recordsCallHistory()).isTrue();
+        assertThat(plan.getHandler()).isEqualTo("AuditedService#load [LOAD]");
+        assertThat(registry.planFor(interfaceMethod, new AuditedService())).isSameAs(plan);
+    }
+
+    @Test
+    @DisplayName("Un método sin @CallHistory debe tener un plan vacío")
+    void shouldRegisterEmptyPlanForPlainMethods() throws NoSuchMethodException {
+        // When
+        InterceptionPlan plan =
+                registry.planFor(PlainService.class.getMethod("load"), new PlainService());
+
+        // Then
+        assertThat(plan.recordsCallHistory()).isFalse();
+        assertThat(plan.getHandler()).isNull();
+    }
+
+    @Test
+    @DisplayName("Debe fallar al arrancar ante configuraciones inválidas")
+    void shouldFailFastOnInvalidConfiguration() {
+        assertThatThrownBy(
+                        () ->
+                                registry.postProcessAfterInitialization(
+                                        new InvalidPayloadController(), "invalidPayload"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("maxPayloadSize");
+        assertThatThrownBy(
+                        () ->
+                                registry.postProcessAfterInitialization(
+                                        new InvalidMaskController(), "invalidMask"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("masking");
+    }
+
+    @SuppressWarnings("unused")
+    static class SampleController {
+        @CallHistory(maskFields = "pin", maxPayloadSize = 128, logResponse = false)
+        public String create(String body) {
+            return body;
+        }
+
+        @CallHistory(action = "CONSULTA")
+        public String find() {
+            return "x";
+        }
+    }
+
+    interface SampleService {
+        String load();
+    }
+
+    static class AuditedService implements SampleService {
+        @Override
+        @CallHistory
+        public String load() {
+            return "x";
+        }
+    }
+
+    static class PlainService implements SampleService {
+        @Override
+        public String load() {
+            return "x";
+        }
+    }
+
+    @SuppressWarnings("unused")
+    static class InvalidPayloadController {
+        @CallHistory(maxPayloadSize = 0)
+        public void call() {}
+    }
+
+    @SuppressWarnings("unused")
+    static class InvalidMaskController {
+        @CallHistory(maskFields = {"password", " "})
+        public void call() {}
+    }
+}